@@ -3,6 +3,7 @@ package com.pushtorefresh.storio.common.annotations.processor;
 import com.pushtorefresh.storio.common.annotations.processor.generate.Generator;
 import com.pushtorefresh.storio.common.annotations.processor.introspection.StorIOColumnMeta;
 import com.pushtorefresh.storio.common.annotations.processor.introspection.StorIOTypeMeta;
+import com.squareup.javapoet.JavaFile;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -10,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.annotation.Annotation;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -171,6 +173,10 @@ public abstract class StorIOAnnotationsProcessor
                 getResolverGenerator.generateJavaFile(typeMeta).writeTo(filer);
                 deleteResolverGenerator.generateJavaFile(typeMeta).writeTo(filer);
                 mappingGenerator.generateJavaFile(typeMeta).writeTo(filer);
+
+                for (JavaFile additionalJavaFile : generateAdditionalJavaFiles(typeMeta)) {
+                    additionalJavaFile.writeTo(filer);
+                }
             }
         } catch (ProcessingException e) {
             messager.printMessage(ERROR, e.getMessage(), e.element());
@@ -227,4 +233,16 @@ public abstract class StorIOAnnotationsProcessor
 
     @NotNull
     protected abstract Generator<TypeMeta> createMapping();
+
+    /**
+     * Generates optional files for annotated class, for example files
+     * that depend on optional parts of the type annotation
+     *
+     * @param typeMeta meta information about annotated class
+     * @return non-null list of files, empty by default
+     */
+    @NotNull
+    protected List<JavaFile> generateAdditionalJavaFiles(@NotNull TypeMeta typeMeta) {
+        return Collections.emptyList();
+    }
 }
@@ -5,6 +5,7 @@ import com.squareup.javapoet.ClassName;
 public class Common {
 
     public static final ClassName ANDROID_NON_NULL_ANNOTATION_CLASS_NAME = ClassName.get("android.support.annotation", "NonNull");
+    public static final ClassName ANDROID_NULLABLE_ANNOTATION_CLASS_NAME = ClassName.get("android.support.annotation", "Nullable");
 
     public static final String INDENT = "    "; // 4 spaces
 }
@@ -0,0 +1,208 @@
+package com.pushtorefresh.storio;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
+
+/**
+ * Describes how bursts of changes should be merged before they will be sent to observers.
+ * <p>
+ * Each change that arrives while no other changes are waiting schedules dispatch on the
+ * {@link Scheduler}, all changes that arrive before dispatch are merged into one
+ * (union of affected tables or uris), so observers re-query once per burst.
+ * The last change of a burst is never dropped: it's either merged into pending dispatch
+ * or starts the next one.
+ * <p>
+ * Requires RxJava.
+ * <p>
+ * Immutable, thread-safe.
+ */
+public final class ChangesCoalescing {
+
+    @NonNull
+    private final Scheduler scheduler;
+
+    private final long window;
+
+    private final long maxLatency;
+
+    @NonNull
+    private final TimeUnit timeUnit;
+
+    private ChangesCoalescing(@NonNull Scheduler scheduler, long window, long maxLatency, @NonNull TimeUnit timeUnit) {
+        this.scheduler = scheduler;
+        this.window = window;
+        this.maxLatency = maxLatency;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Merges changes that arrive during time window after the first change,
+     * dispatch happens on {@link Schedulers#computation()}.
+     *
+     * @param window   duration of the window, should be {@code > 0}.
+     * @param timeUnit unit of the window.
+     * @return immutable instance of {@link ChangesCoalescing}.
+     */
+    @NonNull
+    public static ChangesCoalescing timeWindow(long window, @NonNull TimeUnit timeUnit) {
+        return timeWindow(window, timeUnit, Schedulers.computation());
+    }
+
+    /**
+     * Merges changes that arrive during time window after the first change.
+     *
+     * @param window    duration of the window, should be {@code > 0}.
+     * @param timeUnit  unit of the window.
+     * @param scheduler scheduler for the dispatch of merged changes.
+     * @return immutable instance of {@link ChangesCoalescing}.
+     */
+    @NonNull
+    public static ChangesCoalescing timeWindow(long window, @NonNull TimeUnit timeUnit, @NonNull Scheduler scheduler) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be > 0, but was = " + window);
+        }
+
+        checkNotNull(timeUnit, "Please specify timeUnit");
+        checkNotNull(scheduler, "Please specify scheduler");
+
+        // Quiet window that can't be longer than itself is the fixed window after the first change
+        return new ChangesCoalescing(scheduler, window, window, timeUnit);
+    }
+
+    /**
+     * Merges changes until no new changes arrive during quiet window, but sends merged changes
+     * not later than max latency after the first change of the burst, so continuous stream
+     * of changes can't postpone dispatch forever.
+     * Dispatch happens on {@link Schedulers#computation()}.
+     *
+     * @param quietWindow duration without changes after which changes are sent, should be {@code > 0}.
+     * @param maxLatency  max delay of the first change of the burst, should be {@code >= quietWindow}.
+     * @param timeUnit    unit of the quiet window and max latency.
+     * @return immutable instance of {@link ChangesCoalescing}.
+     */
+    @NonNull
+    public static ChangesCoalescing quietWindow(long quietWindow, long maxLatency, @NonNull TimeUnit timeUnit) {
+        return quietWindow(quietWindow, maxLatency, timeUnit, Schedulers.computation());
+    }
+
+    /**
+     * Merges changes until no new changes arrive during quiet window, but sends merged changes
+     * not later than max latency after the first change of the burst, so continuous stream
+     * of changes can't postpone dispatch forever.
+     *
+     * @param quietWindow duration without changes after which changes are sent, should be {@code > 0}.
+     * @param maxLatency  max delay of the first change of the burst, should be {@code >= quietWindow}.
+     * @param timeUnit    unit of the quiet window and max latency.
+     * @param scheduler   scheduler for the dispatch of merged changes.
+     * @return immutable instance of {@link ChangesCoalescing}.
+     */
+    @NonNull
+    public static ChangesCoalescing quietWindow(long quietWindow, long maxLatency, @NonNull TimeUnit timeUnit, @NonNull Scheduler scheduler) {
+        if (quietWindow <= 0) {
+            throw new IllegalArgumentException("quietWindow must be > 0, but was = " + quietWindow);
+        }
+
+        if (maxLatency < quietWindow) {
+            throw new IllegalArgumentException("maxLatency must be >= quietWindow, but was = " + maxLatency
+                    + ", quietWindow = " + quietWindow);
+        }
+
+        checkNotNull(timeUnit, "Please specify timeUnit");
+        checkNotNull(scheduler, "Please specify scheduler");
+
+        return new ChangesCoalescing(scheduler, quietWindow, maxLatency, timeUnit);
+    }
+
+    /**
+     * Merges changes that arrive until {@link Scheduler} gets to the dispatch.
+     * <p>
+     * With serial scheduler (for example one thread executor) it means
+     * "until scheduler is idle", without any fixed delay.
+     *
+     * @param scheduler scheduler for the dispatch of merged changes.
+     * @return immutable instance of {@link ChangesCoalescing}.
+     */
+    @NonNull
+    public static ChangesCoalescing untilIdle(@NonNull Scheduler scheduler) {
+        checkNotNull(scheduler, "Please specify scheduler");
+        return new ChangesCoalescing(scheduler, 0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets scheduler for the dispatch of merged changes.
+     *
+     * @return non-null scheduler.
+     */
+    @NonNull
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Gets duration of the time window: changes are sent when no new changes arrive during it,
+     * {@code 0} if changes are merged until scheduler is idle.
+     *
+     * @return duration of the window in {@link #timeUnit()}.
+     */
+    public long window() {
+        return window;
+    }
+
+    /**
+     * Gets max delay of the first change of the burst, equal to {@link #window()}
+     * for {@link #timeWindow(long, TimeUnit)} and {@link #untilIdle(Scheduler)}.
+     *
+     * @return max latency in {@link #timeUnit()}.
+     */
+    public long maxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * Gets unit of the time window.
+     *
+     * @return non-null unit of the window.
+     */
+    @NonNull
+    public TimeUnit timeUnit() {
+        return timeUnit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ChangesCoalescing that = (ChangesCoalescing) o;
+
+        if (window != that.window) return false;
+        if (maxLatency != that.maxLatency) return false;
+        if (!scheduler.equals(that.scheduler)) return false;
+        return timeUnit == that.timeUnit;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = scheduler.hashCode();
+        result = 31 * result + (int) (window ^ (window >>> 32));
+        result = 31 * result + (int) (maxLatency ^ (maxLatency >>> 32));
+        result = 31 * result + timeUnit.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangesCoalescing{" +
+                "scheduler=" + scheduler +
+                ", window=" + window +
+                ", maxLatency=" + maxLatency +
+                ", timeUnit=" + timeUnit +
+                '}';
+    }
+}
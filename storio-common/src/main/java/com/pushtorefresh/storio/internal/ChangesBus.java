@@ -3,8 +3,12 @@ package com.pushtorefresh.storio.internal;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import com.pushtorefresh.storio.ChangesCoalescing;
+
 import rx.Observable;
 
+import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
+
 /**
  * FOR INTERNAL USAGE ONLY.
  * <p>
@@ -21,6 +25,29 @@ public final class ChangesBus<T> {
                 : null;
     }
 
+    /**
+     * Creates bus that merges bursts of changes before dispatch.
+     *
+     * @param rxJavaIsInTheClassPath {@code true} if RxJava is in the ClassPath.
+     * @param changesCoalescing      how changes should be merged, {@code null} to dispatch each change.
+     * @param changesMerger          merges changes, used only if coalescing is enabled.
+     */
+    public ChangesBus(
+            boolean rxJavaIsInTheClassPath,
+            @Nullable ChangesCoalescing changesCoalescing,
+            @NonNull ChangesMerger<T> changesMerger
+    ) {
+        checkNotNull(changesMerger, "Please specify changesMerger");
+
+        if (!rxJavaIsInTheClassPath) {
+            rxChangesBus = null;
+        } else if (changesCoalescing == null) {
+            rxChangesBus = new RxChangesBus<T>();
+        } else {
+            rxChangesBus = new RxChangesBus<T>(changesCoalescing, changesMerger);
+        }
+    }
+
     public void onNext(@NonNull T next) {
         if (rxChangesBus != null) {
             rxChangesBus.onNext(next);
@@ -0,0 +1,148 @@
+package com.pushtorefresh.storio.internal;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.ChangesCoalescing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.functions.Action1;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Merges bursts of changes according to {@link ChangesCoalescing}
+ * and passes merged changes to the receiver on the scheduler of coalescing.
+ * <p>
+ * Dispatch happens when no changes arrived during {@link ChangesCoalescing#window()}
+ * or when {@link ChangesCoalescing#maxLatency()} passed since the first pending change, whichever is earlier.
+ * <p>
+ * Requires RxJava. Thread-safe.
+ */
+public final class ChangesCoalescer<T> {
+
+    @NonNull
+    private final ChangesCoalescing changesCoalescing;
+
+    @NonNull
+    private final ChangesMerger<T> changesMerger;
+
+    @NonNull
+    private final Action1<T> receiver;
+
+    @NonNull
+    private final Object lock = new Object();
+
+    /**
+     * Changes waiting for dispatch, {@code null} if dispatch is not scheduled.
+     * Guarded by {@link #lock}.
+     */
+    @Nullable
+    private List<T> pendingChanges;
+
+    /**
+     * Time of the first and the last pending change in milliseconds of the scheduler.
+     * Guarded by {@link #lock}.
+     */
+    private long firstChangeTime;
+
+    private long lastChangeTime;
+
+    public ChangesCoalescer(
+            @NonNull ChangesCoalescing changesCoalescing,
+            @NonNull ChangesMerger<T> changesMerger,
+            @NonNull Action1<T> receiver
+    ) {
+        this.changesCoalescing = changesCoalescing;
+        this.changesMerger = changesMerger;
+        this.receiver = receiver;
+    }
+
+    public void onNext(@NonNull T next) {
+        final long now = changesCoalescing.scheduler().now();
+
+        synchronized (lock) {
+            lastChangeTime = now;
+
+            if (pendingChanges != null) {
+                // Dispatch is already scheduled and will send this change too
+                pendingChanges.add(next);
+                return;
+            }
+
+            firstChangeTime = now;
+            pendingChanges = new ArrayList<T>();
+            pendingChanges.add(next);
+        }
+
+        scheduleDispatch();
+    }
+
+    private void scheduleDispatch() {
+        final Scheduler.Worker worker = changesCoalescing.scheduler().createWorker();
+
+        final Action0 dispatch = new Action0() {
+            @Override
+            public void call() {
+                final long delayMillis = millisUntilDispatch(worker.now());
+
+                if (delayMillis > 0) {
+                    // Changes arrived during the quiet window, wait for the next one
+                    worker.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+                    return;
+                }
+
+                try {
+                    dispatchPendingChanges();
+                } finally {
+                    worker.unsubscribe();
+                }
+            }
+        };
+
+        if (changesCoalescing.window() > 0) {
+            worker.schedule(dispatch, changesCoalescing.window(), changesCoalescing.timeUnit());
+        } else {
+            worker.schedule(dispatch);
+        }
+    }
+
+    private long millisUntilDispatch(long now) {
+        final TimeUnit timeUnit = changesCoalescing.timeUnit();
+
+        synchronized (lock) {
+            if (pendingChanges == null) {
+                return 0;
+            }
+
+            final long deadline = Math.min(
+                    lastChangeTime + timeUnit.toMillis(changesCoalescing.window()),
+                    firstChangeTime + timeUnit.toMillis(changesCoalescing.maxLatency())
+            );
+
+            return deadline - now;
+        }
+    }
+
+    private void dispatchPendingChanges() {
+        final List<T> changes;
+
+        synchronized (lock) {
+            changes = pendingChanges;
+            pendingChanges = null;
+        }
+
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+
+        receiver.call(changes.size() == 1
+                ? changes.get(0)
+                : changesMerger.merge(changes));
+    }
+}
@@ -0,0 +1,22 @@
+package com.pushtorefresh.storio.internal;
+
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Merges several changes into one, used by {@link ChangesBus} for coalescing.
+ */
+public interface ChangesMerger<T> {
+
+    /**
+     * Merges changes.
+     *
+     * @param changes non-empty list of changes in order of arrival.
+     * @return changes that describe all passed changes.
+     */
+    @NonNull
+    T merge(@NonNull List<T> changes);
+}
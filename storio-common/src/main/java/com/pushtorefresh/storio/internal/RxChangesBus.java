@@ -1,8 +1,12 @@
 package com.pushtorefresh.storio.internal;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.ChangesCoalescing;
 
 import rx.Observable;
+import rx.functions.Action1;
 import rx.subjects.PublishSubject;
 import rx.subjects.Subject;
 
@@ -14,8 +18,31 @@ class RxChangesBus<T> {
     @NonNull
     private final Subject<T, T> rxBus = PublishSubject.<T>create().toSerialized();
 
+    /**
+     * {@code null} if each change should be dispatched immediately.
+     */
+    @Nullable
+    private final ChangesCoalescer<T> changesCoalescer;
+
+    RxChangesBus() {
+        changesCoalescer = null;
+    }
+
+    RxChangesBus(@NonNull ChangesCoalescing changesCoalescing, @NonNull ChangesMerger<T> changesMerger) {
+        changesCoalescer = new ChangesCoalescer<T>(changesCoalescing, changesMerger, new Action1<T>() {
+            @Override
+            public void call(T changes) {
+                rxBus.onNext(changes);
+            }
+        });
+    }
+
     public void onNext(@NonNull T next) {
-        rxBus.onNext(next);
+        if (changesCoalescer != null) {
+            changesCoalescer.onNext(next);
+        } else {
+            rxBus.onNext(next);
+        }
     }
 
     @NonNull
@@ -0,0 +1,115 @@
+package com.pushtorefresh.storio;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class ChangesCoalescingTest {
+
+    @Test
+    public void timeWindowShouldUseComputationSchedulerByDefault() {
+        ChangesCoalescing changesCoalescing = ChangesCoalescing.timeWindow(100, MILLISECONDS);
+
+        assertThat(changesCoalescing.scheduler()).isSameAs(Schedulers.computation());
+        assertThat(changesCoalescing.window()).isEqualTo(100);
+        assertThat(changesCoalescing.timeUnit()).isEqualTo(MILLISECONDS);
+    }
+
+    @Test
+    public void timeWindowShouldNotAcceptNonPositiveWindow() {
+        try {
+            ChangesCoalescing.timeWindow(0, MILLISECONDS);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("window must be > 0, but was = 0");
+        }
+    }
+
+    @Test
+    public void timeWindowShouldNotAcceptNullScheduler() {
+        try {
+            //noinspection ConstantConditions
+            ChangesCoalescing.timeWindow(1, MILLISECONDS, null);
+            failBecauseExceptionWasNotThrown(NullPointerException.class);
+        } catch (NullPointerException expected) {
+            assertThat(expected).hasMessage("Please specify scheduler");
+        }
+    }
+
+    @Test
+    public void untilIdleShouldHaveZeroWindow() {
+        TestScheduler scheduler = new TestScheduler();
+        ChangesCoalescing changesCoalescing = ChangesCoalescing.untilIdle(scheduler);
+
+        assertThat(changesCoalescing.scheduler()).isSameAs(scheduler);
+        assertThat(changesCoalescing.window()).isEqualTo(0);
+    }
+
+    @Test
+    public void untilIdleShouldNotAcceptNullScheduler() {
+        try {
+            //noinspection ConstantConditions
+            ChangesCoalescing.untilIdle(null);
+            failBecauseExceptionWasNotThrown(NullPointerException.class);
+        } catch (NullPointerException expected) {
+            assertThat(expected).hasMessage("Please specify scheduler");
+        }
+    }
+
+    @Test
+    public void timeWindowShouldHaveMaxLatencyEqualToWindow() {
+        ChangesCoalescing changesCoalescing = ChangesCoalescing.timeWindow(100, MILLISECONDS);
+
+        assertThat(changesCoalescing.maxLatency()).isEqualTo(100);
+    }
+
+    @Test
+    public void quietWindowShouldUseComputationSchedulerByDefault() {
+        ChangesCoalescing changesCoalescing = ChangesCoalescing.quietWindow(50, 200, MILLISECONDS);
+
+        assertThat(changesCoalescing.scheduler()).isSameAs(Schedulers.computation());
+        assertThat(changesCoalescing.window()).isEqualTo(50);
+        assertThat(changesCoalescing.maxLatency()).isEqualTo(200);
+        assertThat(changesCoalescing.timeUnit()).isEqualTo(MILLISECONDS);
+    }
+
+    @Test
+    public void quietWindowShouldNotAcceptNonPositiveQuietWindow() {
+        try {
+            ChangesCoalescing.quietWindow(0, 200, MILLISECONDS);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("quietWindow must be > 0, but was = 0");
+        }
+    }
+
+    @Test
+    public void quietWindowShouldNotAcceptMaxLatencyLessThanQuietWindow() {
+        try {
+            ChangesCoalescing.quietWindow(50, 49, MILLISECONDS);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("maxLatency must be >= quietWindow, but was = 49, quietWindow = 50");
+        }
+    }
+
+    @Test
+    public void equalsAndHashCode() {
+        TestScheduler scheduler = new TestScheduler();
+
+        ChangesCoalescing first = ChangesCoalescing.timeWindow(5, TimeUnit.SECONDS, scheduler);
+        ChangesCoalescing second = ChangesCoalescing.timeWindow(5, TimeUnit.SECONDS, scheduler);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        assertThat(first).isNotEqualTo(ChangesCoalescing.untilIdle(scheduler));
+        assertThat(first).isNotEqualTo(ChangesCoalescing.quietWindow(5, 10, TimeUnit.SECONDS, scheduler));
+    }
+}
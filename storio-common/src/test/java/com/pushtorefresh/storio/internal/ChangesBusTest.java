@@ -1,13 +1,20 @@
 package com.pushtorefresh.storio.internal;
 
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.ChangesCoalescing;
+
 import org.junit.Test;
 
 import java.util.List;
 
 import rx.Observable;
 import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Fail.fail;
 
@@ -57,4 +64,101 @@ public class ChangesBusTest {
         testSubscriber.assertReceivedOnNext(messages);
         testSubscriber.assertNoTerminalEvent();
     }
+
+    @Test
+    public void shouldMergeChangesDuringTimeWindow() {
+        TestScheduler scheduler = new TestScheduler();
+
+        ChangesBus<String> changesBus = new ChangesBus<String>(
+                true,
+                ChangesCoalescing.timeWindow(100, MILLISECONDS, scheduler),
+                CONCAT_MERGER
+        );
+
+        TestSubscriber<String> testSubscriber = new TestSubscriber<String>();
+
+        //noinspection ConstantConditions
+        changesBus.asObservable().subscribe(testSubscriber);
+
+        changesBus.onNext("a");
+        changesBus.onNext("b");
+        scheduler.advanceTimeBy(99, MILLISECONDS);
+        changesBus.onNext("c");
+
+        testSubscriber.assertNoValues();
+
+        scheduler.advanceTimeBy(1, MILLISECONDS);
+        testSubscriber.assertReceivedOnNext(singletonList("abc"));
+
+        // Next change opens new window
+        changesBus.onNext("d");
+        scheduler.advanceTimeBy(100, MILLISECONDS);
+        testSubscriber.assertReceivedOnNext(asList("abc", "d"));
+        testSubscriber.assertNoTerminalEvent();
+    }
+
+    @Test
+    public void shouldMergeChangesUntilSchedulerIsIdle() {
+        TestScheduler scheduler = new TestScheduler();
+
+        ChangesBus<String> changesBus = new ChangesBus<String>(
+                true,
+                ChangesCoalescing.untilIdle(scheduler),
+                CONCAT_MERGER
+        );
+
+        TestSubscriber<String> testSubscriber = new TestSubscriber<String>();
+
+        //noinspection ConstantConditions
+        changesBus.asObservable().subscribe(testSubscriber);
+
+        changesBus.onNext("a");
+        changesBus.onNext("b");
+
+        testSubscriber.assertNoValues();
+
+        scheduler.triggerActions();
+        testSubscriber.assertReceivedOnNext(singletonList("ab"));
+    }
+
+    @Test
+    public void shouldNotMergeChangesWithoutCoalescing() {
+        ChangesBus<String> changesBus = new ChangesBus<String>(true, null, CONCAT_MERGER);
+
+        TestSubscriber<String> testSubscriber = new TestSubscriber<String>();
+
+        //noinspection ConstantConditions
+        changesBus.asObservable().subscribe(testSubscriber);
+
+        changesBus.onNext("a");
+        changesBus.onNext("b");
+
+        testSubscriber.assertReceivedOnNext(asList("a", "b"));
+    }
+
+    @Test
+    public void coalescingShouldNotRequireRxJavaIfItIsNotInTheClassPath() {
+        ChangesBus<String> changesBus = new ChangesBus<String>(
+                false,
+                ChangesCoalescing.untilIdle(new TestScheduler()),
+                CONCAT_MERGER
+        );
+
+        changesBus.onNext("don't crash me bro");
+        assertThat(changesBus.asObservable()).isNull();
+    }
+
+    private static final ChangesMerger<String> CONCAT_MERGER = new ChangesMerger<String>() {
+        @NonNull
+        @Override
+        public String merge(@NonNull List<String> changes) {
+            StringBuilder result = new StringBuilder();
+
+            for (String change : changes) {
+                result.append(change);
+            }
+
+            return result.toString();
+        }
+    };
 }
@@ -0,0 +1,116 @@
+package com.pushtorefresh.storio.internal;
+
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.ChangesCoalescing;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import rx.functions.Action1;
+import rx.schedulers.TestScheduler;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangesCoalescerTest {
+
+    @NonNull
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @NonNull
+    private final List<String> received = new ArrayList<String>();
+
+    @NonNull
+    private ChangesCoalescer<String> coalescer(@NonNull ChangesCoalescing changesCoalescing) {
+        return new ChangesCoalescer<String>(
+                changesCoalescing,
+                new ChangesMerger<String>() {
+                    @NonNull
+                    @Override
+                    public String merge(@NonNull List<String> changes) {
+                        StringBuilder merged = new StringBuilder();
+
+                        for (String change : changes) {
+                            merged.append(change);
+                        }
+
+                        return merged.toString();
+                    }
+                },
+                new Action1<String>() {
+                    @Override
+                    public void call(String changes) {
+                        received.add(changes);
+                    }
+                }
+        );
+    }
+
+    @Test
+    public void untilIdleShouldMergeChangesArrivedBeforeDispatch() {
+        ChangesCoalescer<String> coalescer = coalescer(ChangesCoalescing.untilIdle(scheduler));
+
+        coalescer.onNext("a");
+        coalescer.onNext("b");
+        assertThat(received).isEmpty();
+
+        scheduler.triggerActions();
+        assertThat(received).isEqualTo(asList("ab"));
+    }
+
+    @Test
+    public void timeWindowShouldDispatchWindowAfterFirstChange() {
+        ChangesCoalescer<String> coalescer = coalescer(ChangesCoalescing.timeWindow(100, MILLISECONDS, scheduler));
+
+        coalescer.onNext("a");
+        scheduler.advanceTimeBy(90, MILLISECONDS);
+        coalescer.onNext("b");
+
+        scheduler.advanceTimeBy(10, MILLISECONDS);
+        assertThat(received).isEqualTo(asList("ab"));
+    }
+
+    @Test
+    public void quietWindowShouldWaitUntilChangesStop() {
+        ChangesCoalescer<String> coalescer = coalescer(ChangesCoalescing.quietWindow(100, 1000, MILLISECONDS, scheduler));
+
+        coalescer.onNext("a");
+        scheduler.advanceTimeBy(90, MILLISECONDS);
+        coalescer.onNext("b");
+
+        // Quiet window is restarted by "b"
+        scheduler.advanceTimeBy(90, MILLISECONDS);
+        assertThat(received).isEmpty();
+
+        scheduler.advanceTimeBy(10, MILLISECONDS);
+        assertThat(received).isEqualTo(asList("ab"));
+
+        // Next burst is dispatched separately
+        coalescer.onNext("c");
+        scheduler.advanceTimeBy(100, MILLISECONDS);
+        assertThat(received).isEqualTo(asList("ab", "c"));
+    }
+
+    @Test
+    public void quietWindowShouldDispatchNotLaterThanMaxLatency() {
+        ChangesCoalescer<String> coalescer = coalescer(ChangesCoalescing.quietWindow(100, 250, MILLISECONDS, scheduler));
+
+        // Continuous stream of changes never leaves quiet window
+        for (int i = 0; i < 5; i++) {
+            coalescer.onNext(String.valueOf(i));
+            scheduler.advanceTimeBy(60, MILLISECONDS);
+        }
+
+        // Max latency passed at 250 ms: changes 0..4 were dispatched
+        assertThat(received).isEqualTo(asList("01234"));
+
+        // Last change is not lost
+        coalescer.onNext("5");
+        scheduler.advanceTimeBy(100, MILLISECONDS);
+        assertThat(received).isEqualTo(asList("01234", "5"));
+    }
+}
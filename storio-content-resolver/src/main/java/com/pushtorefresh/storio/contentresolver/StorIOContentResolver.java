@@ -1,9 +1,13 @@
 package com.pushtorefresh.storio.contentresolver;
 
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentResolver;
 import android.content.ContentValues;
+import android.content.OperationApplicationException;
 import android.database.Cursor;
 import android.net.Uri;
+import android.os.RemoteException;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
@@ -16,6 +20,7 @@ import com.pushtorefresh.storio.contentresolver.queries.InsertQuery;
 import com.pushtorefresh.storio.contentresolver.queries.Query;
 import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Set;
 
@@ -161,6 +166,24 @@ public abstract class StorIOContentResolver {
         @NonNull
         public abstract Uri insert(@NonNull InsertQuery insertQuery, @NonNull ContentValues contentValues);
 
+        /**
+         * Inserts multiple rows to {@link StorIOContentResolver} with one call
+         * of {@link ContentResolver#bulkInsert(Uri, ContentValues[])}.
+         * <p>
+         * Provider that doesn't override {@link android.content.ContentProvider#bulkInsert(Uri, ContentValues[])}
+         * inserts rows one by one.
+         * <p>
+         * Default implementation uses {@link #contentResolver()}.
+         *
+         * @param insertQuery   query.
+         * @param contentValues data of rows.
+         * @return number of inserted rows.
+         */
+        @WorkerThread
+        public int bulkInsert(@NonNull InsertQuery insertQuery, @NonNull ContentValues[] contentValues) {
+            return contentResolver().bulkInsert(insertQuery.uri(), contentValues);
+        }
+
         /**
          * Updates data in {@link StorIOContentResolver}.
          *
@@ -180,6 +203,26 @@ public abstract class StorIOContentResolver {
         @WorkerThread
         public abstract int delete(@NonNull DeleteQuery deleteQuery);
 
+        /**
+         * Applies operations to provider of the authority with one call
+         * of {@link ContentResolver#applyBatch(String, ArrayList)}.
+         * <p>
+         * Default implementation uses {@link #contentResolver()}.
+         *
+         * @param authority  authority of the provider.
+         * @param operations operations to apply.
+         * @return results of operations, in the same order as operations.
+         * @throws RemoteException               if provider is dead.
+         * @throws OperationApplicationException if any operation failed.
+         */
+        @WorkerThread
+        @NonNull
+        public ContentProviderResult[] applyBatch(@NonNull String authority,
+                                                  @NonNull ArrayList<ContentProviderOperation> operations)
+                throws RemoteException, OperationApplicationException {
+            return contentResolver().applyBatch(authority, operations);
+        }
+
         /**
          * Returns {@link ContentResolver} that can be used for operations
          * like {@link ContentResolver#applyBatch(String, java.util.ArrayList)} and so on!
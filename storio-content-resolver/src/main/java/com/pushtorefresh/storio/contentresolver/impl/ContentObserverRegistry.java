@@ -0,0 +1,162 @@
+package com.pushtorefresh.storio.contentresolver.impl;
+
+import android.content.ContentResolver;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.support.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registers one {@link ContentObserver} per distinct {@link Uri} in {@link ContentResolver}
+ * and fans its notifications out to all listeners of the {@link Uri} in-process.
+ * {@link ContentObserver} is unregistered when the last listener of the {@link Uri} leaves.
+ * <p>
+ * Thread-safe.
+ *
+ * FOR INTERNAL USAGE ONLY.
+ */
+final class ContentObserverRegistry {
+
+    /**
+     * Receives notifications about changes of observed {@link Uri}.
+     */
+    interface Listener {
+
+        /**
+         * Called on the thread of {@link Handler} of the registry.
+         *
+         * @param uri changed {@link Uri}: notified one on API >= 16, observed one on older versions.
+         */
+        void onChange(@NonNull Uri uri);
+    }
+
+    @NonNull
+    private final ContentResolver contentResolver;
+
+    @NonNull
+    private final Handler handler;
+
+    private final int sdkVersion;
+
+    @NonNull
+    private final Map<Uri, UriObserver> observers = new HashMap<Uri, UriObserver>();
+
+    ContentObserverRegistry(@NonNull ContentResolver contentResolver, @NonNull Handler handler, int sdkVersion) {
+        this.contentResolver = contentResolver;
+        this.handler = handler;
+        this.sdkVersion = sdkVersion;
+    }
+
+    /**
+     * Adds listener of the {@link Uri} and its descendants,
+     * registers {@link ContentObserver} if it's the first listener of the {@link Uri}.
+     *
+     * @param uri      uri to observe.
+     * @param listener listener of changes.
+     */
+    void register(@NonNull Uri uri, @NonNull Listener listener) {
+        synchronized (observers) {
+            UriObserver observer = observers.get(uri);
+
+            if (observer == null) {
+                observer = sdkVersion >= Build.VERSION_CODES.JELLY_BEAN
+                        ? new UriObserver(handler, uri)
+                        : new LegacyUriObserver(handler, uri);
+
+                observers.put(uri, observer);
+                contentResolver.registerContentObserver(uri, true, observer);
+            }
+
+            observer.listeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes listener of the {@link Uri},
+     * unregisters {@link ContentObserver} if it was the last listener of the {@link Uri}.
+     *
+     * @param uri      observed uri.
+     * @param listener listener to remove.
+     */
+    void unregister(@NonNull Uri uri, @NonNull Listener listener) {
+        synchronized (observers) {
+            final UriObserver observer = observers.get(uri);
+
+            if (observer == null || !observer.listeners.remove(listener)) {
+                return;
+            }
+
+            if (observer.listeners.isEmpty()) {
+                observers.remove(uri);
+                // Prevent memory leak after last listener is gone
+                contentResolver.unregisterContentObserver(observer);
+            }
+        }
+    }
+
+    /**
+     * @return number of {@link ContentObserver}s registered by this registry.
+     */
+    int size() {
+        synchronized (observers) {
+            return observers.size();
+        }
+    }
+
+    private static class UriObserver extends ContentObserver {
+
+        @NonNull
+        final Uri uri;
+
+        // Notifications are delivered without lock, concurrently with (un)registration
+        @NonNull
+        final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+        UriObserver(@NonNull Handler handler, @NonNull Uri uri) {
+            super(handler);
+            this.uri = uri;
+        }
+
+        @Override
+        public boolean deliverSelfNotifications() {
+            return false;
+        }
+
+        @Override
+        public void onChange(boolean selfChange, Uri changedUri) {
+            notifyListeners(changedUri != null ? changedUri : uri);
+        }
+
+        void notifyListeners(@NonNull Uri changedUri) {
+            for (Listener listener : listeners) {
+                listener.onChange(changedUri);
+            }
+        }
+    }
+
+    /**
+     * On API < 16 {@link ContentObserver} doesn't receive changed {@link Uri}.
+     */
+    private static class LegacyUriObserver extends UriObserver {
+
+        LegacyUriObserver(@NonNull Handler handler, @NonNull Uri uri) {
+            super(handler, uri);
+        }
+
+        @Override
+        public void onChange(boolean selfChange) {
+            notifyListeners(uri);
+        }
+
+        @Override
+        public void onChange(boolean selfChange, Uri changedUri) {
+            onChange(selfChange);
+        }
+    }
+}
@@ -12,7 +12,9 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 
+import com.pushtorefresh.storio.ChangesCoalescing;
 import com.pushtorefresh.storio.TypeMappingFinder;
+import com.pushtorefresh.storio.internal.ChangesMerger;
 import com.pushtorefresh.storio.internal.TypeMappingFinderImpl;
 import com.pushtorefresh.storio.contentresolver.Changes;
 import com.pushtorefresh.storio.contentresolver.ContentResolverTypeMapping;
@@ -23,6 +25,8 @@ import com.pushtorefresh.storio.contentresolver.queries.Query;
 import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -39,9 +43,30 @@ import static java.util.Collections.unmodifiableMap;
 
 /**
  * Default, thread-safe implementation of {@link StorIOContentResolver}.
+ * <p>
+ * Observers of changes share one {@link android.database.ContentObserver} per distinct {@link Uri},
+ * it's registered with the first observer of the {@link Uri} and unregistered after the last one.
  */
 public class DefaultStorIOContentResolver extends StorIOContentResolver {
 
+    /**
+     * Merges coalesced changes into one {@link Changes} with union of affected uris.
+     */
+    @NonNull
+    private static final ChangesMerger<Changes> CHANGES_MERGER = new ChangesMerger<Changes>() {
+        @NonNull
+        @Override
+        public Changes merge(@NonNull List<Changes> changes) {
+            final Set<Uri> affectedUris = new HashSet<Uri>();
+
+            for (Changes change : changes) {
+                affectedUris.addAll(change.affectedUris());
+            }
+
+            return Changes.newInstance(affectedUris);
+        }
+    };
+
     @NonNull
     private final Internal lowLevel;
 
@@ -49,19 +74,32 @@ public class DefaultStorIOContentResolver extends StorIOContentResolver {
     private final ContentResolver contentResolver;
 
     @NonNull
-    private final Handler contentObserverHandler;
+    private final ContentObserverRegistry contentObserverRegistry;
 
     @Nullable
     private final Scheduler defaultScheduler;
 
+    @Nullable
+    private final ChangesCoalescing changesCoalescing;
+
     protected DefaultStorIOContentResolver(@NonNull ContentResolver contentResolver,
                                            @NonNull Handler contentObserverHandler,
                                            @NonNull TypeMappingFinder typeMappingFinder,
                                            @Nullable Scheduler defaultScheduler
+    ) {
+        this(contentResolver, contentObserverHandler, typeMappingFinder, defaultScheduler, null);
+    }
+
+    protected DefaultStorIOContentResolver(@NonNull ContentResolver contentResolver,
+                                           @NonNull Handler contentObserverHandler,
+                                           @NonNull TypeMappingFinder typeMappingFinder,
+                                           @Nullable Scheduler defaultScheduler,
+                                           @Nullable ChangesCoalescing changesCoalescing
     ) {
         this.contentResolver = contentResolver;
-        this.contentObserverHandler = contentObserverHandler;
+        this.contentObserverRegistry = new ContentObserverRegistry(contentResolver, contentObserverHandler, Build.VERSION.SDK_INT);
         this.defaultScheduler = defaultScheduler;
+        this.changesCoalescing = changesCoalescing;
         lowLevel = new LowLevelImpl(typeMappingFinder);
     }
 
@@ -76,7 +114,12 @@ public class DefaultStorIOContentResolver extends StorIOContentResolver {
 
         // indirect usage of RxJava
         // required to avoid problems with ClassLoader when RxJava is not in ClassPath
-        return RxChangesObserver.observeChanges(contentResolver, uris, contentObserverHandler, Build.VERSION.SDK_INT);
+        return RxChangesObserver.observeChanges(
+                contentObserverRegistry,
+                uris,
+                changesCoalescing,
+                CHANGES_MERGER
+        );
     }
 
     /**
@@ -162,6 +205,9 @@ public class DefaultStorIOContentResolver extends StorIOContentResolver {
 
         private Scheduler defaultScheduler = RX_JAVA_IS_IN_THE_CLASS_PATH ? Schedulers.io() : null;
 
+        @Nullable
+        private ChangesCoalescing changesCoalescing;
+
         CompleteBuilder(@NonNull ContentResolver contentResolver) {
             this.contentResolver = contentResolver;
         }
@@ -228,6 +274,28 @@ public class DefaultStorIOContentResolver extends StorIOContentResolver {
             return this;
         }
 
+        /**
+         * Optional: Specifies how bursts of {@link Changes} should be merged
+         * before they will be sent to observers.
+         * <p>
+         * Without coalescing each notification of {@link ContentResolver} triggers re-query
+         * of observed query immediately, with coalescing observers receive one {@link Changes}
+         * with union of affected uris on the scheduler of {@link ChangesCoalescing}.
+         * <p>
+         * Default value is {@code null} — no coalescing.
+         *
+         * @param changesCoalescing nullable coalescing of changes.
+         * @return builder.
+         * @see ChangesCoalescing#timeWindow(long, java.util.concurrent.TimeUnit)
+         * @see ChangesCoalescing#quietWindow(long, long, java.util.concurrent.TimeUnit)
+         * @see ChangesCoalescing#untilIdle(Scheduler)
+         */
+        @NonNull
+        public CompleteBuilder changesCoalescing(@Nullable ChangesCoalescing changesCoalescing) {
+            this.changesCoalescing = changesCoalescing;
+            return this;
+        }
+
         /**
          * Builds new instance of {@link DefaultStorIOContentResolver}.
          *
@@ -248,7 +316,13 @@ public class DefaultStorIOContentResolver extends StorIOContentResolver {
                 typeMappingFinder.directTypeMapping(unmodifiableMap(typeMapping));
             }
 
-            return new DefaultStorIOContentResolver(contentResolver, contentObserverHandler, typeMappingFinder, defaultScheduler);
+            return new DefaultStorIOContentResolver(
+                    contentResolver,
+                    contentObserverHandler,
+                    typeMappingFinder,
+                    defaultScheduler,
+                    changesCoalescing
+            );
         }
     }
 
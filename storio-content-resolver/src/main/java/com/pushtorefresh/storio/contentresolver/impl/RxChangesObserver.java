@@ -1,19 +1,22 @@
 package com.pushtorefresh.storio.contentresolver.impl;
 
-import android.content.ContentResolver;
 import android.database.ContentObserver;
 import android.net.Uri;
-import android.os.Build;
-import android.os.Handler;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
+import com.pushtorefresh.storio.ChangesCoalescing;
 import com.pushtorefresh.storio.contentresolver.Changes;
+import com.pushtorefresh.storio.internal.ChangesCoalescer;
+import com.pushtorefresh.storio.internal.ChangesMerger;
 
 import java.util.Set;
 
 import rx.Observable;
 import rx.Subscriber;
 import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.observers.SerializedSubscriber;
 import rx.subscriptions.Subscriptions;
 
 /**
@@ -27,68 +30,90 @@ final class RxChangesObserver {
         throw new IllegalStateException("No instances please.");
     }
 
+    /**
+     * Same as {@link #observeChanges(ContentObserverRegistry, Set)},
+     * but merges bursts of changes according to passed {@link ChangesCoalescing}.
+     */
     @NonNull
-    static Observable<Changes> observeChanges(@NonNull final ContentResolver contentResolver,
+    static Observable<Changes> observeChanges(@NonNull final ContentObserverRegistry contentObserverRegistry,
                                               @NonNull final Set<Uri> uris,
-                                              @NonNull final Handler handler,
-                                              final int sdkVersion) {
+                                              @Nullable final ChangesCoalescing changesCoalescing,
+                                              @NonNull final ChangesMerger<Changes> changesMerger) {
+        final Observable<Changes> changes = observeChanges(contentObserverRegistry, uris);
+
+        if (changesCoalescing == null) {
+            return changes;
+        }
+
         return Observable.create(new Observable.OnSubscribe<Changes>() {
             @Override
             public void call(final Subscriber<? super Changes> subscriber) {
-                // Use one ContentObserver for all passed Uris on API >= 16
-                if (sdkVersion >= Build.VERSION_CODES.JELLY_BEAN) {
-                    final ContentObserver contentObserver = new ContentObserver(handler) {
-                        @Override
-                        public boolean deliverSelfNotifications() {
-                            return false;
-                        }
+                // Merged changes are sent from the scheduler of coalescing, concurrently with new ones
+                final Subscriber<Changes> serializedSubscriber = new SerializedSubscriber<Changes>(subscriber);
 
-                        @Override
-                        public void onChange(boolean selfChange, Uri uri) {
-                            subscriber.onNext(Changes.newInstance(uri));
+                final ChangesCoalescer<Changes> changesCoalescer = new ChangesCoalescer<Changes>(
+                        changesCoalescing,
+                        changesMerger,
+                        new Action1<Changes>() {
+                            @Override
+                            public void call(Changes mergedChanges) {
+                                if (!subscriber.isUnsubscribed()) {
+                                    serializedSubscriber.onNext(mergedChanges);
+                                }
+                            }
                         }
-                    };
-
-                    for (Uri uri : uris) {
-                        contentResolver.registerContentObserver(
-                                uri,
-                                true,
-                                contentObserver
-                        );
+                );
+
+                subscriber.add(changes.subscribe(new Subscriber<Changes>() {
+                    @Override
+                    public void onCompleted() {
+                        serializedSubscriber.onCompleted();
                     }
 
-                    subscriber.add(Subscriptions.create(new Action0() {
-                        @Override
-                        public void call() {
-                            // Prevent memory leak on unsubscribe from Observable
-                            contentResolver.unregisterContentObserver(contentObserver);
-                        }
-                    }));
-                } else {
-                    // Register separate ContentObserver for each uri on API < 16
-                    for (final Uri uri : uris) {
-                        final ContentObserver contentObserver = new ContentObserver(handler) {
-                            @Override
-                            public boolean deliverSelfNotifications() {
-                                return false;
-                            }
+                    @Override
+                    public void onError(Throwable e) {
+                        serializedSubscriber.onError(e);
+                    }
 
-                            @Override
-                            public void onChange(boolean selfChange) {
-                                subscriber.onNext(Changes.newInstance(uri));
-                            }
-                        };
+                    @Override
+                    public void onNext(Changes next) {
+                        changesCoalescer.onNext(next);
+                    }
+                }));
+            }
+        });
+    }
 
-                        contentResolver.registerContentObserver(uri, true, contentObserver);
-                        subscriber.add(Subscriptions.create(new Action0() {
-                            @Override
-                            public void call() {
-                                // Prevent memory leak on unsubscribe from Observable
-                                contentResolver.unregisterContentObserver(contentObserver);
-                            }
-                        }));
+    /**
+     * Observes changes of passed {@link Uri}s via {@link ContentObserver}s shared
+     * with other subscribers through {@link ContentObserverRegistry}.
+     */
+    @NonNull
+    static Observable<Changes> observeChanges(@NonNull final ContentObserverRegistry contentObserverRegistry,
+                                              @NonNull final Set<Uri> uris) {
+        return Observable.create(new Observable.OnSubscribe<Changes>() {
+            @Override
+            public void call(final Subscriber<? super Changes> subscriber) {
+                final ContentObserverRegistry.Listener listener = new ContentObserverRegistry.Listener() {
+                    @Override
+                    public void onChange(@NonNull Uri uri) {
+                        subscriber.onNext(Changes.newInstance(uri));
                     }
+                };
+
+                for (Uri uri : uris) {
+                    contentObserverRegistry.register(uri, listener);
                 }
+
+                subscriber.add(Subscriptions.create(new Action0() {
+                    @Override
+                    public void call() {
+                        // Prevent memory leak on unsubscribe from Observable
+                        for (Uri uri : uris) {
+                            contentObserverRegistry.unregister(uri, listener);
+                        }
+                    }
+                }));
             }
         });
     }
@@ -1,10 +1,14 @@
 package com.pushtorefresh.storio.contentresolver.operations.delete;
 
+import android.content.ContentProviderOperation;
 import android.support.annotation.NonNull;
 
 import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
 import com.pushtorefresh.storio.contentresolver.queries.DeleteQuery;
 
+import static com.pushtorefresh.storio.internal.InternalQueries.nullableArrayOfStringsFromListOfStrings;
+import static com.pushtorefresh.storio.internal.InternalQueries.nullableString;
+
 /**
  * Default implementation of {@link DeleteResolver}.
  * <p>
@@ -33,4 +37,23 @@ public abstract class DefaultDeleteResolver<T> extends DeleteResolver<T> {
         final int numberOfRowsDeleted = storIOContentResolver.lowLevel().delete(deleteQuery);
         return DeleteResult.newInstance(numberOfRowsDeleted, deleteQuery.uri());
     }
+
+    /**
+     * Maps object to delete {@link ContentProviderOperation} with {@link DeleteQuery} of the object,
+     * so delete can be applied later in a batch.
+     *
+     * @param object object to delete.
+     * @return delete operation.
+     */
+    @NonNull
+    ContentProviderOperation mapToOperation(@NonNull T object) {
+        final DeleteQuery deleteQuery = mapToDeleteQuery(object);
+
+        return ContentProviderOperation.newDelete(deleteQuery.uri())
+                .withSelection(
+                        nullableString(deleteQuery.where()),
+                        nullableArrayOfStringsFromListOfStrings(deleteQuery.whereArgs())
+                )
+                .build();
+    }
 }
@@ -1,5 +1,7 @@
 package com.pushtorefresh.storio.contentresolver.operations.delete;
 
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -8,6 +10,7 @@ import android.support.annotation.WorkerThread;
 import com.pushtorefresh.storio.StorIOException;
 import com.pushtorefresh.storio.contentresolver.ContentResolverTypeMapping;
 import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+import com.pushtorefresh.storio.contentresolver.operations.internal.ContentProviderBatches;
 import com.pushtorefresh.storio.contentresolver.operations.internal.RxJavaUtils;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -34,12 +37,16 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
     @Nullable
     private final DeleteResolver<T> explicitDeleteResolver;
 
+    private final boolean useApplyBatch;
+
     PreparedDeleteCollectionOfObjects(@NonNull StorIOContentResolver storIOContentResolver,
                                       @NonNull Collection<T> objects,
-                                      @Nullable DeleteResolver<T> explicitDeleteResolver) {
+                                      @Nullable DeleteResolver<T> explicitDeleteResolver,
+                                      boolean useApplyBatch) {
         super(storIOContentResolver);
         this.objects = objects;
         this.explicitDeleteResolver = explicitDeleteResolver;
+        this.useApplyBatch = useApplyBatch;
     }
 
     /**
@@ -86,18 +93,28 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
 
             final Map<T, DeleteResult> results = new HashMap<T, DeleteResult>(objects.size());
 
+            // Nullable, objects which deletes are applied in batches and their operations
+            final List<T> batchedObjects = useApplyBatch ? new ArrayList<T>() : null;
+            final List<ContentProviderOperation> operations = useApplyBatch ? new ArrayList<ContentProviderOperation>() : null;
+
             if (explicitDeleteResolver != null) {
                 for (final T object : objects) {
-                    final DeleteResult deleteResult = explicitDeleteResolver.performDelete(storIOContentResolver, object);
-                    results.put(object, deleteResult);
+                    delete(explicitDeleteResolver, object, results, batchedObjects, operations);
                 }
             } else {
                 for (final SimpleImmutableEntry<T, DeleteResolver<T>> objectAndDeleteResolver : objectsAndDeleteResolvers) {
-                    final T object = objectAndDeleteResolver.getKey();
-                    final DeleteResolver<T> deleteResolver = objectAndDeleteResolver.getValue();
+                    delete(objectAndDeleteResolver.getValue(), objectAndDeleteResolver.getKey(), results, batchedObjects, operations);
+                }
+            }
+
+            if (operations != null && !operations.isEmpty()) {
+                final ContentProviderResult[] operationResults = ContentProviderBatches.apply(lowLevel, operations);
 
-                    final DeleteResult deleteResult = deleteResolver.performDelete(storIOContentResolver, object);
-                    results.put(object, deleteResult);
+                for (int i = 0; i < operationResults.length; i++) {
+                    results.put(
+                            batchedObjects.get(i),
+                            DeleteResult.newInstance(operationResults[i].count, operations.get(i).getUri())
+                    );
                 }
             }
 
@@ -108,6 +125,19 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
         }
     }
 
+    private void delete(@NonNull DeleteResolver<T> deleteResolver,
+                        @NonNull T object,
+                        @NonNull Map<T, DeleteResult> results,
+                        @Nullable List<T> batchedObjects,
+                        @Nullable List<ContentProviderOperation> operations) {
+        if (operations == null || !(deleteResolver instanceof DefaultDeleteResolver)) {
+            results.put(object, deleteResolver.performDelete(storIOContentResolver, object));
+        } else {
+            operations.add(((DefaultDeleteResolver<T>) deleteResolver).mapToOperation(object));
+            batchedObjects.add(object);
+        }
+    }
+
     /**
      * Creates {@link Observable} which will perform Delete Operation and send result to observer.
      * <p>
@@ -200,6 +230,8 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
         @Nullable
         private DeleteResolver<T> deleteResolver;
 
+        private boolean useApplyBatch;
+
         /**
          * Creates builder for {@link PreparedDeleteCollectionOfObjects}.
          *
@@ -228,6 +260,26 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
             return this;
         }
 
+        /**
+         * Optional: Specifies that deletes of objects with {@link DefaultDeleteResolver} should be applied
+         * via {@link android.content.ContentResolver#applyBatch(String, java.util.ArrayList)},
+         * up to {@link ContentProviderBatches#MAX_OPERATIONS_PER_BATCH} objects of one authority per call,
+         * so provider that overrides {@link android.content.ContentProvider#applyBatch(java.util.ArrayList)}
+         * can delete them in one transaction.
+         * <p>
+         * Objects with other resolvers are deleted via {@link DeleteResolver#performDelete}.
+         * <p>
+         * By default, batches are not used and each object is deleted separately.
+         *
+         * @param useApplyBatch {@code true} to apply deletes in batches.
+         * @return builder.
+         */
+        @NonNull
+        public Builder<T> useApplyBatch(boolean useApplyBatch) {
+            this.useApplyBatch = useApplyBatch;
+            return this;
+        }
+
         /**
          * Builds instance of {@link PreparedDeleteCollectionOfObjects}.
          *
@@ -238,7 +290,8 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
             return new PreparedDeleteCollectionOfObjects<T>(
                     storIOContentResolver,
                     objects,
-                    deleteResolver
+                    deleteResolver,
+                    useApplyBatch
             );
         }
     }
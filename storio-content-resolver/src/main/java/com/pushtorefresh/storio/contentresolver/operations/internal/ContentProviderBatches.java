@@ -0,0 +1,95 @@
+package com.pushtorefresh.storio.contentresolver.operations.internal;
+
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
+import android.content.OperationApplicationException;
+import android.os.RemoteException;
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Applies {@link ContentProviderOperation}s via {@link StorIOContentResolver.LowLevel#applyBatch(String, ArrayList)}
+ * in chunks, one chunk per call, operations of different authorities go to different chunks.
+ */
+public final class ContentProviderBatches {
+
+    /**
+     * Max number of operations in one batch, same as max number of operations
+     * between yield points accepted by {@code ContactsProvider}, keeps batches
+     * far from the size limit of Binder transaction.
+     */
+    public static final int MAX_OPERATIONS_PER_BATCH = 500;
+
+    private ContentProviderBatches() {
+        throw new IllegalStateException("No instances please.");
+    }
+
+    /**
+     * Applies operations, order of operations of one authority is preserved.
+     *
+     * @param lowLevel   low level api of {@link StorIOContentResolver}.
+     * @param operations operations to apply.
+     * @return results of operations, in the same order as operations.
+     * @throws RemoteException               if provider is dead.
+     * @throws OperationApplicationException if any operation failed,
+     *                                       operations of previous chunks stay applied.
+     */
+    @WorkerThread
+    @NonNull
+    public static ContentProviderResult[] apply(
+            @NonNull StorIOContentResolver.LowLevel lowLevel,
+            @NonNull List<ContentProviderOperation> operations
+    ) throws RemoteException, OperationApplicationException {
+        final Map<String, List<Integer>> indicesByAuthority = new LinkedHashMap<String, List<Integer>>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            final String authority = operations.get(i).getUri().getAuthority();
+
+            List<Integer> indices = indicesByAuthority.get(authority);
+
+            if (indices == null) {
+                indices = new ArrayList<Integer>();
+                indicesByAuthority.put(authority, indices);
+            }
+
+            indices.add(i);
+        }
+
+        final ContentProviderResult[] results = new ContentProviderResult[operations.size()];
+
+        for (Map.Entry<String, List<Integer>> entry : indicesByAuthority.entrySet()) {
+            final List<Integer> indices = entry.getValue();
+
+            for (int start = 0; start < indices.size(); start += MAX_OPERATIONS_PER_BATCH) {
+                final List<Integer> chunk = indices.subList(start, Math.min(start + MAX_OPERATIONS_PER_BATCH, indices.size()));
+                final ArrayList<ContentProviderOperation> batch = new ArrayList<ContentProviderOperation>(chunk.size());
+
+                for (Integer index : chunk) {
+                    batch.add(operations.get(index));
+                }
+
+                final ContentProviderResult[] batchResults = lowLevel.applyBatch(entry.getKey(), batch);
+
+                if (batchResults.length != batch.size()) {
+                    throw new IllegalStateException("Provider returned " + batchResults.length + " results for "
+                            + batch.size() + " operations, authority = " + entry.getKey());
+                }
+
+                for (int i = 0; i < batchResults.length; i++) {
+                    results[chunk.get(i)] = batchResults[i];
+                }
+            }
+        }
+
+        return results;
+    }
+}
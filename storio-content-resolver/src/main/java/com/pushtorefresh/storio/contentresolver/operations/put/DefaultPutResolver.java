@@ -1,15 +1,23 @@
 package com.pushtorefresh.storio.contentresolver.operations.put;
 
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentValues;
-import android.database.Cursor;
+import android.content.OperationApplicationException;
 import android.net.Uri;
+import android.os.RemoteException;
 import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
 
+import com.pushtorefresh.storio.StorIOException;
 import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+import com.pushtorefresh.storio.contentresolver.operations.internal.ContentProviderBatches;
 import com.pushtorefresh.storio.contentresolver.queries.InsertQuery;
-import com.pushtorefresh.storio.contentresolver.queries.Query;
 import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.pushtorefresh.storio.internal.InternalQueries.nullableArrayOfStringsFromListOfStrings;
 import static com.pushtorefresh.storio.internal.InternalQueries.nullableString;
 
@@ -47,37 +55,300 @@ public abstract class DefaultPutResolver<T> extends PutResolver<T> {
     @NonNull
     protected abstract ContentValues mapToContentValues(@NonNull T object);
 
+    /**
+     * Defines how this resolver decides between insert and update,
+     * override it to change strategy for the type this resolver is used for.
+     * <p>
+     * Default value is {@link UpsertStrategy#QUERY_FIRST}.
+     *
+     * @return non-null strategy of the Put Operation.
+     */
+    @NonNull
+    protected UpsertStrategy upsertStrategy() {
+        return UpsertStrategy.QUERY_FIRST;
+    }
+
     /**
      * {@inheritDoc}
      */
     @NonNull
     @Override
     public PutResult performPut(@NonNull StorIOContentResolver storIOContentResolver, @NonNull T object) {
+        final StorIOContentResolver.LowLevel lowLevel = storIOContentResolver.lowLevel();
+        final ContentValues contentValues = mapToContentValues(object);
+        final UpsertStrategy upsertStrategy = upsertStrategy();
+
+        // update can not be performed without values to set
+        if (upsertStrategy == UpsertStrategy.QUERY_FIRST || contentValues.size() == 0) {
+            return queryThenInsertOrUpdate(lowLevel, object, contentValues);
+        }
+
         final UpdateQuery updateQuery = mapToUpdateQuery(object);
+        final int numberOfRowsUpdated = lowLevel.update(updateQuery, contentValues);
 
-        final Query query = Query.builder()
-                .uri(updateQuery.uri())
-                .where(nullableString(updateQuery.where()))
-                .whereArgs((Object[]) nullableArrayOfStringsFromListOfStrings(updateQuery.whereArgs()))
-                .build();
+        if (numberOfRowsUpdated > 0) {
+            return PutResult.newUpdateResult(numberOfRowsUpdated, updateQuery.uri());
+        } else if (upsertStrategy == UpsertStrategy.UPDATE_FIRST) {
+            return insert(lowLevel, object, contentValues);
+        } else {
+            return insertIfRowDoesNotExist(lowLevel, object, updateQuery, contentValues);
+        }
+    }
 
-        final StorIOContentResolver.LowLevel lowLevel = storIOContentResolver.lowLevel();
+    @NonNull
+    private PutResult queryThenInsertOrUpdate(
+            @NonNull StorIOContentResolver.LowLevel lowLevel,
+            @NonNull T object,
+            @NonNull ContentValues contentValues
+    ) {
+        final UpdateQuery updateQuery = mapToUpdateQuery(object);
 
-        final Cursor cursor = lowLevel.query(query);
+        if (ExistingRows.exist(lowLevel, updateQuery)) {
+            final int numberOfRowsUpdated = lowLevel.update(updateQuery, contentValues);
+            return PutResult.newUpdateResult(numberOfRowsUpdated, updateQuery.uri());
+        } else {
+            return insert(lowLevel, object, contentValues);
+        }
+    }
+
+    @NonNull
+    private PutResult insert(
+            @NonNull StorIOContentResolver.LowLevel lowLevel,
+            @NonNull T object,
+            @NonNull ContentValues contentValues
+    ) {
+        final InsertQuery insertQuery = mapToInsertQuery(object);
+        final Uri insertedUri = lowLevel.insert(insertQuery, contentValues);
+        return PutResult.newInsertResult(insertedUri, insertQuery.uri());
+    }
+
+    @NonNull
+    private PutResult insertIfRowDoesNotExist(
+            @NonNull StorIOContentResolver.LowLevel lowLevel,
+            @NonNull T object,
+            @NonNull UpdateQuery updateQuery,
+            @NonNull ContentValues contentValues
+    ) {
+        final InsertQuery insertQuery = mapToInsertQuery(object);
+
+        final ArrayList<ContentProviderOperation> operations = new ArrayList<ContentProviderOperation>(2);
+
+        operations.add(ContentProviderOperation.newAssertQuery(updateQuery.uri())
+                .withSelection(
+                        nullableString(updateQuery.where()),
+                        nullableArrayOfStringsFromListOfStrings(updateQuery.whereArgs())
+                )
+                .withExpectedCount(0)
+                .build());
+
+        operations.add(ContentProviderOperation.newInsert(insertQuery.uri())
+                .withValues(contentValues)
+                .build());
 
         try {
-            final ContentValues contentValues = mapToContentValues(object);
+            final ContentProviderResult[] results = lowLevel.applyBatch(insertQuery.uri().getAuthority(), operations);
+            return PutResult.newInsertResult(results[1].uri, insertQuery.uri());
+        } catch (OperationApplicationException assertionFailed) {
+            // row was inserted after update, so now it can be updated
+            final int numberOfRowsUpdated = lowLevel.update(updateQuery, contentValues);
 
-            if (cursor.getCount() == 0) {
-                final InsertQuery insertQuery = mapToInsertQuery(object);
-                final Uri insertedUri = lowLevel.insert(insertQuery, contentValues);
-                return PutResult.newInsertResult(insertedUri, insertQuery.uri());
+            if (numberOfRowsUpdated == 0) {
+                throw new StorIOException("Row was neither inserted nor updated, object = " + object, assertionFailed);
+            }
+
+            return PutResult.newUpdateResult(numberOfRowsUpdated, updateQuery.uri());
+        } catch (RemoteException exception) {
+            throw new StorIOException(exception);
+        }
+    }
+
+    /**
+     * Puts objects like {@link #performPut(StorIOContentResolver, Object)} does
+     * with {@link #upsertStrategy()}, but writes are applied via {@link ContentProviderBatches}.
+     * <ul>
+     * <li>{@link UpsertStrategy#QUERY_FIRST}: existence of rows is checked with as few queries as possible
+     * (see {@link ExistingRows#exist(StorIOContentResolver.LowLevel, List)}),
+     * then inserts and updates are applied in one batch.</li>
+     * <li>{@link UpsertStrategy#UPDATE_FIRST}: updates are applied in one batch,
+     * then inserts of objects that updated no rows are applied in another batch.</li>
+     * <li>{@link UpsertStrategy#UPDATE_FIRST_WITH_ASSERTED_INSERT}: updates are applied in one batch,
+     * then each object that updated no rows is inserted with its own assertion, like without batches,
+     * because failed assertion aborts the whole batch.</li>
+     * </ul>
+     * Object which row could be written by previous object (for example, objects with the same key)
+     * starts next batch, so objects are written like they are put one by one.
+     * Objects without values are put one by one via {@link UpsertStrategy#QUERY_FIRST},
+     * because update can not be performed without values to set.
+     *
+     * @param lowLevel low level api of {@link StorIOContentResolver}.
+     * @param objects  objects to put.
+     * @return results of Put Operation, in the same order as objects.
+     * @throws RemoteException               if provider is dead.
+     * @throws OperationApplicationException if any write failed, writes of previous batches stay applied.
+     */
+    @WorkerThread
+    @NonNull
+    List<PutResult> performPutInBatches(
+            @NonNull StorIOContentResolver.LowLevel lowLevel,
+            @NonNull List<T> objects
+    ) throws RemoteException, OperationApplicationException {
+        final List<UpdateQuery> updateQueries = new ArrayList<UpdateQuery>(objects.size());
+        final List<ContentValues> contentValues = new ArrayList<ContentValues>(objects.size());
+
+        for (T object : objects) {
+            updateQueries.add(mapToUpdateQuery(object));
+            contentValues.add(mapToContentValues(object));
+        }
+
+        final UpsertStrategy upsertStrategy = upsertStrategy();
+        final List<PutResult> putResults = new ArrayList<PutResult>(objects.size());
+
+        for (int start = 0; start < objects.size(); ) {
+            start = upsertStrategy == UpsertStrategy.QUERY_FIRST
+                    ? queryThenInsertOrUpdateInBatch(lowLevel, objects, updateQueries, contentValues, start, putResults)
+                    : updateThenInsertInBatch(lowLevel, objects, updateQueries, contentValues, start, upsertStrategy, putResults);
+        }
+
+        return putResults;
+    }
+
+    /**
+     * Writes next batch of objects with {@link UpsertStrategy#QUERY_FIRST}.
+     *
+     * @return index of the first object that is not written yet.
+     */
+    private int queryThenInsertOrUpdateInBatch(
+            @NonNull StorIOContentResolver.LowLevel lowLevel,
+            @NonNull List<T> objects,
+            @NonNull List<UpdateQuery> updateQueries,
+            @NonNull List<ContentValues> contentValues,
+            int start,
+            @NonNull List<PutResult> putResults
+    ) throws RemoteException, OperationApplicationException {
+        final boolean[] rowsExist = ExistingRows.exist(lowLevel, updateQueries.subList(start, objects.size()));
+        final WrittenRows writtenRows = new WrittenRows();
+
+        final List<ContentProviderOperation> operations = new ArrayList<ContentProviderOperation>();
+        final List<Uri> affectedUris = new ArrayList<Uri>();
+
+        int end = start;
+
+        while (end < objects.size() && !writtenRows.contain(updateQueries.get(end))) {
+            final UpdateQuery updateQuery = updateQueries.get(end);
+            final boolean rowExists = rowsExist[end - start];
+
+            if (rowExists) {
+                operations.add(newUpdate(updateQuery, contentValues.get(end)));
+                affectedUris.add(updateQuery.uri());
+            } else {
+                final Uri insertUri = mapToInsertQuery(objects.get(end)).uri();
+
+                operations.add(ContentProviderOperation.newInsert(insertUri)
+                        .withValues(contentValues.get(end))
+                        .build());
+                affectedUris.add(insertUri);
+            }
+
+            writtenRows.add(updateQuery, contentValues.get(end), rowExists);
+            end++;
+        }
+
+        final ContentProviderResult[] operationResults = ContentProviderBatches.apply(lowLevel, operations);
+
+        for (int i = 0; i < operationResults.length; i++) {
+            putResults.add(rowsExist[i]
+                    ? PutResult.newUpdateResult(operationResults[i].count, affectedUris.get(i))
+                    : PutResult.newInsertResult(operationResults[i].uri, affectedUris.get(i)));
+        }
+
+        return end;
+    }
+
+    /**
+     * Writes next batch of objects with {@link UpsertStrategy#UPDATE_FIRST}
+     * or {@link UpsertStrategy#UPDATE_FIRST_WITH_ASSERTED_INSERT}.
+     *
+     * @return index of the first object that is not written yet.
+     */
+    private int updateThenInsertInBatch(
+            @NonNull StorIOContentResolver.LowLevel lowLevel,
+            @NonNull List<T> objects,
+            @NonNull List<UpdateQuery> updateQueries,
+            @NonNull List<ContentValues> contentValues,
+            int start,
+            @NonNull UpsertStrategy upsertStrategy,
+            @NonNull List<PutResult> putResults
+    ) throws RemoteException, OperationApplicationException {
+        // update can not be performed without values to set
+        if (contentValues.get(start).size() == 0) {
+            putResults.add(queryThenInsertOrUpdate(lowLevel, objects.get(start), contentValues.get(start)));
+            return start + 1;
+        }
+
+        final WrittenRows writtenRows = new WrittenRows();
+        final List<ContentProviderOperation> updates = new ArrayList<ContentProviderOperation>();
+
+        int end = start;
+
+        while (end < objects.size()
+                && contentValues.get(end).size() != 0
+                && !writtenRows.contain(updateQueries.get(end))) {
+            updates.add(newUpdate(updateQueries.get(end), contentValues.get(end)));
+
+            // Updates are applied in order, but inserts are applied after updates of all objects of the batch
+            writtenRows.add(updateQueries.get(end), contentValues.get(end), false);
+            end++;
+        }
+
+        final ContentProviderResult[] updateResults = ContentProviderBatches.apply(lowLevel, updates);
+
+        final List<ContentProviderOperation> inserts = new ArrayList<ContentProviderOperation>();
+        final List<Uri> insertUris = new ArrayList<Uri>();
+
+        if (upsertStrategy == UpsertStrategy.UPDATE_FIRST) {
+            for (int i = 0; i < updateResults.length; i++) {
+                if (updateResults[i].count == 0) {
+                    final Uri insertUri = mapToInsertQuery(objects.get(start + i)).uri();
+
+                    inserts.add(ContentProviderOperation.newInsert(insertUri)
+                            .withValues(contentValues.get(start + i))
+                            .build());
+                    insertUris.add(insertUri);
+                }
+            }
+        }
+
+        final ContentProviderResult[] insertResults = ContentProviderBatches.apply(lowLevel, inserts);
+
+        for (int i = 0, insertIndex = 0; i < updateResults.length; i++) {
+            final int index = start + i;
+
+            if (updateResults[i].count > 0) {
+                putResults.add(PutResult.newUpdateResult(updateResults[i].count, updateQueries.get(index).uri()));
+            } else if (upsertStrategy == UpsertStrategy.UPDATE_FIRST) {
+                putResults.add(PutResult.newInsertResult(insertResults[insertIndex].uri, insertUris.get(insertIndex)));
+                insertIndex++;
             } else {
-                final int numberOfRowsUpdated = lowLevel.update(updateQuery, contentValues);
-                return PutResult.newUpdateResult(numberOfRowsUpdated, updateQuery.uri());
+                putResults.add(insertIfRowDoesNotExist(
+                        lowLevel, objects.get(index), updateQueries.get(index), contentValues.get(index)
+                ));
             }
-        } finally {
-            cursor.close();
         }
+
+        return end;
+    }
+
+    @NonNull
+    private static ContentProviderOperation newUpdate(
+            @NonNull UpdateQuery updateQuery,
+            @NonNull ContentValues contentValues
+    ) {
+        return ContentProviderOperation.newUpdate(updateQuery.uri())
+                .withSelection(
+                        nullableString(updateQuery.where()),
+                        nullableArrayOfStringsFromListOfStrings(updateQuery.whereArgs())
+                )
+                .withValues(contentValues)
+                .build();
     }
 }
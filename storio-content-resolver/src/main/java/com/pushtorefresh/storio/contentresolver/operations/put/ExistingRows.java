@@ -0,0 +1,173 @@
+package com.pushtorefresh.storio.contentresolver.operations.put;
+
+import android.database.Cursor;
+import android.net.Uri;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+import com.pushtorefresh.storio.contentresolver.operations.internal.ContentProviderBatches;
+import com.pushtorefresh.storio.contentresolver.queries.Query;
+import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.pushtorefresh.storio.Queries.placeholders;
+import static com.pushtorefresh.storio.internal.InternalQueries.nullableArrayOfStringsFromListOfStrings;
+import static com.pushtorefresh.storio.internal.InternalQueries.nullableString;
+
+/**
+ * Checks existence of rows selected by {@link UpdateQuery}s of {@link DefaultPutResolver}.
+ */
+final class ExistingRows {
+
+    @NonNull
+    private static final Pattern KEY_WHERE_CLAUSE = Pattern.compile("^\\s*(\\w+)\\s*=\\s*\\?\\s*$");
+
+    private ExistingRows() {
+        throw new IllegalStateException("No instances please.");
+    }
+
+    /**
+     * Checks existence of the rows selected by update query.
+     *
+     * @param lowLevel    low level api of {@link StorIOContentResolver}.
+     * @param updateQuery update query of the object.
+     * @return {@code true} if at least one row exists, {@code false} otherwise.
+     */
+    @WorkerThread
+    static boolean exist(@NonNull StorIOContentResolver.LowLevel lowLevel, @NonNull UpdateQuery updateQuery) {
+        final Query query = Query.builder()
+                .uri(updateQuery.uri())
+                .where(nullableString(updateQuery.where()))
+                .whereArgs((Object[]) nullableArrayOfStringsFromListOfStrings(updateQuery.whereArgs()))
+                .build();
+
+        final Cursor cursor = lowLevel.query(query);
+
+        try {
+            return cursor.getCount() != 0;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Checks existence of the rows selected by each of update queries.
+     * <p>
+     * Queries that select rows of one {@link Uri} by the same column: {@code column = ?} are checked together,
+     * with one query {@code column IN (?, ...)} of only that column per up to
+     * {@link ContentProviderBatches#MAX_OPERATIONS_PER_BATCH} keys,
+     * other update queries are checked one by one like {@link #exist(StorIOContentResolver.LowLevel, UpdateQuery)} does.
+     *
+     * @param lowLevel      low level api of {@link StorIOContentResolver}.
+     * @param updateQueries update queries of the objects.
+     * @return existence of the rows, in the same order as update queries.
+     */
+    @WorkerThread
+    @NonNull
+    static boolean[] exist(@NonNull StorIOContentResolver.LowLevel lowLevel, @NonNull List<UpdateQuery> updateQueries) {
+        final boolean[] exist = new boolean[updateQueries.size()];
+        final Map<SimpleImmutableEntry<Uri, String>, List<Integer>> indicesByUriAndKeyColumn
+                = new LinkedHashMap<SimpleImmutableEntry<Uri, String>, List<Integer>>();
+
+        for (int i = 0; i < updateQueries.size(); i++) {
+            final UpdateQuery updateQuery = updateQueries.get(i);
+            final String keyColumn = keyColumn(updateQuery);
+
+            if (keyColumn == null) {
+                exist[i] = exist(lowLevel, updateQuery);
+                continue;
+            }
+
+            final SimpleImmutableEntry<Uri, String> uriAndKeyColumn
+                    = new SimpleImmutableEntry<Uri, String>(updateQuery.uri(), keyColumn);
+
+            List<Integer> indices = indicesByUriAndKeyColumn.get(uriAndKeyColumn);
+
+            if (indices == null) {
+                indices = new ArrayList<Integer>();
+                indicesByUriAndKeyColumn.put(uriAndKeyColumn, indices);
+            }
+
+            indices.add(i);
+        }
+
+        for (Map.Entry<SimpleImmutableEntry<Uri, String>, List<Integer>> entry : indicesByUriAndKeyColumn.entrySet()) {
+            final Uri uri = entry.getKey().getKey();
+            final String keyColumn = entry.getKey().getValue();
+            final List<Integer> indices = entry.getValue();
+
+            for (int start = 0; start < indices.size(); start += ContentProviderBatches.MAX_OPERATIONS_PER_BATCH) {
+                final List<Integer> chunk = indices.subList(
+                        start,
+                        Math.min(start + ContentProviderBatches.MAX_OPERATIONS_PER_BATCH, indices.size())
+                );
+
+                final Object[] keys = new Object[chunk.size()];
+
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = updateQueries.get(chunk.get(i)).whereArgs().get(0);
+                }
+
+                final Set<String> existingKeys = existingKeys(lowLevel, uri, keyColumn, keys);
+
+                for (Integer index : chunk) {
+                    exist[index] = existingKeys.contains(updateQueries.get(index).whereArgs().get(0));
+                }
+            }
+        }
+
+        return exist;
+    }
+
+    @NonNull
+    private static Set<String> existingKeys(@NonNull StorIOContentResolver.LowLevel lowLevel,
+                                            @NonNull Uri uri,
+                                            @NonNull String keyColumn,
+                                            @NonNull Object[] keys) {
+        final Cursor cursor = lowLevel.query(Query.builder()
+                .uri(uri)
+                .columns(keyColumn)
+                .where(keyColumn + " IN (" + placeholders(keys.length) + ")")
+                .whereArgs(keys)
+                .build());
+
+        try {
+            final Set<String> existingKeys = new HashSet<String>(cursor.getCount());
+
+            while (cursor.moveToNext()) {
+                existingKeys.add(cursor.getString(0));
+            }
+
+            return existingKeys;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Gets column that selects rows of the update query.
+     *
+     * @param updateQuery update query.
+     * @return key column or {@code null} if where clause is not {@code column = ?} with one argument.
+     */
+    @Nullable
+    static String keyColumn(@NonNull UpdateQuery updateQuery) {
+        if (updateQuery.whereArgs().size() != 1) {
+            return null;
+        }
+
+        final Matcher matcher = KEY_WHERE_CLAUSE.matcher(updateQuery.where());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+}
@@ -1,5 +1,7 @@
 package com.pushtorefresh.storio.contentresolver.operations.put;
 
+import android.content.OperationApplicationException;
+import android.os.RemoteException;
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -8,6 +10,7 @@ import android.support.annotation.WorkerThread;
 import com.pushtorefresh.storio.StorIOException;
 import com.pushtorefresh.storio.contentresolver.ContentResolverTypeMapping;
 import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+import com.pushtorefresh.storio.contentresolver.operations.internal.ContentProviderBatches;
 import com.pushtorefresh.storio.contentresolver.operations.internal.RxJavaUtils;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -34,12 +37,16 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
     @Nullable
     private final PutResolver<T> explicitPutResolver;
 
+    private final boolean useApplyBatch;
+
     PreparedPutCollectionOfObjects(@NonNull StorIOContentResolver storIOContentResolver,
                                    @NonNull Collection<T> objects,
-                                   @Nullable PutResolver<T> explicitPutResolver) {
+                                   @Nullable PutResolver<T> explicitPutResolver,
+                                   boolean useApplyBatch) {
         super(storIOContentResolver);
         this.objects = objects;
         this.explicitPutResolver = explicitPutResolver;
+        this.useApplyBatch = useApplyBatch;
     }
 
     /**
@@ -86,21 +93,23 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
 
             final Map<T, PutResult> results = new HashMap<T, PutResult>(objects.size());
 
+            // Nullable, objects which writes are applied in batches
+            final Batch<T> batch = useApplyBatch ? new Batch<T>(lowLevel, results) : null;
+
             if (explicitPutResolver != null) {
                 for (final T object : objects) {
-                    final PutResult putResult = explicitPutResolver.performPut(storIOContentResolver, object);
-                    results.put(object, putResult);
+                    put(explicitPutResolver, object, results, batch);
                 }
             } else {
                 for (final SimpleImmutableEntry<T, PutResolver<T>> objectAndPutResolver : objectsAndPutResolvers) {
-                    final T object = objectAndPutResolver.getKey();
-                    final PutResolver<T> putResolver = objectAndPutResolver.getValue();
-
-                    final PutResult putResult = putResolver.performPut(storIOContentResolver, object);
-                    results.put(object, putResult);
+                    put(objectAndPutResolver.getValue(), objectAndPutResolver.getKey(), results, batch);
                 }
             }
 
+            if (batch != null) {
+                batch.apply();
+            }
+
             return PutResults.newInstance(results);
 
         } catch (Exception exception) {
@@ -108,6 +117,68 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
         }
     }
 
+    private void put(@NonNull PutResolver<T> putResolver,
+                     @NonNull T object,
+                     @NonNull Map<T, PutResult> results,
+                     @Nullable Batch<T> batch) throws RemoteException, OperationApplicationException {
+        if (batch == null) {
+            results.put(object, putResolver.performPut(storIOContentResolver, object));
+        } else if (putResolver instanceof DefaultPutResolver) {
+            batch.add((DefaultPutResolver<T>) putResolver, object);
+        } else {
+            // Writes are applied in the order of objects
+            batch.apply();
+            results.put(object, putResolver.performPut(storIOContentResolver, object));
+        }
+    }
+
+    /**
+     * Consecutive objects with the same {@link DefaultPutResolver}, which writes are applied together.
+     */
+    private static final class Batch<T> {
+
+        @NonNull
+        private final StorIOContentResolver.LowLevel lowLevel;
+
+        @NonNull
+        private final Map<T, PutResult> results;
+
+        @NonNull
+        private final List<T> objects = new ArrayList<T>();
+
+        @Nullable
+        private DefaultPutResolver<T> putResolver;
+
+        Batch(@NonNull StorIOContentResolver.LowLevel lowLevel, @NonNull Map<T, PutResult> results) {
+            this.lowLevel = lowLevel;
+            this.results = results;
+        }
+
+        void add(@NonNull DefaultPutResolver<T> putResolver, @NonNull T object)
+                throws RemoteException, OperationApplicationException {
+            if (putResolver != this.putResolver) {
+                apply();
+                this.putResolver = putResolver;
+            }
+
+            objects.add(object);
+        }
+
+        void apply() throws RemoteException, OperationApplicationException {
+            if (putResolver == null || objects.isEmpty()) {
+                return;
+            }
+
+            final List<PutResult> putResults = putResolver.performPutInBatches(lowLevel, objects);
+
+            for (int i = 0; i < putResults.size(); i++) {
+                results.put(objects.get(i), putResults.get(i));
+            }
+
+            objects.clear();
+        }
+    }
+
     /**
      * Creates {@link Observable} which will perform Put Operation and send result to observer.
      * <p>
@@ -200,6 +271,8 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
         @Nullable
         private PutResolver<T> putResolver;
 
+        private boolean useApplyBatch;
+
         public Builder(@NonNull StorIOContentResolver storIOContentResolver, @NonNull Collection<T> objects) {
             this.storIOContentResolver = storIOContentResolver;
             this.objects = objects;
@@ -223,6 +296,38 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
             return this;
         }
 
+        /**
+         * Optional: Specifies that writes of objects with {@link DefaultPutResolver} should be applied
+         * via {@link android.content.ContentResolver#applyBatch(String, java.util.ArrayList)},
+         * up to {@link ContentProviderBatches#MAX_OPERATIONS_PER_BATCH} objects of one authority per call,
+         * so provider that overrides {@link android.content.ContentProvider#applyBatch(java.util.ArrayList)}
+         * can write them in one transaction.
+         * <p>
+         * {@link DefaultPutResolver#upsertStrategy()} is honoured: with {@link UpsertStrategy#QUERY_FIRST}
+         * existence of rows is checked before each batch, with one query per up to
+         * {@link ContentProviderBatches#MAX_OPERATIONS_PER_BATCH} objects if their update queries
+         * select rows by one column: {@code column = ?}, otherwise with one query per object;
+         * with {@link UpsertStrategy#UPDATE_FIRST} updates are applied in one batch and inserts of objects
+         * that updated no rows in another one; with {@link UpsertStrategy#UPDATE_FIRST_WITH_ASSERTED_INSERT}
+         * updates are applied in one batch and each asserted insert is applied separately.
+         * <p>
+         * Writes are applied in the order of objects: batch contains consecutive objects with the same resolver,
+         * it's applied before object with other resolver is put via {@link PutResolver#performPut}
+         * and before object which row could be written by previous object of the batch
+         * (for example, object with the same key), so such object updates the row
+         * inserted by previous object, like it happens without batches.
+         * <p>
+         * By default, batches are not used and each object is written separately.
+         *
+         * @param useApplyBatch {@code true} to apply writes in batches.
+         * @return builder.
+         */
+        @NonNull
+        public Builder<T> useApplyBatch(boolean useApplyBatch) {
+            this.useApplyBatch = useApplyBatch;
+            return this;
+        }
+
         /**
          * Builds new instance of {@link PreparedPutCollectionOfObjects}.
          *
@@ -233,7 +338,8 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
             return new PreparedPutCollectionOfObjects<T>(
                     storIOContentResolver,
                     objects,
-                    putResolver
+                    putResolver,
+                    useApplyBatch
             );
         }
     }
@@ -7,9 +7,13 @@ import android.support.annotation.WorkerThread;
 
 import com.pushtorefresh.storio.StorIOException;
 import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+import com.pushtorefresh.storio.contentresolver.operations.internal.ContentProviderBatches;
 import com.pushtorefresh.storio.contentresolver.operations.internal.RxJavaUtils;
+import com.pushtorefresh.storio.contentresolver.queries.InsertQuery;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import rx.Completable;
@@ -30,12 +34,16 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
     @NonNull
     private final PutResolver<ContentValues> putResolver;
 
+    private final boolean useBulkInsert;
+
     PreparedPutContentValuesIterable(@NonNull StorIOContentResolver storIOContentResolver,
                                      @NonNull PutResolver<ContentValues> putResolver,
-                                     @NonNull Iterable<ContentValues> contentValues) {
+                                     @NonNull Iterable<ContentValues> contentValues,
+                                     boolean useBulkInsert) {
         super(storIOContentResolver);
         this.contentValues = contentValues;
         this.putResolver = putResolver;
+        this.useBulkInsert = useBulkInsert;
     }
 
     /**
@@ -54,9 +62,13 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
         try {
             final Map<ContentValues, PutResult> putResultsMap = new HashMap<ContentValues, PutResult>();
 
-            for (final ContentValues cv : contentValues) {
-                final PutResult putResult = putResolver.performPut(storIOContentResolver, cv);
-                putResultsMap.put(cv, putResult);
+            if (useBulkInsert) {
+                bulkInsert((DefaultPutResolver<ContentValues>) putResolver, putResultsMap);
+            } else {
+                for (final ContentValues cv : contentValues) {
+                    final PutResult putResult = putResolver.performPut(storIOContentResolver, cv);
+                    putResultsMap.put(cv, putResult);
+                }
             }
 
             return PutResults.newInstance(putResultsMap);
@@ -65,6 +77,55 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
         }
     }
 
+    private void bulkInsert(@NonNull DefaultPutResolver<ContentValues> defaultPutResolver,
+                            @NonNull Map<ContentValues, PutResult> putResultsMap) {
+        final StorIOContentResolver.LowLevel lowLevel = storIOContentResolver.lowLevel();
+        final List<ContentValues> chunk = new ArrayList<ContentValues>();
+        InsertQuery chunkInsertQuery = null;
+
+        // Consecutive ContentValues with same InsertQuery are inserted with one call
+        for (final ContentValues cv : contentValues) {
+            final InsertQuery insertQuery = defaultPutResolver.mapToInsertQuery(cv);
+
+            if (chunkInsertQuery != null
+                    && (!chunkInsertQuery.equals(insertQuery) || chunk.size() == ContentProviderBatches.MAX_OPERATIONS_PER_BATCH)) {
+                bulkInsert(lowLevel, defaultPutResolver, chunkInsertQuery, chunk, putResultsMap);
+            }
+
+            chunkInsertQuery = insertQuery;
+            chunk.add(cv);
+        }
+
+        if (chunkInsertQuery != null) {
+            bulkInsert(lowLevel, defaultPutResolver, chunkInsertQuery, chunk, putResultsMap);
+        }
+    }
+
+    private static void bulkInsert(@NonNull StorIOContentResolver.LowLevel lowLevel,
+                                   @NonNull DefaultPutResolver<ContentValues> defaultPutResolver,
+                                   @NonNull InsertQuery insertQuery,
+                                   @NonNull List<ContentValues> chunk,
+                                   @NonNull Map<ContentValues, PutResult> putResultsMap) {
+        final ContentValues[] values = new ContentValues[chunk.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = defaultPutResolver.mapToContentValues(chunk.get(i));
+        }
+
+        final int numberOfInsertedRows = lowLevel.bulkInsert(insertQuery, values);
+
+        if (numberOfInsertedRows != values.length) {
+            throw new IllegalStateException("Provider inserted " + numberOfInsertedRows + " of "
+                    + values.length + " rows, uri = " + insertQuery.uri());
+        }
+
+        for (final ContentValues cv : chunk) {
+            putResultsMap.put(cv, PutResult.newBulkInsertResult(insertQuery.uri()));
+        }
+
+        chunk.clear();
+    }
+
     /**
      * Creates {@link Observable} which will perform Put Operation and send result to observer.
      * <p>
@@ -189,12 +250,37 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
         @NonNull
         private final PutResolver<ContentValues> putResolver;
 
+        private boolean useBulkInsert;
+
         CompleteBuilder(@NonNull StorIOContentResolver storIOContentResolver, @NonNull Iterable<ContentValues> contentValues, @NonNull PutResolver<ContentValues> putResolver) {
             this.storIOContentResolver = storIOContentResolver;
             this.contentValues = contentValues;
             this.putResolver = putResolver;
         }
 
+        /**
+         * Optional: Specifies that all {@link ContentValues} should be inserted without checking
+         * existence of their rows via {@link StorIOContentResolver.LowLevel#bulkInsert(InsertQuery, ContentValues[])},
+         * consecutive {@link ContentValues} with same {@link InsertQuery} are inserted with one call,
+         * up to {@link ContentProviderBatches#MAX_OPERATIONS_PER_BATCH} per call.
+         * <p>
+         * Requires {@link DefaultPutResolver}, its {@link UpsertStrategy} is not used.
+         * Provider does not return Uris of rows inserted via bulk insert,
+         * so {@link PutResult#insertedUri()} of results is {@code null}.
+         * Operation fails if provider inserted less rows than it was asked to,
+         * rows inserted by previous calls stay inserted.
+         * <p>
+         * By default, bulk insert is not used and each {@link ContentValues} is put via {@link PutResolver#performPut}.
+         *
+         * @param useBulkInsert {@code true} to insert all {@link ContentValues} via bulk insert.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder useBulkInsert(boolean useBulkInsert) {
+            this.useBulkInsert = useBulkInsert;
+            return this;
+        }
+
         /**
          * Builds instance of {@link PreparedPutContentValuesIterable}.
          *
@@ -202,10 +288,15 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
          */
         @NonNull
         public PreparedPutContentValuesIterable prepare() {
+            if (useBulkInsert && !(putResolver instanceof DefaultPutResolver)) {
+                throw new IllegalStateException("Bulk insert requires DefaultPutResolver, putResolver = " + putResolver);
+            }
+
             return new PreparedPutContentValuesIterable(
                     storIOContentResolver,
                     putResolver,
-                    contentValues
+                    contentValues,
+                    useBulkInsert
             );
         }
     }
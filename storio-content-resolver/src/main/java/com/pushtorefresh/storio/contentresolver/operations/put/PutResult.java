@@ -14,13 +14,15 @@ public final class PutResult {
     @Nullable
     private final Uri insertedUri;
 
+    private final boolean inserted;
+
     @Nullable
     private final Integer numberOfRowsUpdated;
 
     @NonNull
     private final Uri affectedUri;
 
-    private PutResult(@Nullable Uri insertedUri, @Nullable Integer numberOfRowsUpdated, @NonNull Uri affectedUri) {
+    private PutResult(@Nullable Uri insertedUri, boolean inserted, @Nullable Integer numberOfRowsUpdated, @NonNull Uri affectedUri) {
         if (numberOfRowsUpdated != null && numberOfRowsUpdated < 0) {
             throw new IllegalStateException("Number of rows updated must be >= 0");
         }
@@ -28,6 +30,7 @@ public final class PutResult {
         checkNotNull(affectedUri, "affectedUri must not be null");
 
         this.insertedUri = insertedUri;
+        this.inserted = inserted;
         this.numberOfRowsUpdated = numberOfRowsUpdated;
         this.affectedUri = affectedUri;
     }
@@ -42,7 +45,19 @@ public final class PutResult {
     @NonNull
     public static PutResult newInsertResult(@NonNull Uri insertedUri, @NonNull Uri affectedUri) {
         checkNotNull(insertedUri, "insertedUri must not be null");
-        return new PutResult(insertedUri, null, affectedUri);
+        return new PutResult(insertedUri, true, null, affectedUri);
+    }
+
+    /**
+     * Creates {@link PutResult} for insert which doesn't return Uri of inserted row,
+     * like {@link android.content.ContentResolver#bulkInsert(Uri, android.content.ContentValues[])}.
+     *
+     * @param affectedUri Uri that was affected by insert.
+     * @return new {@link PutResult} instance.
+     */
+    @NonNull
+    public static PutResult newBulkInsertResult(@NonNull Uri affectedUri) {
+        return new PutResult(null, true, null, affectedUri);
     }
 
     /**
@@ -54,7 +69,7 @@ public final class PutResult {
      */
     @NonNull
     public static PutResult newUpdateResult(int numberOfRowsUpdated, @NonNull Uri affectedUri) {
-        return new PutResult(null, numberOfRowsUpdated, affectedUri);
+        return new PutResult(null, false, numberOfRowsUpdated, affectedUri);
     }
 
     /**
@@ -65,7 +80,7 @@ public final class PutResult {
      * {@code false} otherwise.
      */
     public boolean wasInserted() {
-        return insertedUri != null;
+        return inserted;
     }
 
     /**
@@ -107,9 +122,10 @@ public final class PutResult {
     }
 
     /**
-     * Gets id of inserted row.
+     * Gets Uri of inserted row.
      *
-     * @return null if nothing was inserted or id of inserted row.
+     * @return null if nothing was inserted or Uri of inserted row is unknown
+     * (see {@link #newBulkInsertResult(Uri)}), otherwise Uri of inserted row.
      */
     @Nullable
     public Uri insertedUri() {
@@ -143,6 +159,7 @@ public final class PutResult {
 
         PutResult putResult = (PutResult) o;
 
+        if (inserted != putResult.inserted) return false;
         if (insertedUri != null ? !insertedUri.equals(putResult.insertedUri) : putResult.insertedUri != null)
             return false;
         if (numberOfRowsUpdated != null ? !numberOfRowsUpdated.equals(putResult.numberOfRowsUpdated) : putResult.numberOfRowsUpdated != null)
@@ -153,6 +170,7 @@ public final class PutResult {
     @Override
     public int hashCode() {
         int result = insertedUri != null ? insertedUri.hashCode() : 0;
+        result = 31 * result + (inserted ? 1 : 0);
         result = 31 * result + (numberOfRowsUpdated != null ? numberOfRowsUpdated.hashCode() : 0);
         result = 31 * result + affectedUri.hashCode();
         return result;
@@ -162,6 +180,7 @@ public final class PutResult {
     public String toString() {
         return "PutResult{" +
                 "insertedUri=" + insertedUri +
+                ", inserted=" + inserted +
                 ", numberOfRowsUpdated=" + numberOfRowsUpdated +
                 ", affectedUri=" + affectedUri +
                 '}';
@@ -0,0 +1,44 @@
+package com.pushtorefresh.storio.contentresolver.operations.put;
+
+/**
+ * Defines how {@link DefaultPutResolver} decides between insert and update.
+ */
+public enum UpsertStrategy {
+
+    /**
+     * Checks existence of the row with query of {@link com.pushtorefresh.storio.contentresolver.queries.UpdateQuery}
+     * and then performs either insert or update.
+     * <p>
+     * Makes two calls to the provider per object: query and then either insert or update.
+     */
+    QUERY_FIRST,
+
+    /**
+     * Tries to update the row first and performs insert only if no rows were updated.
+     * <p>
+     * Makes one call to the provider per object that already exists: update,
+     * and two calls per new object: update that changes nothing and then insert.
+     * Object without values to update is put like with {@link #QUERY_FIRST}: query and then insert or update.
+     * <p>
+     * Notice: update query should match only the rows of the object,
+     * otherwise result of the update will be treated as put of the object.
+     */
+    UPDATE_FIRST,
+
+    /**
+     * Same as {@link #UPDATE_FIRST}, but insert is applied via
+     * {@link android.content.ContentResolver#applyBatch(String, java.util.ArrayList)} together with
+     * {@link android.content.ContentProviderOperation#newAssertQuery(android.net.Uri)} that expects
+     * no rows matching update query, so provider that applies batches in a transaction
+     * checks absence of the row and inserts it atomically.
+     * <p>
+     * If the row was inserted by somebody else between update and insert, assertion fails,
+     * nothing is inserted and the row is updated instead.
+     * <p>
+     * Makes one call to the provider per object that already exists: update,
+     * two calls per new object: update that changes nothing and then batch with assertion and insert,
+     * and three calls if assertion fails: update, batch and update again.
+     * Object without values to update is put like with {@link #QUERY_FIRST}: query and then insert or update.
+     */
+    UPDATE_FIRST_WITH_ASSERTED_INSERT
+}
@@ -0,0 +1,69 @@
+package com.pushtorefresh.storio.contentresolver.operations.put;
+
+import android.content.ContentValues;
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Rows written by objects of one batch of {@link DefaultPutResolver},
+ * detects objects which rows can be changed by previous writes of the batch,
+ * so their existence checked before the batch is not valid anymore.
+ * <p>
+ * If update query selects rows by one column: {@code column = ?}, rows are tracked by values of that column,
+ * otherwise by update queries.
+ */
+final class WrittenRows {
+
+    /**
+     * Update queries that select written rows.
+     */
+    @NonNull
+    private final Set<UpdateQuery> updateQueries = new HashSet<UpdateQuery>();
+
+    /**
+     * Checks whether rows selected by update query could be written by previous objects.
+     *
+     * @param updateQuery update query of the object.
+     * @return {@code true} if rows could be written, {@code false} otherwise.
+     */
+    boolean contain(@NonNull UpdateQuery updateQuery) {
+        return updateQueries.contains(updateQuery);
+    }
+
+    /**
+     * Adds rows written by the object.
+     *
+     * @param updateQuery   update query of the object.
+     * @param contentValues values of the object.
+     * @param rowExists     {@code true} if rows of the object are updated, {@code false} if inserted.
+     */
+    void add(@NonNull UpdateQuery updateQuery, @NonNull ContentValues contentValues, boolean rowExists) {
+        final String keyColumn = ExistingRows.keyColumn(updateQuery);
+
+        if (keyColumn == null) {
+            updateQueries.add(updateQuery);
+            return;
+        }
+
+        final String key = updateQuery.whereArgs().get(0);
+        final String newKey = contentValues.getAsString(keyColumn);
+
+        if (rowExists && contentValues.containsKey(keyColumn) && !key.equals(newKey)) {
+            // Key of updated row is changed, it does not exist anymore
+            updateQueries.add(updateQuery);
+        }
+
+        if (newKey != null && !(rowExists && key.equals(newKey))) {
+            // Row with new key exists now, key of inserted row without key is generated by provider
+            updateQueries.add(UpdateQuery.builder()
+                    .uri(updateQuery.uri())
+                    .where(updateQuery.where())
+                    .whereArgs(newKey)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.pushtorefresh.storio.contentresolver.impl;
+
+import android.content.ContentResolver;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.contentresolver.BuildConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pushtorefresh.storio.test.Utils.MAX_SDK_VERSION;
+import static com.pushtorefresh.storio.test.Utils.MIN_SDK_VERSION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ContentObserverRegistryTest {
+
+    @NonNull
+    private final ContentResolver contentResolver = mock(ContentResolver.class);
+
+    @NonNull
+    private final ContentObserverRegistry registry
+            = new ContentObserverRegistry(contentResolver, mock(Handler.class), Build.VERSION_CODES.JELLY_BEAN);
+
+    private static class RecordingListener implements ContentObserverRegistry.Listener {
+
+        @NonNull
+        final List<Uri> changes = new ArrayList<Uri>();
+
+        @Override
+        public void onChange(@NonNull Uri uri) {
+            changes.add(uri);
+        }
+    }
+
+    @NonNull
+    private ContentObserver registeredContentObserver(@NonNull Uri uri) {
+        final ArgumentCaptor<ContentObserver> contentObserver = ArgumentCaptor.forClass(ContentObserver.class);
+        verify(contentResolver).registerContentObserver(same(uri), eq(true), contentObserver.capture());
+        return contentObserver.getValue();
+    }
+
+    @Test
+    public void contentObserverShouldReturnFalseOnDeliverSelfNotificationsOnAllSdkVersions() {
+        for (int sdkVersion = MIN_SDK_VERSION; sdkVersion < MAX_SDK_VERSION; sdkVersion++) {
+            final ContentResolver contentResolver = mock(ContentResolver.class);
+            final Uri uri = mock(Uri.class);
+
+            new ContentObserverRegistry(contentResolver, mock(Handler.class), sdkVersion)
+                    .register(uri, new RecordingListener());
+
+            final ArgumentCaptor<ContentObserver> contentObserver = ArgumentCaptor.forClass(ContentObserver.class);
+            verify(contentResolver).registerContentObserver(same(uri), eq(true), contentObserver.capture());
+
+            assertThat(contentObserver.getValue().deliverSelfNotifications()).isFalse();
+        }
+    }
+
+    @Test
+    public void listenersOfSameUriShouldShareOneContentObserver() {
+        final Uri uri = mock(Uri.class);
+        final RecordingListener firstListener = new RecordingListener();
+        final RecordingListener secondListener = new RecordingListener();
+
+        registry.register(uri, firstListener);
+        registry.register(uri, secondListener);
+
+        assertThat(registry.size()).isEqualTo(1);
+
+        registeredContentObserver(uri).onChange(false, uri);
+
+        assertThat(firstListener.changes).containsExactly(uri);
+        assertThat(secondListener.changes).containsExactly(uri);
+    }
+
+    @Test
+    public void differentUrisShouldHaveSeparateContentObservers() {
+        final Uri firstUri = mock(Uri.class);
+        final Uri secondUri = mock(Uri.class);
+        final RecordingListener listener = new RecordingListener();
+
+        registry.register(firstUri, listener);
+        registry.register(secondUri, listener);
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registeredContentObserver(firstUri)).isNotSameAs(registeredContentObserver(secondUri));
+
+        registeredContentObserver(secondUri).onChange(false, secondUri);
+
+        assertThat(listener.changes).containsExactly(secondUri);
+    }
+
+    @Test
+    public void contentObserverShouldBeUnregisteredAfterLastListener() {
+        final Uri uri = mock(Uri.class);
+        final RecordingListener firstListener = new RecordingListener();
+        final RecordingListener secondListener = new RecordingListener();
+
+        registry.register(uri, firstListener);
+        registry.register(uri, secondListener);
+
+        final ContentObserver contentObserver = registeredContentObserver(uri);
+
+        registry.unregister(uri, firstListener);
+        verify(contentResolver, never()).unregisterContentObserver(any(ContentObserver.class));
+
+        // Removed listener should not receive notifications
+        contentObserver.onChange(false, uri);
+        assertThat(firstListener.changes).isEmpty();
+        assertThat(secondListener.changes).containsExactly(uri);
+
+        registry.unregister(uri, secondListener);
+        verify(contentResolver).unregisterContentObserver(contentObserver);
+        assertThat(registry.size()).isEqualTo(0);
+
+        // Unknown listener should be ignored
+        registry.unregister(uri, secondListener);
+        verify(contentResolver, times(1)).unregisterContentObserver(any(ContentObserver.class));
+    }
+
+    @Test
+    public void contentObserverShouldBeRegisteredAgainAfterItWasUnregistered() {
+        final Uri uri = mock(Uri.class);
+        final RecordingListener listener = new RecordingListener();
+
+        registry.register(uri, listener);
+        registry.unregister(uri, listener);
+        registry.register(uri, listener);
+
+        verify(contentResolver, times(2)).registerContentObserver(same(uri), eq(true), any(ContentObserver.class));
+        assertThat(registry.size()).isEqualTo(1);
+    }
+}
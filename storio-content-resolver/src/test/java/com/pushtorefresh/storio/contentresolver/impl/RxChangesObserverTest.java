@@ -6,10 +6,13 @@ import android.database.ContentObserver;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Handler;
+import android.support.annotation.NonNull;
 
 import com.pushtorefresh.private_constructor_checker.PrivateConstructorChecker;
+import com.pushtorefresh.storio.ChangesCoalescing;
 import com.pushtorefresh.storio.contentresolver.BuildConfig;
 import com.pushtorefresh.storio.contentresolver.Changes;
+import com.pushtorefresh.storio.internal.ChangesMerger;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -20,17 +23,18 @@ import org.robolectric.annotation.Config;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 
 import rx.Observable;
 import rx.Subscription;
 import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
 
 import static com.pushtorefresh.storio.test.Utils.MAX_SDK_VERSION;
 import static com.pushtorefresh.storio.test.Utils.MIN_SDK_VERSION;
-import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -45,6 +49,33 @@ import static org.mockito.Mockito.verify;
 @Config(constants = BuildConfig.class, sdk = 21)
 public class RxChangesObserverTest {
 
+    /**
+     * Saves registered {@link ContentObserver} for each {@link Uri}.
+     */
+    @NonNull
+    private static Map<Uri, ContentObserver> captureContentObservers(@NonNull ContentResolver contentResolver) {
+        final Map<Uri, ContentObserver> contentObservers = new HashMap<Uri, ContentObserver>();
+
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                contentObservers.put((Uri) invocation.getArguments()[0], (ContentObserver) invocation.getArguments()[2]);
+                return null;
+            }
+        }).when(contentResolver).registerContentObserver(any(Uri.class), eq(true), any(ContentObserver.class));
+
+        return contentObservers;
+    }
+
+    @NonNull
+    private static Set<Uri> threeUris() {
+        Set<Uri> uris = new HashSet<Uri>(3);
+        uris.add(mock(Uri.class));
+        uris.add(mock(Uri.class));
+        uris.add(mock(Uri.class));
+        return uris;
+    }
+
     @Test
     public void constructorShouldBePrivateAndThrowException() {
         PrivateConstructorChecker
@@ -55,105 +86,16 @@ public class RxChangesObserverTest {
     }
 
     @Test
-    public void contentObserverShouldReturnFalseOnDeliverSelfNotificationsOnAllSdkVersions() {
+    public void shouldRegisterObserverForEachPassedUriAfterSubscribingToObservable() {
         for (int sdkVersion = MIN_SDK_VERSION; sdkVersion < MAX_SDK_VERSION; sdkVersion++) {
             ContentResolver contentResolver = mock(ContentResolver.class);
-            Uri uri = mock(Uri.class);
-
-            final AtomicReference<ContentObserver> contentObserver = new AtomicReference<ContentObserver>();
-
-            doAnswer(new Answer() {
-                @Override
-                public Object answer(InvocationOnMock invocation) throws Throwable {
-                    contentObserver.set((ContentObserver) invocation.getArguments()[2]);
-                    return null;
-                }
-            }).when(contentResolver).registerContentObserver(same(uri), eq(true), any(ContentObserver.class));
-
-            Handler handler = mock(Handler.class);
-
-            Observable<Changes> observable = RxChangesObserver.observeChanges(contentResolver, singleton(uri), handler, sdkVersion);
-
-            Subscription subscription = observable.subscribe();
-
-            assertThat(contentObserver.get().deliverSelfNotifications()).isFalse();
-
-            subscription.unsubscribe();
-        }
-    }
-
-    @Test
-    public void shouldRegisterOnlyOneContentObserverAfterSubscribingToObservableOnSdkVersionGreaterThan15() {
-        for (int sdkVersion = 16; sdkVersion < MAX_SDK_VERSION; sdkVersion++) {
-            ContentResolver contentResolver = mock(ContentResolver.class);
-
-            final AtomicReference<ContentObserver> contentObserver = new AtomicReference<ContentObserver>();
-
-            doAnswer(new Answer() {
-                @Override
-                public Object answer(InvocationOnMock invocation) throws Throwable {
-                    // Save reference to ContentObserver only once to assert that it was created once
-                    if (contentObserver.get() == null) {
-                        contentObserver.set((ContentObserver) invocation.getArguments()[2]);
-                    } else if (contentObserver.get() != invocation.getArguments()[2]) {
-                        throw new AssertionError("More than one ContentObserver was created");
-                    }
-                    return null;
-                }
-            }).when(contentResolver).registerContentObserver(any(Uri.class), eq(true), any(ContentObserver.class));
-
-            Set<Uri> uris = new HashSet<Uri>(3);
-            uris.add(mock(Uri.class));
-            uris.add(mock(Uri.class));
-            uris.add(mock(Uri.class));
-
-            Observable<Changes> observable = RxChangesObserver
-                    .observeChanges(
-                            contentResolver,
-                            uris,
-                            mock(Handler.class),
-                            sdkVersion
-                    );
-
-            // Should not register ContentObserver before subscribing to Observable
-            verify(contentResolver, times(0))
-                    .registerContentObserver(any(Uri.class), anyBoolean(), any(ContentObserver.class));
-
-            Subscription subscription = observable.subscribe();
-
-            for (Uri uri : uris) {
-                // Assert that same ContentObserver was registered for all uris
-                verify(contentResolver).registerContentObserver(same(uri), eq(true), same(contentObserver.get()));
-            }
-
-            subscription.unsubscribe();
-        }
-    }
-
-    @Test
-    public void shouldRegisterObserverForEachPassedUriAfterSubscribingToObservableOnSdkVersionLowerThan15() {
-        for (int sdkVersion = MIN_SDK_VERSION; sdkVersion < 16; sdkVersion++) {
-            ContentResolver contentResolver = mock(ContentResolver.class);
-            final Map<Uri, ContentObserver> contentObservers = new HashMap<Uri, ContentObserver>(3);
-
-            doAnswer(new Answer() {
-                @Override
-                public Object answer(InvocationOnMock invocation) throws Throwable {
-                    contentObservers.put((Uri) invocation.getArguments()[0], (ContentObserver) invocation.getArguments()[2]);
-                    return null;
-                }
-            }).when(contentResolver).registerContentObserver(any(Uri.class), eq(true), any(ContentObserver.class));
+            Map<Uri, ContentObserver> contentObservers = captureContentObservers(contentResolver);
 
-            Set<Uri> uris = new HashSet<Uri>(3);
-            uris.add(mock(Uri.class));
-            uris.add(mock(Uri.class));
-            uris.add(mock(Uri.class));
+            Set<Uri> uris = threeUris();
 
             Observable<Changes> observable = RxChangesObserver.observeChanges(
-                    contentResolver,
-                    uris,
-                    mock(Handler.class),
-                    sdkVersion
+                    new ContentObserverRegistry(contentResolver, mock(Handler.class), sdkVersion),
+                    uris
             );
 
             // Should not register ContentObserver before subscribing to Observable
@@ -163,7 +105,6 @@ public class RxChangesObserverTest {
             Subscription subscription = observable.subscribe();
 
             for (Uri uri : uris) {
-                // Assert that new ContentObserver was registered for each uri
                 verify(contentResolver).registerContentObserver(same(uri), eq(true), same(contentObservers.get(uri)));
             }
 
@@ -174,57 +115,17 @@ public class RxChangesObserverTest {
     }
 
     @Test
-    public void shouldUnregisterContentObserverAfterUnsubscribingFromObservableOnSdkVersionGreaterThan15() {
-        for (int sdkVersion = 16; sdkVersion < MAX_SDK_VERSION; sdkVersion++) {
-            ContentResolver contentResolver = mock(ContentResolver.class);
-            Set<Uri> uris = new HashSet<Uri>(3);
-            uris.add(mock(Uri.class));
-            uris.add(mock(Uri.class));
-            uris.add(mock(Uri.class));
-
-            Subscription subscription = RxChangesObserver
-                    .observeChanges(
-                            contentResolver,
-                            uris,
-                            mock(Handler.class),
-                            sdkVersion)
-                    .subscribe();
-
-            // Should not unregister before unsubscribe from Subscription
-            verify(contentResolver, times(0)).unregisterContentObserver(any(ContentObserver.class));
-
-            subscription.unsubscribe();
-
-            // Should unregister ContentObserver after unsubscribing from Subscription
-            verify(contentResolver).unregisterContentObserver(any(ContentObserver.class));
-        }
-    }
-
-    @Test
-    public void shouldUnregisterContentObserversForEachUriAfterUnsubscribingFromObservableOnSdkVersionLowerThan16() {
-        for (int sdkVersion = MIN_SDK_VERSION; sdkVersion < 16; sdkVersion++) {
+    public void shouldUnregisterContentObserversForEachUriAfterUnsubscribingFromObservable() {
+        for (int sdkVersion = MIN_SDK_VERSION; sdkVersion < MAX_SDK_VERSION; sdkVersion++) {
             ContentResolver contentResolver = mock(ContentResolver.class);
-            Set<Uri> uris = new HashSet<Uri>(3);
-            uris.add(mock(Uri.class));
-            uris.add(mock(Uri.class));
-            uris.add(mock(Uri.class));
-
-            final Map<Uri, ContentObserver> contentObservers = new HashMap<Uri, ContentObserver>(3);
+            Map<Uri, ContentObserver> contentObservers = captureContentObservers(contentResolver);
 
-            doAnswer(new Answer() {
-                @Override
-                public Object answer(InvocationOnMock invocation) throws Throwable {
-                    contentObservers.put((Uri) invocation.getArguments()[0], (ContentObserver) invocation.getArguments()[2]);
-                    return null;
-                }
-            }).when(contentResolver).registerContentObserver(any(Uri.class), eq(true), any(ContentObserver.class));
+            Set<Uri> uris = threeUris();
 
             Subscription subscription = RxChangesObserver
                     .observeChanges(
-                            contentResolver,
-                            uris,
-                            mock(Handler.class),
-                            sdkVersion)
+                            new ContentObserverRegistry(contentResolver, mock(Handler.class), sdkVersion),
+                            uris)
                     .subscribe();
 
             // Should not unregister before unsubscribe from Subscription
@@ -244,49 +145,35 @@ public class RxChangesObserverTest {
     public void shouldEmitChangesOnSdkVersionGreaterThan15() {
         for (int sdkVersion = 16; sdkVersion < MAX_SDK_VERSION; sdkVersion++) {
             ContentResolver contentResolver = mock(ContentResolver.class);
-            final AtomicReference<ContentObserver> contentObserver = new AtomicReference<ContentObserver>();
-
-            doAnswer(new Answer() {
-                @Override
-                public Object answer(InvocationOnMock invocation) throws Throwable {
-                    // Save reference to ContentObserver only once to assert that it was created once
-                    if (contentObserver.get() == null) {
-                        contentObserver.set((ContentObserver) invocation.getArguments()[2]);
-                    } else if (contentObserver.get() != invocation.getArguments()[2]) {
-                        throw new AssertionError("More than one ContentObserver was created");
-                    }
-                    return null;
-                }
-            }).when(contentResolver).registerContentObserver(any(Uri.class), eq(true), any(ContentObserver.class));
+            Map<Uri, ContentObserver> contentObservers = captureContentObservers(contentResolver);
 
             TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
 
             Uri uri1 = mock(Uri.class);
             Uri uri2 = mock(Uri.class);
+            Uri descendantOfUri2 = mock(Uri.class);
             Set<Uri> uris = new HashSet<Uri>(2);
             uris.add(uri1);
             uris.add(uri2);
 
             RxChangesObserver
                     .observeChanges(
-                            contentResolver,
-                            uris,
-                            mock(Handler.class),
-                            sdkVersion)
+                            new ContentObserverRegistry(contentResolver, mock(Handler.class), sdkVersion),
+                            uris)
                     .subscribe(testSubscriber);
 
             testSubscriber.assertNoTerminalEvent();
             testSubscriber.assertNoValues();
 
             // RxChangesObserver should ignore call to onChange() without Uri on sdkVersion >= 16
-            contentObserver.get().onChange(false);
+            contentObservers.get(uri1).onChange(false);
             testSubscriber.assertNoValues();
 
-            // Emulate change of Uris, Observable should react and emit Changes objects
-            contentObserver.get().onChange(false, uri1);
-            contentObserver.get().onChange(false, uri2);
+            // Emulate change of Uris, Observable should react and emit Changes objects with notified Uris
+            contentObservers.get(uri1).onChange(false, uri1);
+            contentObservers.get(uri2).onChange(false, descendantOfUri2);
 
-            testSubscriber.assertValues(Changes.newInstance(uri1), Changes.newInstance(uri2));
+            testSubscriber.assertValues(Changes.newInstance(uri1), Changes.newInstance(descendantOfUri2));
 
             testSubscriber.unsubscribe();
             testSubscriber.assertNoErrors();
@@ -298,15 +185,7 @@ public class RxChangesObserverTest {
     public void shouldEmitChangesOnSdkVersionLowerThan16() {
         for (int sdkVersion = MIN_SDK_VERSION; sdkVersion < 16; sdkVersion++) {
             ContentResolver contentResolver = mock(ContentResolver.class);
-            final Map<Uri, ContentObserver> contentObservers = new HashMap<Uri, ContentObserver>(3);
-
-            doAnswer(new Answer() {
-                @Override
-                public Object answer(InvocationOnMock invocation) throws Throwable {
-                    contentObservers.put((Uri) invocation.getArguments()[0], (ContentObserver) invocation.getArguments()[2]);
-                    return null;
-                }
-            }).when(contentResolver).registerContentObserver(any(Uri.class), eq(true), any(ContentObserver.class));
+            Map<Uri, ContentObserver> contentObservers = captureContentObservers(contentResolver);
 
             TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
 
@@ -318,10 +197,8 @@ public class RxChangesObserverTest {
 
             RxChangesObserver
                     .observeChanges(
-                            contentResolver,
-                            uris,
-                            mock(Handler.class),
-                            sdkVersion)
+                            new ContentObserverRegistry(contentResolver, mock(Handler.class), sdkVersion),
+                            uris)
                     .subscribe(testSubscriber);
 
             testSubscriber.assertNoTerminalEvent();
@@ -336,4 +213,145 @@ public class RxChangesObserverTest {
             testSubscriber.assertNoErrors();
         }
     }
+
+    @Test
+    public void subscribersOfSameUriShouldShareContentObserver() {
+        ContentResolver contentResolver = mock(ContentResolver.class);
+        Map<Uri, ContentObserver> contentObservers = captureContentObservers(contentResolver);
+
+        Uri uri = mock(Uri.class);
+        Set<Uri> uris = new HashSet<Uri>(1);
+        uris.add(uri);
+
+        ContentObserverRegistry contentObserverRegistry
+                = new ContentObserverRegistry(contentResolver, mock(Handler.class), Build.VERSION_CODES.JELLY_BEAN);
+
+        TestSubscriber<Changes> firstTestSubscriber = new TestSubscriber<Changes>();
+        TestSubscriber<Changes> secondTestSubscriber = new TestSubscriber<Changes>();
+
+        RxChangesObserver.observeChanges(contentObserverRegistry, uris).subscribe(firstTestSubscriber);
+        RxChangesObserver.observeChanges(contentObserverRegistry, uris).subscribe(secondTestSubscriber);
+
+        verify(contentResolver).registerContentObserver(same(uri), eq(true), any(ContentObserver.class));
+
+        contentObservers.get(uri).onChange(false, uri);
+
+        firstTestSubscriber.assertValue(Changes.newInstance(uri));
+        secondTestSubscriber.assertValue(Changes.newInstance(uri));
+
+        firstTestSubscriber.unsubscribe();
+        verify(contentResolver, times(0)).unregisterContentObserver(any(ContentObserver.class));
+
+        secondTestSubscriber.unsubscribe();
+        verify(contentResolver).unregisterContentObserver(contentObservers.get(uri));
+    }
+
+    @Test
+    public void shouldMergeChangesIfCoalescingIsEnabled() {
+        ContentResolver contentResolver = mock(ContentResolver.class);
+        Map<Uri, ContentObserver> contentObservers = captureContentObservers(contentResolver);
+
+        Uri uri1 = mock(Uri.class);
+        Uri uri2 = mock(Uri.class);
+
+        Set<Uri> uris = new HashSet<Uri>(2);
+        uris.add(uri1);
+        uris.add(uri2);
+
+        TestScheduler scheduler = new TestScheduler();
+
+        TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        RxChangesObserver
+                .observeChanges(
+                        new ContentObserverRegistry(contentResolver, mock(Handler.class), Build.VERSION_CODES.JELLY_BEAN),
+                        uris,
+                        ChangesCoalescing.untilIdle(scheduler),
+                        new ChangesMerger<Changes>() {
+                            @NonNull
+                            @Override
+                            public Changes merge(@NonNull List<Changes> changes) {
+                                Set<Uri> affectedUris = new HashSet<Uri>();
+
+                                for (Changes change : changes) {
+                                    affectedUris.addAll(change.affectedUris());
+                                }
+
+                                return Changes.newInstance(affectedUris);
+                            }
+                        }
+                )
+                .subscribe(testSubscriber);
+
+        contentObservers.get(uri1).onChange(false, uri1);
+        contentObservers.get(uri2).onChange(false, uri2);
+        contentObservers.get(uri1).onChange(false, uri1);
+
+        testSubscriber.assertNoValues();
+
+        scheduler.triggerActions();
+
+        testSubscriber.assertValue(Changes.newInstance(uris));
+
+        // Pending changes should not be delivered after unsubscribe
+        contentObservers.get(uri1).onChange(false, uri1);
+        testSubscriber.unsubscribe();
+        scheduler.triggerActions();
+
+        testSubscriber.assertValueCount(1);
+        verify(contentResolver).unregisterContentObserver(contentObservers.get(uri1));
+        verify(contentResolver).unregisterContentObserver(contentObservers.get(uri2));
+    }
+
+    @Test
+    public void shouldEmitMergedChangesAfterQuietWindowIfCoalescingIsEnabled() {
+        ContentResolver contentResolver = mock(ContentResolver.class);
+        Map<Uri, ContentObserver> contentObservers = captureContentObservers(contentResolver);
+
+        Uri uri1 = mock(Uri.class);
+        Uri uri2 = mock(Uri.class);
+
+        Set<Uri> uris = new HashSet<Uri>(2);
+        uris.add(uri1);
+        uris.add(uri2);
+
+        TestScheduler scheduler = new TestScheduler();
+
+        TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        RxChangesObserver
+                .observeChanges(
+                        new ContentObserverRegistry(contentResolver, mock(Handler.class), Build.VERSION_CODES.JELLY_BEAN),
+                        uris,
+                        ChangesCoalescing.quietWindow(100, 300, MILLISECONDS, scheduler),
+                        new ChangesMerger<Changes>() {
+                            @NonNull
+                            @Override
+                            public Changes merge(@NonNull List<Changes> changes) {
+                                Set<Uri> affectedUris = new HashSet<Uri>();
+
+                                for (Changes change : changes) {
+                                    affectedUris.addAll(change.affectedUris());
+                                }
+
+                                return Changes.newInstance(affectedUris);
+                            }
+                        }
+                )
+                .subscribe(testSubscriber);
+
+        contentObservers.get(uri1).onChange(false, uri1);
+        scheduler.advanceTimeBy(80, MILLISECONDS);
+        contentObservers.get(uri2).onChange(false, uri2);
+
+        // Second notification restarts quiet window
+        scheduler.advanceTimeBy(80, MILLISECONDS);
+        testSubscriber.assertNoValues();
+
+        scheduler.advanceTimeBy(20, MILLISECONDS);
+        testSubscriber.assertValue(Changes.newInstance(uris));
+
+        testSubscriber.unsubscribe();
+        testSubscriber.assertNoErrors();
+    }
 }
@@ -17,6 +17,7 @@ import org.robolectric.annotation.Config;
 import rx.observers.TestSubscriber;
 import rx.singles.BlockingSingle;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -456,4 +457,38 @@ public class DeleteOperationTest extends IntegrationTest {
         changesTestSubscriber.assertNoErrors();
         changesTestSubscriber.assertValues(Changes.newInstance(TestItem.CONTENT_URI), Changes.newInstance(TestItem.CONTENT_URI));
     }
+
+    @Test
+    public void deleteObjectsWithApplyBatch() {
+        contentResolver.insert(TestItem.CONTENT_URI, TestItem.create(null, "first").toContentValues());
+        contentResolver.insert(TestItem.CONTENT_URI, TestItem.create(null, "second").toContentValues());
+
+        Cursor firstDbState = contentResolver.query(TestItem.CONTENT_URI, null, null, null, TestItem.COLUMN_ID);
+        Assertions.assertThat(firstDbState).hasCount(2);
+
+        //noinspection ConstantConditions
+        assertThat(firstDbState.moveToFirst()).isTrue();
+        TestItem firstTestItem = TestItem.fromCursor(firstDbState);
+
+        assertThat(firstDbState.moveToNext()).isTrue();
+        TestItem secondTestItem = TestItem.fromCursor(firstDbState);
+
+        // Was not inserted
+        TestItem missingTestItem = TestItem.create(secondTestItem.id() + 1, "missing");
+
+        DeleteResults<TestItem> deleteResults = storIOContentResolver
+                .delete()
+                .objects(asList(firstTestItem, secondTestItem, missingTestItem))
+                .useApplyBatch(true)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(deleteResults.wasDeleted(firstTestItem)).isTrue();
+        assertThat(deleteResults.wasDeleted(secondTestItem)).isTrue();
+        assertThat(deleteResults.wasNotDeleted(missingTestItem)).isTrue();
+        assertThat(deleteResults.results().get(firstTestItem).affectedUris()).containsExactly(TestItem.CONTENT_URI);
+
+        Cursor secondDbState = contentResolver.query(TestItem.CONTENT_URI, null, null, null, null);
+        Assertions.assertThat(secondDbState).hasCount(0);
+    }
 }
@@ -11,6 +11,8 @@ import com.pushtorefresh.storio.contentresolver.Changes;
 import com.pushtorefresh.storio.contentresolver.operations.put.DefaultPutResolver;
 import com.pushtorefresh.storio.contentresolver.operations.put.PutResolver;
 import com.pushtorefresh.storio.contentresolver.operations.put.PutResult;
+import com.pushtorefresh.storio.contentresolver.operations.put.PutResults;
+import com.pushtorefresh.storio.contentresolver.operations.put.UpsertStrategy;
 import com.pushtorefresh.storio.contentresolver.queries.InsertQuery;
 import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
 
@@ -23,6 +25,8 @@ import org.robolectric.annotation.Config;
 import rx.observers.TestSubscriber;
 import rx.singles.BlockingSingle;
 
+import static java.util.Arrays.asList;
+
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -724,4 +728,217 @@ public class PutOperationTest extends IntegrationTest {
         changesTestSubscriber.assertNoErrors();
         changesTestSubscriber.assertValues(Changes.newInstance(TestItem.CONTENT_URI), Changes.newInstance(TestItem.CONTENT_URI));
     }
+
+    @Test
+    public void putObjectsWithApplyBatch() {
+        Uri insertedUri = contentResolver.insert(TestItem.CONTENT_URI, TestItem.create(null, "value").toContentValues());
+
+        TestItem testItemToUpdate = TestItem.create(ContentUris.parseId(insertedUri), "updated value");
+        TestItem testItemToInsert = TestItem.create(null, "new value");
+
+        PutResults<TestItem> putResults = storIOContentResolver
+                .put()
+                .objects(asList(testItemToUpdate, testItemToInsert))
+                .useApplyBatch(true)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(putResults.numberOfUpdates()).isEqualTo(1);
+        assertThat(putResults.numberOfInserts()).isEqualTo(1);
+        assertThat(putResults.results().get(testItemToUpdate).numberOfRowsUpdated()).isEqualTo(1);
+        assertThat(putResults.results().get(testItemToInsert).insertedUri()).isNotNull();
+
+        Cursor cursor = contentResolver.query(TestItem.CONTENT_URI, null, null, null, TestItem.COLUMN_ID);
+
+        Assertions.assertThat(cursor).hasCount(2);
+
+        cursor.moveToFirst();
+        assertThat(TestItem.fromCursor(cursor)).isEqualTo(testItemToUpdate);
+
+        cursor.moveToNext();
+        assertThat(testItemToInsert.equalsWithoutId(TestItem.fromCursor(cursor))).isTrue();
+        assertThat(putResults.results().get(testItemToInsert).insertedUri())
+                .isEqualTo(ContentUris.withAppendedId(TestItem.CONTENT_URI, TestItem.fromCursor(cursor).id()));
+    }
+
+    @Test
+    public void putObjectsWithSameKeyWithApplyBatch() {
+        TestItem first = TestItem.create(10L, "first");
+        TestItem second = TestItem.create(10L, "second");
+
+        PutResults<TestItem> putResults = storIOContentResolver
+                .put()
+                .objects(asList(first, second))
+                .useApplyBatch(true)
+                .prepare()
+                .executeAsBlocking();
+
+        // Second object updates row inserted by the first one, like without batches
+        assertThat(putResults.results().get(first).wasInserted()).isTrue();
+        assertThat(putResults.results().get(second).wasUpdated()).isTrue();
+
+        Cursor cursor = contentResolver.query(TestItem.CONTENT_URI, null, null, null, null);
+
+        Assertions.assertThat(cursor).hasCount(1);
+
+        cursor.moveToFirst();
+        assertThat(TestItem.fromCursor(cursor)).isEqualTo(second);
+    }
+
+    @Test
+    public void bulkInsertContentValues() {
+        int numberOfInsertedRows = storIOContentResolver
+                .lowLevel()
+                .bulkInsert(
+                        InsertQuery.builder()
+                                .uri(TestItem.CONTENT_URI)
+                                .build(),
+                        new ContentValues[]{
+                                TestItem.create(null, "first").toContentValues(),
+                                TestItem.create(null, "second").toContentValues()
+                        }
+                );
+
+        assertThat(numberOfInsertedRows).isEqualTo(2);
+
+        Cursor cursor = contentResolver.query(TestItem.CONTENT_URI, null, null, null, null);
+
+        Assertions.assertThat(cursor).hasCount(2);
+    }
+
+    @Test
+    public void putContentValuesWithBulkInsert() {
+        PutResults<ContentValues> putResults = storIOContentResolver
+                .put()
+                .contentValues(asList(
+                        TestItem.create(null, "first").toContentValues(),
+                        TestItem.create(null, "second").toContentValues()
+                ))
+                .withPutResolver(testItemContentValuesPutResolver)
+                .useBulkInsert(true)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(putResults.numberOfInserts()).isEqualTo(2);
+        assertThat(putResults.numberOfUpdates()).isEqualTo(0);
+
+        Cursor cursor = contentResolver.query(TestItem.CONTENT_URI, null, null, null, TestItem.COLUMN_ID);
+
+        Assertions.assertThat(cursor).hasCount(2);
+
+        cursor.moveToFirst();
+        assertThat(TestItem.fromCursor(cursor).value()).isEqualTo("first");
+
+        cursor.moveToNext();
+        assertThat(TestItem.fromCursor(cursor).value()).isEqualTo("second");
+    }
+
+    @Test
+    public void putObjectWithAssertedInsert() {
+        PutResolver<TestItem> putResolver = putResolverMatchingRowsByValue(UpsertStrategy.UPDATE_FIRST_WITH_ASSERTED_INSERT);
+
+        PutResult insertResult = storIOContentResolver
+                .put()
+                .object(TestItem.create(null, "value", "first"))
+                .withPutResolver(putResolver)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(insertResult.wasInserted()).isTrue();
+
+        PutResult updateResult = storIOContentResolver
+                .put()
+                .object(TestItem.create(null, "value", "second"))
+                .withPutResolver(putResolver)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(updateResult.wasUpdated()).isTrue();
+        assertThat(updateResult.numberOfRowsUpdated()).isEqualTo(1);
+
+        Cursor cursor = contentResolver.query(TestItem.CONTENT_URI, null, null, null, null);
+
+        Assertions.assertThat(cursor).hasCount(1);
+
+        cursor.moveToFirst();
+
+        assertThat(TestItem.fromCursor(cursor).optionalValue()).isEqualTo("second");
+    }
+
+    @Test
+    public void putObjectsWithApplyBatchAndUpdateFirst() {
+        putObjectsWithApplyBatchAndStrategy(UpsertStrategy.UPDATE_FIRST);
+    }
+
+    @Test
+    public void putObjectsWithApplyBatchAndAssertedInsert() {
+        putObjectsWithApplyBatchAndStrategy(UpsertStrategy.UPDATE_FIRST_WITH_ASSERTED_INSERT);
+    }
+
+    private void putObjectsWithApplyBatchAndStrategy(@NonNull UpsertStrategy upsertStrategy) {
+        contentResolver.insert(TestItem.CONTENT_URI, TestItem.create(null, "a", "old").toContentValues());
+
+        TestItem existing = TestItem.create(null, "a", "new");
+        TestItem first = TestItem.create(null, "b", "first");
+        TestItem second = TestItem.create(null, "b", "second");
+
+        PutResults<TestItem> putResults = storIOContentResolver
+                .put()
+                .objects(asList(existing, first, second))
+                .withPutResolver(putResolverMatchingRowsByValue(upsertStrategy))
+                .useApplyBatch(true)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(putResults.results().get(existing).wasUpdated()).isTrue();
+        assertThat(putResults.results().get(first).wasInserted()).isTrue();
+        assertThat(putResults.results().get(second).wasUpdated()).isTrue();
+
+        Cursor cursor = contentResolver.query(TestItem.CONTENT_URI, null, null, null, TestItem.COLUMN_VALUE);
+
+        Assertions.assertThat(cursor).hasCount(2);
+
+        cursor.moveToFirst();
+        assertThat(TestItem.fromCursor(cursor).optionalValue()).isEqualTo("new");
+
+        cursor.moveToNext();
+        assertThat(TestItem.fromCursor(cursor).optionalValue()).isEqualTo("second");
+    }
+
+    @NonNull
+    private static PutResolver<TestItem> putResolverMatchingRowsByValue(@NonNull final UpsertStrategy upsertStrategy) {
+        return new DefaultPutResolver<TestItem>() {
+            @NonNull
+            @Override
+            protected InsertQuery mapToInsertQuery(@NonNull TestItem object) {
+                return InsertQuery.builder()
+                        .uri(TestItem.CONTENT_URI)
+                        .build();
+            }
+
+            @NonNull
+            @Override
+            protected UpdateQuery mapToUpdateQuery(@NonNull TestItem object) {
+                return UpdateQuery.builder()
+                        .uri(TestItem.CONTENT_URI)
+                        .where(TestItem.COLUMN_VALUE + "=?")
+                        .whereArgs(object.value())
+                        .build();
+            }
+
+            @NonNull
+            @Override
+            protected ContentValues mapToContentValues(@NonNull TestItem object) {
+                ContentValues contentValues = object.toContentValues();
+                contentValues.remove(TestItem.COLUMN_ID); // rows are matched by value
+                return contentValues;
+            }
+
+            @NonNull
+            @Override
+            protected UpsertStrategy upsertStrategy() {
+                return upsertStrategy;
+            }
+        };
+    }
 }
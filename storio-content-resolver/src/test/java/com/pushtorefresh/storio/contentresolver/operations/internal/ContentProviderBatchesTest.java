@@ -0,0 +1,121 @@
+package com.pushtorefresh.storio.contentresolver.operations.internal;
+
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
+import android.net.Uri;
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.contentresolver.BuildConfig;
+import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ContentProviderBatchesTest {
+
+    @NonNull
+    private static ContentProviderOperation deleteOf(@NonNull String authority, int id) {
+        return ContentProviderOperation
+                .newDelete(Uri.parse("content://" + authority + "/items/" + id))
+                .build();
+    }
+
+    /**
+     * Returns result with count equal to id of the deleted item, so results can be matched to operations.
+     */
+    @NonNull
+    private static StorIOContentResolver.LowLevel echoingLowLevel() throws Exception {
+        final StorIOContentResolver.LowLevel lowLevel = mock(StorIOContentResolver.LowLevel.class);
+
+        when(lowLevel.applyBatch(any(String.class), any(ArrayList.class))).thenAnswer(new Answer<ContentProviderResult[]>() {
+            @Override
+            public ContentProviderResult[] answer(InvocationOnMock invocation) throws Throwable {
+                final List<ContentProviderOperation> batch = (List<ContentProviderOperation>) invocation.getArguments()[1];
+                final ContentProviderResult[] results = new ContentProviderResult[batch.size()];
+
+                for (int i = 0; i < results.length; i++) {
+                    results[i] = new ContentProviderResult(Integer.parseInt(batch.get(i).getUri().getLastPathSegment()));
+                }
+
+                return results;
+            }
+        });
+
+        return lowLevel;
+    }
+
+    @Test
+    public void shouldApplyOperationsOfDifferentAuthoritiesInSeparateBatches() throws Exception {
+        final StorIOContentResolver.LowLevel lowLevel = echoingLowLevel();
+
+        final List<ContentProviderOperation> operations = new ArrayList<ContentProviderOperation>();
+        operations.add(deleteOf("first", 0));
+        operations.add(deleteOf("second", 1));
+        operations.add(deleteOf("first", 2));
+
+        final ContentProviderResult[] results = ContentProviderBatches.apply(lowLevel, operations);
+
+        verify(lowLevel).applyBatch(eq("first"), any(ArrayList.class));
+        verify(lowLevel).applyBatch(eq("second"), any(ArrayList.class));
+
+        assertThat(results).hasSize(3);
+
+        for (int i = 0; i < results.length; i++) {
+            assertThat(results[i].count).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void shouldSplitOperationsIntoChunks() throws Exception {
+        final StorIOContentResolver.LowLevel lowLevel = echoingLowLevel();
+
+        final int numberOfOperations = ContentProviderBatches.MAX_OPERATIONS_PER_BATCH * 2 + 1;
+        final List<ContentProviderOperation> operations = new ArrayList<ContentProviderOperation>(numberOfOperations);
+
+        for (int i = 0; i < numberOfOperations; i++) {
+            operations.add(deleteOf("authority", i));
+        }
+
+        final ContentProviderResult[] results = ContentProviderBatches.apply(lowLevel, operations);
+
+        verify(lowLevel, times(3)).applyBatch(eq("authority"), any(ArrayList.class));
+
+        assertThat(results).hasSize(numberOfOperations);
+        assertThat(results[numberOfOperations - 1].count).isEqualTo(numberOfOperations - 1);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfProviderReturnedWrongNumberOfResults() throws Exception {
+        final StorIOContentResolver.LowLevel lowLevel = mock(StorIOContentResolver.LowLevel.class);
+
+        when(lowLevel.applyBatch(any(String.class), any(ArrayList.class))).thenReturn(new ContentProviderResult[0]);
+
+        final List<ContentProviderOperation> operations = new ArrayList<ContentProviderOperation>();
+        operations.add(deleteOf("authority", 0));
+
+        try {
+            ContentProviderBatches.apply(lowLevel, operations);
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("Provider returned 0 results for 1 operations, authority = authority");
+        }
+    }
+}
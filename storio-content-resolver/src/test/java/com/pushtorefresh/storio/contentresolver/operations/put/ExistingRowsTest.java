@@ -0,0 +1,108 @@
+package com.pushtorefresh.storio.contentresolver.operations.put;
+
+import android.database.Cursor;
+import android.net.Uri;
+
+import com.pushtorefresh.storio.contentresolver.BuildConfig;
+import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+import com.pushtorefresh.storio.contentresolver.queries.Query;
+import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ExistingRowsTest {
+
+    private static final Uri URI = Uri.parse("content://authority/items");
+
+    @Test
+    public void shouldCheckKeysWithOneQuery() {
+        final StorIOContentResolver.LowLevel lowLevel = mock(StorIOContentResolver.LowLevel.class);
+
+        final Query expectedQuery = Query.builder()
+                .uri(URI)
+                .columns("_id")
+                .where("_id IN (?,?,?)")
+                .whereArgs("1", "2", "3")
+                .build();
+
+        final Cursor cursor = mock(Cursor.class);
+        when(cursor.moveToNext()).thenReturn(true, false);
+        when(cursor.getString(0)).thenReturn("2");
+        when(lowLevel.query(expectedQuery)).thenReturn(cursor);
+
+        final boolean[] exist = ExistingRows.exist(lowLevel, asList(
+                updateQuery("_id = ?", "1"),
+                updateQuery("_id = ?", "2"),
+                updateQuery("_id=?", "3")
+        ));
+
+        assertThat(exist).containsExactly(false, true, false);
+
+        verify(lowLevel).query(expectedQuery);
+        verify(cursor).close();
+        verifyNoMoreInteractions(lowLevel);
+    }
+
+    @Test
+    public void shouldCheckOtherQueriesOneByOne() {
+        final StorIOContentResolver.LowLevel lowLevel = mock(StorIOContentResolver.LowLevel.class);
+
+        final Query firstQuery = Query.builder()
+                .uri(URI)
+                .where("name = ? AND type = ?")
+                .whereArgs("a", "b")
+                .build();
+
+        final Query secondQuery = Query.builder()
+                .uri(URI)
+                .where("name = ? AND type = ?")
+                .whereArgs("c", "d")
+                .build();
+
+        final Cursor existingCursor = mock(Cursor.class);
+        when(existingCursor.getCount()).thenReturn(1);
+        when(lowLevel.query(firstQuery)).thenReturn(existingCursor);
+
+        final Cursor emptyCursor = mock(Cursor.class);
+        when(lowLevel.query(secondQuery)).thenReturn(emptyCursor);
+
+        final boolean[] exist = ExistingRows.exist(lowLevel, asList(
+                updateQuery("name = ? AND type = ?", "a", "b"),
+                updateQuery("name = ? AND type = ?", "c", "d")
+        ));
+
+        assertThat(exist).containsExactly(true, false);
+
+        verify(lowLevel, times(2)).query(org.mockito.Matchers.any(Query.class));
+        verify(existingCursor).close();
+        verify(emptyCursor).close();
+    }
+
+    @Test
+    public void keyColumn() {
+        assertThat(ExistingRows.keyColumn(updateQuery(" _id = ? ", "1"))).isEqualTo("_id");
+        assertThat(ExistingRows.keyColumn(updateQuery("_id > ?", "1"))).isNull();
+        assertThat(ExistingRows.keyColumn(updateQuery("a = ? OR b = ?", "1", "2"))).isNull();
+    }
+
+    private static UpdateQuery updateQuery(String where, Object... whereArgs) {
+        return UpdateQuery.builder()
+                .uri(URI)
+                .where(where)
+                .whereArgs(whereArgs)
+                .build();
+    }
+}
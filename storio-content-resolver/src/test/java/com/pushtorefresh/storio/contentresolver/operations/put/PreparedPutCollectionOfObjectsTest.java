@@ -1,17 +1,33 @@
 package com.pushtorefresh.storio.contentresolver.operations.put;
 
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentValues;
+import android.database.Cursor;
+import android.net.Uri;
+import android.support.annotation.NonNull;
 
 import com.pushtorefresh.storio.StorIOException;
+import com.pushtorefresh.storio.contentresolver.BuildConfig;
+import com.pushtorefresh.storio.contentresolver.ContentResolverTypeMapping;
 import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
 import com.pushtorefresh.storio.contentresolver.operations.SchedulerChecker;
+import com.pushtorefresh.storio.contentresolver.operations.delete.DeleteResolver;
+import com.pushtorefresh.storio.contentresolver.operations.get.GetResolver;
 import com.pushtorefresh.storio.contentresolver.queries.InsertQuery;
+import com.pushtorefresh.storio.contentresolver.queries.Query;
 import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
 
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import rx.Completable;
@@ -23,6 +39,8 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -330,4 +348,101 @@ public class PreparedPutCollectionOfObjectsTest {
             schedulerChecker.checkAsCompletable(operation);
         }
     }
+
+    @RunWith(RobolectricGradleTestRunner.class)
+    @Config(constants = BuildConfig.class, sdk = 21)
+    public static class WithApplyBatch {
+
+        @NonNull
+        private static final Uri ITEMS_URI = Uri.parse("content://authority/items");
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void shouldApplyWritesInOrderOfObjectsWithDifferentResolvers() throws Exception {
+            final StorIOContentResolver storIOContentResolver = mock(StorIOContentResolver.class);
+            final StorIOContentResolver.LowLevel lowLevel = mock(StorIOContentResolver.LowLevel.class);
+
+            when(storIOContentResolver.lowLevel()).thenReturn(lowLevel);
+
+            when(storIOContentResolver.put()).thenReturn(new PreparedPut.Builder(storIOContentResolver));
+
+            // No rows exist
+            when(lowLevel.query(any(Query.class))).thenReturn(mock(Cursor.class));
+
+            when(lowLevel.applyBatch(any(String.class), any(ArrayList.class))).thenAnswer(new Answer<ContentProviderResult[]>() {
+                @Override
+                public ContentProviderResult[] answer(InvocationOnMock invocation) throws Throwable {
+                    final List<ContentProviderOperation> batch = (List<ContentProviderOperation>) invocation.getArguments()[1];
+                    final ContentProviderResult[] results = new ContentProviderResult[batch.size()];
+
+                    for (int i = 0; i < results.length; i++) {
+                        results[i] = new ContentProviderResult(Uri.withAppendedPath(ITEMS_URI, String.valueOf(i)));
+                    }
+
+                    return results;
+                }
+            });
+
+            final PutResolver<Integer> customPutResolver = mock(PutResolver.class);
+
+            when(customPutResolver.performPut(eq(storIOContentResolver), any(Integer.class)))
+                    .thenReturn(PutResult.newUpdateResult(1, ITEMS_URI));
+
+            when(lowLevel.typeMapping(String.class)).thenReturn(ContentResolverTypeMapping.<String>builder()
+                    .putResolver(new ItemsPutResolver())
+                    .getResolver(mock(GetResolver.class))
+                    .deleteResolver(mock(DeleteResolver.class))
+                    .build());
+
+            when(lowLevel.typeMapping(Integer.class)).thenReturn(ContentResolverTypeMapping.<Integer>builder()
+                    .putResolver(customPutResolver)
+                    .getResolver(mock(GetResolver.class))
+                    .deleteResolver(mock(DeleteResolver.class))
+                    .build());
+
+            final PutResults<Object> putResults = storIOContentResolver
+                    .put()
+                    .objects(asList((Object) "1", 2, "3"))
+                    .useApplyBatch(true)
+                    .prepare()
+                    .executeAsBlocking();
+
+            final InOrder inOrder = inOrder(lowLevel, customPutResolver);
+            inOrder.verify(lowLevel).applyBatch(eq("authority"), any(ArrayList.class));
+            inOrder.verify(customPutResolver).performPut(storIOContentResolver, 2);
+            inOrder.verify(lowLevel).applyBatch(eq("authority"), any(ArrayList.class));
+
+            assertThat(putResults.numberOfInserts()).isEqualTo(2);
+            assertThat(putResults.numberOfUpdates()).isEqualTo(1);
+        }
+
+        private static class ItemsPutResolver extends DefaultPutResolver<String> {
+
+            @NonNull
+            @Override
+            protected InsertQuery mapToInsertQuery(@NonNull String object) {
+                return InsertQuery.builder()
+                        .uri(ITEMS_URI)
+                        .build();
+            }
+
+            @NonNull
+            @Override
+            protected UpdateQuery mapToUpdateQuery(@NonNull String object) {
+                return UpdateQuery.builder()
+                        .uri(ITEMS_URI)
+                        .where("_id = ?")
+                        .whereArgs(object)
+                        .build();
+            }
+
+            @NonNull
+            @Override
+            protected ContentValues mapToContentValues(@NonNull String object) {
+                final ContentValues contentValues = new ContentValues(1);
+                contentValues.put("_id", object);
+                return contentValues;
+            }
+        }
+    }
 }
@@ -1,15 +1,37 @@
 package com.pushtorefresh.storio.contentresolver.operations.put;
 
 import android.content.ContentValues;
+import android.net.Uri;
+import android.support.annotation.NonNull;
 
+import com.pushtorefresh.storio.StorIOException;
+import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
 import com.pushtorefresh.storio.contentresolver.operations.SchedulerChecker;
+import com.pushtorefresh.storio.contentresolver.queries.InsertQuery;
+import com.pushtorefresh.storio.contentresolver.queries.Query;
+import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
 
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import rx.Completable;
 import rx.Observable;
 import rx.Single;
 
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 public class PreparedPutContentValuesIterableTest {
 
     @Test
@@ -109,4 +131,122 @@ public class PreparedPutContentValuesIterableTest {
 
         schedulerChecker.checkAsCompletable(operation);
     }
+
+    @Test
+    public void bulkInsertShouldInsertConsecutiveContentValuesOfSameUriWithOneCall() {
+        final StorIOContentResolver storIOContentResolver = mock(StorIOContentResolver.class);
+        final StorIOContentResolver.LowLevel lowLevel = mock(StorIOContentResolver.LowLevel.class);
+
+        when(storIOContentResolver.lowLevel())
+                .thenReturn(lowLevel);
+
+        final InsertQuery firstInsertQuery = InsertQuery.builder().uri(mock(Uri.class)).build();
+        final InsertQuery secondInsertQuery = InsertQuery.builder().uri(mock(Uri.class)).build();
+
+        final ContentValues cv1 = mock(ContentValues.class);
+        final ContentValues cv2 = mock(ContentValues.class);
+        final ContentValues cv3 = mock(ContentValues.class);
+
+        final Map<ContentValues, InsertQuery> insertQueries = new HashMap<ContentValues, InsertQuery>();
+        insertQueries.put(cv1, firstInsertQuery);
+        insertQueries.put(cv2, firstInsertQuery);
+        insertQueries.put(cv3, secondInsertQuery);
+
+        when(lowLevel.bulkInsert(eq(firstInsertQuery), any(ContentValues[].class)))
+                .thenReturn(2);
+
+        when(lowLevel.bulkInsert(eq(secondInsertQuery), any(ContentValues[].class)))
+                .thenReturn(1);
+
+        final PutResults<ContentValues> putResults = new PreparedPutContentValuesIterable.Builder(storIOContentResolver, asList(cv1, cv2, cv3))
+                .withPutResolver(new InsertQueriesPutResolver(insertQueries))
+                .useBulkInsert(true)
+                .prepare()
+                .executeAsBlocking();
+
+        verify(lowLevel, times(1)).bulkInsert(firstInsertQuery, new ContentValues[]{cv1, cv2});
+        verify(lowLevel, times(1)).bulkInsert(secondInsertQuery, new ContentValues[]{cv3});
+        verify(lowLevel, never()).query(any(Query.class));
+        verify(lowLevel, never()).insert(any(InsertQuery.class), any(ContentValues.class));
+
+        assertThat(putResults.numberOfInserts()).isEqualTo(3);
+        assertThat(putResults.results().get(cv1)).isEqualTo(PutResult.newBulkInsertResult(firstInsertQuery.uri()));
+        assertThat(putResults.results().get(cv3)).isEqualTo(PutResult.newBulkInsertResult(secondInsertQuery.uri()));
+    }
+
+    @Test
+    public void bulkInsertShouldFailIfProviderInsertedLessRows() {
+        final StorIOContentResolver storIOContentResolver = mock(StorIOContentResolver.class);
+        final StorIOContentResolver.LowLevel lowLevel = mock(StorIOContentResolver.LowLevel.class);
+
+        when(storIOContentResolver.lowLevel())
+                .thenReturn(lowLevel);
+
+        final InsertQuery insertQuery = InsertQuery.builder().uri(mock(Uri.class)).build();
+        final List<ContentValues> contentValues = asList(mock(ContentValues.class), mock(ContentValues.class));
+
+        final Map<ContentValues, InsertQuery> insertQueries = new HashMap<ContentValues, InsertQuery>();
+        insertQueries.put(contentValues.get(0), insertQuery);
+        insertQueries.put(contentValues.get(1), insertQuery);
+
+        when(lowLevel.bulkInsert(eq(insertQuery), any(ContentValues[].class)))
+                .thenReturn(1);
+
+        try {
+            new PreparedPutContentValuesIterable.Builder(storIOContentResolver, contentValues)
+                    .withPutResolver(new InsertQueriesPutResolver(insertQueries))
+                    .useBulkInsert(true)
+                    .prepare()
+                    .executeAsBlocking();
+
+            failBecauseExceptionWasNotThrown(StorIOException.class);
+        } catch (StorIOException expected) {
+            assertThat(expected.getCause())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageStartingWith("Provider inserted 1 of 2 rows");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void bulkInsertShouldRequireDefaultPutResolver() {
+        try {
+            new PreparedPutContentValuesIterable.Builder(mock(StorIOContentResolver.class), asList(mock(ContentValues.class)))
+                    .withPutResolver((PutResolver<ContentValues>) mock(PutResolver.class))
+                    .useBulkInsert(true)
+                    .prepare();
+
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessageStartingWith("Bulk insert requires DefaultPutResolver");
+        }
+    }
+
+    private static class InsertQueriesPutResolver extends DefaultPutResolver<ContentValues> {
+
+        @NonNull
+        private final Map<ContentValues, InsertQuery> insertQueries;
+
+        InsertQueriesPutResolver(@NonNull Map<ContentValues, InsertQuery> insertQueries) {
+            this.insertQueries = insertQueries;
+        }
+
+        @NonNull
+        @Override
+        protected InsertQuery mapToInsertQuery(@NonNull ContentValues object) {
+            return insertQueries.get(object);
+        }
+
+        @NonNull
+        @Override
+        protected UpdateQuery mapToUpdateQuery(@NonNull ContentValues object) {
+            throw new IllegalStateException("Bulk insert should not update");
+        }
+
+        @NonNull
+        @Override
+        protected ContentValues mapToContentValues(@NonNull ContentValues object) {
+            return object;
+        }
+    }
 }
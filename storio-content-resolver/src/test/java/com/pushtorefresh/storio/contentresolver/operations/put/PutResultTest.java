@@ -39,6 +39,20 @@ public class PutResultTest {
         assertThat(insertResult.numberOfRowsUpdated()).isNull();
     }
 
+    @Test
+    public void createBulkInsertResult() {
+        final Uri affectedUri = mock(Uri.class);
+
+        final PutResult insertResult = PutResult.newBulkInsertResult(affectedUri);
+
+        assertThat(insertResult.wasInserted()).isTrue();
+        assertThat(insertResult.wasUpdated()).isFalse();
+
+        assertThat(insertResult.insertedUri()).isNull();
+        assertThat(insertResult.affectedUri()).isSameAs(affectedUri);
+        assertThat(insertResult.numberOfRowsUpdated()).isNull();
+    }
+
     @Test
     public void shouldNotCreateInsertResultWithNullInsertedUri() {
         try {
@@ -0,0 +1,223 @@
+package com.pushtorefresh.storio.contentresolver.operations.put;
+
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
+import android.content.ContentValues;
+import android.content.OperationApplicationException;
+import android.database.Cursor;
+import android.net.Uri;
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.StorIOException;
+import com.pushtorefresh.storio.contentresolver.BuildConfig;
+import com.pushtorefresh.storio.contentresolver.StorIOContentResolver;
+import com.pushtorefresh.storio.contentresolver.queries.InsertQuery;
+import com.pushtorefresh.storio.contentresolver.queries.Query;
+import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class UpsertStrategyTest {
+
+    @NonNull
+    private static final Uri CONTENT_URI = Uri.parse("content://authority/items");
+
+    @NonNull
+    private final StorIOContentResolver storIOContentResolver = mock(StorIOContentResolver.class);
+
+    @NonNull
+    private final StorIOContentResolver.LowLevel lowLevel = mock(StorIOContentResolver.LowLevel.class);
+
+    @NonNull
+    private final UpdateQuery updateQuery = UpdateQuery.builder()
+            .uri(CONTENT_URI)
+            .where("_id = ?")
+            .whereArgs(1)
+            .build();
+
+    @NonNull
+    private final InsertQuery insertQuery = InsertQuery.builder()
+            .uri(CONTENT_URI)
+            .build();
+
+    @NonNull
+    private final ContentValues contentValues = new ContentValues();
+
+    {
+        when(storIOContentResolver.lowLevel()).thenReturn(lowLevel);
+        contentValues.put("_id", 1);
+    }
+
+    @NonNull
+    private DefaultPutResolver<ContentValues> putResolverWith(@NonNull final UpsertStrategy upsertStrategy) {
+        return new DefaultPutResolver<ContentValues>() {
+            @NonNull
+            @Override
+            protected InsertQuery mapToInsertQuery(@NonNull ContentValues object) {
+                return insertQuery;
+            }
+
+            @NonNull
+            @Override
+            protected UpdateQuery mapToUpdateQuery(@NonNull ContentValues object) {
+                return updateQuery;
+            }
+
+            @NonNull
+            @Override
+            protected ContentValues mapToContentValues(@NonNull ContentValues object) {
+                return object;
+            }
+
+            @NonNull
+            @Override
+            protected UpsertStrategy upsertStrategy() {
+                return upsertStrategy;
+            }
+        };
+    }
+
+    @Test
+    public void updateFirstShouldNotQueryOrInsertExistingRow() {
+        when(lowLevel.update(updateQuery, contentValues)).thenReturn(1);
+
+        final PutResult putResult = putResolverWith(UpsertStrategy.UPDATE_FIRST).performPut(storIOContentResolver, contentValues);
+
+        assertThat(putResult).isEqualTo(PutResult.newUpdateResult(1, CONTENT_URI));
+        verify(lowLevel, never()).query(any(Query.class));
+        verify(lowLevel, never()).insert(any(InsertQuery.class), any(ContentValues.class));
+    }
+
+    @Test
+    public void updateFirstShouldInsertIfNothingWasUpdated() {
+        final Uri insertedUri = Uri.withAppendedPath(CONTENT_URI, "1");
+
+        when(lowLevel.update(updateQuery, contentValues)).thenReturn(0);
+        when(lowLevel.insert(insertQuery, contentValues)).thenReturn(insertedUri);
+
+        final PutResult putResult = putResolverWith(UpsertStrategy.UPDATE_FIRST).performPut(storIOContentResolver, contentValues);
+
+        assertThat(putResult).isEqualTo(PutResult.newInsertResult(insertedUri, CONTENT_URI));
+        verify(lowLevel, never()).query(any(Query.class));
+    }
+
+    @Test
+    public void updateFirstShouldQueryIfThereAreNoValuesToUpdate() {
+        final ContentValues emptyContentValues = new ContentValues();
+        final Cursor cursor = mock(Cursor.class);
+        final Uri insertedUri = Uri.withAppendedPath(CONTENT_URI, "1");
+
+        when(lowLevel.query(any(Query.class))).thenReturn(cursor);
+        when(cursor.getCount()).thenReturn(0);
+        when(lowLevel.insert(insertQuery, emptyContentValues)).thenReturn(insertedUri);
+
+        final PutResult putResult = putResolverWith(UpsertStrategy.UPDATE_FIRST).performPut(storIOContentResolver, emptyContentValues);
+
+        assertThat(putResult).isEqualTo(PutResult.newInsertResult(insertedUri, CONTENT_URI));
+        verify(cursor).close();
+        verify(lowLevel, never()).update(any(UpdateQuery.class), any(ContentValues.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void assertedInsertShouldApplyAssertionAndInsertInOneBatch() throws Exception {
+        final Uri insertedUri = Uri.withAppendedPath(CONTENT_URI, "1");
+
+        when(lowLevel.update(updateQuery, contentValues)).thenReturn(0);
+        when(lowLevel.applyBatch(eq("authority"), any(ArrayList.class))).thenReturn(new ContentProviderResult[]{
+                new ContentProviderResult(0),
+                new ContentProviderResult(insertedUri)
+        });
+
+        final PutResult putResult = putResolverWith(UpsertStrategy.UPDATE_FIRST_WITH_ASSERTED_INSERT)
+                .performPut(storIOContentResolver, contentValues);
+
+        assertThat(putResult).isEqualTo(PutResult.newInsertResult(insertedUri, CONTENT_URI));
+
+        final ArgumentCaptor<ArrayList> operationsCaptor = ArgumentCaptor.forClass(ArrayList.class);
+        verify(lowLevel).applyBatch(eq("authority"), operationsCaptor.capture());
+
+        final ArrayList<ContentProviderOperation> operations = operationsCaptor.getValue();
+        assertThat(operations).hasSize(2);
+        assertThat(operations.get(0).isReadOperation()).isTrue();
+        assertThat(operations.get(1).isWriteOperation()).isTrue();
+        assertThat(operations.get(1).getUri()).isEqualTo(CONTENT_URI);
+
+        verify(lowLevel, never()).insert(any(InsertQuery.class), any(ContentValues.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void assertedInsertShouldUpdateRowInsertedConcurrently() throws Exception {
+        when(lowLevel.update(updateQuery, contentValues)).thenReturn(0, 1);
+        when(lowLevel.applyBatch(eq("authority"), any(ArrayList.class)))
+                .thenThrow(new OperationApplicationException("wrong number of rows: 1"));
+
+        final PutResult putResult = putResolverWith(UpsertStrategy.UPDATE_FIRST_WITH_ASSERTED_INSERT)
+                .performPut(storIOContentResolver, contentValues);
+
+        assertThat(putResult).isEqualTo(PutResult.newUpdateResult(1, CONTENT_URI));
+        verify(lowLevel, times(2)).update(updateQuery, contentValues);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void assertedInsertShouldThrowExceptionIfRowWasNeitherInsertedNorUpdated() throws Exception {
+        final OperationApplicationException operationApplicationException = new OperationApplicationException("insert failed");
+
+        when(lowLevel.update(updateQuery, contentValues)).thenReturn(0);
+        when(lowLevel.applyBatch(eq("authority"), any(ArrayList.class))).thenThrow(operationApplicationException);
+
+        try {
+            putResolverWith(UpsertStrategy.UPDATE_FIRST_WITH_ASSERTED_INSERT).performPut(storIOContentResolver, contentValues);
+            failBecauseExceptionWasNotThrown(StorIOException.class);
+        } catch (StorIOException expected) {
+            assertThat(expected.getCause()).isSameAs(operationApplicationException);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void updateFirstInBatchesShouldApplyUpdatesThenInsertsWithoutQuery() throws Exception {
+        final Uri insertedUri = Uri.withAppendedPath(CONTENT_URI, "1");
+
+        when(lowLevel.applyBatch(eq("authority"), any(ArrayList.class))).thenReturn(
+                new ContentProviderResult[]{new ContentProviderResult(0)},
+                new ContentProviderResult[]{new ContentProviderResult(insertedUri)}
+        );
+
+        final List<PutResult> putResults = putResolverWith(UpsertStrategy.UPDATE_FIRST)
+                .performPutInBatches(lowLevel, singletonList(contentValues));
+
+        assertThat(putResults).containsExactly(PutResult.newInsertResult(insertedUri, CONTENT_URI));
+
+        final ArgumentCaptor<ArrayList> operationsCaptor = ArgumentCaptor.forClass(ArrayList.class);
+        verify(lowLevel, times(2)).applyBatch(eq("authority"), operationsCaptor.capture());
+
+        final List<ArrayList> batches = operationsCaptor.getAllValues();
+        assertThat(((ContentProviderOperation) batches.get(0).get(0)).getType()).isEqualTo(ContentProviderOperation.TYPE_UPDATE);
+        assertThat(((ContentProviderOperation) batches.get(1).get(0)).getType()).isEqualTo(ContentProviderOperation.TYPE_INSERT);
+
+        verify(lowLevel, never()).query(any(Query.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.pushtorefresh.storio.contentresolver.operations.put;
+
+import android.content.ContentValues;
+import android.net.Uri;
+
+import com.pushtorefresh.storio.contentresolver.BuildConfig;
+import com.pushtorefresh.storio.contentresolver.queries.UpdateQuery;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class WrittenRowsTest {
+
+    private static final Uri URI = Uri.parse("content://authority/items");
+
+    @Test
+    public void insertsWithoutKeyShouldNotConflict() {
+        final WrittenRows writtenRows = new WrittenRows();
+        final UpdateQuery updateQuery = updateQuery((Object) null);
+
+        writtenRows.add(updateQuery, contentValues("value", "a"), false);
+
+        assertThat(writtenRows.contain(updateQuery)).isFalse();
+    }
+
+    @Test
+    public void insertWithKeyShouldConflictWithSameKey() {
+        final WrittenRows writtenRows = new WrittenRows();
+
+        writtenRows.add(updateQuery("1"), contentValues("_id", "1"), false);
+
+        assertThat(writtenRows.contain(updateQuery("1"))).isTrue();
+        assertThat(writtenRows.contain(updateQuery("2"))).isFalse();
+    }
+
+    @Test
+    public void updateWithSameKeyShouldNotConflict() {
+        final WrittenRows writtenRows = new WrittenRows();
+
+        writtenRows.add(updateQuery("1"), contentValues("_id", "1"), true);
+
+        assertThat(writtenRows.contain(updateQuery("1"))).isFalse();
+    }
+
+    @Test
+    public void updateWithChangedKeyShouldConflictWithBothKeys() {
+        final WrittenRows writtenRows = new WrittenRows();
+
+        writtenRows.add(updateQuery("1"), contentValues("_id", "2"), true);
+
+        assertThat(writtenRows.contain(updateQuery("1"))).isTrue();
+        assertThat(writtenRows.contain(updateQuery("2"))).isTrue();
+    }
+
+    @Test
+    public void otherQueriesShouldConflictWithThemselves() {
+        final WrittenRows writtenRows = new WrittenRows();
+        final UpdateQuery updateQuery = UpdateQuery.builder()
+                .uri(URI)
+                .where("name = ? AND type = ?")
+                .whereArgs("a", "b")
+                .build();
+
+        writtenRows.add(updateQuery, contentValues("name", "a"), true);
+
+        assertThat(writtenRows.contain(updateQuery)).isTrue();
+    }
+
+    private static UpdateQuery updateQuery(Object key) {
+        return UpdateQuery.builder()
+                .uri(URI)
+                .where("_id = ?")
+                .whereArgs(key)
+                .build();
+    }
+
+    private static ContentValues contentValues(String key, String value) {
+        final ContentValues contentValues = new ContentValues(1);
+        contentValues.put(key, value);
+        return contentValues;
+    }
+}
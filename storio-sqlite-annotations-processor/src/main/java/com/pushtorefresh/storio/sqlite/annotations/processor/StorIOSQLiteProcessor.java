@@ -6,18 +6,22 @@ import com.pushtorefresh.storio.common.annotations.processor.StorIOAnnotationsPr
 import com.pushtorefresh.storio.common.annotations.processor.generate.Generator;
 import com.pushtorefresh.storio.common.annotations.processor.introspection.JavaType;
 import com.pushtorefresh.storio.sqlite.annotations.StorIOSQLiteColumn;
+import com.pushtorefresh.storio.sqlite.annotations.StorIOSQLiteProjection;
 import com.pushtorefresh.storio.sqlite.annotations.StorIOSQLiteType;
 import com.pushtorefresh.storio.sqlite.annotations.processor.generate.DeleteResolverGenerator;
 import com.pushtorefresh.storio.sqlite.annotations.processor.generate.GetResolverGenerator;
 import com.pushtorefresh.storio.sqlite.annotations.processor.generate.MappingGenerator;
+import com.pushtorefresh.storio.sqlite.annotations.processor.generate.ProjectionGetResolverGenerator;
 import com.pushtorefresh.storio.sqlite.annotations.processor.generate.PutResolverGenerator;
 import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteColumnMeta;
 import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteTypeMeta;
+import com.squareup.javapoet.JavaFile;
 
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.annotation.Annotation;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -185,9 +189,69 @@ public class StorIOSQLiteProcessor extends StorIOAnnotationsProcessor<StorIOSQLi
                                 + " annotation should have at least one KEY field marked with "
                                 + StorIOSQLiteColumn.class.getSimpleName() + " annotation");
             }
+
+            validateProjections(annotatedClass.getKey(), annotatedClass.getValue());
         }
     }
 
+    /**
+     * Checks that projections have unique names and consist of columns of the class
+     *
+     * @param classElement         class marked with {@link StorIOSQLiteType}
+     * @param storIOSQLiteTypeMeta meta information about the class
+     */
+    private void validateProjections(@NotNull TypeElement classElement, @NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta) {
+        final Set<String> projectionNames = new HashSet<String>();
+
+        for (final StorIOSQLiteProjection projection : storIOSQLiteTypeMeta.storIOType.projections()) {
+            final String projectionName = projection.name();
+
+            if (!isJavaIdentifier(projectionName)) {
+                throw new ProcessingException(classElement,
+                        "Name of " + StorIOSQLiteProjection.class.getSimpleName()
+                                + " should be valid java identifier, but was: " + projectionName);
+            }
+
+            if (!projectionNames.add(projectionName)) {
+                throw new ProcessingException(classElement, "Projection name already used in this class: " + projectionName);
+            }
+
+            if (projection.columns().length == 0) {
+                throw new ProcessingException(classElement, "Projection " + projectionName + " should have at least one column");
+            }
+
+            final Set<String> projectionColumns = new HashSet<String>(projection.columns().length);
+
+            for (final String columnName : projection.columns()) {
+                if (!storIOSQLiteTypeMeta.columns.containsKey(columnName)) {
+                    throw new ProcessingException(classElement,
+                            "Projection " + projectionName + " contains column " + columnName
+                                    + " that is not marked with " + StorIOSQLiteColumn.class.getSimpleName()
+                                    + " annotation in this class");
+                }
+
+                if (!projectionColumns.add(columnName)) {
+                    throw new ProcessingException(classElement,
+                            "Column " + columnName + " is used more than once in projection " + projectionName);
+                }
+            }
+        }
+    }
+
+    private static boolean isJavaIdentifier(@NotNull String name) {
+        if (name.length() == 0 || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     @NotNull
     @Override
     protected Class<? extends Annotation> getTypeAnnotationClass() {
@@ -223,4 +287,10 @@ public class StorIOSQLiteProcessor extends StorIOAnnotationsProcessor<StorIOSQLi
     protected Generator<StorIOSQLiteTypeMeta> createMapping() {
         return new MappingGenerator();
     }
+
+    @NotNull
+    @Override
+    protected List<JavaFile> generateAdditionalJavaFiles(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta) {
+        return new ProjectionGetResolverGenerator().generateJavaFiles(storIOSQLiteTypeMeta);
+    }
 }
@@ -1,6 +1,7 @@
 package com.pushtorefresh.storio.sqlite.annotations.processor.generate;
 
 import com.pushtorefresh.storio.common.annotations.processor.generate.Generator;
+import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteColumnMeta;
 import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteTypeMeta;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
@@ -10,10 +11,12 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 
 import static com.pushtorefresh.storio.common.annotations.processor.generate.Common.ANDROID_NON_NULL_ANNOTATION_CLASS_NAME;
+import static com.pushtorefresh.storio.common.annotations.processor.generate.Common.ANDROID_NULLABLE_ANNOTATION_CLASS_NAME;
 import static com.pushtorefresh.storio.common.annotations.processor.generate.Common.INDENT;
 import static javax.lang.model.element.Modifier.PROTECTED;
 import static javax.lang.model.element.Modifier.PUBLIC;
@@ -31,12 +34,23 @@ public class DeleteResolverGenerator implements Generator<StorIOSQLiteTypeMeta>
     public JavaFile generateJavaFile(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta) {
         final ClassName storIOSQLiteTypeClassName = ClassName.get(storIOSQLiteTypeMeta.packageName, storIOSQLiteTypeMeta.simpleName);
 
-        final TypeSpec deleteResolver = TypeSpec.classBuilder(generateName(storIOSQLiteTypeMeta))
+        final TypeSpec.Builder deleteResolverBuilder = TypeSpec.classBuilder(generateName(storIOSQLiteTypeMeta))
                 .addJavadoc("Generated resolver for Delete Operation\n")
                 .addModifiers(PUBLIC)
                 .superclass(ParameterizedTypeName.get(ClassName.get("com.pushtorefresh.storio.sqlite.operations.delete", "DefaultDeleteResolver"), storIOSQLiteTypeClassName))
-                .addMethod(createMapToDeleteQueryMethodSpec(storIOSQLiteTypeMeta, storIOSQLiteTypeClassName))
-                .build();
+                .addMethod(createMapToDeleteQueryMethodSpec(storIOSQLiteTypeMeta, storIOSQLiteTypeClassName));
+
+        final StorIOSQLiteColumnMeta keyColumnMeta = findSingleKeyColumn(storIOSQLiteTypeMeta);
+
+        // Objects with single key column can be deleted in batches with "key IN (...)"
+        if (keyColumnMeta != null) {
+            deleteResolverBuilder
+                    .addMethod(createTableMethodSpec(storIOSQLiteTypeMeta))
+                    .addMethod(createKeyColumnMethodSpec(keyColumnMeta))
+                    .addMethod(createMapToKeyMethodSpec(keyColumnMeta, storIOSQLiteTypeClassName));
+        }
+
+        final TypeSpec deleteResolver = deleteResolverBuilder.build();
 
         return JavaFile
                 .builder(storIOSQLiteTypeMeta.packageName, deleteResolver)
@@ -67,4 +81,60 @@ public class DeleteResolverGenerator implements Generator<StorIOSQLiteTypeMeta>
                         where.get(QueryGenerator.WHERE_ARGS))
                 .build();
     }
+
+    @Nullable
+    private static StorIOSQLiteColumnMeta findSingleKeyColumn(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta) {
+        StorIOSQLiteColumnMeta keyColumnMeta = null;
+
+        for (final StorIOSQLiteColumnMeta columnMeta : storIOSQLiteTypeMeta.columns.values()) {
+            if (columnMeta.storIOColumn.key()) {
+                if (keyColumnMeta != null) {
+                    return null; // composite key
+                }
+
+                keyColumnMeta = columnMeta;
+            }
+        }
+
+        return keyColumnMeta;
+    }
+
+    @NotNull
+    private MethodSpec createTableMethodSpec(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta) {
+        return MethodSpec.methodBuilder("table")
+                .addJavadoc("{@inheritDoc}\n")
+                .addAnnotation(Override.class)
+                .addAnnotation(ANDROID_NON_NULL_ANNOTATION_CLASS_NAME)
+                .addModifiers(PROTECTED)
+                .returns(String.class)
+                .addStatement("return $S", storIOSQLiteTypeMeta.storIOType.table())
+                .build();
+    }
+
+    @NotNull
+    private MethodSpec createKeyColumnMethodSpec(@NotNull StorIOSQLiteColumnMeta keyColumnMeta) {
+        return MethodSpec.methodBuilder("keyColumn")
+                .addJavadoc("{@inheritDoc}\n")
+                .addAnnotation(Override.class)
+                .addAnnotation(ANDROID_NON_NULL_ANNOTATION_CLASS_NAME)
+                .addModifiers(PROTECTED)
+                .returns(String.class)
+                .addStatement("return $S", keyColumnMeta.storIOColumn.name())
+                .build();
+    }
+
+    @NotNull
+    private MethodSpec createMapToKeyMethodSpec(@NotNull StorIOSQLiteColumnMeta keyColumnMeta, @NotNull ClassName storIOSQLiteTypeClassName) {
+        return MethodSpec.methodBuilder("mapToKey")
+                .addJavadoc("{@inheritDoc}\n")
+                .addAnnotation(Override.class)
+                .addAnnotation(ANDROID_NULLABLE_ANNOTATION_CLASS_NAME)
+                .addModifiers(PROTECTED)
+                .returns(Object.class)
+                .addParameter(ParameterSpec.builder(storIOSQLiteTypeClassName, "object")
+                        .addAnnotation(ANDROID_NON_NULL_ANNOTATION_CLASS_NAME)
+                        .build())
+                .addStatement("return object.$L", keyColumnMeta.fieldName)
+                .build();
+    }
 }
@@ -5,7 +5,10 @@ import com.pushtorefresh.storio.common.annotations.processor.generate.Generator;
 import com.pushtorefresh.storio.common.annotations.processor.introspection.JavaType;
 import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteColumnMeta;
 import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteTypeMeta;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
@@ -14,6 +17,11 @@ import com.squareup.javapoet.TypeSpec;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.Iterator;
+
+import javax.lang.model.element.Modifier;
+
 import static com.pushtorefresh.storio.common.annotations.processor.generate.Common.ANDROID_NON_NULL_ANNOTATION_CLASS_NAME;
 import static com.pushtorefresh.storio.common.annotations.processor.generate.Common.INDENT;
 import static com.pushtorefresh.storio.common.annotations.processor.introspection.JavaType.BOOLEAN;
@@ -30,12 +38,18 @@ import static com.pushtorefresh.storio.common.annotations.processor.introspectio
 import static com.pushtorefresh.storio.common.annotations.processor.introspection.JavaType.SHORT;
 import static com.pushtorefresh.storio.common.annotations.processor.introspection.JavaType.SHORT_OBJECT;
 import static com.pushtorefresh.storio.common.annotations.processor.introspection.JavaType.STRING;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 
 public class GetResolverGenerator implements Generator<StorIOSQLiteTypeMeta> {
 
     public static final String SUFFIX = "StorIOSQLiteGetResolver";
 
+    @NotNull
+    static final String COLUMNS_FIELD_NAME = "COLUMNS";
+
     @NotNull
     public static String generateName(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta) {
         return storIOSQLiteTypeMeta.simpleName + SUFFIX;
@@ -49,7 +63,8 @@ public class GetResolverGenerator implements Generator<StorIOSQLiteTypeMeta> {
                 .addJavadoc("Generated resolver for Get Operation\n")
                 .addModifiers(PUBLIC)
                 .superclass(ParameterizedTypeName.get(ClassName.get("com.pushtorefresh.storio.sqlite.operations.get", "DefaultGetResolver"), storIOSQLiteTypeClassName))
-                .addMethod(createMapFromCursorMethodSpec(storIOSQLiteTypeMeta, storIOSQLiteTypeClassName))
+                .addField(createColumnsFieldSpec(storIOSQLiteTypeMeta.columns.values(), PRIVATE))
+                .addMethod(createMapFromCursorMethodSpec(storIOSQLiteTypeMeta.columns.values(), storIOSQLiteTypeClassName))
                 .build();
 
         return JavaFile
@@ -59,7 +74,27 @@ public class GetResolverGenerator implements Generator<StorIOSQLiteTypeMeta> {
     }
 
     @NotNull
-    private MethodSpec createMapFromCursorMethodSpec(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta, @NotNull ClassName storIOSQLiteTypeClassName) {
+    static FieldSpec createColumnsFieldSpec(@NotNull Collection<StorIOSQLiteColumnMeta> columns, @NotNull Modifier visibility) {
+        final CodeBlock.Builder initializer = CodeBlock.builder().add("{");
+
+        final Iterator<StorIOSQLiteColumnMeta> iterator = columns.iterator();
+
+        while (iterator.hasNext()) {
+            initializer.add("$S", iterator.next().storIOColumn.name());
+
+            if (iterator.hasNext()) {
+                initializer.add(", ");
+            }
+        }
+
+        return FieldSpec.builder(ArrayTypeName.of(String.class), COLUMNS_FIELD_NAME, visibility, STATIC, FINAL)
+                .addAnnotation(ANDROID_NON_NULL_ANNOTATION_CLASS_NAME)
+                .initializer(initializer.add("}").build())
+                .build();
+    }
+
+    @NotNull
+    static MethodSpec createMapFromCursorMethodSpec(@NotNull Collection<StorIOSQLiteColumnMeta> columns, @NotNull ClassName storIOSQLiteTypeClassName) {
         final MethodSpec.Builder builder = MethodSpec.methodBuilder("mapFromCursor")
                 .addJavadoc("{@inheritDoc}\n")
                 .addAnnotation(Override.class)
@@ -70,10 +105,14 @@ public class GetResolverGenerator implements Generator<StorIOSQLiteTypeMeta> {
                         .addAnnotation(ANDROID_NON_NULL_ANNOTATION_CLASS_NAME)
                         .build())
                 .addStatement("$T object = new $T()", storIOSQLiteTypeClassName, storIOSQLiteTypeClassName)
+                // indices are resolved once per cursor instead of getColumnIndex() for each row
+                .addStatement("final int[] columnIndices = columnIndices(cursor, $L)", COLUMNS_FIELD_NAME)
                 .addCode("\n");
 
-        for (final StorIOSQLiteColumnMeta columnMeta : storIOSQLiteTypeMeta.columns.values()) {
-            final String columnIndex = "cursor.getColumnIndex(\"" + columnMeta.storIOColumn.name() + "\")";
+        int columnPosition = 0;
+
+        for (final StorIOSQLiteColumnMeta columnMeta : columns) {
+            final String columnIndex = "columnIndices[" + columnPosition++ + "]";
 
             final String getFromCursor;
 
@@ -0,0 +1,91 @@
+package com.pushtorefresh.storio.sqlite.annotations.processor.generate;
+
+import com.pushtorefresh.storio.sqlite.annotations.StorIOSQLiteProjection;
+import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteColumnMeta;
+import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteTypeMeta;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pushtorefresh.storio.common.annotations.processor.generate.Common.ANDROID_NON_NULL_ANNOTATION_CLASS_NAME;
+import static com.pushtorefresh.storio.common.annotations.processor.generate.Common.INDENT;
+import static com.pushtorefresh.storio.sqlite.annotations.processor.generate.GetResolverGenerator.COLUMNS_FIELD_NAME;
+import static com.pushtorefresh.storio.sqlite.annotations.processor.generate.GetResolverGenerator.createColumnsFieldSpec;
+import static com.pushtorefresh.storio.sqlite.annotations.processor.generate.GetResolverGenerator.createMapFromCursorMethodSpec;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates GetResolver for each {@link StorIOSQLiteProjection} of the type,
+ * resolver maps only columns of the projection
+ */
+public class ProjectionGetResolverGenerator {
+
+    @NotNull
+    private static final String PROJECTION_FIELD_NAME = "PROJECTION";
+
+    @NotNull
+    private static final ClassName PROJECTION_CLASS_NAME = ClassName.get("com.pushtorefresh.storio.sqlite.operations.get", "Projection");
+
+    @NotNull
+    public static String generateName(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta, @NotNull StorIOSQLiteProjection projection) {
+        final String projectionName = projection.name();
+
+        return storIOSQLiteTypeMeta.simpleName
+                + Character.toUpperCase(projectionName.charAt(0))
+                + projectionName.substring(1)
+                + GetResolverGenerator.SUFFIX;
+    }
+
+    @NotNull
+    public List<JavaFile> generateJavaFiles(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta) {
+        final StorIOSQLiteProjection[] projections = storIOSQLiteTypeMeta.storIOType.projections();
+        final List<JavaFile> javaFiles = new ArrayList<JavaFile>(projections.length);
+
+        for (StorIOSQLiteProjection projection : projections) {
+            javaFiles.add(generateJavaFile(storIOSQLiteTypeMeta, projection));
+        }
+
+        return javaFiles;
+    }
+
+    @NotNull
+    JavaFile generateJavaFile(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta, @NotNull StorIOSQLiteProjection projection) {
+        final ClassName storIOSQLiteTypeClassName = ClassName.get(storIOSQLiteTypeMeta.packageName, storIOSQLiteTypeMeta.simpleName);
+        final ClassName getResolverClassName = ClassName.get(storIOSQLiteTypeMeta.packageName, generateName(storIOSQLiteTypeMeta, projection));
+
+        // Order of columns is the order of the projection, not of the fields
+        final List<StorIOSQLiteColumnMeta> columns = new ArrayList<StorIOSQLiteColumnMeta>(projection.columns().length);
+
+        for (String columnName : projection.columns()) {
+            columns.add(storIOSQLiteTypeMeta.columns.get(columnName));
+        }
+
+        final FieldSpec projectionFieldSpec = FieldSpec.builder(ParameterizedTypeName.get(PROJECTION_CLASS_NAME, storIOSQLiteTypeClassName), PROJECTION_FIELD_NAME, PUBLIC, STATIC, FINAL)
+                .addAnnotation(ANDROID_NON_NULL_ANNOTATION_CLASS_NAME)
+                .initializer("$T.newInstance(new $T(), $L)", PROJECTION_CLASS_NAME, getResolverClassName, COLUMNS_FIELD_NAME)
+                .build();
+
+        final TypeSpec getResolver = TypeSpec.classBuilder(getResolverClassName.simpleName())
+                .addJavadoc("Generated resolver for Get Operation with projection \"$L\"\n", projection.name())
+                .addModifiers(PUBLIC)
+                .superclass(ParameterizedTypeName.get(ClassName.get("com.pushtorefresh.storio.sqlite.operations.get", "DefaultGetResolver"), storIOSQLiteTypeClassName))
+                .addField(createColumnsFieldSpec(columns, PUBLIC))
+                .addField(projectionFieldSpec)
+                .addMethod(createMapFromCursorMethodSpec(columns, storIOSQLiteTypeClassName))
+                .build();
+
+        return JavaFile
+                .builder(storIOSQLiteTypeMeta.packageName, getResolver)
+                .indent(INDENT)
+                .build();
+    }
+}
@@ -36,6 +36,7 @@ public class PutResolverGenerator implements Generator<StorIOSQLiteTypeMeta> {
                 .addJavadoc("Generated resolver for Put Operation\n")
                 .addModifiers(PUBLIC)
                 .superclass(ParameterizedTypeName.get(ClassName.get("com.pushtorefresh.storio.sqlite.operations.put", "DefaultPutResolver"), storIOSQLiteTypeClassName))
+                .addMethod(createUpsertStrategyMethodSpec())
                 .addMethod(createMapToInsertQueryMethodSpec(storIOSQLiteTypeMeta, storIOSQLiteTypeClassName))
                 .addMethod(createMapToUpdateQueryMethodSpec(storIOSQLiteTypeMeta, storIOSQLiteTypeClassName))
                 .addMethod(createMapToContentValuesMethodSpec(storIOSQLiteTypeMeta, storIOSQLiteTypeClassName))
@@ -47,6 +48,21 @@ public class PutResolverGenerator implements Generator<StorIOSQLiteTypeMeta> {
                 .build();
     }
 
+    @NotNull
+    private MethodSpec createUpsertStrategyMethodSpec() {
+        final ClassName upsertStrategyClassName = ClassName.get("com.pushtorefresh.storio.sqlite.operations.put", "UpsertStrategy");
+
+        // update-first executes one statement for existing rows and never more than two
+        return MethodSpec.methodBuilder("upsertStrategy")
+                .addJavadoc("{@inheritDoc}\n")
+                .addAnnotation(Override.class)
+                .addAnnotation(ANDROID_NON_NULL_ANNOTATION_CLASS_NAME)
+                .addModifiers(PROTECTED)
+                .returns(upsertStrategyClassName)
+                .addStatement("return $T.UPDATE_FIRST", upsertStrategyClassName)
+                .build();
+    }
+
     @NotNull
     private MethodSpec createMapToInsertQueryMethodSpec(@NotNull StorIOSQLiteTypeMeta storIOSQLiteTypeMeta, @NotNull ClassName storIOSQLiteTypeClassName) {
         return MethodSpec.methodBuilder("mapToInsertQuery")
@@ -83,4 +83,103 @@ public class DeleteResolverGeneratorTest {
                 "    }\n" +
                 "}\n");
     }
+
+    @Test
+    public void generateJavaFileWithSingleKeyColumn() throws IOException {
+        final StorIOSQLiteType storIOSQLiteType = mock(StorIOSQLiteType.class);
+
+        when(storIOSQLiteType.table()).thenReturn("test_table");
+
+        final StorIOSQLiteTypeMeta storIOSQLiteTypeMeta = new StorIOSQLiteTypeMeta(
+                "TestItem",
+                "com.test",
+                storIOSQLiteType
+        );
+
+        final StorIOSQLiteColumn storIOSQLiteColumn1 = mock(StorIOSQLiteColumn.class);
+        when(storIOSQLiteColumn1.name()).thenReturn("_id");
+        when(storIOSQLiteColumn1.key()).thenReturn(true);
+
+        //noinspection ConstantConditions
+        final StorIOSQLiteColumnMeta storIOSQLiteColumnMeta1 = new StorIOSQLiteColumnMeta(
+                null,
+                null,
+                "id",
+                null,
+                storIOSQLiteColumn1
+        );
+        storIOSQLiteTypeMeta.columns.put("_id", storIOSQLiteColumnMeta1);
+
+        final StorIOSQLiteColumn storIOSQLiteColumn2 = mock(StorIOSQLiteColumn.class);
+        when(storIOSQLiteColumn2.name()).thenReturn("column2");
+
+        //noinspection ConstantConditions
+        final StorIOSQLiteColumnMeta storIOSQLiteColumnMeta2 = new StorIOSQLiteColumnMeta(
+                null,
+                null,
+                "field2",
+                null,
+                storIOSQLiteColumn2
+        );
+        storIOSQLiteTypeMeta.columns.put("column2", storIOSQLiteColumnMeta2);
+
+        final JavaFile javaFile = new DeleteResolverGenerator().generateJavaFile(storIOSQLiteTypeMeta);
+        final StringBuilder out = new StringBuilder();
+        javaFile.writeTo(out);
+
+        assertThat(out.toString()).isEqualTo("package com.test;\n" +
+                "\n" +
+                "import android.support.annotation.NonNull;\n" +
+                "import android.support.annotation.Nullable;\n" +
+                "import com.pushtorefresh.storio.sqlite.operations.delete.DefaultDeleteResolver;\n" +
+                "import com.pushtorefresh.storio.sqlite.queries.DeleteQuery;\n" +
+                "import java.lang.Object;\n" +
+                "import java.lang.Override;\n" +
+                "import java.lang.String;\n" +
+                "\n" +
+                "/**\n" +
+                " * Generated resolver for Delete Operation\n" +
+                " */\n" +
+                "public class TestItemStorIOSQLiteDeleteResolver extends DefaultDeleteResolver<TestItem> {\n" +
+                "    /**\n" +
+                "     * {@inheritDoc}\n" +
+                "     */\n" +
+                "    @Override\n" +
+                "    @NonNull\n" +
+                "    protected DeleteQuery mapToDeleteQuery(@NonNull TestItem object) {\n" +
+                "        return DeleteQuery.builder()\n" +
+                "            .table(\"test_table\")\n" +
+                "            .where(\"_id = ?\")\n" +
+                "            .whereArgs(object.id)\n" +
+                "            .build();\n" +
+                "    }\n" +
+                "\n" +
+                "    /**\n" +
+                "     * {@inheritDoc}\n" +
+                "     */\n" +
+                "    @Override\n" +
+                "    @NonNull\n" +
+                "    protected String table() {\n" +
+                "        return \"test_table\";\n" +
+                "    }\n" +
+                "\n" +
+                "    /**\n" +
+                "     * {@inheritDoc}\n" +
+                "     */\n" +
+                "    @Override\n" +
+                "    @NonNull\n" +
+                "    protected String keyColumn() {\n" +
+                "        return \"_id\";\n" +
+                "    }\n" +
+                "\n" +
+                "    /**\n" +
+                "     * {@inheritDoc}\n" +
+                "     */\n" +
+                "    @Override\n" +
+                "    @Nullable\n" +
+                "    protected Object mapToKey(@NonNull TestItem object) {\n" +
+                "        return object.id;\n" +
+                "    }\n" +
+                "}\n");
+    }
 }
@@ -30,6 +30,7 @@ public class GetResolverGeneratorTest {
                     "import android.support.annotation.NonNull;\n" +
                     "import com.pushtorefresh.storio.sqlite.operations.get.DefaultGetResolver;\n" +
                     "import java.lang.Override;\n" +
+                    "import java.lang.String;\n" +
                     "\n";
 
     @NotNull
@@ -39,6 +40,12 @@ public class GetResolverGeneratorTest {
                     " */\n" +
                     "public class TestItemStorIOSQLiteGetResolver extends DefaultGetResolver<TestItem> {\n";
 
+    @NotNull
+    private static final String PART_COLUMNS =
+            "    @NonNull\n" +
+                    "    private static final String[] COLUMNS = {\"column1\", \"column2\"};\n" +
+                    "\n";
+
     @NotNull
     private static final String PART_MAP_FROM_CURSOR_WITHOUT_NULL_CHECK =
             "    /**\n" +
@@ -48,9 +55,10 @@ public class GetResolverGeneratorTest {
                     "    @NonNull\n" +
                     "    public TestItem mapFromCursor(@NonNull Cursor cursor) {\n" +
                     "        TestItem object = new TestItem();\n" +
+                    "        final int[] columnIndices = columnIndices(cursor, COLUMNS);\n" +
                     "\n" +
-                    "        object.field1 = cursor.getInt(cursor.getColumnIndex(\"column1\")) == 1;\n" +
-                    "        object.field2 = cursor.getString(cursor.getColumnIndex(\"column2\"));\n" +
+                    "        object.field1 = cursor.getInt(columnIndices[0]) == 1;\n" +
+                    "        object.field2 = cursor.getString(columnIndices[1]);\n" +
                     "\n" +
                     "        return object;\n" +
                     "    }\n";
@@ -96,6 +104,7 @@ public class GetResolverGeneratorTest {
                 PART_PACKAGE,
                 PART_IMPORT,
                 PART_CLASS,
+                PART_COLUMNS,
                 PART_MAP_FROM_CURSOR_WITHOUT_NULL_CHECK
         );
     }
@@ -141,6 +150,7 @@ public class GetResolverGeneratorTest {
                 PART_PACKAGE,
                 PART_IMPORT,
                 PART_CLASS,
+                PART_COLUMNS,
                 "    /**\n" +
                         "     * {@inheritDoc}\n" +
                         "     */\n" +
@@ -148,10 +158,11 @@ public class GetResolverGeneratorTest {
                         "    @NonNull\n" +
                         "    public TestItem mapFromCursor(@NonNull Cursor cursor) {\n" +
                         "        TestItem object = new TestItem();\n" +
+                        "        final int[] columnIndices = columnIndices(cursor, COLUMNS);\n" +
                         "\n" +
-                        "        object.field1 = cursor.getInt(cursor.getColumnIndex(\"column1\")) == 1;\n" +
-                        "        if(!cursor.isNull(cursor.getColumnIndex(\"column2\"))) {\n" +
-                        "            object.field2 = cursor.getInt(cursor.getColumnIndex(\"column2\"));\n" +
+                        "        object.field1 = cursor.getInt(columnIndices[0]) == 1;\n" +
+                        "        if(!cursor.isNull(columnIndices[1])) {\n" +
+                        "            object.field2 = cursor.getInt(columnIndices[1]);\n" +
                         "        }\n" +
                         "\n" +
                         "        return object;\n" +
@@ -164,12 +175,14 @@ public class GetResolverGeneratorTest {
             @NotNull String partPackage,
             @NotNull String partImport,
             @NotNull String partClass,
+            @NotNull String partColumns,
             @NotNull String partMapFromCursor
     ) {
         assertThat(actualFile).isEqualTo(
                 partPackage +
                         partImport +
                         partClass +
+                        partColumns +
                         partMapFromCursor +
                         "}\n");
     }
@@ -0,0 +1,149 @@
+package com.pushtorefresh.storio.sqlite.annotations.processor.generate;
+
+import com.pushtorefresh.storio.common.annotations.processor.introspection.JavaType;
+import com.pushtorefresh.storio.sqlite.annotations.StorIOSQLiteProjection;
+import com.pushtorefresh.storio.sqlite.annotations.StorIOSQLiteType;
+import com.pushtorefresh.storio.sqlite.annotations.processor.introspection.StorIOSQLiteTypeMeta;
+import com.squareup.javapoet.JavaFile;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.lang.model.type.TypeKind;
+
+import static com.pushtorefresh.storio.sqlite.annotations.processor.generate.TestFactory.createColumnMetaMock;
+import static com.pushtorefresh.storio.sqlite.annotations.processor.generate.TestFactory.createElementMock;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProjectionGetResolverGeneratorTest {
+
+    @NotNull
+    private static StorIOSQLiteProjection createProjectionMock(@NotNull String name, @NotNull String... columns) {
+        final StorIOSQLiteProjection projection = mock(StorIOSQLiteProjection.class);
+        when(projection.name()).thenReturn(name);
+        when(projection.columns()).thenReturn(columns);
+        return projection;
+    }
+
+    @NotNull
+    private static StorIOSQLiteTypeMeta createTypeMeta(@NotNull StorIOSQLiteProjection... projections) {
+        final StorIOSQLiteType storIOSQLiteType = mock(StorIOSQLiteType.class);
+
+        when(storIOSQLiteType.table()).thenReturn("test_table");
+        when(storIOSQLiteType.projections()).thenReturn(projections);
+
+        final StorIOSQLiteTypeMeta storIOSQLiteTypeMeta = new StorIOSQLiteTypeMeta(
+                "TestItem",
+                "com.test",
+                storIOSQLiteType
+        );
+
+        storIOSQLiteTypeMeta.columns.put("column1", createColumnMetaMock(
+                createElementMock(TypeKind.LONG),
+                "column1",
+                "field1",
+                true,           // key
+                false,
+                JavaType.LONG
+        ));
+
+        storIOSQLiteTypeMeta.columns.put("column2", createColumnMetaMock(
+                createElementMock(TypeKind.OTHER),
+                "column2",
+                "field2",
+                false,
+                false,
+                JavaType.STRING
+        ));
+
+        storIOSQLiteTypeMeta.columns.put("column3", createColumnMetaMock(
+                createElementMock(TypeKind.ARRAY),
+                "column3",
+                "field3",
+                false,
+                false,
+                JavaType.BYTE_ARRAY
+        ));
+
+        return storIOSQLiteTypeMeta;
+    }
+
+    @Test
+    public void generateNameShouldCapitalizeProjectionName() {
+        final StorIOSQLiteTypeMeta storIOSQLiteTypeMeta = createTypeMeta();
+
+        assertThat(ProjectionGetResolverGenerator.generateName(storIOSQLiteTypeMeta, createProjectionMock("preview", "column1")))
+                .isEqualTo("TestItemPreviewStorIOSQLiteGetResolver");
+    }
+
+    @Test
+    public void generateJavaFilesShouldGenerateFileForEachProjection() {
+        final StorIOSQLiteTypeMeta storIOSQLiteTypeMeta = createTypeMeta(
+                createProjectionMock("preview", "column1", "column2"),
+                createProjectionMock("content", "column1", "column3")
+        );
+
+        final List<JavaFile> javaFiles = new ProjectionGetResolverGenerator().generateJavaFiles(storIOSQLiteTypeMeta);
+
+        assertThat(javaFiles).hasSize(2);
+        assertThat(javaFiles.get(0).typeSpec.name).isEqualTo("TestItemPreviewStorIOSQLiteGetResolver");
+        assertThat(javaFiles.get(1).typeSpec.name).isEqualTo("TestItemContentStorIOSQLiteGetResolver");
+    }
+
+    @Test
+    public void generateJavaFilesShouldNotGenerateFilesWithoutProjections() {
+        assertThat(new ProjectionGetResolverGenerator().generateJavaFiles(createTypeMeta())).isEmpty();
+    }
+
+    @Test
+    public void generateJavaFileTest() throws IOException {
+        final StorIOSQLiteProjection projection = createProjectionMock("preview", "column2", "column1");
+
+        final JavaFile javaFile = new ProjectionGetResolverGenerator().generateJavaFile(createTypeMeta(projection), projection);
+        final StringBuilder out = new StringBuilder();
+        javaFile.writeTo(out);
+
+        // Only columns of the projection are mapped, in order of the projection
+        assertThat(out.toString()).isEqualTo(
+                "package com.test;\n" +
+                "\n" +
+                "import android.database.Cursor;\n" +
+                "import android.support.annotation.NonNull;\n" +
+                "import com.pushtorefresh.storio.sqlite.operations.get.DefaultGetResolver;\n" +
+                "import com.pushtorefresh.storio.sqlite.operations.get.Projection;\n" +
+                "import java.lang.Override;\n" +
+                "import java.lang.String;\n" +
+                "\n" +
+                "/**\n" +
+                " * Generated resolver for Get Operation with projection \"preview\"\n" +
+                " */\n" +
+                "public class TestItemPreviewStorIOSQLiteGetResolver extends DefaultGetResolver<TestItem> {\n" +
+                "    @NonNull\n" +
+                "    public static final String[] COLUMNS = {\"column2\", \"column1\"};\n" +
+                "\n" +
+                "    @NonNull\n" +
+                "    public static final Projection<TestItem> PROJECTION = Projection.newInstance(new TestItemPreviewStorIOSQLiteGetResolver(), COLUMNS);\n" +
+                "\n" +
+                "    /**\n" +
+                "     * {@inheritDoc}\n" +
+                "     */\n" +
+                "    @Override\n" +
+                "    @NonNull\n" +
+                "    public TestItem mapFromCursor(@NonNull Cursor cursor) {\n" +
+                "        TestItem object = new TestItem();\n" +
+                "        final int[] columnIndices = columnIndices(cursor, COLUMNS);\n" +
+                "\n" +
+                "        object.field2 = cursor.getString(columnIndices[0]);\n" +
+                "        object.field1 = cursor.getLong(columnIndices[1]);\n" +
+                "\n" +
+                "        return object;\n" +
+                "    }\n" +
+                "}\n"
+        );
+    }
+}
@@ -30,6 +30,7 @@ public class PutResolverGeneratorTest {
             "import android.content.ContentValues;\n" +
                     "import android.support.annotation.NonNull;\n" +
                     "import com.pushtorefresh.storio.sqlite.operations.put.DefaultPutResolver;\n" +
+                    "import com.pushtorefresh.storio.sqlite.operations.put.UpsertStrategy;\n" +
                     "import com.pushtorefresh.storio.sqlite.queries.InsertQuery;\n" +
                     "import com.pushtorefresh.storio.sqlite.queries.UpdateQuery;\n" +
                     "import java.lang.Override;\n" +
@@ -42,6 +43,18 @@ public class PutResolverGeneratorTest {
                     " */\n" +
                     "public class TestItemStorIOSQLitePutResolver extends DefaultPutResolver<TestItem> {\n";
 
+    @NotNull
+    private static final String PART_UPSERT_STRATEGY =
+            "    /**\n" +
+                    "     * {@inheritDoc}\n" +
+                    "     */\n" +
+                    "    @Override\n" +
+                    "    @NonNull\n" +
+                    "    protected UpsertStrategy upsertStrategy() {\n" +
+                    "        return UpsertStrategy.UPDATE_FIRST;\n" +
+                    "    }\n" +
+                    "\n";
+
     @NotNull
     private static final String PART_MAP_TO_INSERT_QUERY =
             "    /**\n" +
@@ -123,6 +136,7 @@ public class PutResolverGeneratorTest {
                 PART_PACKAGE,
                 PART_IMPORT,
                 PART_CLASS,
+                PART_UPSERT_STRATEGY,
                 PART_MAP_TO_INSERT_QUERY,
                 PART_MAP_TO_UPDATE_QUERY,
                 PART_MAP_TO_CONTENT_VALUES_WITHOUT_NULL_CHECK);
@@ -163,6 +177,7 @@ public class PutResolverGeneratorTest {
                 PART_PACKAGE,
                 PART_IMPORT,
                 PART_CLASS,
+                PART_UPSERT_STRATEGY,
                 PART_MAP_TO_INSERT_QUERY,
                 PART_MAP_TO_UPDATE_QUERY,
                 "    /**\n" +
@@ -196,6 +211,7 @@ public class PutResolverGeneratorTest {
             @NotNull String partPackage,
             @NotNull String partImport,
             @NotNull String partClass,
+            @NotNull String partUpsertStrategy,
             @NotNull String partMapToInsertQuery,
             @NotNull String partMapToUpdateQuery,
             @NotNull String partMapToContentValues
@@ -204,6 +220,7 @@ public class PutResolverGeneratorTest {
                 partPackage +
                         partImport +
                         partClass +
+                        partUpsertStrategy +
                         partMapToInsertQuery +
                         partMapToUpdateQuery +
                         partMapToContentValues +
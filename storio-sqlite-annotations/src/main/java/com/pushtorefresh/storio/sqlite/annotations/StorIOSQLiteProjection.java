@@ -0,0 +1,30 @@
+package com.pushtorefresh.storio.sqlite.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Annotation for describing named subset of columns of class marked with {@link StorIOSQLiteType},
+ * can be used only as element of {@link StorIOSQLiteType#projections()}
+ */
+@Target({})
+@Retention(RUNTIME) // we allow users to write reflection based code to work with annotation
+public @interface StorIOSQLiteProjection {
+
+    /**
+     * Required: specifies name of the projection, it's used as part of the name of generated resolver
+     *
+     * @return non-null projection name, valid java identifier
+     */
+    String name();
+
+    /**
+     * Required: specifies columns of the projection, each of them should be declared
+     * via {@link StorIOSQLiteColumn} in the same class
+     *
+     * @return non-empty array of column names
+     */
+    String[] columns();
+}
@@ -19,4 +19,12 @@ public @interface StorIOSQLiteType {
      * @return table name
      */
     String table();
+
+    /**
+     * Optional: specifies named subsets of columns, for each of them separate GetResolver
+     * that reads only these columns will be generated
+     *
+     * @return projections of the class
+     */
+    StorIOSQLiteProjection[] projections() default {};
 }
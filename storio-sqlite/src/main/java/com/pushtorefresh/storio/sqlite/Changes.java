@@ -1,6 +1,7 @@
 package com.pushtorefresh.storio.sqlite;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.util.Collections;
 import java.util.Set;
@@ -12,20 +13,56 @@ import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
  */
 public final class Changes {
 
+    /**
+     * Type of the operation that caused changes.
+     */
+    public enum OperationType {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
     /**
      * Immutable set of affected tables.
      */
     @NonNull
     private final Set<String> affectedTables;
 
+    @Nullable
+    private final OperationType operationType;
+
+    @Nullable
+    private final String keyColumn;
+
+    /**
+     * Immutable set of values of {@link #keyColumn} of affected rows.
+     */
+    @Nullable
+    private final Set<String> affectedKeys;
+
     /**
      * Creates {@link Changes} container with info about changes.
      *
      * @param affectedTables set of tables which were affected by these changes.
+     * @param operationType  type of operation or {@code null} if it's unknown.
+     * @param keyColumn      column that identifies affected rows or {@code null} if they are unknown.
+     * @param affectedKeys   values of the key column of affected rows or {@code null} if they are unknown.
      */
-    private Changes(@NonNull Set<String> affectedTables) {
+    private Changes(@NonNull Set<String> affectedTables,
+                    @Nullable OperationType operationType,
+                    @Nullable String keyColumn,
+                    @Nullable Set<String> affectedKeys) {
         checkNotNull(affectedTables, "Please specify affected tables");
+
+        if ((keyColumn == null) != (affectedKeys == null)) {
+            throw new IllegalArgumentException("Please specify both key column and affected keys or none of them, " +
+                    "keyColumn = " + keyColumn + ", affectedKeys = " + affectedKeys);
+        }
+
         this.affectedTables = Collections.unmodifiableSet(affectedTables);
+        this.operationType = operationType;
+        this.keyColumn = keyColumn;
+        this.affectedKeys = affectedKeys != null ? Collections.unmodifiableSet(affectedKeys) : null;
     }
 
     /**
@@ -36,7 +73,7 @@ public final class Changes {
      */
     @NonNull
     public static Changes newInstance(@NonNull Set<String> affectedTables) {
-        return new Changes(affectedTables);
+        return new Changes(affectedTables, null, null, null);
     }
 
     /**
@@ -48,7 +85,27 @@ public final class Changes {
     @NonNull
     public static Changes newInstance(@NonNull String affectedTable) {
         checkNotNull(affectedTable, "Please specify affected table");
-        return new Changes(Collections.singleton(affectedTable));
+        return new Changes(Collections.singleton(affectedTable), null, null, null);
+    }
+
+    /**
+     * Creates {@link Changes} container with info about changes of particular rows.
+     * <p>
+     * Affected rows are identified by values of the key column,
+     * observers can skip changes of rows that are not part of their results.
+     *
+     * @param affectedTables non-null set of affected tables.
+     * @param operationType  type of operation or {@code null} if it's unknown.
+     * @param keyColumn      column that identifies affected rows or {@code null} if they are unknown.
+     * @param affectedKeys   values of the key column of affected rows or {@code null} if they are unknown.
+     * @return new immutable instance of {@link Changes}.
+     */
+    @NonNull
+    public static Changes newInstance(@NonNull Set<String> affectedTables,
+                                      @Nullable OperationType operationType,
+                                      @Nullable String keyColumn,
+                                      @Nullable Set<String> affectedKeys) {
+        return new Changes(affectedTables, operationType, keyColumn, affectedKeys);
     }
 
     /**
@@ -61,6 +118,36 @@ public final class Changes {
         return affectedTables;
     }
 
+    /**
+     * Gets type of the operation that caused changes.
+     *
+     * @return type of operation or {@code null} if it's unknown or changes were caused by different operations.
+     */
+    @Nullable
+    public OperationType operationType() {
+        return operationType;
+    }
+
+    /**
+     * Gets column that identifies affected rows, see {@link #affectedKeys()}.
+     *
+     * @return key column or {@code null} if affected rows are unknown.
+     */
+    @Nullable
+    public String keyColumn() {
+        return keyColumn;
+    }
+
+    /**
+     * Gets immutable set of values of {@link #keyColumn()} of affected rows.
+     *
+     * @return immutable set of keys or {@code null} if affected rows are unknown.
+     */
+    @Nullable
+    public Set<String> affectedKeys() {
+        return affectedKeys;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -68,18 +155,29 @@ public final class Changes {
 
         Changes changes = (Changes) o;
 
-        return affectedTables.equals(changes.affectedTables);
+        if (!affectedTables.equals(changes.affectedTables)) return false;
+        if (operationType != changes.operationType) return false;
+        if (keyColumn != null ? !keyColumn.equals(changes.keyColumn) : changes.keyColumn != null)
+            return false;
+        return affectedKeys != null ? affectedKeys.equals(changes.affectedKeys) : changes.affectedKeys == null;
     }
 
     @Override
     public int hashCode() {
-        return affectedTables.hashCode();
+        int result = affectedTables.hashCode();
+        result = 31 * result + (operationType != null ? operationType.hashCode() : 0);
+        result = 31 * result + (keyColumn != null ? keyColumn.hashCode() : 0);
+        result = 31 * result + (affectedKeys != null ? affectedKeys.hashCode() : 0);
+        return result;
     }
 
     @Override
     public String toString() {
         return "Changes{" +
                 "affectedTables=" + affectedTables +
+                ", operationType=" + operationType +
+                ", keyColumn=" + keyColumn +
+                ", affectedKeys=" + affectedKeys +
                 '}';
     }
 }
@@ -0,0 +1,121 @@
+package com.pushtorefresh.storio.sqlite;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
+
+/**
+ * Describes how write operations subscribed via {@link rx.Single} / {@link rx.Completable}
+ * or {@link rx.Observable} should be grouped into transactions.
+ * <p>
+ * First write operation that arrives while no other operations are waiting opens time window,
+ * all write operations that arrive during the window (but not more than max number of operations)
+ * are executed in one transaction, so they share one commit of the database
+ * and observers receive one {@link Changes} with union of affected tables.
+ * <p>
+ * Each operation still completes with its own result after commit. If one of them fails,
+ * transaction is rolled back and operations of the group are executed again one by one,
+ * so failure of one operation does not affect others.
+ * <p>
+ * Requires RxJava.
+ * <p>
+ * Immutable, thread-safe.
+ */
+public final class GroupCommit {
+
+    private final long window;
+
+    @NonNull
+    private final TimeUnit timeUnit;
+
+    private final int maxOperations;
+
+    private GroupCommit(long window, @NonNull TimeUnit timeUnit, int maxOperations) {
+        this.window = window;
+        this.timeUnit = timeUnit;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Groups write operations that arrive during time window after the first of them.
+     *
+     * @param window        duration of the window, should be {@code >= 0}.
+     * @param timeUnit      unit of the window.
+     * @param maxOperations max number of operations in one transaction, should be {@code > 0},
+     *                      group is committed as soon as it's reached.
+     * @return immutable instance of {@link GroupCommit}.
+     */
+    @NonNull
+    public static GroupCommit window(long window, @NonNull TimeUnit timeUnit, int maxOperations) {
+        if (window < 0) {
+            throw new IllegalArgumentException("window must be >= 0, but was = " + window);
+        }
+
+        checkNotNull(timeUnit, "Please specify timeUnit");
+
+        if (maxOperations <= 0) {
+            throw new IllegalArgumentException("maxOperations must be > 0, but was = " + maxOperations);
+        }
+
+        return new GroupCommit(window, timeUnit, maxOperations);
+    }
+
+    /**
+     * Gets duration of the time window.
+     *
+     * @return duration of the window in {@link #timeUnit()}.
+     */
+    public long window() {
+        return window;
+    }
+
+    /**
+     * Gets unit of the time window.
+     *
+     * @return non-null unit of the window.
+     */
+    @NonNull
+    public TimeUnit timeUnit() {
+        return timeUnit;
+    }
+
+    /**
+     * Gets max number of operations in one transaction.
+     *
+     * @return max number of operations.
+     */
+    public int maxOperations() {
+        return maxOperations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        GroupCommit that = (GroupCommit) o;
+
+        if (window != that.window) return false;
+        if (maxOperations != that.maxOperations) return false;
+        return timeUnit == that.timeUnit;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (window ^ (window >>> 32));
+        result = 31 * result + timeUnit.hashCode();
+        result = 31 * result + maxOperations;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupCommit{" +
+                "window=" + window +
+                ", timeUnit=" + timeUnit +
+                ", maxOperations=" + maxOperations +
+                '}';
+    }
+}
@@ -155,6 +155,20 @@ public abstract class StorIOSQLite implements Closeable {
     @Nullable
     public abstract Scheduler defaultScheduler();
 
+    /**
+     * Provides a scheduler on which {@link rx.Observable} / {@link rx.Single}
+     * or {@link rx.Completable} of write operations (Put, Delete and Execute SQL) will be subscribed.
+     * <p>
+     * Default implementation returns {@link #defaultScheduler()}.
+     *
+     * @return the scheduler or {@code null} if it isn't needed to apply it.
+     * @see com.pushtorefresh.storio.operations.PreparedWriteOperation#asRxCompletable()
+     */
+    @Nullable
+    public Scheduler writeScheduler() {
+        return defaultScheduler();
+    }
+
     /**
      * An API for low level interaction with DB, it's part of public API, so feel free to use it,
      * but please read documentation carefully!
@@ -283,6 +297,9 @@ public abstract class StorIOSQLite implements Closeable {
          * Operations can be executed in transaction or one operation can affect multiple tables,
          * so to reduce number of notifications you can call this method once and
          * provide aggregated Changes object.
+         * <p>
+         * Changes made in transaction are sent as one {@link Changes} object after commit
+         * of the outermost transaction of current thread and dropped if transaction was rolled back.
          *
          * @param changes changes happened in {@link StorIOSQLite}.
          */
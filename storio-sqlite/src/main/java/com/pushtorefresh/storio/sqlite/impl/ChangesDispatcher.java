@@ -0,0 +1,169 @@
+package com.pushtorefresh.storio.sqlite.impl;
+
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.sqlite.Changes;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.subscriptions.Subscriptions;
+
+import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Dispatches {@link Changes} from the bus only to subscribers of affected tables,
+ * so a change of one table does not wake up observers of other tables.
+ * <p>
+ * Hides RxJava from ClassLoader via separate class.
+ * <p>
+ * Thread-safe.
+ */
+final class ChangesDispatcher implements Action1<Changes> {
+
+    /**
+     * Table -> subscribers of this table.
+     * Modified under {@link #lock}, read without it.
+     */
+    @NonNull
+    private final Map<String, Set<Subscriber<? super Changes>>> subscribersByTable
+            = new ConcurrentHashMap<String, Set<Subscriber<? super Changes>>>();
+
+    @NonNull
+    private final Object lock = new Object();
+
+    private ChangesDispatcher() {
+    }
+
+    /**
+     * Creates dispatcher and subscribes it to the bus.
+     *
+     * @param rxBus bus with all changes.
+     * @return new dispatcher.
+     */
+    @NonNull
+    static ChangesDispatcher subscribeTo(@NonNull Observable<Changes> rxBus) {
+        final ChangesDispatcher changesDispatcher = new ChangesDispatcher();
+        rxBus.subscribe(changesDispatcher);
+        return changesDispatcher;
+    }
+
+    @NonNull
+    Observable<Changes> observeChangesInTables(@NonNull Set<String> tables) {
+        checkNotNull(tables, "Set of tables can not be null");
+
+        // Passed set can be mutable
+        final Set<String> tablesCopy = new HashSet<String>(tables);
+
+        return Observable.create(new Observable.OnSubscribe<Changes>() {
+            @Override
+            public void call(final Subscriber<? super Changes> subscriber) {
+                register(tablesCopy, subscriber);
+
+                subscriber.add(Subscriptions.create(new Action0() {
+                    @Override
+                    public void call() {
+                        unregister(tablesCopy, subscriber);
+                    }
+                }));
+            }
+        });
+    }
+
+    @Override
+    public void call(@NonNull Changes changes) {
+        final Set<String> affectedTables = changes.affectedTables();
+
+        if (affectedTables.size() == 1) {
+            final Set<Subscriber<? super Changes>> subscribers
+                    = subscribersByTable.get(affectedTables.iterator().next());
+
+            if (subscribers != null) {
+                for (Subscriber<? super Changes> subscriber : subscribers) {
+                    deliver(subscriber, changes);
+                }
+            }
+        } else {
+            // Subscriber of several affected tables should receive Changes only once
+            Set<Subscriber<? super Changes>> subscribersToNotify = null;
+
+            for (String affectedTable : affectedTables) {
+                final Set<Subscriber<? super Changes>> subscribers = subscribersByTable.get(affectedTable);
+
+                if (subscribers != null) {
+                    if (subscribersToNotify == null) {
+                        subscribersToNotify = Collections.newSetFromMap(
+                                new IdentityHashMap<Subscriber<? super Changes>, Boolean>()
+                        );
+                    }
+
+                    subscribersToNotify.addAll(subscribers);
+                }
+            }
+
+            if (subscribersToNotify != null) {
+                for (Subscriber<? super Changes> subscriber : subscribersToNotify) {
+                    deliver(subscriber, changes);
+                }
+            }
+        }
+    }
+
+    private void register(@NonNull Set<String> tables, @NonNull Subscriber<? super Changes> subscriber) {
+        synchronized (lock) {
+            for (String table : tables) {
+                Set<Subscriber<? super Changes>> subscribers = subscribersByTable.get(table);
+
+                if (subscribers == null) {
+                    subscribers = Collections.newSetFromMap(
+                            new ConcurrentHashMap<Subscriber<? super Changes>, Boolean>()
+                    );
+                    subscribersByTable.put(table, subscribers);
+                }
+
+                subscribers.add(subscriber);
+            }
+        }
+    }
+
+    private void unregister(@NonNull Set<String> tables, @NonNull Subscriber<? super Changes> subscriber) {
+        synchronized (lock) {
+            for (String table : tables) {
+                final Set<Subscriber<? super Changes>> subscribers = subscribersByTable.get(table);
+
+                if (subscribers != null) {
+                    subscribers.remove(subscriber);
+
+                    if (subscribers.isEmpty()) {
+                        subscribersByTable.remove(table);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void deliver(@NonNull Subscriber<? super Changes> subscriber, @NonNull Changes changes) {
+        if (subscriber.isUnsubscribed()) {
+            return;
+        }
+
+        try {
+            subscriber.onNext(changes);
+        } catch (Throwable throwable) {
+            // Failure of one subscriber should not break dispatch for others
+            Exceptions.throwIfFatal(throwable);
+            subscriber.onError(throwable);
+        }
+    }
+}
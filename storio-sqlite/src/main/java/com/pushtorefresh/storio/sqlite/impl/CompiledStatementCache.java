@@ -0,0 +1,235 @@
+package com.pushtorefresh.storio.sqlite.impl;
+
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Bounded LRU cache of compiled {@link SQLiteStatement}s keyed by their SQL.
+ * <p>
+ * Statement is removed from the cache while it's in use, so concurrent executions
+ * of the same SQL never share bindings: second thread simply compiles its own copy.
+ * Lock is never held while statement is compiled or executed, because both of them
+ * can wait for database connection owned by another thread.
+ * <p>
+ * Thread-safe.
+ */
+final class CompiledStatementCache {
+
+    @NonNull
+    private final Object lock = new Object();
+
+    /**
+     * Guarded by {@link #lock}.
+     */
+    @NonNull
+    private final LinkedHashMap<String, SQLiteStatement> statements;
+
+    /**
+     * Database for which cached statements were compiled, guarded by {@link #lock}.
+     */
+    @Nullable
+    private SQLiteDatabase database;
+
+    /**
+     * Incremented on each invalidation, guarded by {@link #lock}.
+     */
+    private int generation;
+
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private long hitCount;
+
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private long missCount;
+
+    CompiledStatementCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0, but was = " + maxSize);
+        }
+
+        // access-order to get LRU eviction
+        statements = new LinkedHashMap<String, SQLiteStatement>(maxSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(@NonNull Map.Entry<String, SQLiteStatement> eldest) {
+                if (size() > maxSize) {
+                    eldest.getValue().close();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Executes INSERT statement with passed bind arguments.
+     *
+     * @param db       database to execute statement on.
+     * @param sql      sql of the statement, also used as a key in the cache.
+     * @param bindArgs arguments to bind, starting from index 1.
+     * @return id of inserted row.
+     */
+    long executeInsert(@NonNull SQLiteDatabase db, @NonNull String sql, @NonNull Object[] bindArgs) {
+        final int acquiredGeneration = generation(db);
+        final SQLiteStatement statement = acquire(db, sql);
+
+        try {
+            bind(statement, bindArgs);
+            return statement.executeInsert();
+        } finally {
+            release(db, sql, statement, acquiredGeneration);
+        }
+    }
+
+    /**
+     * Executes UPDATE or DELETE statement with passed bind arguments.
+     *
+     * @param db       database to execute statement on.
+     * @param sql      sql of the statement, also used as a key in the cache.
+     * @param bindArgs arguments to bind, starting from index 1.
+     * @return number of affected rows.
+     */
+    int executeUpdateDelete(@NonNull SQLiteDatabase db, @NonNull String sql, @NonNull Object[] bindArgs) {
+        final int acquiredGeneration = generation(db);
+        final SQLiteStatement statement = acquire(db, sql);
+
+        try {
+            bind(statement, bindArgs);
+            return statement.executeUpdateDelete();
+        } finally {
+            release(db, sql, statement, acquiredGeneration);
+        }
+    }
+
+    /**
+     * Closes and drops all cached statements.
+     * Statements that are in use at the moment will be closed after execution.
+     */
+    void invalidate() {
+        synchronized (lock) {
+            generation++;
+            database = null;
+            closeAllLocked();
+        }
+    }
+
+    /**
+     * Gets number of executions that reused already compiled statement.
+     *
+     * @return number of cache hits.
+     */
+    long hitCount() {
+        synchronized (lock) {
+            return hitCount;
+        }
+    }
+
+    /**
+     * Gets number of executions that had to compile statement.
+     *
+     * @return number of cache misses.
+     */
+    long missCount() {
+        synchronized (lock) {
+            return missCount;
+        }
+    }
+
+    /**
+     * Gets consistent snapshot of hit count, miss count and size of the cache.
+     *
+     * @return statistics of the cache.
+     */
+    @NonNull
+    CompiledStatementCacheStats stats() {
+        synchronized (lock) {
+            return new CompiledStatementCacheStats(hitCount, missCount, statements.size());
+        }
+    }
+
+    /**
+     * Gets number of statements currently held by the cache.
+     *
+     * @return size of the cache.
+     */
+    int size() {
+        synchronized (lock) {
+            return statements.size();
+        }
+    }
+
+    private int generation(@NonNull SQLiteDatabase db) {
+        synchronized (lock) {
+            if (database != db) {
+                // SQLiteOpenHelper was reopened, statements of previous database are useless
+                generation++;
+                closeAllLocked();
+                database = db;
+            }
+
+            return generation;
+        }
+    }
+
+    @NonNull
+    private SQLiteStatement acquire(@NonNull SQLiteDatabase db, @NonNull String sql) {
+        synchronized (lock) {
+            final SQLiteStatement statement = statements.remove(sql);
+
+            if (statement != null) {
+                hitCount++;
+                return statement;
+            }
+
+            missCount++;
+        }
+
+        return db.compileStatement(sql);
+    }
+
+    private void release(
+            @NonNull SQLiteDatabase db,
+            @NonNull String sql,
+            @NonNull SQLiteStatement statement,
+            int acquiredGeneration
+    ) {
+        statement.clearBindings();
+
+        synchronized (lock) {
+            if (acquiredGeneration == generation && database == db && !statements.containsKey(sql)) {
+                statements.put(sql, statement);
+                return;
+            }
+        }
+
+        statement.close();
+    }
+
+    private void closeAllLocked() {
+        final Iterator<SQLiteStatement> iterator = statements.values().iterator();
+
+        while (iterator.hasNext()) {
+            iterator.next().close();
+            iterator.remove();
+        }
+    }
+
+    private static void bind(@NonNull SQLiteStatement statement, @NonNull Object[] bindArgs) {
+        //noinspection ForLoopReplaceableByForEach -> on Android it's faster
+        for (int i = 0; i < bindArgs.length; i++) {
+            DatabaseUtils.bindObjectToProgram(statement, i + 1, bindArgs[i]);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.pushtorefresh.storio.sqlite.impl;
+
+/**
+ * Immutable snapshot of statistics of compiled statements cache of {@link DefaultStorIOSQLite}.
+ * <p>
+ * Instances of this class are Immutable.
+ */
+public final class CompiledStatementCacheStats {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final int size;
+
+    CompiledStatementCacheStats(long hitCount, long missCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.size = size;
+    }
+
+    /**
+     * Gets number of inserts, updates and deletes that reused already compiled statement.
+     *
+     * @return number of cache hits.
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets number of inserts, updates and deletes that had to compile statement.
+     *
+     * @return number of cache misses.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets number of statements held by the cache at the moment of the snapshot.
+     *
+     * @return size of the cache.
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CompiledStatementCacheStats that = (CompiledStatementCacheStats) o;
+
+        if (hitCount != that.hitCount) return false;
+        if (missCount != that.missCount) return false;
+        return size == that.size;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (hitCount ^ (hitCount >>> 32));
+        result = 31 * result + (int) (missCount ^ (missCount >>> 32));
+        result = 31 * result + size;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledStatementCacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -2,17 +2,26 @@ package com.pushtorefresh.storio.sqlite.impl;
 
 import android.content.ContentValues;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 
+import com.pushtorefresh.storio.ChangesCoalescing;
 import com.pushtorefresh.storio.TypeMappingFinder;
 import com.pushtorefresh.storio.internal.TypeMappingFinderImpl;
 import com.pushtorefresh.storio.internal.ChangesBus;
+import com.pushtorefresh.storio.internal.ChangesMerger;
 import com.pushtorefresh.storio.sqlite.Changes;
+import com.pushtorefresh.storio.sqlite.GroupCommit;
 import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.ChangesCollector;
+import com.pushtorefresh.storio.sqlite.operations.internal.GroupCommitQueue;
+import com.pushtorefresh.storio.sqlite.operations.internal.InternalComponents;
+import com.pushtorefresh.storio.sqlite.operations.internal.ObservableQueryRegistry;
+import com.pushtorefresh.storio.sqlite.operations.internal.QueryResultCache;
 import com.pushtorefresh.storio.sqlite.queries.DeleteQuery;
 import com.pushtorefresh.storio.sqlite.queries.InsertQuery;
 import com.pushtorefresh.storio.sqlite.queries.Query;
@@ -20,18 +29,25 @@ import com.pushtorefresh.storio.sqlite.queries.RawQuery;
 import com.pushtorefresh.storio.sqlite.queries.UpdateQuery;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import rx.Observable;
 import rx.Scheduler;
 import rx.schedulers.Schedulers;
 
+import static com.pushtorefresh.storio.Queries.placeholders;
 import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
 import static com.pushtorefresh.storio.internal.Environment.RX_JAVA_IS_IN_THE_CLASS_PATH;
+import static com.pushtorefresh.storio.internal.Environment.throwExceptionIfRxJavaIsNotAvailable;
 import static com.pushtorefresh.storio.internal.InternalQueries.nullableArrayOfStrings;
 import static com.pushtorefresh.storio.internal.InternalQueries.nullableArrayOfStringsFromListOfStrings;
 import static com.pushtorefresh.storio.internal.InternalQueries.nullableString;
@@ -42,31 +58,157 @@ import static java.util.Collections.unmodifiableMap;
  * <p>
  * Thread-safe.
  */
-public class DefaultStorIOSQLite extends StorIOSQLite {
+public class DefaultStorIOSQLite extends StorIOSQLite implements InternalComponents.Provider {
+
+    /**
+     * Default max number of compiled insert/update/delete statements kept by {@link LowLevelImpl}.
+     */
+    public static final int DEFAULT_COMPILED_STATEMENT_CACHE_SIZE = 32;
+
+    /**
+     * Number of seconds after which idle writer thread of {@link CompleteBuilder#singleWriterThread()} stops.
+     */
+    static final int WRITER_THREAD_KEEP_ALIVE_SECONDS = 10;
+
+    /**
+     * Beginnings of INSERT statements indexed by conflict algorithm,
+     * same as in {@link SQLiteDatabase#insertWithOnConflict(String, String, ContentValues, int)}.
+     */
+    @NonNull
+    private static final String[] INSERT_WITH_ON_CONFLICT = {
+            "INSERT INTO ",
+            "INSERT OR ROLLBACK INTO ",
+            "INSERT OR ABORT INTO ",
+            "INSERT OR FAIL INTO ",
+            "INSERT OR IGNORE INTO ",
+            "INSERT OR REPLACE INTO "
+    };
 
     @NonNull
     private final SQLiteOpenHelper sqLiteOpenHelper;
 
+    /**
+     * Merges coalesced changes into one {@link Changes} with union of affected tables and rows.
+     */
+    @NonNull
+    private static final ChangesMerger<Changes> CHANGES_MERGER = new ChangesMerger<Changes>() {
+        @NonNull
+        @Override
+        public Changes merge(@NonNull List<Changes> changes) {
+            final ChangesCollector changesCollector = new ChangesCollector();
+
+            for (Changes change : changes) {
+                changesCollector.add(change);
+            }
+
+            return changesCollector.build();
+        }
+    };
+
     @NonNull
-    private final ChangesBus<Changes> changesBus = new ChangesBus<Changes>(RX_JAVA_IS_IN_THE_CLASS_PATH);
+    private final ChangesBus<Changes> changesBus;
 
     @Nullable
     private final Scheduler defaultScheduler;
 
+    @Nullable
+    private final Scheduler writeScheduler;
+
+    @NonNull
+    private final Object changesDispatcherLock = new Object();
+
+    /**
+     * Created on first call to {@link #observeChangesInTables(Set)}, guarded by {@link #changesDispatcherLock}.
+     */
+    @Nullable
+    private volatile ChangesDispatcher changesDispatcher;
+
+    /**
+     * Cache of compiled insert/update/delete statements, {@code null} if caching is disabled.
+     */
+    @Nullable
+    private final CompiledStatementCache compiledStatementCache;
+
+    /**
+     * Pool of read connections, {@code null} if queries use connection of {@link SQLiteOpenHelper}.
+     */
+    @Nullable
+    private final ReadConnectionPool readConnectionPool;
+
+    /**
+     * Queue of group commit, {@code null} if write operations are executed separately.
+     */
+    @Nullable
+    private final GroupCommitQueue groupCommitQueue;
+
+    /**
+     * Cache of results of Get Operations, {@code null} if caching is disabled.
+     */
+    @Nullable
+    private final QueryResultCache queryResultCache;
+
+    /**
+     * Registry of shared observable queries, {@code null} if each subscriber executes query separately.
+     */
+    @Nullable
+    private final ObservableQueryRegistry observableQueryRegistry;
+
     /**
      * Implementation of {@link com.pushtorefresh.storio.sqlite.StorIOSQLite.LowLevel}.
      */
     @NonNull
-    private final Internal lowLevel;
+    private final LowLevelImpl lowLevel;
+
+    /**
+     * Components used by Operations, they are not part of public API of {@link StorIOSQLite}.
+     */
+    @NonNull
+    private final InternalComponents internalComponents = new InternalComponentsImpl();
 
     protected DefaultStorIOSQLite(
             @NonNull SQLiteOpenHelper sqLiteOpenHelper,
             @NonNull TypeMappingFinder typeMappingFinder,
             @Nullable Scheduler defaultScheduler
     ) {
-        this.sqLiteOpenHelper = sqLiteOpenHelper;
-        this.defaultScheduler = defaultScheduler;
+        this(new CompleteBuilder(sqLiteOpenHelper)
+                .typeMappingFinder(typeMappingFinder)
+                .defaultScheduler(defaultScheduler));
+    }
+
+    /**
+     * Creates {@link DefaultStorIOSQLite} with configuration of the builder.
+     *
+     * @param builder configured builder, see {@link DefaultStorIOSQLite#builder()}.
+     */
+    protected DefaultStorIOSQLite(@NonNull CompleteBuilder builder) {
+        final TypeMappingFinder typeMappingFinder = builder.typeMappingFinder != null
+                ? builder.typeMappingFinder
+                : new TypeMappingFinderImpl();
+
+        if (builder.typeMapping != null) {
+            typeMappingFinder.directTypeMapping(unmodifiableMap(builder.typeMapping));
+        }
+
+        sqLiteOpenHelper = builder.sqLiteOpenHelper;
+        changesBus = new ChangesBus<Changes>(RX_JAVA_IS_IN_THE_CLASS_PATH, builder.changesCoalescing, CHANGES_MERGER);
+        defaultScheduler = builder.defaultScheduler;
+        writeScheduler = builder.writeSchedulerSpecified ? builder.writeScheduler : builder.defaultScheduler;
+        compiledStatementCache = builder.compiledStatementCacheSize > 0
+                ? new CompiledStatementCache(builder.compiledStatementCacheSize)
+                : null;
+        readConnectionPool = builder.readConnectionPoolSize > 0
+                ? new ReadConnectionPool(sqLiteOpenHelper, builder.readConnectionPoolSize)
+                : null;
+        queryResultCache = builder.queryResultCacheSize > 0
+                ? new QueryResultCache(builder.queryResultCacheSize)
+                : null;
+        observableQueryRegistry = builder.shareObservableQueries
+                ? new ObservableQueryRegistry()
+                : null;
         lowLevel = new LowLevelImpl(typeMappingFinder);
+        groupCommitQueue = builder.groupCommit != null
+                ? new GroupCommitQueue(this, builder.groupCommit, writeScheduler != null ? writeScheduler : Schedulers.io())
+                : null;
     }
 
     /**
@@ -90,8 +232,28 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
     @Override
     @NonNull
     public Observable<Changes> observeChangesInTables(@NonNull final Set<String> tables) {
-        // indirect usage of RxJava filter() required to avoid problems with ClassLoader when RxJava is not in ClassPath
-        return ChangesFilter.apply(observeChanges(), tables);
+        checkNotNull(tables, "Set of tables can not be null");
+
+        // indirect usage of RxJava required to avoid problems with ClassLoader when RxJava is not in ClassPath
+        return changesDispatcher().observeChangesInTables(tables);
+    }
+
+    @NonNull
+    private ChangesDispatcher changesDispatcher() {
+        ChangesDispatcher dispatcher = changesDispatcher;
+
+        if (dispatcher == null) {
+            synchronized (changesDispatcherLock) {
+                dispatcher = changesDispatcher;
+
+                if (dispatcher == null) {
+                    dispatcher = ChangesDispatcher.subscribeTo(observeChanges());
+                    changesDispatcher = dispatcher;
+                }
+            }
+        }
+
+        return dispatcher;
     }
 
     /**
@@ -102,6 +264,23 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         return defaultScheduler;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Scheduler writeScheduler() {
+        return writeScheduler;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public InternalComponents internalComponents() {
+        return internalComponents;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -122,7 +301,19 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
     }
 
     /**
-     * Closes underlying {@link SQLiteOpenHelper}.
+     * Gets statistics of compiled statements cache, useful to tune
+     * {@link CompleteBuilder#compiledStatementCacheSize(int)}.
+     *
+     * @return snapshot of statistics of the cache or {@code null} if the cache is disabled.
+     */
+    @Nullable
+    public CompiledStatementCacheStats compiledStatementCacheStats() {
+        return compiledStatementCache != null ? compiledStatementCache.stats() : null;
+    }
+
+    /**
+     * Closes underlying {@link SQLiteOpenHelper}, read connections, releases compiled statements
+     * and cached results of queries.
      * <p>
      * All calls to this instance of {@link StorIOSQLite}
      * after call to this method can produce exceptions
@@ -130,6 +321,18 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
      */
     @Override
     public void close() throws IOException {
+        if (queryResultCache != null) {
+            queryResultCache.clear();
+        }
+
+        if (compiledStatementCache != null) {
+            compiledStatementCache.invalidate();
+        }
+
+        if (readConnectionPool != null) {
+            readConnectionPool.close();
+        }
+
         sqLiteOpenHelper.close();
     }
 
@@ -184,6 +387,25 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         @Nullable
         private Scheduler defaultScheduler = RX_JAVA_IS_IN_THE_CLASS_PATH ? Schedulers.io() : null;
 
+        @Nullable
+        private Scheduler writeScheduler;
+
+        private boolean writeSchedulerSpecified;
+
+        private int compiledStatementCacheSize = DEFAULT_COMPILED_STATEMENT_CACHE_SIZE;
+
+        @Nullable
+        private ChangesCoalescing changesCoalescing;
+
+        private int readConnectionPoolSize;
+
+        @Nullable
+        private GroupCommit groupCommit;
+
+        private int queryResultCacheSize;
+
+        private boolean shareObservableQueries;
+
         CompleteBuilder(@NonNull SQLiteOpenHelper sqLiteOpenHelper) {
             this.sqLiteOpenHelper = sqLiteOpenHelper;
         }
@@ -242,43 +464,249 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         }
 
         /**
-         * Builds {@link DefaultStorIOSQLite} instance with required params.
+         * Optional: Provides a scheduler on which {@link rx.Observable} / {@link rx.Single}
+         * or {@link rx.Completable} of write operations (Put, Delete and Execute SQL) will be subscribed,
+         * Get Operations keep using {@link #defaultScheduler(Scheduler)}.
+         * <p>
+         * SQLite executes one write at a time, so writes on a multi-threaded scheduler
+         * mostly wait for each other while occupying threads that could run queries.
+         * <p>
+         * By default, write operations use {@link #defaultScheduler(Scheduler)}.
          *
-         * @return new {@link DefaultStorIOSQLite} instance.
+         * @param writeScheduler the scheduler or {@code null} if it isn't needed to apply it.
+         * @return builder.
+         * @see #singleWriterThread()
          */
         @NonNull
-        public DefaultStorIOSQLite build() {
+        public CompleteBuilder writeScheduler(@Nullable Scheduler writeScheduler) {
+            this.writeScheduler = writeScheduler;
+            writeSchedulerSpecified = true;
+            return this;
+        }
+
+        /**
+         * Optional: Subscribes write operations (Put, Delete and Execute SQL) on one background thread,
+         * so they are executed serially in order of subscription, see {@link #writeScheduler(Scheduler)}.
+         * <p>
+         * Thread is started on the first write and stops after {@value #WRITER_THREAD_KEEP_ALIVE_SECONDS} seconds without writes.
+         * <p>
+         * Notice: write operation executed on this thread should not block on another write operation
+         * of the same {@link StorIOSQLite}, it would wait forever.
+         *
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder singleWriterThread() {
+            throwExceptionIfRxJavaIsNotAvailable("singleWriterThread()");
+            return writeScheduler(newSingleWriterScheduler());
+        }
+
+        /**
+         * Optional: Specifies max number of compiled insert/update/delete statements
+         * that {@link StorIOSQLite.LowLevel} keeps for reuse.
+         * <p>
+         * Statements are keyed by table, set of columns and where clause,
+         * so repeated puts/deletes of objects of the same type skip SQL compilation.
+         * <p>
+         * Default value is {@link #DEFAULT_COMPILED_STATEMENT_CACHE_SIZE}, {@code 0} disables the cache.
+         *
+         * @param compiledStatementCacheSize max number of cached statements, should be {@code >= 0}.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder compiledStatementCacheSize(int compiledStatementCacheSize) {
+            if (compiledStatementCacheSize < 0) {
+                throw new IllegalArgumentException("compiledStatementCacheSize must be >= 0, but was = " + compiledStatementCacheSize);
+            }
+
+            this.compiledStatementCacheSize = compiledStatementCacheSize;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies how bursts of {@link Changes} should be merged
+         * before they will be sent to observers.
+         * <p>
+         * Without coalescing each change (or transaction) triggers re-query of each
+         * observed query immediately, with coalescing observers receive one {@link Changes}
+         * with union of affected tables on the scheduler of {@link ChangesCoalescing}.
+         * <p>
+         * Default value is {@code null} — no coalescing.
+         *
+         * @param changesCoalescing nullable coalescing of changes.
+         * @return builder.
+         * @see ChangesCoalescing#timeWindow(long, java.util.concurrent.TimeUnit)
+         * @see ChangesCoalescing#quietWindow(long, long, java.util.concurrent.TimeUnit)
+         * @see ChangesCoalescing#untilIdle(Scheduler)
+         */
+        @NonNull
+        public CompleteBuilder changesCoalescing(@Nullable ChangesCoalescing changesCoalescing) {
+            this.changesCoalescing = changesCoalescing;
+            return this;
+        }
+
+        /**
+         * Optional: Enables write-ahead logging and specifies number of read-only connections
+         * used by {@link StorIOSQLite.LowLevel#query(Query)} and {@link StorIOSQLite.LowLevel#rawQuery(RawQuery)}.
+         * <p>
+         * Queries then run in parallel with each other and are not blocked by the write transaction
+         * of another thread, they see data committed before the query.
+         * Writes and queries of the thread that is in transaction use connection of {@link SQLiteOpenHelper}.
+         * <p>
+         * Requires database file, in-memory databases always use connection of {@link SQLiteOpenHelper}.
+         * <p>
+         * Default value is {@code 0} — queries use connection of {@link SQLiteOpenHelper}
+         * and write-ahead logging is not changed.
+         *
+         * @param readConnectionPoolSize number of read connections, should be {@code >= 0}.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder readConnectionPoolSize(int readConnectionPoolSize) {
+            if (readConnectionPoolSize < 0) {
+                throw new IllegalArgumentException("readConnectionPoolSize must be >= 0, but was = " + readConnectionPoolSize);
+            }
+
+            this.readConnectionPoolSize = readConnectionPoolSize;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies how write operations (Put and Delete) subscribed via
+         * {@link rx.Observable} / {@link rx.Single} or {@link rx.Completable} should be grouped into transactions.
+         * <p>
+         * Each write operation executed separately commits its own transaction,
+         * with group commit many small writes share one commit and observers receive one {@link Changes}.
+         * Groups are executed serially on {@link #writeScheduler(Scheduler)}
+         * or on {@link Schedulers#io()} if it's {@code null}.
+         * <p>
+         * Default value is {@code null} — each write operation is executed separately.
+         *
+         * @param groupCommit nullable group commit of write operations.
+         * @return builder.
+         * @see GroupCommit#window(long, TimeUnit, int)
+         */
+        @NonNull
+        public CompleteBuilder groupCommit(@Nullable GroupCommit groupCommit) {
+            if (groupCommit != null) {
+                throwExceptionIfRxJavaIsNotAvailable("groupCommit()");
+            }
+
+            this.groupCommit = groupCommit;
+            return this;
+        }
 
-            if (typeMappingFinder == null) {
-                typeMappingFinder = new TypeMappingFinderImpl();
+        /**
+         * Optional: Enables in-memory cache of results of Get Operations that return
+         * list of objects, object or number of results and specifies its max size.
+         * <p>
+         * Results are keyed by query and {@link com.pushtorefresh.storio.sqlite.operations.get.GetResolver},
+         * least recently used results are evicted first and results are invalidated by tables
+         * from {@link Changes}, so repeated queries and re-queries of observers of unchanged tables
+         * don't touch the database. Raw queries are cached only if they specify observed tables.
+         * <p>
+         * Cached results are shared between callers, so mapped objects should be immutable.
+         * Queries in transaction don't use the cache.
+         * <p>
+         * Default value is {@code 0} — results are not cached.
+         *
+         * @param queryResultCacheSize max total number of cached objects
+         *                             (list counts as number of its objects), should be {@code >= 0}.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder queryResultCacheSize(int queryResultCacheSize) {
+            if (queryResultCacheSize < 0) {
+                throw new IllegalArgumentException("queryResultCacheSize must be >= 0, but was = " + queryResultCacheSize);
             }
-            if (typeMapping != null) {
-                typeMappingFinder.directTypeMapping(unmodifiableMap(typeMapping));
+
+            this.queryResultCacheSize = queryResultCacheSize;
+            return this;
+        }
+
+        /**
+         * Optional: Enables sharing of observable Get Operations that return list of objects,
+         * object or number of results between their subscribers.
+         * <p>
+         * Observables with equal type of operation, query and
+         * {@link com.pushtorefresh.storio.sqlite.operations.get.GetResolver} (or type of objects)
+         * share one subscription to the changes of tables, so the query is executed once per change
+         * for all of them, late subscribers immediately receive latest result.
+         * Shared subscription is disposed when the last subscriber unsubscribes.
+         * <p>
+         * Results are shared between subscribers, so mapped objects should be immutable.
+         * Observables of raw queries without observed tables are not shared.
+         * <p>
+         * Default value is {@code false} — each subscriber executes query separately.
+         *
+         * @param shareObservableQueries {@code true} to share observable queries between subscribers.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder shareObservableQueries(boolean shareObservableQueries) {
+            if (shareObservableQueries) {
+                throwExceptionIfRxJavaIsNotAvailable("shareObservableQueries()");
             }
 
-            return new DefaultStorIOSQLite(sqLiteOpenHelper, typeMappingFinder, defaultScheduler);
+            this.shareObservableQueries = shareObservableQueries;
+            return this;
+        }
+
+        /**
+         * Builds {@link DefaultStorIOSQLite} instance with required params.
+         *
+         * @return new {@link DefaultStorIOSQLite} instance.
+         */
+        @NonNull
+        public DefaultStorIOSQLite build() {
+            return new DefaultStorIOSQLite(this);
         }
     }
 
+    @NonNull
+    static Scheduler newSingleWriterScheduler() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1,
+                1,
+                WRITER_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @NonNull
+                    @Override
+                    public Thread newThread(@NonNull Runnable runnable) {
+                        final Thread thread = new Thread(runnable, "StorIOSQLite-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                }
+        );
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return Schedulers.from(executor);
+    }
+
     /**
      * {@inheritDoc}
      */
     protected class LowLevelImpl extends Internal {
 
-        @NonNull
-        private final Object lock = new Object();
-
         @NonNull
         private final TypeMappingFinder typeMappingFinder;
 
+        /**
+         * SQLite transactions are bound to the thread, so changes are buffered per thread
+         * and writes of other threads are not delayed by the transaction.
+         */
         @NonNull
-        private AtomicInteger numberOfRunningTransactions = new AtomicInteger(0);
+        private final ThreadLocal<TransactionState> transactionState = new ThreadLocal<TransactionState>();
 
         /**
-         * Guarded by {@link #lock}.
+         * Outcome of the transaction that was ended last by the thread, see {@link #lastTransactionRolledBack()}.
          */
         @NonNull
-        private Set<Changes> pendingChanges = new HashSet<Changes>(5);
+        private final ThreadLocal<Boolean> lastTransactionRolledBack = new ThreadLocal<Boolean>();
 
         protected LowLevelImpl(@NonNull TypeMappingFinder typeMappingFinder) {
             this.typeMappingFinder = typeMappingFinder;
@@ -321,6 +749,18 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
                                 rawQuery.args().toArray(new Object[rawQuery.args().size()])
                         );
             }
+
+            // executeSQL() is used for DDL, compiled statements can refer to changed schema
+            if (compiledStatementCache != null) {
+                compiledStatementCache.invalidate();
+            }
+        }
+
+        @NonNull
+        private SQLiteDatabase readableDatabase() {
+            return readConnectionPool != null
+                    ? readConnectionPool.readableDatabase()
+                    : sqLiteOpenHelper.getReadableDatabase();
         }
 
         /**
@@ -330,8 +770,7 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         @NonNull
         @Override
         public Cursor rawQuery(@NonNull RawQuery rawQuery) {
-            return sqLiteOpenHelper
-                    .getReadableDatabase()
+            return readableDatabase()
                     .rawQuery(
                             rawQuery.query(),
                             nullableArrayOfStrings(rawQuery.args())
@@ -345,8 +784,8 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         @NonNull
         @Override
         public Cursor query(@NonNull Query query) {
-            return sqLiteOpenHelper
-                    .getReadableDatabase().query(
+            return readableDatabase()
+                    .query(
                             query.distinct(),
                             query.table(),
                             nullableArrayOfStringsFromListOfStrings(query.columns()),
@@ -365,13 +804,18 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         @WorkerThread
         @Override
         public long insert(@NonNull InsertQuery insertQuery, @NonNull ContentValues contentValues) {
-            return sqLiteOpenHelper
-                    .getWritableDatabase()
-                    .insertOrThrow(
-                            insertQuery.table(),
-                            insertQuery.nullColumnHack(),
-                            contentValues
-                    );
+            final SQLiteDatabase db = sqLiteOpenHelper.getWritableDatabase();
+
+            // empty ContentValues require nullColumnHack, SQLiteDatabase handles it for us
+            if (compiledStatementCache == null || contentValues.size() == 0) {
+                return db.insertOrThrow(
+                        insertQuery.table(),
+                        insertQuery.nullColumnHack(),
+                        contentValues
+                );
+            }
+
+            return insertViaCompiledStatement(db, "INSERT INTO ", insertQuery, contentValues);
         }
 
         /**
@@ -380,14 +824,48 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         @WorkerThread
         @Override
         public long insertWithOnConflict(@NonNull InsertQuery insertQuery, @NonNull ContentValues contentValues, int conflictAlgorithm) {
-            return sqLiteOpenHelper
-                    .getWritableDatabase()
-                    .insertWithOnConflict(
-                            insertQuery.table(),
-                            insertQuery.nullColumnHack(),
-                            contentValues,
-                            conflictAlgorithm
-                    );
+            final SQLiteDatabase db = sqLiteOpenHelper.getWritableDatabase();
+
+            if (compiledStatementCache == null
+                    || contentValues.size() == 0
+                    || conflictAlgorithm < 0
+                    || conflictAlgorithm >= INSERT_WITH_ON_CONFLICT.length) {
+                return db.insertWithOnConflict(
+                        insertQuery.table(),
+                        insertQuery.nullColumnHack(),
+                        contentValues,
+                        conflictAlgorithm
+                );
+            }
+
+            return insertViaCompiledStatement(db, INSERT_WITH_ON_CONFLICT[conflictAlgorithm], insertQuery, contentValues);
+        }
+
+        private long insertViaCompiledStatement(
+                @NonNull SQLiteDatabase db,
+                @NonNull String insertStatement,
+                @NonNull InsertQuery insertQuery,
+                @NonNull ContentValues contentValues
+        ) {
+            final int size = contentValues.size();
+            final Object[] bindArgs = new Object[size];
+            final StringBuilder sql = new StringBuilder(64);
+
+            sql.append(insertStatement).append(insertQuery.table()).append('(');
+
+            int i = 0;
+            for (Entry<String, Object> entry : contentValues.valueSet()) {
+                if (i > 0) {
+                    sql.append(',');
+                }
+                sql.append(entry.getKey());
+                bindArgs[i++] = entry.getValue();
+            }
+
+            sql.append(") VALUES (").append(placeholders(size)).append(')');
+
+            //noinspection ConstantConditions -> checked by callers
+            return compiledStatementCache.executeInsert(db, sql.toString(), bindArgs);
         }
 
         /**
@@ -396,14 +874,37 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         @WorkerThread
         @Override
         public int update(@NonNull UpdateQuery updateQuery, @NonNull ContentValues contentValues) {
-            return sqLiteOpenHelper
-                    .getWritableDatabase()
-                    .update(
-                            updateQuery.table(),
-                            contentValues,
-                            nullableString(updateQuery.where()),
-                            nullableArrayOfStringsFromListOfStrings(updateQuery.whereArgs())
-                    );
+            final SQLiteDatabase db = sqLiteOpenHelper.getWritableDatabase();
+
+            // SQLiteDatabase throws meaningful exception for empty ContentValues
+            if (compiledStatementCache == null || contentValues.size() == 0) {
+                return db.update(
+                        updateQuery.table(),
+                        contentValues,
+                        nullableString(updateQuery.where()),
+                        nullableArrayOfStringsFromListOfStrings(updateQuery.whereArgs())
+                );
+            }
+
+            final List<String> whereArgs = updateQuery.whereArgs();
+            final Object[] bindArgs = new Object[contentValues.size() + whereArgs.size()];
+            final StringBuilder sql = new StringBuilder(64);
+
+            sql.append("UPDATE ").append(updateQuery.table()).append(" SET ");
+
+            int i = 0;
+            for (Entry<String, Object> entry : contentValues.valueSet()) {
+                if (i > 0) {
+                    sql.append(',');
+                }
+                sql.append(entry.getKey()).append("=?");
+                bindArgs[i++] = entry.getValue();
+            }
+
+            appendWhere(sql, updateQuery.where());
+            copyWhereArgs(whereArgs, bindArgs, i);
+
+            return compiledStatementCache.executeUpdateDelete(db, sql.toString(), bindArgs);
         }
 
         /**
@@ -412,13 +913,38 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         @WorkerThread
         @Override
         public int delete(@NonNull DeleteQuery deleteQuery) {
-            return sqLiteOpenHelper
-                    .getWritableDatabase()
-                    .delete(
-                            deleteQuery.table(),
-                            nullableString(deleteQuery.where()),
-                            nullableArrayOfStringsFromListOfStrings(deleteQuery.whereArgs())
-                    );
+            final SQLiteDatabase db = sqLiteOpenHelper.getWritableDatabase();
+
+            if (compiledStatementCache == null) {
+                return db.delete(
+                        deleteQuery.table(),
+                        nullableString(deleteQuery.where()),
+                        nullableArrayOfStringsFromListOfStrings(deleteQuery.whereArgs())
+                );
+            }
+
+            final List<String> whereArgs = deleteQuery.whereArgs();
+            final Object[] bindArgs = new Object[whereArgs.size()];
+            final StringBuilder sql = new StringBuilder(64);
+
+            sql.append("DELETE FROM ").append(deleteQuery.table());
+            appendWhere(sql, deleteQuery.where());
+            copyWhereArgs(whereArgs, bindArgs, 0);
+
+            return compiledStatementCache.executeUpdateDelete(db, sql.toString(), bindArgs);
+        }
+
+        private void appendWhere(@NonNull StringBuilder sql, @Nullable String where) {
+            if (where != null && !where.isEmpty()) {
+                sql.append(" WHERE ").append(where);
+            }
+        }
+
+        private void copyWhereArgs(@NonNull List<String> whereArgs, @NonNull Object[] bindArgs, int offset) {
+            //noinspection ForLoopReplaceableByForEach -> on Android it's faster
+            for (int i = 0; i < whereArgs.size(); i++) {
+                bindArgs[offset + i] = whereArgs.get(i);
+            }
         }
 
         /**
@@ -428,35 +954,38 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
         public void notifyAboutChanges(@NonNull Changes changes) {
             checkNotNull(changes, "Changes can not be null");
 
-            // Fast path, no synchronization required
-            if (numberOfRunningTransactions.get() == 0) {
-                changesBus.onNext(changes);
-            } else {
-                synchronized (lock) {
-                    pendingChanges.add(changes);
-                }
+            final TransactionState state = transactionState.get();
 
-                notifyAboutPendingChangesIfNotInTransaction();
+            if (state == null) {
+                sendChanges(changes);
+            } else {
+                // Will be sent as one Changes after commit of the outermost transaction
+                state.changes.add(changes);
             }
         }
 
-        private void notifyAboutPendingChangesIfNotInTransaction() {
-            final Set<Changes> changesToSend;
-
-            if (numberOfRunningTransactions.get() == 0) {
-                synchronized (lock) {
-                    changesToSend = pendingChanges;
-                    pendingChanges = new HashSet<Changes>(5);
-                }
-            } else {
-                changesToSend = null;
+        private void sendChanges(@NonNull Changes changes) {
+            // Before observers re-query
+            if (queryResultCache != null) {
+                queryResultCache.invalidate(changes.affectedTables());
             }
 
-            if (changesToSend != null) {
-                for (Changes changes : changesToSend) {
-                    changesBus.onNext(changes);
-                }
-            }
+            changesBus.onNext(changes);
+        }
+
+        /**
+         * Checks whether current thread is in transaction started via {@link #beginTransaction()}.
+         */
+        boolean inTransaction() {
+            return transactionState.get() != null;
+        }
+
+        /**
+         * Checks whether transaction that was ended last by current thread was rolled back
+         * or will be rolled back together with its outer transaction.
+         */
+        boolean lastTransactionRolledBack() {
+            return Boolean.TRUE.equals(lastTransactionRolledBack.get());
         }
 
         /**
@@ -468,7 +997,14 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
                     .getWritableDatabase()
                     .beginTransaction();
 
-            numberOfRunningTransactions.incrementAndGet();
+            TransactionState state = transactionState.get();
+
+            if (state == null) {
+                state = new TransactionState();
+                transactionState.set(state);
+            }
+
+            state.successfulLevels.add(Boolean.FALSE);
         }
 
         /**
@@ -479,6 +1015,12 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
             sqLiteOpenHelper
                     .getWritableDatabase()
                     .setTransactionSuccessful();
+
+            final TransactionState state = transactionState.get();
+
+            if (state != null) {
+                state.successfulLevels.set(state.successfulLevels.size() - 1, Boolean.TRUE);
+            }
         }
 
         /**
@@ -486,12 +1028,35 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
          */
         @Override
         public void endTransaction() {
-            sqLiteOpenHelper
-                    .getWritableDatabase()
-                    .endTransaction();
+            final TransactionState state = transactionState.get();
+            boolean committed = false;
+
+            try {
+                sqLiteOpenHelper
+                        .getWritableDatabase()
+                        .endTransaction();
+
+                committed = true;
+            } finally {
+                if (state != null) {
+                    final Boolean successful = state.successfulLevels.remove(state.successfulLevels.size() - 1);
 
-            numberOfRunningTransactions.decrementAndGet();
-            notifyAboutPendingChangesIfNotInTransaction();
+                    if (!committed || !successful) {
+                        // SQLiteDatabase rolls back whole transaction if any nested transaction failed
+                        state.rolledBack = true;
+                    }
+
+                    lastTransactionRolledBack.set(state.rolledBack);
+
+                    if (state.successfulLevels.isEmpty()) {
+                        transactionState.remove();
+
+                        if (!state.rolledBack && !state.changes.isEmpty()) {
+                            sendChanges(state.changes.build());
+                        }
+                    }
+                }
+            }
         }
     }
 
@@ -505,4 +1070,58 @@ public class DefaultStorIOSQLite extends StorIOSQLite {
             super(typeMappingFinder);
         }
     }
+
+    /**
+     * Provides group commit queue, query result cache and observable query registry of this instance.
+     */
+    private class InternalComponentsImpl extends InternalComponents {
+
+        @Nullable
+        @Override
+        public GroupCommitQueue groupCommitQueue() {
+            return groupCommitQueue;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * Returns {@code null} if current thread is in transaction:
+         * queries in transaction see its uncommitted changes, they should not be cached or served from cache.
+         */
+        @Nullable
+        @Override
+        public QueryResultCache queryResultCache() {
+            return queryResultCache != null && !lowLevel.inTransaction()
+                    ? queryResultCache
+                    : null;
+        }
+
+        @Nullable
+        @Override
+        public ObservableQueryRegistry observableQueryRegistry() {
+            return observableQueryRegistry;
+        }
+
+        @Override
+        public boolean lastTransactionRolledBack() {
+            return lowLevel.lastTransactionRolledBack();
+        }
+    }
+
+    /**
+     * State of the transaction of one thread.
+     */
+    private static class TransactionState {
+
+        /**
+         * One entry per level of nested transactions, {@code true} if level was marked as successful.
+         */
+        @NonNull
+        final List<Boolean> successfulLevels = new ArrayList<Boolean>(2);
+
+        @NonNull
+        final ChangesCollector changes = new ChangesCollector();
+
+        boolean rolledBack;
+    }
 }
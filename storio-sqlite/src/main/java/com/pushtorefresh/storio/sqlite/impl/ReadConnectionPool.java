@@ -0,0 +1,153 @@
+package com.pushtorefresh.storio.sqlite.impl;
+
+import android.annotation.TargetApi;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Build;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Fixed-size pool of read-only connections to the database of {@link SQLiteOpenHelper}
+ * with write-ahead logging enabled, so queries of different threads run in parallel
+ * with each other and with the write transaction of the {@link SQLiteOpenHelper}.
+ * <p>
+ * Connections are opened lazily and handed out in round-robin order without exclusive
+ * ownership: {@link SQLiteDatabase} is thread-safe and {@link android.database.Cursor}s
+ * keep using their database to fill windows, so connections can not be "returned" to the pool.
+ * <p>
+ * Thread-safe.
+ */
+final class ReadConnectionPool {
+
+    @NonNull
+    private final SQLiteOpenHelper sqLiteOpenHelper;
+
+    /**
+     * Guarded by {@code this}.
+     */
+    @NonNull
+    private final SQLiteDatabase[] connections;
+
+    @NonNull
+    private final AtomicInteger nextConnection = new AtomicInteger();
+
+    /**
+     * Set after write-ahead logging was enabled for the writable database.
+     */
+    private volatile boolean initialized;
+
+    /**
+     * Set if database can not be shared between connections (for example in-memory db).
+     */
+    private volatile boolean disabled;
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    ReadConnectionPool(@NonNull SQLiteOpenHelper sqLiteOpenHelper, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be > 0, but was = " + size);
+        }
+
+        this.sqLiteOpenHelper = sqLiteOpenHelper;
+        this.connections = new SQLiteDatabase[size];
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            // Applied when helper opens the database, before any transaction
+            sqLiteOpenHelper.setWriteAheadLoggingEnabled(true);
+        }
+    }
+
+    /**
+     * Returns connection for the query of current thread.
+     * <p>
+     * If current thread is in transaction, returns writable database,
+     * so the query sees changes of the transaction.
+     *
+     * @return database to run query on.
+     */
+    @NonNull
+    SQLiteDatabase readableDatabase() {
+        final SQLiteDatabase writableDatabase = sqLiteOpenHelper.getWritableDatabase();
+
+        if (disabled || writableDatabase.inTransaction()) {
+            return writableDatabase;
+        }
+
+        if (!initialized) {
+            initialize(writableDatabase);
+
+            if (disabled) {
+                return writableDatabase;
+            }
+        }
+
+        final int index = (nextConnection.getAndIncrement() & Integer.MAX_VALUE) % connections.length;
+
+        synchronized (this) {
+            SQLiteDatabase connection = connections[index];
+
+            if (connection == null || !connection.isOpen()) {
+                // Opening is fast compared to the query, so it's done under the lock
+                connection = SQLiteDatabase.openDatabase(
+                        writableDatabase.getPath(),
+                        null,
+                        SQLiteDatabase.OPEN_READONLY
+                );
+                connections[index] = connection;
+            }
+
+            return connection;
+        }
+    }
+
+    private synchronized void initialize(@NonNull SQLiteDatabase writableDatabase) {
+        if (initialized) {
+            return;
+        }
+
+        final String path = writableDatabase.getPath();
+
+        if (path == null || ":memory:".equals(path)) {
+            disabled = true;
+        } else if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+            disabled = !writableDatabase.enableWriteAheadLogging();
+        }
+
+        initialized = true;
+    }
+
+    /**
+     * Closes all opened connections, pool reopens them on next query.
+     */
+    synchronized void close() {
+        for (int i = 0; i < connections.length; i++) {
+            final SQLiteDatabase connection = connections[i];
+
+            if (connection != null) {
+                connection.close();
+                connections[i] = null;
+            }
+        }
+
+        initialized = false;
+        disabled = false;
+    }
+
+    /**
+     * Returns number of currently opened connections.
+     */
+    synchronized int openedConnections() {
+        int opened = 0;
+
+        for (SQLiteDatabase connection : connections) {
+            if (connection != null && connection.isOpen()) {
+                opened++;
+            }
+        }
+
+        return opened;
+    }
+}
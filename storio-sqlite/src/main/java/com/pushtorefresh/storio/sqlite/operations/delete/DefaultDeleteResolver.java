@@ -1,10 +1,15 @@
 package com.pushtorefresh.storio.sqlite.operations.delete;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
+import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.RowKeys;
 import com.pushtorefresh.storio.sqlite.queries.DeleteQuery;
 
+import java.util.Collections;
+
 /**
  * Default implementation of {@link DeleteResolver}.
  * Thread-safe.
@@ -30,4 +35,73 @@ public abstract class DefaultDeleteResolver<T> extends DeleteResolver<T> {
         final int numberOfRowsDeleted = storIOSQLite.lowLevel().delete(deleteQuery);
         return DeleteResult.newInstance(numberOfRowsDeleted, deleteQuery.table());
     }
+
+    /**
+     * Optional: Gets table of objects.
+     * <p>
+     * Together with {@link #keyColumn()} and {@link #mapToKey(Object)} allows
+     * {@link PreparedDeleteCollectionOfObjects} to delete objects
+     * in batches with {@code DELETE FROM table WHERE key IN (?,?,...)}.
+     *
+     * @return table of objects or {@code null} if objects can not be deleted by key.
+     */
+    @Nullable
+    protected String table() {
+        return null;
+    }
+
+    /**
+     * Optional: Gets column with unique key of objects, see {@link #table()}.
+     *
+     * @return key column or {@code null} if objects can not be deleted by key.
+     */
+    @Nullable
+    protected String keyColumn() {
+        return null;
+    }
+
+    /**
+     * Optional: Gets value of the key of the object, see {@link #table()}.
+     * <p>
+     * {@link #mapToDeleteQuery(Object)} should delete exactly rows with this value of {@link #keyColumn()}.
+     *
+     * @param object object that should be deleted.
+     * @return value of the key or {@code null} if object should be deleted via {@link #mapToDeleteQuery(Object)}.
+     */
+    @Nullable
+    protected Object mapToKey(@NonNull T object) {
+        return null;
+    }
+
+    /**
+     * Creates {@link Changes} caused by Delete Operation of the object.
+     * <p>
+     * Key of the deleted row is taken from {@link #mapToKey(Object)} or from {@link DeleteQuery}
+     * of the object if it selects rows by one column: {@code column = ?}.
+     *
+     * @param object       object that was deleted.
+     * @param deleteResult result of Delete Operation of the object.
+     * @return non-null changes.
+     */
+    @NonNull
+    Changes mapToChanges(@NonNull T object, @NonNull DeleteResult deleteResult) {
+        final String table = table();
+        final String keyColumn = keyColumn();
+        final Object key = table != null && keyColumn != null ? mapToKey(object) : null;
+
+        if (key != null && deleteResult.affectedTables().equals(Collections.singleton(table))) {
+            return Changes.newInstance(deleteResult.affectedTables(), Changes.OperationType.DELETE,
+                    keyColumn, Collections.singleton(key.toString()));
+        }
+
+        final DeleteQuery deleteQuery = mapToDeleteQuery(object);
+        final String whereKeyColumn = RowKeys.keyColumn(deleteQuery.where(), deleteQuery.whereArgs());
+
+        if (whereKeyColumn != null && deleteResult.affectedTables().equals(Collections.singleton(deleteQuery.table()))) {
+            return Changes.newInstance(deleteResult.affectedTables(), Changes.OperationType.DELETE,
+                    whereKeyColumn, Collections.singleton(deleteQuery.whereArgs().get(0)));
+        }
+
+        return Changes.newInstance(deleteResult.affectedTables(), Changes.OperationType.DELETE, null, null);
+    }
 }
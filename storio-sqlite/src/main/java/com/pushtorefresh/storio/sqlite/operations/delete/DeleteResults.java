@@ -1,27 +1,56 @@
 package com.pushtorefresh.storio.sqlite.operations.delete;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
 
 /**
  * Immutable container for results of Delete Operation
  * <p>
+ * Results are stored by index of the object in the collection
+ * (or in order of iteration of the {@link Map} passed to {@link #newInstance(Map)}),
+ * so objects are not hashed unless you call {@link #results()} or {@link #wasDeleted(Object)}.
+ * <p>
  * Instances of this class are Immutable
  *
  * @param <T> type of objects
  */
 public final class DeleteResults<T> {
 
-    @NonNull
-    private final Map<T, DeleteResult> results;
+    private final int size;
 
-    private DeleteResults(@NonNull Map<T, DeleteResult> results) {
-        checkNotNull(results, "Please specify Delete Operation results");
-        this.results = Collections.unmodifiableMap(results);
+    // Following arrays are null if results of objects were not kept
+    @Nullable
+    private final Object[] objects;
+
+    @Nullable
+    private final int[] numbersOfRowsDeleted;
+
+    @Nullable
+    private final Object[] affectedTables;
+
+    private final int numberOfRowsDeleted;
+
+    @Nullable
+    private transient volatile Map<T, DeleteResult> resultsCache;
+
+    private DeleteResults(int size,
+                          @Nullable Object[] objects,
+                          @Nullable int[] numbersOfRowsDeleted,
+                          @Nullable Object[] affectedTables,
+                          int numberOfRowsDeleted) {
+        this.size = size;
+        this.objects = objects;
+        this.numbersOfRowsDeleted = numbersOfRowsDeleted;
+        this.affectedTables = affectedTables;
+        this.numberOfRowsDeleted = numberOfRowsDeleted;
     }
 
     /**
@@ -33,16 +62,50 @@ public final class DeleteResults<T> {
      */
     @NonNull
     public static <T> DeleteResults<T> newInstance(@NonNull Map<T, DeleteResult> results) {
-        return new DeleteResults<T>(results);
+        checkNotNull(results, "Please specify Delete Operation results");
+
+        final Collector<T> collector = new Collector<T>(results.size(), true);
+
+        int index = 0;
+
+        for (Map.Entry<T, DeleteResult> entry : results.entrySet()) {
+            collector.set(index++, entry.getKey(), entry.getValue());
+            collector.countDeletedRows(entry.getValue());
+        }
+
+        final DeleteResults<T> deleteResults = collector.build();
+        deleteResults.resultsCache = Collections.unmodifiableMap(results);
+        return deleteResults;
     }
 
     /**
      * Returns immutable Map of pairs (object, deleteResult)
+     * <p>
+     * For results of Delete Operation for collections Map is created on first call,
+     * prefer access by index if you don't need the Map
      *
      * @return immutable Map of pairs (object, deleteResult)
+     * @throws IllegalStateException if results of objects were not kept
      */
+    @SuppressWarnings("unchecked")
     @NonNull
     public Map<T, DeleteResult> results() {
+        Map<T, DeleteResult> results = resultsCache;
+
+        if (results == null) {
+            checkHasResultsOfObjects();
+
+            final Map<T, DeleteResult> map = new HashMap<T, DeleteResult>(Math.max((int) (size / .75f) + 1, 16));
+
+            for (int i = 0; i < size; i++) {
+                //noinspection ConstantConditions
+                map.put((T) objects[i], resultAt(i));
+            }
+
+            results = Collections.unmodifiableMap(map);
+            resultsCache = results;
+        }
+
         return results;
     }
 
@@ -51,9 +114,10 @@ public final class DeleteResults<T> {
      *
      * @param object object to check
      * @return true if object was deleted, false otherwise
+     * @throws IllegalStateException if results of objects were not kept
      */
     public boolean wasDeleted(@NonNull T object) {
-        final DeleteResult result = results.get(object);
+        final DeleteResult result = results().get(object);
         return result != null && result.numberOfRowsDeleted() > 0;
     }
 
@@ -62,11 +126,99 @@ public final class DeleteResults<T> {
      *
      * @param object object to check
      * @return true if object was NOT deleter, false if it was deleted
+     * @throws IllegalStateException if results of objects were not kept
      */
     public boolean wasNotDeleted(@NonNull T object) {
         return !wasDeleted(object);
     }
 
+    /**
+     * Returns number of objects passed to Delete Operation
+     *
+     * @return number of objects
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether results of each object were kept,
+     * if not — only {@link #size()} and {@link #numberOfRowsDeleted()} are available
+     *
+     * @return true if results of each object were kept, false otherwise
+     */
+    public boolean hasResultsOfObjects() {
+        return objects != null;
+    }
+
+    /**
+     * Returns object at index
+     *
+     * @param index index of the object, from {@code 0} to {@link #size()} exclusive
+     * @return object at index
+     * @throws IllegalStateException if results of objects were not kept
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public T objectAt(int index) {
+        checkIndex(index);
+        //noinspection ConstantConditions
+        return (T) objects[index];
+    }
+
+    /**
+     * Returns {@link DeleteResult} of object at index
+     *
+     * @param index index of the object, from {@code 0} to {@link #size()} exclusive
+     * @return new instance of {@link DeleteResult}
+     * @throws IllegalStateException if results of objects were not kept
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public DeleteResult resultAt(int index) {
+        checkIndex(index);
+        //noinspection ConstantConditions
+        return DeleteResult.newInstance(numbersOfRowsDeleted[index], (Set<String>) affectedTables[index]);
+    }
+
+    /**
+     * Returns number of rows deleted by Delete Operation of object at index
+     * <p>
+     * Objects deleted by one statement share its number of deleted rows
+     *
+     * @param index index of the object, from {@code 0} to {@link #size()} exclusive
+     * @return number of deleted rows
+     * @throws IllegalStateException if results of objects were not kept
+     */
+    public int numberOfRowsDeletedAt(int index) {
+        checkIndex(index);
+        //noinspection ConstantConditions
+        return numbersOfRowsDeleted[index];
+    }
+
+    /**
+     * Returns total number of rows deleted by Delete Operation
+     *
+     * @return total number of deleted rows
+     */
+    public int numberOfRowsDeleted() {
+        return numberOfRowsDeleted;
+    }
+
+    private void checkHasResultsOfObjects() {
+        if (objects == null) {
+            throw new IllegalStateException("Results of objects were not kept, please use keepResultsOfObjects(true)");
+        }
+    }
+
+    private void checkIndex(int index) {
+        checkHasResultsOfObjects();
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + size);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -74,18 +226,125 @@ public final class DeleteResults<T> {
 
         DeleteResults<?> that = (DeleteResults<?>) o;
 
-        return results.equals(that.results);
+        if (hasResultsOfObjects() != that.hasResultsOfObjects()) return false;
+
+        if (hasResultsOfObjects()) {
+            return results().equals(that.results());
+        } else {
+            return size == that.size && numberOfRowsDeleted == that.numberOfRowsDeleted;
+        }
     }
 
     @Override
     public int hashCode() {
-        return results.hashCode();
+        if (hasResultsOfObjects()) {
+            return results().hashCode();
+        } else {
+            return 31 * size + numberOfRowsDeleted;
+        }
     }
 
     @Override
     public String toString() {
-        return "DeleteResults{" +
-                "results=" + results +
-                '}';
+        if (hasResultsOfObjects()) {
+            return "DeleteResults{" +
+                    "results=" + results() +
+                    '}';
+        } else {
+            return "DeleteResults{" +
+                    "size=" + size +
+                    ", numberOfRowsDeleted=" + numberOfRowsDeleted +
+                    '}';
+        }
+    }
+
+    /**
+     * Collects results of Delete Operation for collections by index of object
+     * <p>
+     * Not thread-safe
+     *
+     * @param <T> type of objects
+     */
+    static final class Collector<T> {
+
+        private final int size;
+
+        @Nullable
+        private final Object[] objects;
+
+        @Nullable
+        private final int[] numbersOfRowsDeleted;
+
+        @Nullable
+        private final Object[] affectedTables;
+
+        @Nullable
+        private Set<String> lastAffectedTables;
+
+        private int numberOfRowsDeleted;
+
+        @NonNull
+        private final Set<String> changedTables = new HashSet<String>(1); // in most cases it will be one table
+
+        Collector(int size, boolean keepResultsOfObjects) {
+            this.size = size;
+
+            if (keepResultsOfObjects) {
+                objects = new Object[size];
+                numbersOfRowsDeleted = new int[size];
+                affectedTables = new Object[size];
+            } else {
+                objects = null;
+                numbersOfRowsDeleted = null;
+                affectedTables = null;
+            }
+        }
+
+        /**
+         * Saves result of object at index, does not count deleted rows,
+         * see {@link #countDeletedRows(DeleteResult)}
+         */
+        void set(int index, @NonNull T object, @NonNull DeleteResult deleteResult) {
+            if (objects == null) {
+                return;
+            }
+
+            objects[index] = object;
+            //noinspection ConstantConditions
+            numbersOfRowsDeleted[index] = deleteResult.numberOfRowsDeleted();
+
+            // Results of objects usually affect same tables, keep only one instance of the set
+            final Set<String> tables = deleteResult.affectedTables();
+
+            if (!tables.equals(lastAffectedTables)) {
+                lastAffectedTables = tables;
+            }
+
+            //noinspection ConstantConditions
+            affectedTables[index] = lastAffectedTables;
+        }
+
+        /**
+         * Counts rows deleted by one statement, it can be shared by several objects
+         */
+        void countDeletedRows(@NonNull DeleteResult deleteResult) {
+            if (deleteResult.numberOfRowsDeleted() > 0) {
+                numberOfRowsDeleted += deleteResult.numberOfRowsDeleted();
+                changedTables.addAll(deleteResult.affectedTables());
+            }
+        }
+
+        /**
+         * Returns tables where rows were deleted
+         */
+        @NonNull
+        Set<String> changedTables() {
+            return changedTables;
+        }
+
+        @NonNull
+        DeleteResults<T> build() {
+            return new DeleteResults<T>(size, objects, numbersOfRowsDeleted, affectedTables, numberOfRowsDeleted);
+        }
     }
 }
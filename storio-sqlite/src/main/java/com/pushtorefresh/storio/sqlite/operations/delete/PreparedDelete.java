@@ -3,6 +3,7 @@ package com.pushtorefresh.storio.sqlite.operations.delete;
 import android.support.annotation.NonNull;
 
 import com.pushtorefresh.storio.operations.PreparedWriteOperation;
+import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 import com.pushtorefresh.storio.sqlite.queries.DeleteQuery;
 
@@ -22,6 +23,27 @@ public abstract class PreparedDelete<T> implements PreparedWriteOperation<T> {
         this.storIOSQLite = storIOSQLite;
     }
 
+    /**
+     * Creates {@link Changes} caused by Delete Operation of the object,
+     * deleted rows are known only for {@link DefaultDeleteResolver}.
+     *
+     * @param deleteResolver resolver that performed Delete Operation.
+     * @param object         object that was deleted.
+     * @param deleteResult   result of Delete Operation of the object.
+     * @param <O>            type of object.
+     * @return non-null changes.
+     */
+    @NonNull
+    static <O> Changes changesOf(@NonNull DeleteResolver<O> deleteResolver,
+                                 @NonNull O object,
+                                 @NonNull DeleteResult deleteResult) {
+        if (deleteResolver instanceof DefaultDeleteResolver) {
+            return ((DefaultDeleteResolver<O>) deleteResolver).mapToChanges(object, deleteResult);
+        }
+
+        return Changes.newInstance(deleteResult.affectedTables(), Changes.OperationType.DELETE, null, null);
+    }
+
     /**
      * Builder for {@link PreparedDelete}.
      */
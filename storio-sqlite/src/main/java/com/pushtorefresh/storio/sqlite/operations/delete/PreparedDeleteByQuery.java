@@ -64,7 +64,7 @@ public class PreparedDeleteByQuery extends PreparedDelete<DeleteResult> {
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Delete Operation.
@@ -86,7 +86,7 @@ public class PreparedDeleteByQuery extends PreparedDelete<DeleteResult> {
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Delete Operation.
@@ -95,14 +95,14 @@ public class PreparedDeleteByQuery extends PreparedDelete<DeleteResult> {
     @NonNull
     @Override
     public Observable<DeleteResult> asRxObservable() {
-        return RxJavaUtils.createObservable(storIOSQLite, this);
+        return RxJavaUtils.createWriteObservable(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Single} which will perform Delete Operation lazily when somebody subscribes to it and send result to observer.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Single} which will perform Delete Operation.
@@ -112,14 +112,14 @@ public class PreparedDeleteByQuery extends PreparedDelete<DeleteResult> {
     @CheckResult
     @Override
     public Single<DeleteResult> asRxSingle() {
-        return RxJavaUtils.createSingle(storIOSQLite, this);
+        return RxJavaUtils.createWriteSingle(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Completable} which will perform Delete Operation lazily when somebody subscribes to it.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Completable} which will perform Delete Operation.
@@ -128,7 +128,7 @@ public class PreparedDeleteByQuery extends PreparedDelete<DeleteResult> {
     @CheckResult
     @Override
     public Completable asRxCompletable() {
-        return RxJavaUtils.createCompletable(storIOSQLite, this);
+        return RxJavaUtils.createWriteCompletable(storIOSQLite, this);
     }
 
     /**
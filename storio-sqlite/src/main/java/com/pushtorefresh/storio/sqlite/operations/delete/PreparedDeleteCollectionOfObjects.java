@@ -9,21 +9,26 @@ import com.pushtorefresh.storio.StorIOException;
 import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.ChangesCollector;
 import com.pushtorefresh.storio.sqlite.operations.internal.RxJavaUtils;
+import com.pushtorefresh.storio.sqlite.queries.DeleteQuery;
 
-import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import rx.Completable;
 import rx.Observable;
 import rx.Single;
 
+import static com.pushtorefresh.storio.Queries.placeholders;
+import static com.pushtorefresh.storio.sqlite.operations.internal.HostParameters.MAX_NUMBER;
+
 /**
  * Prepared Delete Operation for {@link StorIOSQLite}.
  *
@@ -39,14 +44,22 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
 
     private final boolean useTransaction;
 
+    private final boolean useBatchDelete;
+
+    private final boolean keepResultsOfObjects;
+
     PreparedDeleteCollectionOfObjects(@NonNull StorIOSQLite storIOSQLite,
                                       @NonNull Collection<T> objects,
                                       @Nullable DeleteResolver<T> explicitDeleteResolver,
-                                      boolean useTransaction) {
+                                      boolean useTransaction,
+                                      boolean useBatchDelete,
+                                      boolean keepResultsOfObjects) {
         super(storIOSQLite);
         this.objects = objects;
         this.explicitDeleteResolver = explicitDeleteResolver;
         this.useTransaction = useTransaction;
+        this.useBatchDelete = useBatchDelete;
+        this.keepResultsOfObjects = keepResultsOfObjects;
     }
 
     /**
@@ -66,14 +79,13 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
         try {
             final StorIOSQLite.LowLevel lowLevel = storIOSQLite.lowLevel();
 
-            // Nullable
-            final List<SimpleImmutableEntry<T, DeleteResolver<T>>> objectsAndDeleteResolvers;
+            // Nullable, delete resolvers by index of object
+            final List<DeleteResolver<T>> deleteResolvers;
 
             if (explicitDeleteResolver != null) {
-                objectsAndDeleteResolvers = null;
+                deleteResolvers = null;
             } else {
-                objectsAndDeleteResolvers
-                        = new ArrayList<SimpleImmutableEntry<T, DeleteResolver<T>>>(objects.size());
+                deleteResolvers = new ArrayList<DeleteResolver<T>>(objects.size());
 
                 for (final T object : objects) {
                     final SQLiteTypeMapping<T> typeMapping
@@ -85,10 +97,7 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
                                 "db was not affected by this operation, please add type mapping for this type");
                     }
 
-                    objectsAndDeleteResolvers.add(new SimpleImmutableEntry<T, DeleteResolver<T>>(
-                            object,
-                            typeMapping.deleteResolver()
-                    ));
+                    deleteResolvers.add(typeMapping.deleteResolver());
                 }
             }
 
@@ -96,32 +105,43 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
                 lowLevel.beginTransaction();
             }
 
-            final Map<T, DeleteResult> results = new HashMap<T, DeleteResult>(objects.size());
+            final DeleteResults.Collector<T> results = new DeleteResults.Collector<T>(objects.size(), keepResultsOfObjects);
+            final ChangesCollector changes = useTransaction ? new ChangesCollector() : null;
             boolean transactionSuccessful = false;
 
             try {
-                if (explicitDeleteResolver != null) {
-                    for (final T object : objects) {
-                        final DeleteResult deleteResult = explicitDeleteResolver.performDelete(storIOSQLite, object);
-
-                        results.put(object, deleteResult);
+                if (useBatchDelete) {
+                    final Set<DeleteResolver<T>> distinctDeleteResolvers;
+
+                    if (explicitDeleteResolver != null) {
+                        distinctDeleteResolvers = Collections.singleton(explicitDeleteResolver);
+                    } else {
+                        //noinspection ConstantConditions
+                        distinctDeleteResolvers = new LinkedHashSet<DeleteResolver<T>>(deleteResolvers);
+                    }
 
-                        if (!useTransaction && deleteResult.numberOfRowsDeleted() > 0) {
-                            lowLevel.notifyAboutChanges(Changes.newInstance(deleteResult.affectedTables()));
-                        }
+                    for (final DeleteResolver<T> deleteResolver : distinctDeleteResolvers) {
+                        deleteInBatches(lowLevel, deleteResolver, deleteResolvers, results, changes);
                     }
                 } else {
-                    for (final SimpleImmutableEntry<T, DeleteResolver<T>> objectAndDeleteResolver : objectsAndDeleteResolvers) {
-                        final T object = objectAndDeleteResolver.getKey();
-                        final DeleteResolver<T> deleteResolver = objectAndDeleteResolver.getValue();
+                    int index = 0;
+
+                    for (final T object : objects) {
+                        final DeleteResolver<T> deleteResolver = deleteResolvers == null
+                                ? explicitDeleteResolver
+                                : deleteResolvers.get(index);
 
+                        //noinspection ConstantConditions
                         final DeleteResult deleteResult = deleteResolver.performDelete(storIOSQLite, object);
 
-                        results.put(object, deleteResult);
+                        results.set(index, object, deleteResult);
+                        results.countDeletedRows(deleteResult);
 
-                        if (!useTransaction && deleteResult.numberOfRowsDeleted() > 0) {
-                            lowLevel.notifyAboutChanges(Changes.newInstance(deleteResult.affectedTables()));
+                        if (deleteResult.numberOfRowsDeleted() > 0) {
+                            collectChanges(lowLevel, changes, changesOf(deleteResolver, object, deleteResult));
                         }
+
+                        index++;
                     }
                 }
 
@@ -134,32 +154,141 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
                     lowLevel.endTransaction();
 
                     // if delete was in transaction and it was successful -> notify about changes
-                    if (transactionSuccessful) {
-                        final Set<String> affectedTables = new HashSet<String>(1); // in most cases it will be one table
-
-                        for (final T object : results.keySet()) {
-                            final DeleteResult deleteResult = results.get(object);
-                            if (deleteResult.numberOfRowsDeleted() > 0) {
-                                affectedTables.addAll(results.get(object).affectedTables());
-                            }
-                        }
-
-                        // IMPORTANT: Notifying about change should be done after end of transaction
-                        // It'll reduce number of possible deadlock situations
-                        if (!affectedTables.isEmpty()) {
-                            lowLevel.notifyAboutChanges(Changes.newInstance(affectedTables));
-                        }
+                    // IMPORTANT: Notifying about change should be done after end of transaction
+                    // It'll reduce number of possible deadlock situations
+                    //noinspection ConstantConditions
+                    if (transactionSuccessful && !changes.isEmpty()) {
+                        lowLevel.notifyAboutChanges(changes.build());
                     }
                 }
             }
 
-            return DeleteResults.newInstance(results);
+            return results.build();
 
         } catch (Exception exception) {
             throw new StorIOException("Error has occurred during Delete operation. objects = " + objects, exception);
         }
     }
 
+    /**
+     * Deletes objects of the delete resolver, keeps indexes of objects for results.
+     *
+     * @param deleteResolvers delete resolvers by index of object or {@code null} if all objects use passed resolver.
+     * @param changes         collector of changes or {@code null} if delete is not in transaction.
+     */
+    @SuppressWarnings("unchecked")
+    private void deleteInBatches(@NonNull StorIOSQLite.LowLevel lowLevel,
+                                 @NonNull DeleteResolver<T> deleteResolver,
+                                 @Nullable List<DeleteResolver<T>> deleteResolvers,
+                                 @NonNull DeleteResults.Collector<T> results,
+                                 @Nullable ChangesCollector changes) {
+        final DefaultDeleteResolver<T> defaultDeleteResolver;
+        final String table;
+        final String keyColumn;
+
+        if (deleteResolver instanceof DefaultDeleteResolver) {
+            defaultDeleteResolver = (DefaultDeleteResolver<T>) deleteResolver;
+            table = defaultDeleteResolver.table();
+            keyColumn = defaultDeleteResolver.keyColumn();
+        } else {
+            defaultDeleteResolver = null;
+            table = null;
+            keyColumn = null;
+        }
+
+        final int chunkSize = Math.min(objects.size(), MAX_NUMBER);
+        final Chunk<T> chunk = new Chunk<T>(chunkSize);
+
+        int index = 0;
+
+        for (final T object : objects) {
+            if (deleteResolvers == null || deleteResolvers.get(index) == deleteResolver) {
+                final Object key = table != null && keyColumn != null
+                        ? defaultDeleteResolver.mapToKey(object)
+                        : null;
+
+                if (key == null) {
+                    // Can not be deleted by key
+                    final DeleteResult deleteResult = deleteResolver.performDelete(storIOSQLite, object);
+                    results.set(index, object, deleteResult);
+                    results.countDeletedRows(deleteResult);
+
+                    if (deleteResult.numberOfRowsDeleted() > 0) {
+                        collectChanges(lowLevel, changes, changesOf(deleteResolver, object, deleteResult));
+                    }
+                } else {
+                    chunk.add(index, object, key);
+
+                    if (chunk.size == MAX_NUMBER) {
+                        deleteChunk(lowLevel, table, keyColumn, chunk, results, changes);
+                    }
+                }
+            }
+
+            index++;
+        }
+
+        if (chunk.size > 0) {
+            //noinspection ConstantConditions
+            deleteChunk(lowLevel, table, keyColumn, chunk, results, changes);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deleteChunk(@NonNull StorIOSQLite.LowLevel lowLevel,
+                             @NonNull String table,
+                             @NonNull String keyColumn,
+                             @NonNull Chunk<T> chunk,
+                             @NonNull DeleteResults.Collector<T> results,
+                             @Nullable ChangesCollector changes) {
+        final int numberOfRowsDeleted = lowLevel.delete(DeleteQuery.builder()
+                .table(table)
+                .where(keyColumn + " IN (" + placeholders(chunk.size) + ")")
+                .whereArgs(Arrays.copyOf(chunk.keys, chunk.size))
+                .build());
+
+        // All objects of the chunk share result of the statement
+        final DeleteResult deleteResult = DeleteResult.newInstance(numberOfRowsDeleted, table);
+
+        for (int i = 0; i < chunk.size; i++) {
+            results.set(chunk.indexes[i], (T) chunk.objects[i], deleteResult);
+        }
+
+        results.countDeletedRows(deleteResult);
+
+        if (numberOfRowsDeleted > 0) {
+            final Set<String> keys = new HashSet<String>(chunk.size);
+
+            for (int i = 0; i < chunk.size; i++) {
+                keys.add(chunk.keys[i].toString());
+            }
+
+            collectChanges(lowLevel, changes, Changes.newInstance(
+                    deleteResult.affectedTables(),
+                    Changes.OperationType.DELETE,
+                    keyColumn,
+                    keys
+            ));
+        }
+
+        chunk.clear();
+    }
+
+    /**
+     * Notifies about changes or collects them to notify after transaction.
+     *
+     * @param changes collector of changes or {@code null} if delete is not in transaction.
+     */
+    private void collectChanges(@NonNull StorIOSQLite.LowLevel lowLevel,
+                                @Nullable ChangesCollector changes,
+                                @NonNull Changes changesOfObjects) {
+        if (changes != null) {
+            changes.add(changesOfObjects);
+        } else {
+            lowLevel.notifyAboutChanges(changesOfObjects);
+        }
+    }
+
     /**
      * Creates {@link Observable} which will perform Delete Operation and send result to observer.
      * <p>
@@ -168,7 +297,7 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Delete Operation.
@@ -190,7 +319,7 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Delete Operation.
@@ -200,14 +329,14 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
     @CheckResult
     @Override
     public Observable<DeleteResults<T>> asRxObservable() {
-        return RxJavaUtils.createObservable(storIOSQLite, this);
+        return RxJavaUtils.createWriteObservable(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Single} which will perform Delete Operation lazily when somebody subscribes to it and send result to observer.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Single} which will perform Delete Operation.
@@ -217,14 +346,14 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
     @CheckResult
     @Override
     public Single<DeleteResults<T>> asRxSingle() {
-        return RxJavaUtils.createSingle(storIOSQLite, this);
+        return RxJavaUtils.createWriteSingle(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Completable} which will perform Delete Operation lazily when somebody subscribes to it.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Completable} which will perform Delete Operation.
@@ -233,7 +362,43 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
     @CheckResult
     @Override
     public Completable asRxCompletable() {
-        return RxJavaUtils.createCompletable(storIOSQLite, this);
+        return RxJavaUtils.createWriteCompletable(storIOSQLite, this);
+    }
+
+    /**
+     * Objects, their indexes and keys for one {@code DELETE ... WHERE key IN (...)} statement.
+     */
+    private static final class Chunk<T> {
+
+        @NonNull
+        final int[] indexes;
+
+        @NonNull
+        final Object[] objects;
+
+        @NonNull
+        final Object[] keys;
+
+        int size;
+
+        Chunk(int capacity) {
+            indexes = new int[capacity];
+            objects = new Object[capacity];
+            keys = new Object[capacity];
+        }
+
+        void add(int index, @NonNull T object, @NonNull Object key) {
+            indexes[size] = index;
+            objects[size] = object;
+            keys[size] = key;
+            size++;
+        }
+
+        void clear() {
+            Arrays.fill(objects, 0, size, null);
+            Arrays.fill(keys, 0, size, null);
+            size = 0;
+        }
     }
 
     /**
@@ -253,6 +418,10 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
 
         private boolean useTransaction = true;
 
+        private boolean useBatchDelete;
+
+        private boolean keepResultsOfObjects = true;
+
         Builder(@NonNull StorIOSQLite storIOSQLite, @NonNull Collection<T> objects) {
             this.storIOSQLite = storIOSQLite;
             this.objects = objects;
@@ -272,6 +441,48 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
             return this;
         }
 
+        /**
+         * Optional: Defines that objects should be deleted in batches
+         * with {@code DELETE FROM table WHERE key IN (?,?,...)}, one statement per
+         * {@value com.pushtorefresh.storio.sqlite.operations.internal.HostParameters#MAX_NUMBER} objects of the same {@link DeleteResolver}.
+         * <p>
+         * Works for {@link DefaultDeleteResolver} that provides {@link DefaultDeleteResolver#table()},
+         * {@link DefaultDeleteResolver#keyColumn()} and {@link DefaultDeleteResolver#mapToKey(Object)}
+         * (generated resolvers of types with one key column do that),
+         * other objects are deleted one by one.
+         * <p>
+         * Notice: objects deleted by one statement get equal {@link DeleteResult}s
+         * with number of rows deleted by the whole statement.
+         * <p>
+         * By default, batch delete is not used.
+         *
+         * @param useBatchDelete {@code true} to delete objects in batches, {@code false} to delete them one by one.
+         * @return builder.
+         */
+        @NonNull
+        public Builder<T> useBatchDelete(boolean useBatchDelete) {
+            this.useBatchDelete = useBatchDelete;
+            return this;
+        }
+
+        /**
+         * Optional: Defines whether {@link DeleteResults} should keep result of each object.
+         * <p>
+         * Results without them take constant memory and provide only
+         * {@link DeleteResults#size()} and {@link DeleteResults#numberOfRowsDeleted()},
+         * useful for deletes of large collections when you don't need per-object results.
+         * <p>
+         * By default, results of objects are kept.
+         *
+         * @param keepResultsOfObjects {@code true} to keep result of each object, {@code false} to not.
+         * @return builder.
+         */
+        @NonNull
+        public Builder<T> keepResultsOfObjects(boolean keepResultsOfObjects) {
+            this.keepResultsOfObjects = keepResultsOfObjects;
+            return this;
+        }
+
         /**
          * Optional: Specifies {@link DeleteResolver} for Delete Operation.
          * <p>
@@ -300,7 +511,9 @@ public class PreparedDeleteCollectionOfObjects<T> extends PreparedDelete<DeleteR
                     storIOSQLite,
                     objects,
                     deleteResolver,
-                    useTransaction
+                    useTransaction,
+                    useBatchDelete,
+                    keepResultsOfObjects
             );
         }
     }
@@ -6,7 +6,6 @@ import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 
 import com.pushtorefresh.storio.StorIOException;
-import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 import com.pushtorefresh.storio.sqlite.operations.internal.RxJavaUtils;
@@ -72,7 +71,7 @@ public class PreparedDeleteObject<T> extends PreparedDelete<DeleteResult> {
 
             final DeleteResult deleteResult = deleteResolver.performDelete(storIOSQLite, object);
             if (deleteResult.numberOfRowsDeleted() > 0) {
-                lowLevel.notifyAboutChanges(Changes.newInstance(deleteResult.affectedTables()));
+                lowLevel.notifyAboutChanges(changesOf(deleteResolver, object, deleteResult));
             }
             return deleteResult;
 
@@ -89,7 +88,7 @@ public class PreparedDeleteObject<T> extends PreparedDelete<DeleteResult> {
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Delete Operation.
@@ -111,7 +110,7 @@ public class PreparedDeleteObject<T> extends PreparedDelete<DeleteResult> {
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Delete Operation.
@@ -121,14 +120,14 @@ public class PreparedDeleteObject<T> extends PreparedDelete<DeleteResult> {
     @CheckResult
     @Override
     public Observable<DeleteResult> asRxObservable() {
-        return RxJavaUtils.createObservable(storIOSQLite, this);
+        return RxJavaUtils.createWriteObservable(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Single} which will perform Delete Operation lazily when somebody subscribes to it and send result to observer.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Single} which will perform Delete Operation.
@@ -138,14 +137,14 @@ public class PreparedDeleteObject<T> extends PreparedDelete<DeleteResult> {
     @CheckResult
     @Override
     public Single<DeleteResult> asRxSingle() {
-        return RxJavaUtils.createSingle(storIOSQLite, this);
+        return RxJavaUtils.createWriteSingle(storIOSQLite, this);
    }
 
     /**
      * Creates {@link Completable} which will perform Delete Operation lazily when somebody subscribes to it.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Completable} which will perform Delete Operation.
@@ -154,7 +153,7 @@ public class PreparedDeleteObject<T> extends PreparedDelete<DeleteResult> {
     @CheckResult
     @Override
     public Completable asRxCompletable() {
-        return RxJavaUtils.createCompletable(storIOSQLite, this);
+        return RxJavaUtils.createWriteCompletable(storIOSQLite, this);
     }
 
     /**
@@ -74,7 +74,7 @@ public class PreparedExecuteSQL implements PreparedOperation<Object> {
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Delete Operation
@@ -100,7 +100,7 @@ public class PreparedExecuteSQL implements PreparedOperation<Object> {
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Delete Operation
@@ -113,14 +113,14 @@ public class PreparedExecuteSQL implements PreparedOperation<Object> {
     @CheckResult
     @Override
     public Observable<Object> asRxObservable() {
-        return RxJavaUtils.createObservable(storIOSQLite, this);
+        return RxJavaUtils.createWriteObservable(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Single} which will perform Execute SQL Operation lazily when somebody subscribes to it and send result to observer.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Single} which will perform Execute SQL Operation.
@@ -130,7 +130,7 @@ public class PreparedExecuteSQL implements PreparedOperation<Object> {
     @CheckResult
     @Override
     public Single<Object> asRxSingle() {
-        return RxJavaUtils.createSingle(storIOSQLite, this);
+        return RxJavaUtils.createWriteSingle(storIOSQLite, this);
     }
 
     /**
@@ -0,0 +1,127 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import com.pushtorefresh.storio.StorIOException;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link Iterator} that maps rows of the {@link Cursor} to objects lazily,
+ * one row per {@link #next()}, via {@link GetResolver#mapFromCursor(Cursor)}.
+ * <p>
+ * Closes {@link Cursor} after the last row or failure of the mapping,
+ * please call {@link #close()} if you stop iteration earlier.
+ * <p>
+ * Not thread-safe: iteration and {@link #close()} should not be called concurrently.
+ *
+ * @param <T> type of objects.
+ */
+public final class CursorIterator<T> implements Iterator<T>, Closeable {
+
+    @NonNull
+    private final Cursor cursor;
+
+    @NonNull
+    private final GetResolver<T> getResolver;
+
+    @NonNull
+    private final Object query;
+
+    private boolean movedToNext;
+
+    private boolean hasNext;
+
+    // Read by isClosed() from any thread
+    private volatile boolean closed;
+
+    CursorIterator(@NonNull Cursor cursor, @NonNull GetResolver<T> getResolver, @NonNull Object query) {
+        this.cursor = cursor;
+        this.getResolver = getResolver;
+        this.query = query;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @WorkerThread
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+
+        if (!movedToNext) {
+            try {
+                hasNext = cursor.moveToNext();
+            } catch (RuntimeException exception) {
+                close();
+                throw new StorIOException("Error has occurred during Get operation. query = " + query, exception);
+            }
+
+            movedToNext = true;
+
+            if (!hasNext) {
+                close();
+            }
+        }
+
+        return hasNext;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @WorkerThread
+    @NonNull
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("There are no more rows, query = " + query);
+        }
+
+        movedToNext = false;
+
+        try {
+            return getResolver.mapFromCursor(cursor);
+        } catch (RuntimeException exception) {
+            close();
+            throw new StorIOException("Error has occurred during Get operation. query = " + query, exception);
+        }
+    }
+
+    /**
+     * Not supported, throws {@link UnsupportedOperationException}.
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("CursorIterator does not support remove()");
+    }
+
+    /**
+     * Closes {@link Cursor}, {@link #hasNext()} will return {@code false} after that.
+     * <p>
+     * Can be called several times.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            hasNext = false;
+            cursor.close();
+        }
+    }
+
+    /**
+     * Checks whether {@link Cursor} was closed.
+     *
+     * @return {@code true} if iteration is finished or {@link #close()} was called.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+}
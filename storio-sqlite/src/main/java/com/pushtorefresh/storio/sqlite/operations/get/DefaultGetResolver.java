@@ -7,6 +7,9 @@ import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 import com.pushtorefresh.storio.sqlite.queries.Query;
 import com.pushtorefresh.storio.sqlite.queries.RawQuery;
 
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Default implementation of {@link GetResolver}.
  * <p>
@@ -16,6 +19,9 @@ import com.pushtorefresh.storio.sqlite.queries.RawQuery;
  */
 public abstract class DefaultGetResolver<T> extends GetResolver<T> {
 
+    @NonNull
+    private final AtomicReference<ColumnIndices> lastColumnIndices = new AtomicReference<ColumnIndices>();
+
     /**
      * {@inheritDoc}
      */
@@ -33,4 +39,58 @@ public abstract class DefaultGetResolver<T> extends GetResolver<T> {
     public Cursor performGet(@NonNull StorIOSQLite storIOSQLite, @NonNull Query query) {
         return storIOSQLite.lowLevel().query(query);
     }
+
+    /**
+     * Resolves indices of passed columns in the {@link Cursor}.
+     * <p>
+     * Indices are resolved once per {@link Cursor} and reused while
+     * {@link #mapFromCursor(Cursor)} is called for its rows,
+     * so you can use it instead of {@link Cursor#getColumnIndex(String)} for each row.
+     *
+     * @param cursor      cursor to resolve column indices from.
+     * @param columnNames names of the columns, should be the same array instance
+     *                    for each call to make indices reusable (for example, constant).
+     * @return indices of the columns in the same order as passed names,
+     * {@code -1} for the columns that don't exist in the {@link Cursor}.
+     * Returned array should not be modified.
+     */
+    @NonNull
+    protected int[] columnIndices(@NonNull Cursor cursor, @NonNull String[] columnNames) {
+        final ColumnIndices last = lastColumnIndices.get();
+
+        if (last != null && last.columnNames == columnNames && last.cursorReference.get() == cursor) {
+            return last.indices;
+        }
+
+        final int[] indices = new int[columnNames.length];
+
+        for (int i = 0; i < columnNames.length; i++) {
+            indices[i] = cursor.getColumnIndex(columnNames[i]);
+        }
+
+        // If resolver is used concurrently we just resolve indices again, it's still correct
+        lastColumnIndices.set(new ColumnIndices(cursor, columnNames, indices));
+        return indices;
+    }
+
+    private static class ColumnIndices {
+
+        /**
+         * Weak, so resolver doesn't keep cursors (and their windows) after Get Operation.
+         */
+        @NonNull
+        final WeakReference<Cursor> cursorReference;
+
+        @NonNull
+        final String[] columnNames;
+
+        @NonNull
+        final int[] indices;
+
+        ColumnIndices(@NonNull Cursor cursor, @NonNull String[] columnNames, @NonNull int[] indices) {
+            this.cursorReference = new WeakReference<Cursor>(cursor);
+            this.columnNames = columnNames;
+            this.indices = indices;
+        }
+    }
 }
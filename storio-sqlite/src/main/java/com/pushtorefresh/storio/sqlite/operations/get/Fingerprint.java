@@ -0,0 +1,87 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+
+/**
+ * 64-bit FNV-1a hash of rows of the {@link Cursor}, computed while rows are mapped,
+ * so results of the query can be compared without retaining them.
+ * <p>
+ * Not thread-safe.
+ */
+final class Fingerprint {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private long value = OFFSET_BASIS;
+
+    /**
+     * Adds number of rows of the {@link Cursor}.
+     *
+     * @param count number of rows.
+     */
+    void addCount(int count) {
+        add(count);
+    }
+
+    /**
+     * Adds types and values of all columns of current row of the {@link Cursor}.
+     *
+     * @param cursor cursor moved to the row.
+     */
+    void addRow(@NonNull Cursor cursor) {
+        final int columnCount = cursor.getColumnCount();
+
+        for (int i = 0; i < columnCount; i++) {
+            final int type = cursor.getType(i);
+            add(type);
+
+            switch (type) {
+                case Cursor.FIELD_TYPE_INTEGER:
+                    add(cursor.getLong(i));
+                    break;
+                case Cursor.FIELD_TYPE_FLOAT:
+                    add(Double.doubleToLongBits(cursor.getDouble(i)));
+                    break;
+                case Cursor.FIELD_TYPE_STRING:
+                    final String string = cursor.getString(i);
+                    add(string.length());
+
+                    for (int j = 0; j < string.length(); j++) {
+                        addByte(string.charAt(j));
+                        addByte(string.charAt(j) >>> 8);
+                    }
+                    break;
+                case Cursor.FIELD_TYPE_BLOB:
+                    final byte[] blob = cursor.getBlob(i);
+                    add(blob.length);
+
+                    //noinspection ForLoopReplaceableByForEach -> on Android it's faster
+                    for (int j = 0; j < blob.length; j++) {
+                        addByte(blob[j]);
+                    }
+                    break;
+                default:
+                    // Cursor.FIELD_TYPE_NULL, type itself is enough
+                    break;
+            }
+        }
+    }
+
+    long value() {
+        return value;
+    }
+
+    private void add(long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            addByte((int) (value >>> shift));
+        }
+    }
+
+    private void addByte(int octet) {
+        value ^= octet & 0xff;
+        value *= PRIME;
+    }
+}
@@ -0,0 +1,107 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.sqlite.Changes;
+import com.pushtorefresh.storio.sqlite.operations.internal.RowKeys;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import rx.functions.Func1;
+
+/**
+ * Skips {@link Changes} that can not affect result of the query:
+ * changes of other rows than rows selected by the query {@code keyColumn = ?}
+ * and deletions of rows that are not part of the last result of the query.
+ * <p>
+ * Changes without keys of {@link #keyColumn} are never skipped.
+ * <p>
+ * Keeps keys of the last result, so one instance should be used by one subscriber,
+ * its methods are called serially by the observable of the subscriber.
+ */
+final class KeyChangesFilter implements Func1<Changes, Boolean> {
+
+    @NonNull
+    private final String keyColumn;
+
+    /**
+     * Value of {@link #keyColumn} selected by the query or {@code null} if query selects rows by other condition.
+     */
+    @Nullable
+    private final String queryKey;
+
+    /**
+     * Keys of rows of the last result or {@code null} if they are unknown.
+     */
+    @Nullable
+    private Set<String> resultKeys;
+
+    private int keyColumnIndex = -1;
+
+    KeyChangesFilter(@NonNull String keyColumn, @Nullable Query query) {
+        this.keyColumn = keyColumn;
+
+        queryKey = query != null && keyColumn.equals(RowKeys.keyColumn(query.where(), query.whereArgs()))
+                ? query.whereArgs().get(0)
+                : null;
+    }
+
+    /**
+     * Starts collection of keys of the new result.
+     *
+     * @param cursor cursor of the new result.
+     */
+    void startResult(@NonNull Cursor cursor) {
+        // Rows of the result are already known from the query
+        keyColumnIndex = queryKey == null ? cursor.getColumnIndex(keyColumn) : -1;
+        resultKeys = keyColumnIndex != -1 ? new HashSet<String>() : null;
+    }
+
+    /**
+     * Adds key of current row of the cursor to keys of the result.
+     *
+     * @param cursor cursor moved to the row.
+     */
+    void addRow(@NonNull Cursor cursor) {
+        if (resultKeys != null) {
+            resultKeys.add(cursor.getString(keyColumnIndex));
+        }
+    }
+
+    /**
+     * Checks whether changes may affect result of the query.
+     *
+     * @param changes changes of observed tables.
+     * @return {@code true} if query should be executed again.
+     */
+    @Override
+    public Boolean call(@NonNull Changes changes) {
+        final Set<String> affectedKeys = changes.affectedKeys();
+
+        if (affectedKeys == null || !keyColumn.equals(changes.keyColumn())) {
+            // Affected rows are unknown
+            return true;
+        }
+
+        if (queryKey != null) {
+            return affectedKeys.contains(queryKey);
+        }
+
+        if (resultKeys == null || changes.operationType() != Changes.OperationType.DELETE) {
+            // Inserted or updated row may become part of the result
+            return true;
+        }
+
+        for (String affectedKey : affectedKeys) {
+            if (resultKeys.contains(affectedKey)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,168 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import rx.Observable;
+import rx.Producer;
+import rx.Subscriber;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Emits objects of {@link CursorIterator} of {@link PreparedGetStream} with backpressure.
+ * <p>
+ * Iteration and closing of the iterator are serialized: {@link CursorIterator#close()}
+ * is called by the thread that iterates, or by the thread that unsubscribes
+ * only if nobody iterates at that moment, so {@link android.database.Cursor}
+ * is never closed while a row is being read or mapped.
+ *
+ * @param <T> type of objects.
+ */
+final class OnSubscribeCursorIterator<T> implements Observable.OnSubscribe<T> {
+
+    @NonNull
+    private final PreparedGetStream<T> preparedGetStream;
+
+    OnSubscribeCursorIterator(@NonNull PreparedGetStream<T> preparedGetStream) {
+        this.preparedGetStream = preparedGetStream;
+    }
+
+    @Override
+    public void call(@NonNull Subscriber<? super T> subscriber) {
+        final CursorIterator<T> cursorIterator;
+
+        try {
+            cursorIterator = preparedGetStream.executeAsBlocking();
+        } catch (Throwable throwable) {
+            Exceptions.throwOrReport(throwable, subscriber);
+            return;
+        }
+
+        final CursorIteratorProducer<T> producer = new CursorIteratorProducer<T>(subscriber, cursorIterator);
+
+        subscriber.add(Subscriptions.create(new Action0() {
+            @Override
+            public void call() {
+                producer.drain();
+            }
+        }));
+
+        subscriber.setProducer(producer);
+    }
+
+    private static final class CursorIteratorProducer<T> implements Producer {
+
+        @NonNull
+        private final Subscriber<? super T> subscriber;
+
+        @NonNull
+        private final CursorIterator<T> cursorIterator;
+
+        @NonNull
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * Number of missed calls of {@link #drain()}, only the thread that increments it from zero
+         * touches {@link #cursorIterator}.
+         */
+        @NonNull
+        private final AtomicInteger wip = new AtomicInteger();
+
+        CursorIteratorProducer(@NonNull Subscriber<? super T> subscriber, @NonNull CursorIterator<T> cursorIterator) {
+            this.subscriber = subscriber;
+            this.cursorIterator = cursorIterator;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n < 0) {
+                throw new IllegalArgumentException("n >= 0 required but it was " + n);
+            }
+
+            if (n == 0) {
+                return;
+            }
+
+            long current;
+            long next;
+
+            do {
+                current = requested.get();
+                next = current + n;
+
+                if (next < 0) {
+                    next = Long.MAX_VALUE; // overflow -> unbounded
+                }
+            } while (!requested.compareAndSet(current, next));
+
+            drain();
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            for (; ; ) {
+                final long requestedCount = requested.get();
+                long emittedCount = 0;
+
+                while (true) {
+                    if (subscriber.isUnsubscribed()) {
+                        // wip is never decremented after that, so nobody touches cursor again
+                        cursorIterator.close();
+                        return;
+                    }
+
+                    final T next;
+
+                    try {
+                        // checked before requested count, so subscriber that requested exactly
+                        // all rows is completed without another request, hasNext() closes the cursor
+                        if (!cursorIterator.hasNext()) {
+                            subscriber.onCompleted();
+                            return;
+                        }
+
+                        if (emittedCount == requestedCount) {
+                            break;
+                        }
+
+                        next = cursorIterator.next();
+                    } catch (Throwable throwable) {
+                        // CursorIterator closes cursor on its failures
+                        cursorIterator.close();
+                        Exceptions.throwOrReport(throwable, subscriber);
+                        return;
+                    }
+
+                    try {
+                        subscriber.onNext(next);
+                    } catch (Throwable throwable) {
+                        cursorIterator.close();
+                        Exceptions.throwOrReport(throwable, subscriber, next);
+                        return;
+                    }
+
+                    emittedCount++;
+                }
+
+                if (emittedCount != 0 && requestedCount != Long.MAX_VALUE) {
+                    requested.addAndGet(-emittedCount);
+                }
+
+                missed = wip.addAndGet(-missed);
+
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -70,6 +70,31 @@ public abstract class PreparedGet<Result> implements PreparedOperation<Result> {
             return new PreparedGetListOfObjects.Builder<T>(storIOSQLite, type);
         }
 
+        /**
+         * Returns builder for Get Operation that loads items page by page.
+         *
+         * @param type type of items.
+         * @param <T>  type of items.
+         * @return builder for Get Operation that returns results as pages of items.
+         */
+        @NonNull
+        public <T> PreparedGetPagedListOfObjects.Builder<T> pagedListOfObjects(@NonNull Class<T> type) {
+            return new PreparedGetPagedListOfObjects.Builder<T>(storIOSQLite, type);
+        }
+
+        /**
+         * Returns builder for Get Operation that maps results to items lazily,
+         * without building {@link java.util.List} of all items.
+         *
+         * @param type type of items.
+         * @param <T>  type of items.
+         * @return builder for Get Operation that returns results as stream of items.
+         */
+        @NonNull
+        public <T> PreparedGetStream.Builder<T> streamOfObjects(@NonNull Class<T> type) {
+            return new PreparedGetStream.Builder<T>(storIOSQLite, type);
+        }
+
         /**
          * Returns builder for Get Operation that returns result as item instance.
          *
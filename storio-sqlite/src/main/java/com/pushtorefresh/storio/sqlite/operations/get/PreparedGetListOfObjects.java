@@ -11,6 +11,8 @@ import com.pushtorefresh.storio.operations.internal.MapSomethingToExecuteAsBlock
 import com.pushtorefresh.storio.operations.internal.OnSubscribeExecuteAsBlocking;
 import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.InternalComponents;
+import com.pushtorefresh.storio.sqlite.operations.internal.QueryResultCache;
 import com.pushtorefresh.storio.sqlite.operations.internal.RxJavaUtils;
 import com.pushtorefresh.storio.sqlite.queries.Query;
 import com.pushtorefresh.storio.sqlite.queries.RawQuery;
@@ -33,7 +35,7 @@ import static java.util.Collections.unmodifiableList;
  *
  * @param <T> type of results.
  */
-public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
+public class PreparedGetListOfObjects<T> extends PreparedGetMappedResult<List<T>> {
 
     @NonNull
     private final Class<T> type;
@@ -45,7 +47,23 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
                              @NonNull Class<T> type,
                              @NonNull Query query,
                              @Nullable GetResolver<T> explicitGetResolver) {
-        super(storIOSQLite, query);
+        this(storIOSQLite, type, query, explicitGetResolver, false, null);
+    }
+
+    PreparedGetListOfObjects(@NonNull StorIOSQLite storIOSQLite,
+                             @NonNull Class<T> type,
+                             @NonNull RawQuery rawQuery,
+                             @Nullable GetResolver<T> explicitGetResolver) {
+        this(storIOSQLite, type, rawQuery, explicitGetResolver, false, null);
+    }
+
+    PreparedGetListOfObjects(@NonNull StorIOSQLite storIOSQLite,
+                             @NonNull Class<T> type,
+                             @NonNull Query query,
+                             @Nullable GetResolver<T> explicitGetResolver,
+                             boolean distinctResults,
+                             @Nullable String keyColumn) {
+        super(storIOSQLite, query, distinctResults, keyColumn);
         this.type = type;
         this.explicitGetResolver = explicitGetResolver;
     }
@@ -53,8 +71,10 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
     PreparedGetListOfObjects(@NonNull StorIOSQLite storIOSQLite,
                              @NonNull Class<T> type,
                              @NonNull RawQuery rawQuery,
-                             @Nullable GetResolver<T> explicitGetResolver) {
-        super(storIOSQLite, rawQuery);
+                             @Nullable GetResolver<T> explicitGetResolver,
+                             boolean distinctResults,
+                             @Nullable String keyColumn) {
+        super(storIOSQLite, rawQuery, distinctResults, keyColumn);
         this.type = type;
         this.explicitGetResolver = explicitGetResolver;
     }
@@ -75,51 +95,113 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
     @Override
     public List<T> executeAsBlocking() {
         try {
-            final GetResolver<T> getResolver;
+            final GetResolver<T> getResolver = getResolver();
 
-            if (explicitGetResolver != null) {
-                getResolver = explicitGetResolver;
-            } else {
-                final SQLiteTypeMapping<T> typeMapping = storIOSQLite.lowLevel().typeMapping(type);
+            final QueryResultCache queryResultCache = InternalComponents.of(storIOSQLite).queryResultCache();
+            final QueryResultCache.Key cacheKey = queryResultCache != null ? queryResultCacheKey(getResolver) : null;
 
-                if (typeMapping == null) {
-                    throw new IllegalStateException("This type does not have type mapping: " +
-                            "type = " + type + "," +
-                            "db was not touched by this operation, please add type mapping for this type");
-                }
+            if (cacheKey == null) {
+                return getListOfObjects(getResolver, null, null);
+            }
 
-                getResolver = typeMapping.getResolver();
+            //noinspection ConstantConditions
+            final Object cachedList = queryResultCache.get(cacheKey);
+
+            if (cachedList != QueryResultCache.NOT_CACHED) {
+                return (List<T>) cachedList;
             }
 
-            final Cursor cursor;
+            final long generation = queryResultCache.generation();
+            final List<T> list = getListOfObjects(getResolver, null, null);
+            queryResultCache.put(cacheKey, list, list.size(), generation);
+            return list;
+        } catch (Exception exception) {
+            throw new StorIOException("Error has occurred during Get operation. query = " + (query != null ? query : rawQuery), exception);
+        }
+    }
 
-            if (query != null) {
-                cursor = getResolver.performGet(storIOSQLite, query);
-            } else if (rawQuery != null) {
-                cursor = getResolver.performGet(storIOSQLite, rawQuery);
-            } else {
-                throw new IllegalStateException("Please specify query");
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Rows are fingerprinted and their keys are collected while they are mapped,
+     * so the cache of results is not used.
+     */
+    @NonNull
+    @Override
+    FingerprintedResult<List<T>> executeWithFingerprint(@Nullable KeyChangesFilter keyChangesFilter) {
+        try {
+            final Fingerprint fingerprint = distinctResults ? new Fingerprint() : null;
+            final List<T> list = getListOfObjects(getResolver(), fingerprint, keyChangesFilter);
+            return new FingerprintedResult<List<T>>(list, fingerprint != null ? fingerprint.value() : 0);
+        } catch (Exception exception) {
+            throw new StorIOException("Error has occurred during Get operation. query = " + (query != null ? query : rawQuery), exception);
+        }
+    }
+
+    @NonNull
+    private GetResolver<T> getResolver() {
+        if (explicitGetResolver != null) {
+            return explicitGetResolver;
+        }
+
+        final SQLiteTypeMapping<T> typeMapping = storIOSQLite.lowLevel().typeMapping(type);
+
+        if (typeMapping == null) {
+            throw new IllegalStateException("This type does not have type mapping: " +
+                    "type = " + type + "," +
+                    "db was not touched by this operation, please add type mapping for this type");
+        }
+
+        return typeMapping.getResolver();
+    }
+
+    @SuppressWarnings({"TryFinallyCanBeTryWithResources", "unchecked"})
+    @NonNull
+    private List<T> getListOfObjects(@NonNull GetResolver<T> getResolver,
+                                     @Nullable Fingerprint fingerprint,
+                                     @Nullable KeyChangesFilter keyChangesFilter) {
+        final Cursor cursor;
+
+        if (query != null) {
+            cursor = getResolver.performGet(storIOSQLite, query);
+        } else if (rawQuery != null) {
+            cursor = getResolver.performGet(storIOSQLite, rawQuery);
+        } else {
+            throw new IllegalStateException("Please specify query");
+        }
+
+        try {
+            final int count = cursor.getCount();
+
+            if (fingerprint != null) {
+                fingerprint.addCount(count);
             }
 
-            try {
-                final int count = cursor.getCount();
+            if (keyChangesFilter != null) {
+                keyChangesFilter.startResult(cursor);
+            }
 
-                if (count == 0) {
-                    return EMPTY_LIST; // it's immutable
-                }
+            if (count == 0) {
+                return EMPTY_LIST; // it's immutable
+            }
 
-                final List<T> list = new ArrayList<T>(count);
+            final List<T> list = new ArrayList<T>(count);
 
-                while (cursor.moveToNext()) {
-                    list.add(getResolver.mapFromCursor(cursor));
+            while (cursor.moveToNext()) {
+                if (fingerprint != null) {
+                    fingerprint.addRow(cursor);
                 }
 
-                return unmodifiableList(list);
-            } finally {
-                cursor.close();
+                if (keyChangesFilter != null) {
+                    keyChangesFilter.addRow(cursor);
+                }
+
+                list.add(getResolver.mapFromCursor(cursor));
             }
-        } catch (Exception exception) {
-            throw new StorIOException("Error has occurred during Get operation. query = " + (query != null ? query : rawQuery), exception);
+
+            return unmodifiableList(list);
+        } finally {
+            cursor.close();
         }
     }
 
@@ -186,7 +268,9 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
         }
 
         final Observable<List<T>> observable;
-        if (!tables.isEmpty()) {
+        if (!tables.isEmpty() && (distinctResults || keyColumn != null)) {
+            observable = observeFilteredResults(tables);
+        } else if (!tables.isEmpty()) {
             observable = storIOSQLite
                     .observeChangesInTables(tables) // each change triggers executeAsBlocking
                     .map(MapSomethingToExecuteAsBlocking.newInstance(this))
@@ -196,7 +280,10 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
             observable = Observable.create(OnSubscribeExecuteAsBlocking.newInstance(this));
         }
 
-        return RxJavaUtils.subscribeOn(storIOSQLite, observable);
+        return shareObservable(
+                RxJavaUtils.subscribeOn(storIOSQLite, observable),
+                explicitGetResolver != null ? explicitGetResolver : type
+        );
     }
 
     /**
@@ -216,6 +303,27 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
         return RxJavaUtils.createSingle(storIOSQLite, this);
     }
 
+    /**
+     * Converts this Operation into Get Operation of the first object of the results.
+     * <p>
+     * {@link Query} without explicit limit will be limited to one row,
+     * so {@link PreparedGetObject#asRxObservable()} of returned Operation can be used
+     * as cheap "firstOrNull" {@link Observable} instead of mapping of the whole list.
+     *
+     * @return non-null {@link PreparedGetObject} with same query and resolver.
+     */
+    @NonNull
+    @CheckResult
+    public PreparedGetObject<T> firstOrNull() {
+        if (query != null) {
+            return new PreparedGetObject<T>(storIOSQLite, type, PreparedGetObject.limitToOneRow(query), explicitGetResolver, distinctResults, keyColumn);
+        } else if (rawQuery != null) {
+            return new PreparedGetObject<T>(storIOSQLite, type, rawQuery, explicitGetResolver, distinctResults, keyColumn);
+        } else {
+            throw new IllegalStateException("Please specify query");
+        }
+    }
+
     /**
      * Builder for {@link PreparedGetListOfObjects} Operation.
      *
@@ -285,6 +393,14 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
         @Nullable
         private GetResolver<T> getResolver;
 
+        private boolean distinctResults;
+
+        @Nullable
+        private String keyColumn;
+
+        @Nullable
+        private Projection<T> projection;
+
         CompleteBuilder(@NonNull StorIOSQLite storIOSQLite, @NonNull Class<T> type, @NonNull Query query) {
             this.storIOSQLite = storIOSQLite;
             this.type = type;
@@ -306,13 +422,99 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
          * {@link SQLiteTypeMapping} can be used to set default GetResolver.
          * If GetResolver is not set via {@link SQLiteTypeMapping}
          * or explicitly — exception will be thrown.
+         * <p>
+         * If {@link #withProjection(Projection)} was called, {@code null} keeps resolver of the projection,
+         * because resolver of {@link SQLiteTypeMapping} would read columns that are not projected.
          *
          * @param getResolver nullable resolver for Get Operation.
          * @return builder.
          */
         @NonNull
         public CompleteBuilder<T> withGetResolver(@Nullable GetResolver<T> getResolver) {
-            this.getResolver = getResolver;
+            this.getResolver = getResolver == null && projection != null
+                    ? projection.getResolver()
+                    : getResolver;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies subset of columns that should be read and resolver that maps only them.
+         * <p>
+         * Columns of the {@link Query} are replaced with columns of the projection,
+         * so large columns that are not needed (for example, for list screens) are not
+         * copied to the cursor. Resolver of the projection replaces resolver of the Operation,
+         * {@link #withGetResolver(GetResolver)} called after this method overrides it.
+         * <p>
+         * Annotation processor generates projections for {@code @StorIOSQLiteProjection}.
+         * <p>
+         * Warning: objects are loaded partially, columns that are not projected get default values.
+         * Putting such object back via {@code PutResolver} that writes all columns (for example, generated one)
+         * overwrites these columns in the db with default values.
+         *
+         * @param projection non-null projection.
+         * @return builder.
+         * @see Projection
+         */
+        @NonNull
+        public CompleteBuilder<T> withProjection(@NonNull Projection<T> projection) {
+            checkNotNull(projection, "Please specify projection");
+
+            if (rawQuery != null) {
+                throw new IllegalStateException("Projection can not be applied to RawQuery, " +
+                        "please select needed columns in the RawQuery and use withGetResolver()");
+            }
+
+            this.projection = projection;
+            this.getResolver = projection.getResolver();
+            return this;
+        }
+
+        /**
+         * Optional: Specifies if {@link PreparedGetListOfObjects#asRxObservable()} should skip
+         * list that contains same rows as previously emitted list.
+         * <p>
+         * Changes of tables don't always change results of the query, with this option
+         * rows are fingerprinted while they are mapped and list is emitted only if its fingerprint
+         * differs from fingerprint of previous list, so subscribers don't diff and rebind same data
+         * and previous list is not retained for comparison.
+         * Fingerprinting reads every column of every row, so re-queries don't use cache of results.
+         * <p>
+         * Default value is {@code false} — list is emitted on each change of tables.
+         *
+         * @param distinctResults {@code true} to skip lists with same rows.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> distinctResults(boolean distinctResults) {
+            this.distinctResults = distinctResults;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies column that identifies rows, so {@link PreparedGetListOfObjects#asRxObservable()}
+         * can skip changes that can not affect the list instead of executing the query again.
+         * <p>
+         * Put and Delete Operations of objects with {@link com.pushtorefresh.storio.sqlite.operations.put.DefaultPutResolver}
+         * and {@link com.pushtorefresh.storio.sqlite.operations.delete.DefaultDeleteResolver} notify about keys
+         * of affected rows, with this option the query is executed again only if:
+         * <ul>
+         * <li>Query selects rows by the key: {@code keyColumn = ?} and one of changed rows has this key.</li>
+         * <li>Rows were deleted and one of them is in the list, keys of rows of the list are read from the cursor.</li>
+         * <li>Rows were inserted or updated, they may become part of the list.</li>
+         * <li>Keys of changed rows are unknown, for example after {@link com.pushtorefresh.storio.sqlite.queries.RawQuery}
+         * or changes of multiple tables.</li>
+         * </ul>
+         * Keys are collected while rows are mapped, so re-queries don't use cache of results.
+         * Option is ignored if observable observes more than one table.
+         * <p>
+         * Default value is {@code null} — query is executed on each change of tables.
+         *
+         * @param keyColumn column with unique keys of rows, for example {@code "_id"}, or {@code null}.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> filterChangesByKey(@Nullable String keyColumn) {
+            this.keyColumn = keyColumn;
             return this;
         }
 
@@ -327,19 +529,33 @@ public class PreparedGetListOfObjects<T> extends PreparedGet<List<T>> {
                 return new PreparedGetListOfObjects<T>(
                         storIOSQLite,
                         type,
-                        query,
-                        getResolver
+                        projection != null ? applyProjection(query, projection) : query,
+                        getResolver,
+                        distinctResults,
+                        keyColumn
                 );
             } else if (rawQuery != null) {
                 return new PreparedGetListOfObjects<T>(
                         storIOSQLite,
                         type,
                         rawQuery,
-                        getResolver
+                        getResolver,
+                        distinctResults,
+                        keyColumn
                 );
             } else {
                 throw new IllegalStateException("Please specify Query or RawQuery");
             }
         }
+
+        @NonNull
+        private static Query applyProjection(@NonNull Query query, @NonNull Projection<?> projection) {
+            final List<String> columns = projection.columns();
+
+            return query
+                    .toBuilder()
+                    .columns(columns.toArray(new String[columns.size()]))
+                    .build();
+        }
     }
 }
\ No newline at end of file
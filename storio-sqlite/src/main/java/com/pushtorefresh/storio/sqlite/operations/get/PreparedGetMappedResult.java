@@ -0,0 +1,195 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.sqlite.Changes;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.InternalComponents;
+import com.pushtorefresh.storio.sqlite.operations.internal.ObservableQueryRegistry;
+import com.pushtorefresh.storio.sqlite.operations.internal.QueryResultCache;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+import com.pushtorefresh.storio.sqlite.queries.RawQuery;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+/**
+ * Get Operation that maps result of the query via {@link GetResolver}:
+ * list of objects, object or number of results.
+ * <p>
+ * Its results can be cached, its observables can be shared between subscribers
+ * and can skip equal results and changes of other rows.
+ *
+ * @param <Result> type of result.
+ */
+abstract class PreparedGetMappedResult<Result> extends PreparedGet<Result> {
+
+    /**
+     * {@code true} if observable of this operation should not emit result equal to previous one.
+     */
+    final boolean distinctResults;
+
+    /**
+     * Column that identifies rows of the result, if it's not {@code null} observable of this operation
+     * does not execute the query for changes of rows that can not affect the result, see {@link KeyChangesFilter}.
+     */
+    @Nullable
+    final String keyColumn;
+
+    PreparedGetMappedResult(@NonNull StorIOSQLite storIOSQLite,
+                            @NonNull Query query,
+                            boolean distinctResults,
+                            @Nullable String keyColumn) {
+        super(storIOSQLite, query);
+        this.distinctResults = distinctResults;
+        this.keyColumn = keyColumn;
+    }
+
+    PreparedGetMappedResult(@NonNull StorIOSQLite storIOSQLite,
+                            @NonNull RawQuery rawQuery,
+                            boolean distinctResults,
+                            @Nullable String keyColumn) {
+        super(storIOSQLite, rawQuery);
+        this.distinctResults = distinctResults;
+        this.keyColumn = keyColumn;
+    }
+
+    /**
+     * Creates key of the result of this operation in {@link QueryResultCache}.
+     *
+     * @param resolver resolver that maps result of the query.
+     * @return key or {@code null} if result can not be cached: raw query does not specify observed tables.
+     */
+    @Nullable
+    QueryResultCache.Key queryResultCacheKey(@NonNull Object resolver) {
+        if (query != null) {
+            return new QueryResultCache.Key(getClass(), query, resolver, Collections.singleton(query.table()));
+        } else if (rawQuery != null && !rawQuery.observesTables().isEmpty()) {
+            return new QueryResultCache.Key(getClass(), rawQuery, resolver, rawQuery.observesTables());
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Shares observable of this operation between subscribers of equal operations
+     * via {@link InternalComponents#observableQueryRegistry()} if it's available.
+     *
+     * @param observable observable of this operation.
+     * @param resolver   resolver that maps result of the query, or type of objects if resolver is not explicit.
+     * @param <R>        type of results.
+     * @return shared observable or passed observable if it can not be shared.
+     */
+    @NonNull
+    <R> Observable<R> shareObservable(@NonNull Observable<R> observable, @NonNull Object resolver) {
+        final ObservableQueryRegistry observableQueryRegistry = InternalComponents.of(storIOSQLite).observableQueryRegistry();
+
+        // Same equality as in the cache: type of operation, query and resolver
+        final Object key = observableQueryRegistry != null ? queryResultCacheKey(resolver) : null;
+
+        if (key == null) {
+            return observable;
+        }
+
+        // Distinct or filtered observable skips results that are emitted by observable of equal operation
+        return observableQueryRegistry.share(
+                distinctResults || keyColumn != null ? Arrays.asList(key, distinctResults, keyColumn) : key,
+                observable
+        );
+    }
+
+    /**
+     * Executes Get Operation immediately in current thread and computes fingerprint of its result
+     * if {@link #distinctResults} is {@code true}.
+     *
+     * @param keyChangesFilter filter that collects keys of the result or {@code null}.
+     * @return result with its fingerprint.
+     */
+    @NonNull
+    abstract FingerprintedResult<Result> executeWithFingerprint(@Nullable KeyChangesFilter keyChangesFilter);
+
+    /**
+     * Creates observable that executes the query on subscription and on each change of tables.
+     * <p>
+     * If {@link #keyColumn} is set and only one table is observed, changes that can not affect
+     * the result are skipped without execution of the query.
+     * If {@link #distinctResults} is {@code true}, result is emitted only if its fingerprint differs
+     * from fingerprint of previous result, so previous result is not retained for comparison.
+     *
+     * @param tables tables to observe, should not be empty.
+     * @return observable of results.
+     */
+    @NonNull
+    Observable<Result> observeFilteredResults(@NonNull final Set<String> tables) {
+        return Observable.defer(new Func0<Observable<Result>>() {
+            @Override
+            public Observable<Result> call() {
+                // Keys of rows of other tables are not known to the filter
+                final KeyChangesFilter keyChangesFilter = keyColumn != null && tables.size() == 1
+                        ? new KeyChangesFilter(keyColumn, query)
+                        : null;
+
+                Observable<Changes> changes = storIOSQLite.observeChangesInTables(tables);
+
+                if (keyChangesFilter != null) {
+                    changes = changes.filter(keyChangesFilter);
+                }
+
+                Observable<FingerprintedResult<Result>> results = changes
+                        .map(new Func1<Changes, FingerprintedResult<Result>>() {
+                            @Override
+                            public FingerprintedResult<Result> call(Changes changes) {
+                                return executeWithFingerprint(keyChangesFilter);
+                            }
+                        }) // each change triggers executeWithFingerprint
+                        .startWith(Observable.defer(new Func0<Observable<FingerprintedResult<Result>>>() {
+                            @Override
+                            public Observable<FingerprintedResult<Result>> call() {
+                                return Observable.just(executeWithFingerprint(keyChangesFilter));
+                            }
+                        })) // start stream with first query result
+                        .onBackpressureLatest();
+
+                if (distinctResults) {
+                    results = results.distinctUntilChanged(new Func1<FingerprintedResult<Result>, Long>() {
+                        @Override
+                        public Long call(FingerprintedResult<Result> fingerprintedResult) {
+                            return fingerprintedResult.fingerprint;
+                        }
+                    });
+                }
+
+                return results.map(new Func1<FingerprintedResult<Result>, Result>() {
+                    @Override
+                    public Result call(FingerprintedResult<Result> fingerprintedResult) {
+                        return fingerprintedResult.result;
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Result of Get Operation with fingerprint of the rows it was mapped from.
+     *
+     * @param <Result> type of result.
+     */
+    static final class FingerprintedResult<Result> {
+
+        @Nullable
+        final Result result;
+
+        final long fingerprint;
+
+        FingerprintedResult(@Nullable Result result, long fingerprint) {
+            this.result = result;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -10,11 +10,14 @@ import com.pushtorefresh.storio.StorIOException;
 import com.pushtorefresh.storio.operations.internal.MapSomethingToExecuteAsBlocking;
 import com.pushtorefresh.storio.operations.internal.OnSubscribeExecuteAsBlocking;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.InternalComponents;
+import com.pushtorefresh.storio.sqlite.operations.internal.QueryResultCache;
 import com.pushtorefresh.storio.sqlite.operations.internal.RxJavaUtils;
 import com.pushtorefresh.storio.sqlite.queries.Query;
 import com.pushtorefresh.storio.sqlite.queries.RawQuery;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import rx.Observable;
@@ -23,18 +26,26 @@ import rx.Single;
 import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
 import static com.pushtorefresh.storio.internal.Environment.throwExceptionIfRxJavaIsNotAvailable;
 
-public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
+public class PreparedGetNumberOfResults extends PreparedGetMappedResult<Integer> {
 
     @NonNull
     private final GetResolver<Integer> getResolver;
 
     PreparedGetNumberOfResults(@NonNull StorIOSQLite storIOSQLite, @NonNull Query query, @NonNull GetResolver<Integer> getResolver) {
-        super(storIOSQLite, query);
-        this.getResolver = getResolver;
+        this(storIOSQLite, query, getResolver, false);
     }
 
     PreparedGetNumberOfResults(@NonNull StorIOSQLite storIOSQLite, @NonNull RawQuery rawQuery, @NonNull GetResolver<Integer> getResolver) {
-        super(storIOSQLite, rawQuery);
+        this(storIOSQLite, rawQuery, getResolver, false);
+    }
+
+    PreparedGetNumberOfResults(@NonNull StorIOSQLite storIOSQLite, @NonNull Query query, @NonNull GetResolver<Integer> getResolver, boolean distinctResults) {
+        super(storIOSQLite, query, distinctResults, null);
+        this.getResolver = getResolver;
+    }
+
+    PreparedGetNumberOfResults(@NonNull StorIOSQLite storIOSQLite, @NonNull RawQuery rawQuery, @NonNull GetResolver<Integer> getResolver, boolean distinctResults) {
+        super(storIOSQLite, rawQuery, distinctResults, null);
         this.getResolver = getResolver;
     }
 
@@ -51,24 +62,129 @@ public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
     @NonNull
     @Override
     public Integer executeAsBlocking() {
-        final Cursor cursor;
-
         try {
-            if (query != null) {
-                cursor = getResolver.performGet(storIOSQLite, query);
-            } else if (rawQuery != null) {
-                cursor = getResolver.performGet(storIOSQLite, rawQuery);
-            } else {
-                throw new IllegalStateException("Please specify query");
+            final QueryResultCache queryResultCache = InternalComponents.of(storIOSQLite).queryResultCache();
+            final QueryResultCache.Key cacheKey = queryResultCache != null ? queryResultCacheKey(getResolver) : null;
+
+            if (cacheKey == null) {
+                return getNumberOfResults();
             }
 
+            final Object cachedNumberOfResults = queryResultCache.get(cacheKey);
+
+            if (cachedNumberOfResults != QueryResultCache.NOT_CACHED) {
+                return (Integer) cachedNumberOfResults;
+            }
+
+            final long generation = queryResultCache.generation();
+            final Integer numberOfResults = getNumberOfResults();
+            queryResultCache.put(cacheKey, numberOfResults, 1, generation);
+            return numberOfResults;
+        } catch (Exception exception) {
+            throw new StorIOException("Error has occurred during Get operation. query = " + (query != null ? query : rawQuery), exception);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Number of results is its own fingerprint, so the cache of results is used as usual.
+     */
+    @NonNull
+    @Override
+    FingerprintedResult<Integer> executeWithFingerprint(@Nullable KeyChangesFilter keyChangesFilter) {
+        final Integer numberOfResults = executeAsBlocking();
+        return new FingerprintedResult<Integer>(numberOfResults, numberOfResults);
+    }
+
+    @SuppressWarnings("TryFinallyCanBeTryWithResources")
+    @NonNull
+    private Integer getNumberOfResults() {
+        final Cursor cursor;
+
+        if (query != null && getResolver == CompleteBuilder.STANDARD_GET_RESOLVER) {
+            // No need to step through all rows and fill cursor windows, let SQLite count them
+            cursor = storIOSQLite.lowLevel().rawQuery(createCountQuery(query));
+
             try {
-                return getResolver.mapFromCursor(cursor);
+                return cursor.moveToFirst() ? cursor.getInt(0) : 0;
             } finally {
                 cursor.close();
             }
-        } catch (Exception exception) {
-            throw new StorIOException("Error has occurred during Get operation. query = " + (query != null ? query : rawQuery), exception);
+        } else if (query != null) {
+            cursor = getResolver.performGet(storIOSQLite, query);
+        } else if (rawQuery != null) {
+            cursor = getResolver.performGet(storIOSQLite, rawQuery);
+        } else {
+            throw new IllegalStateException("Please specify query");
+        }
+
+        try {
+            return getResolver.mapFromCursor(cursor);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Rewrites {@link Query} into {@code SELECT COUNT(*)} query with same semantics.
+     * <p>
+     * {@code DISTINCT}, {@code GROUP BY}, {@code HAVING} and {@code LIMIT} change number
+     * of results, so query with any of them is counted as subquery.
+     *
+     * @param query query which results should be counted.
+     * @return query that returns one row with number of results of passed query.
+     */
+    @NonNull
+    static RawQuery createCountQuery(@NonNull Query query) {
+        final StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM ");
+
+        final boolean needsSubquery = query.distinct()
+                || !query.groupBy().isEmpty()
+                || !query.having().isEmpty()
+                || !query.limit().isEmpty();
+
+        if (needsSubquery) {
+            sql.append("(SELECT ");
+
+            if (query.distinct()) {
+                sql.append("DISTINCT ");
+            }
+
+            final List<String> columns = query.columns();
+
+            if (columns.isEmpty()) {
+                sql.append('*');
+            } else {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        sql.append(',');
+                    }
+                    sql.append(columns.get(i));
+                }
+            }
+
+            sql.append(" FROM ").append(query.table());
+            appendClause(sql, " WHERE ", query.where());
+            appendClause(sql, " GROUP BY ", query.groupBy());
+            appendClause(sql, " HAVING ", query.having());
+            // ORDER BY does not change number of results
+            appendClause(sql, " LIMIT ", query.limit());
+            sql.append(')');
+        } else {
+            sql.append(query.table());
+            appendClause(sql, " WHERE ", query.where());
+        }
+
+        return RawQuery.builder()
+                .query(sql.toString())
+                .args(query.whereArgs().toArray())
+                .build();
+    }
+
+    private static void appendClause(@NonNull StringBuilder sql, @NonNull String name, @NonNull String clause) {
+        if (!clause.isEmpty()) {
+            sql.append(name).append(clause);
         }
     }
 
@@ -133,7 +249,9 @@ public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
         }
 
         final Observable<Integer> observable;
-        if (!tables.isEmpty()) {
+        if (!tables.isEmpty() && distinctResults) {
+            observable = observeFilteredResults(tables);
+        } else if (!tables.isEmpty()) {
             observable = storIOSQLite
                     .observeChangesInTables(tables) // each change triggers executeAsBlocking
                     .map(MapSomethingToExecuteAsBlocking.newInstance(this))
@@ -143,7 +261,10 @@ public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
             observable = Observable.create(OnSubscribeExecuteAsBlocking.newInstance(this));
         }
 
-        return RxJavaUtils.subscribeOn(storIOSQLite, observable);
+        return shareObservable(
+                RxJavaUtils.subscribeOn(storIOSQLite, observable),
+                getResolver
+        );
     }
 
     /**
@@ -209,6 +330,10 @@ public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
      */
     public static class CompleteBuilder {
 
+        /**
+         * Used for {@link RawQuery}.
+         * {@link Query} with this resolver is executed as {@code SELECT COUNT(*)} without it.
+         */
         @NonNull
         static final GetResolver<Integer> STANDARD_GET_RESOLVER = new DefaultGetResolver<Integer>() {
             @NonNull
@@ -230,6 +355,8 @@ public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
         @Nullable
         private GetResolver<Integer> getResolver;
 
+        private boolean distinctResults;
+
         CompleteBuilder(@NonNull StorIOSQLite storIOSQLite, @NonNull Query query) {
             this.storIOSQLite = storIOSQLite;
             this.query = query;
@@ -246,6 +373,8 @@ public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
          * Optional: Specifies resolver for Get Operation which can be used
          * to provide custom behavior of Get Operation.
          * <p>
+         * Notice: {@link Query} without custom resolver is executed as {@code SELECT COUNT(*)},
+         * custom resolver will receive {@link Cursor} with all results of the query.
          *
          * @param getResolver nullable resolver for Get Operation.
          * @return builder.
@@ -256,6 +385,21 @@ public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
             return this;
         }
 
+        /**
+         * Optional: Specifies if {@link PreparedGetNumberOfResults#asRxObservable()} should skip
+         * number of results that is equal to previously emitted one.
+         * <p>
+         * Default value is {@code false} — number of results is emitted on each change of tables.
+         *
+         * @param distinctResults {@code true} to skip equal numbers of results.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder distinctResults(boolean distinctResults) {
+            this.distinctResults = distinctResults;
+            return this;
+        }
+
         /**
          * Builds new instance of {@link PreparedGetNumberOfResults}.
          *
@@ -271,13 +415,15 @@ public class PreparedGetNumberOfResults extends PreparedGet<Integer> {
                 return new PreparedGetNumberOfResults(
                         storIOSQLite,
                         query,
-                        getResolver
+                        getResolver,
+                        distinctResults
                 );
             } else if (rawQuery != null) {
                 return new PreparedGetNumberOfResults(
                         storIOSQLite,
                         rawQuery,
-                        getResolver
+                        getResolver,
+                        distinctResults
                 );
             } else {
                 throw new IllegalStateException("Please specify query");
@@ -11,6 +11,8 @@ import com.pushtorefresh.storio.operations.internal.MapSomethingToExecuteAsBlock
 import com.pushtorefresh.storio.operations.internal.OnSubscribeExecuteAsBlocking;
 import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.InternalComponents;
+import com.pushtorefresh.storio.sqlite.operations.internal.QueryResultCache;
 import com.pushtorefresh.storio.sqlite.operations.internal.RxJavaUtils;
 import com.pushtorefresh.storio.sqlite.queries.Query;
 import com.pushtorefresh.storio.sqlite.queries.RawQuery;
@@ -24,7 +26,7 @@ import rx.Single;
 import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
 import static com.pushtorefresh.storio.internal.Environment.throwExceptionIfRxJavaIsNotAvailable;
 
-public class PreparedGetObject<T> extends PreparedGet<T> {
+public class PreparedGetObject<T> extends PreparedGetMappedResult<T> {
 
     @NonNull
     private final Class<T> type;
@@ -36,7 +38,23 @@ public class PreparedGetObject<T> extends PreparedGet<T> {
                              @NonNull Class<T> type,
                              @NonNull Query query,
                              @Nullable GetResolver<T> explicitGetResolver) {
-        super(storIOSQLite, query);
+        this(storIOSQLite, type, query, explicitGetResolver, false, null);
+    }
+
+    PreparedGetObject(@NonNull StorIOSQLite storIOSQLite,
+                             @NonNull Class<T> type,
+                             @NonNull RawQuery rawQuery,
+                             @Nullable GetResolver<T> explicitGetResolver) {
+        this(storIOSQLite, type, rawQuery, explicitGetResolver, false, null);
+    }
+
+    PreparedGetObject(@NonNull StorIOSQLite storIOSQLite,
+                             @NonNull Class<T> type,
+                             @NonNull Query query,
+                             @Nullable GetResolver<T> explicitGetResolver,
+                             boolean distinctResults,
+                             @Nullable String keyColumn) {
+        super(storIOSQLite, query, distinctResults, keyColumn);
         this.type = type;
         this.explicitGetResolver = explicitGetResolver;
     }
@@ -44,8 +62,10 @@ public class PreparedGetObject<T> extends PreparedGet<T> {
     PreparedGetObject(@NonNull StorIOSQLite storIOSQLite,
                              @NonNull Class<T> type,
                              @NonNull RawQuery rawQuery,
-                             @Nullable GetResolver<T> explicitGetResolver) {
-        super(storIOSQLite, rawQuery);
+                             @Nullable GetResolver<T> explicitGetResolver,
+                             boolean distinctResults,
+                             @Nullable String keyColumn) {
+        super(storIOSQLite, rawQuery, distinctResults, keyColumn);
         this.type = type;
         this.explicitGetResolver = explicitGetResolver;
     }
@@ -60,52 +80,143 @@ public class PreparedGetObject<T> extends PreparedGet<T> {
      * @return single instance of mapped result. Can be {@code null}, if no items are found.
      */
     @Nullable
-    @SuppressWarnings({"ConstantConditions", "NullableProblems"})
+    @SuppressWarnings({"ConstantConditions", "NullableProblems", "unchecked"})
     @WorkerThread
     public T executeAsBlocking() {
         try {
-            final GetResolver<T> getResolver;
+            final GetResolver<T> getResolver = getResolver();
 
-            if (explicitGetResolver != null) {
-                getResolver = explicitGetResolver;
-            } else {
-                final SQLiteTypeMapping<T> typeMapping = storIOSQLite.lowLevel().typeMapping(type);
+            final QueryResultCache queryResultCache = InternalComponents.of(storIOSQLite).queryResultCache();
+            final QueryResultCache.Key cacheKey = queryResultCache != null ? queryResultCacheKey(getResolver) : null;
 
-                if (typeMapping == null) {
-                    throw new IllegalStateException("This type does not have type mapping: " +
-                            "type = " + type + "," +
-                            "db was not touched by this operation, please add type mapping for this type");
-                }
+            if (cacheKey == null) {
+                return getObject(getResolver, null, null);
+            }
 
-                getResolver = typeMapping.getResolver();
+            final Object cachedObject = queryResultCache.get(cacheKey);
+
+            if (cachedObject != QueryResultCache.NOT_CACHED) {
+                return (T) cachedObject;
             }
 
-            final Cursor cursor;
+            final long generation = queryResultCache.generation();
+            final T object = getObject(getResolver, null, null);
+            queryResultCache.put(cacheKey, object, 1, generation);
+            return object;
+        } catch (Exception exception) {
+            throw new StorIOException("Error has occurred during Get operation. query = " + (query != null ? query : rawQuery), exception);
+        }
+    }
 
-            if (query != null) {
-                cursor = getResolver.performGet(storIOSQLite, query);
-            } else if (rawQuery != null) {
-                cursor = getResolver.performGet(storIOSQLite, rawQuery);
-            } else {
-                throw new IllegalStateException("Please specify query");
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Row is fingerprinted and its key is collected while it is mapped,
+     * so the cache of results is not used.
+     */
+    @NonNull
+    @Override
+    FingerprintedResult<T> executeWithFingerprint(@Nullable KeyChangesFilter keyChangesFilter) {
+        try {
+            final Fingerprint fingerprint = distinctResults ? new Fingerprint() : null;
+            final T object = getObject(getResolver(), fingerprint, keyChangesFilter);
+            return new FingerprintedResult<T>(object, fingerprint != null ? fingerprint.value() : 0);
+        } catch (Exception exception) {
+            throw new StorIOException("Error has occurred during Get operation. query = " + (query != null ? query : rawQuery), exception);
+        }
+    }
+
+    @NonNull
+    private GetResolver<T> getResolver() {
+        if (explicitGetResolver != null) {
+            return explicitGetResolver;
+        }
+
+        final SQLiteTypeMapping<T> typeMapping = storIOSQLite.lowLevel().typeMapping(type);
+
+        if (typeMapping == null) {
+            throw new IllegalStateException("This type does not have type mapping: " +
+                    "type = " + type + "," +
+                    "db was not touched by this operation, please add type mapping for this type");
+        }
+
+        return typeMapping.getResolver();
+    }
+
+    @SuppressWarnings("TryFinallyCanBeTryWithResources")
+    @Nullable
+    private T getObject(@NonNull GetResolver<T> getResolver,
+                        @Nullable Fingerprint fingerprint,
+                        @Nullable KeyChangesFilter keyChangesFilter) {
+        final Cursor cursor;
+
+        if (query != null) {
+            cursor = getResolver.performGet(storIOSQLite, query);
+        } else if (rawQuery != null) {
+            cursor = getResolver.performGet(storIOSQLite, rawQuery);
+        } else {
+            throw new IllegalStateException("Please specify query");
+        }
+
+        try {
+            final int count = cursor.getCount();
+
+            if (keyChangesFilter != null) {
+                keyChangesFilter.startResult(cursor);
             }
 
-            try {
-                final int count = cursor.getCount();
+            if (count == 0) {
+                return null;
+            }
 
-                if (count == 0) {
-                    return null;
-                }
+            cursor.moveToNext();
 
-                cursor.moveToNext();
+            if (fingerprint != null) {
+                // Object is mapped only from the first row
+                fingerprint.addRow(cursor);
+            }
 
-                return getResolver.mapFromCursor(cursor);
-            } finally {
-                cursor.close();
+            if (keyChangesFilter != null) {
+                keyChangesFilter.addRow(cursor);
             }
-        } catch (Exception exception) {
-            throw new StorIOException("Error has occurred during Get operation. query = " + (query != null ? query : rawQuery), exception);
+
+            return getResolver.mapFromCursor(cursor);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Adds {@code LIMIT 1} to the {@link Query} if it has no explicit limit,
+     * so SQLite stops after first row instead of filling whole cursor window.
+     *
+     * @param query query of Get Operation.
+     * @return query that returns at most one row.
+     */
+    @NonNull
+    static Query limitToOneRow(@NonNull Query query) {
+        return query.limit().isEmpty()
+                ? query.toBuilder().limit(1).build()
+                : query;
+    }
+
+    /**
+     * Appends {@code LIMIT 1} to the SQL of the {@link RawQuery}.
+     *
+     * @param rawQuery raw query of Get Operation, should be {@code SELECT} without {@code LIMIT}.
+     * @return raw query that returns at most one row.
+     */
+    @NonNull
+    static RawQuery limitToOneRow(@NonNull RawQuery rawQuery) {
+        String sql = rawQuery.query().trim();
+
+        if (sql.endsWith(";")) {
+            sql = sql.substring(0, sql.length() - 1).trim();
         }
+
+        return rawQuery.toBuilder()
+                .query(sql + " LIMIT 1")
+                .build();
     }
 
     /**
@@ -171,7 +282,9 @@ public class PreparedGetObject<T> extends PreparedGet<T> {
         }
 
         final Observable<T> observable;
-        if (!tables.isEmpty()) {
+        if (!tables.isEmpty() && (distinctResults || keyColumn != null)) {
+            observable = observeFilteredResults(tables);
+        } else if (!tables.isEmpty()) {
             observable = storIOSQLite
                     .observeChangesInTables(tables) // each change triggers executeAsBlocking
                     .map(MapSomethingToExecuteAsBlocking.newInstance(this))
@@ -181,7 +294,10 @@ public class PreparedGetObject<T> extends PreparedGet<T> {
             observable = Observable.create(OnSubscribeExecuteAsBlocking.newInstance(this));
         }
 
-        return RxJavaUtils.subscribeOn(storIOSQLite, observable);
+        return shareObservable(
+                RxJavaUtils.subscribeOn(storIOSQLite, observable),
+                explicitGetResolver != null ? explicitGetResolver : type
+        );
     }
 
     /**
@@ -270,6 +386,13 @@ public class PreparedGetObject<T> extends PreparedGet<T> {
         @Nullable
         private GetResolver<T> getResolver;
 
+        private boolean limitRawQuery;
+
+        private boolean distinctResults;
+
+        @Nullable
+        private String keyColumn;
+
         CompleteBuilder(@NonNull StorIOSQLite storIOSQLite, @NonNull Class<T> type, @NonNull Query query) {
             this.storIOSQLite = storIOSQLite;
             this.type = type;
@@ -301,6 +424,63 @@ public class PreparedGetObject<T> extends PreparedGet<T> {
             return this;
         }
 
+        /**
+         * Optional: Specifies if {@code LIMIT 1} should be appended to the {@link RawQuery}.
+         * <p>
+         * {@link Query} without explicit limit is always limited to one row,
+         * but StorIO can not parse SQL of {@link RawQuery}, so it's opt-in:
+         * enable it only if your raw query is {@code SELECT} without {@code LIMIT}.
+         * <p>
+         * Default value is {@code false}.
+         *
+         * @param limitRawQuery {@code true} to append {@code LIMIT 1} to the raw query.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> limitRawQuery(boolean limitRawQuery) {
+            this.limitRawQuery = limitRawQuery;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies if {@link PreparedGetObject#asRxObservable()} should skip
+         * object that is mapped from same row as previously emitted object.
+         * <p>
+         * With this option the row is fingerprinted while it is mapped and object is emitted
+         * only if fingerprint differs from fingerprint of previous object,
+         * so previous object is not retained for comparison.
+         * Fingerprinting reads every column of the row, so re-queries don't use cache of results.
+         * <p>
+         * Default value is {@code false} — object is emitted on each change of tables.
+         *
+         * @param distinctResults {@code true} to skip objects mapped from same row.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> distinctResults(boolean distinctResults) {
+            this.distinctResults = distinctResults;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies column that identifies rows, so {@link PreparedGetObject#asRxObservable()}
+         * can skip changes that can not affect the object instead of executing the query again.
+         * <p>
+         * Works like {@link PreparedGetListOfObjects.CompleteBuilder#filterChangesByKey(String)},
+         * for example observable of the query {@code "_id = ?"} with {@code filterChangesByKey("_id")}
+         * does not execute the query after put or delete of objects with other ids.
+         * <p>
+         * Default value is {@code null} — query is executed on each change of tables.
+         *
+         * @param keyColumn column with unique keys of rows, for example {@code "_id"}, or {@code null}.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> filterChangesByKey(@Nullable String keyColumn) {
+            this.keyColumn = keyColumn;
+            return this;
+        }
+
         /**
          * Builds new instance of {@link PreparedGetObject}.
          *
@@ -312,15 +492,19 @@ public class PreparedGetObject<T> extends PreparedGet<T> {
                 return new PreparedGetObject<T>(
                         storIOSQLite,
                         type,
-                        query,
-                        getResolver
+                        limitToOneRow(query),
+                        getResolver,
+                        distinctResults,
+                        keyColumn
                 );
             } else if (rawQuery != null) {
                 return new PreparedGetObject<T>(
                         storIOSQLite,
                         type,
-                        rawQuery,
-                        getResolver
+                        limitRawQuery ? limitToOneRow(rawQuery) : rawQuery,
+                        getResolver,
+                        distinctResults,
+                        keyColumn
                 );
             } else {
                 throw new IllegalStateException("Please specify Query or RawQuery");
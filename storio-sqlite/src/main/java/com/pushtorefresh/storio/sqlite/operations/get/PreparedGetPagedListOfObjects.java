@@ -0,0 +1,653 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import android.database.Cursor;
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import com.pushtorefresh.storio.StorIOException;
+import com.pushtorefresh.storio.sqlite.Changes;
+import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.RxJavaUtils;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import static com.pushtorefresh.storio.internal.Checks.checkNotEmpty;
+import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
+import static com.pushtorefresh.storio.internal.Environment.throwExceptionIfRxJavaIsNotAvailable;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Prepared Get Operation for {@link StorIOSQLite} that loads results page by page.
+ * <p>
+ * Pages are fetched with keyset predicates ({@code WHERE key > ? ORDER BY key LIMIT n})
+ * instead of {@code OFFSET}, so loading of each page costs the same regardless of its position.
+ * <p>
+ * Sort key should be unique and non-null, usually it's primary key or {@code rowid}.
+ *
+ * @param <T> type of results.
+ */
+public class PreparedGetPagedListOfObjects<T> {
+
+    /**
+     * Alias of the sort key in the result set, allows to read it even if it's not in the columns of the query.
+     */
+    @NonNull
+    static final String SORT_KEY_ALIAS = "storio_sort_key";
+
+    @NonNull
+    private final StorIOSQLite storIOSQLite;
+
+    @NonNull
+    private final Class<T> type;
+
+    @NonNull
+    private final Query query;
+
+    @NonNull
+    private final String sortKey;
+
+    private final boolean descending;
+
+    private final int pageSize;
+
+    @Nullable
+    private final GetResolver<T> explicitGetResolver;
+
+    PreparedGetPagedListOfObjects(@NonNull StorIOSQLite storIOSQLite,
+                                  @NonNull Class<T> type,
+                                  @NonNull Query query,
+                                  @NonNull String sortKey,
+                                  boolean descending,
+                                  int pageSize,
+                                  @Nullable GetResolver<T> explicitGetResolver) {
+        this.storIOSQLite = storIOSQLite;
+        this.type = type;
+        this.query = query;
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.pageSize = pageSize;
+        this.explicitGetResolver = explicitGetResolver;
+    }
+
+    /**
+     * Loads first page immediately in current thread.
+     * <p>
+     * Notice: This is blocking I/O operation that should not be executed on the Main Thread,
+     * it can cause ANR (Activity Not Responding dialog), block the UI and drop animations frames.
+     * So please, call this method on some background thread. See {@link WorkerThread}.
+     *
+     * @return non-null first page, can be empty.
+     */
+    @WorkerThread
+    @NonNull
+    public Page<T> executeAsBlocking() {
+        return loadPage(null);
+    }
+
+    /**
+     * Loads page that follows passed page immediately in current thread.
+     * <p>
+     * Notice: This is blocking I/O operation that should not be executed on the Main Thread,
+     * it can cause ANR (Activity Not Responding dialog), block the UI and drop animations frames.
+     * So please, call this method on some background thread. See {@link WorkerThread}.
+     *
+     * @param previousPage page loaded by this Operation.
+     * @return non-null next page, can be empty.
+     */
+    @WorkerThread
+    @NonNull
+    public Page<T> executeAsBlocking(@NonNull Page<T> previousPage) {
+        checkNotNull(previousPage, "Please specify previous page");
+
+        if (!previousPage.hasMore()) {
+            return new Page<T>(Collections.<T>emptyList(), previousPage.lastSortKey, false);
+        }
+
+        return loadPage(previousPage.lastSortKey);
+    }
+
+    /**
+     * Creates "Hot" {@link Observable} which will emit all loaded items as one {@link List}.
+     * <p>
+     * First page is loaded immediately after subscription, each emission of {@code loadNextPage}
+     * loads next page (if any). On changes of the table from query only already loaded range
+     * of the sort key is queried again, so reaction on change does not depend on the size of the table.
+     * <dl>
+     * <dt><b>Scheduler:</b></dt>
+     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null},
+     * requests of next pages are also moved to it.</dd>
+     * </dl>
+     * <p>
+     * Please don't forget to unsubscribe from this {@link Observable} because
+     * it's "Hot" and endless.
+     *
+     * @param loadNextPage each emission requests load of the next page.
+     * @return non-null {@link Observable} which will emit non-null, immutable
+     * {@link List} with all loaded items, list can be empty.
+     */
+    @NonNull
+    @CheckResult
+    public Observable<List<T>> asRxObservable(@NonNull final Observable<?> loadNextPage) {
+        throwExceptionIfRxJavaIsNotAvailable("asRxObservable()");
+        checkNotNull(loadNextPage, "Please specify loadNextPage");
+
+        final Scheduler scheduler = storIOSQLite.defaultScheduler();
+
+        final Observable<List<T>> observable = Observable.defer(new Func0<Observable<List<T>>>() {
+            @Override
+            public Observable<List<T>> call() {
+                // State of one subscription, accessed sequentially because merge() serializes emissions
+                final LoadedPages loadedPages = new LoadedPages();
+
+                Observable<Boolean> reloads = Observable.merge(
+                        loadNextPage.map(new Func1<Object, Boolean>() {
+                            @Override
+                            public Boolean call(Object ignored) {
+                                return false;
+                            }
+                        }),
+                        storIOSQLite
+                                .observeChangesInTables(Collections.singleton(query.table()))
+                                .map(new Func1<Changes, Boolean>() {
+                                    @Override
+                                    public Boolean call(Changes changes) {
+                                        return true;
+                                    }
+                                }),
+                        // first page, subscribed last, so requests won't be missed after first emission
+                        Observable.just(false)
+                ).onBackpressureBuffer();
+
+                if (scheduler != null) {
+                    reloads = reloads.observeOn(scheduler);
+                }
+
+                return reloads
+                        .map(new Func1<Boolean, List<T>>() {
+                            @Override
+                            public List<T> call(Boolean reload) {
+                                return reload ? loadedPages.reload() : loadedPages.loadNextPage();
+                            }
+                        })
+                        .filter(new Func1<List<T>, Boolean>() {
+                            @Override
+                            public Boolean call(List<T> items) {
+                                return items != null;
+                            }
+                        })
+                        .onBackpressureLatest();
+            }
+        });
+
+        return RxJavaUtils.subscribeOn(storIOSQLite, observable);
+    }
+
+    @WorkerThread
+    @NonNull
+    Page<T> loadPage(@Nullable Object afterSortKey) {
+        // One extra row tells whether there are more pages without additional query
+        final Query pageQuery = createPageQuery(query, sortKey, descending, pageSize + 1, afterSortKey);
+        final PageItems<T> pageItems = loadItems(pageQuery);
+
+        if (pageItems.items.size() > pageSize) {
+            final List<T> items = pageItems.items.subList(0, pageSize);
+            return new Page<T>(unmodifiableList(items), pageItems.sortKeys.get(pageSize - 1), true);
+        } else {
+            final Object lastSortKey = pageItems.sortKeys.isEmpty()
+                    ? afterSortKey
+                    : pageItems.sortKeys.get(pageItems.sortKeys.size() - 1);
+
+            return new Page<T>(unmodifiableList(pageItems.items), lastSortKey, false);
+        }
+    }
+
+    @WorkerThread
+    @NonNull
+    List<T> loadRange(@Nullable Object toSortKey) {
+        return unmodifiableList(loadItems(createRangeQuery(query, sortKey, descending, toSortKey)).items);
+    }
+
+    @WorkerThread
+    @NonNull
+    private PageItems<T> loadItems(@NonNull Query pageQuery) {
+        try {
+            final GetResolver<T> getResolver;
+
+            if (explicitGetResolver != null) {
+                getResolver = explicitGetResolver;
+            } else {
+                final SQLiteTypeMapping<T> typeMapping = storIOSQLite.lowLevel().typeMapping(type);
+
+                if (typeMapping == null) {
+                    throw new IllegalStateException("This type does not have type mapping: " +
+                            "type = " + type + "," +
+                            "db was not touched by this operation, please add type mapping for this type");
+                }
+
+                getResolver = typeMapping.getResolver();
+            }
+
+            final Cursor cursor = getResolver.performGet(storIOSQLite, pageQuery);
+
+            try {
+                final int count = cursor.getCount();
+                final PageItems<T> pageItems = new PageItems<T>(count);
+
+                if (count == 0) {
+                    return pageItems;
+                }
+
+                final int sortKeyIndex = cursor.getColumnIndexOrThrow(SORT_KEY_ALIAS);
+
+                while (cursor.moveToNext()) {
+                    pageItems.sortKeys.add(readSortKey(cursor, sortKeyIndex));
+                    pageItems.items.add(getResolver.mapFromCursor(cursor));
+                }
+
+                return pageItems;
+            } finally {
+                cursor.close();
+            }
+        } catch (Exception exception) {
+            throw new StorIOException("Error has occurred during Get operation. query = " + pageQuery, exception);
+        }
+    }
+
+    @NonNull
+    static Object readSortKey(@NonNull Cursor cursor, int sortKeyIndex) {
+        switch (cursor.getType(sortKeyIndex)) {
+            case Cursor.FIELD_TYPE_INTEGER:
+                return cursor.getLong(sortKeyIndex);
+            case Cursor.FIELD_TYPE_FLOAT:
+                return cursor.getDouble(sortKeyIndex);
+            case Cursor.FIELD_TYPE_STRING:
+                return cursor.getString(sortKeyIndex);
+            default:
+                throw new IllegalStateException("Sort key should be non-null number or string, position = " + cursor.getPosition());
+        }
+    }
+
+    /**
+     * Creates query for the page that starts after passed sort key.
+     */
+    @NonNull
+    static Query createPageQuery(@NonNull Query query,
+                                 @NonNull String sortKey,
+                                 boolean descending,
+                                 int limit,
+                                 @Nullable Object afterSortKey) {
+        final Query.CompleteBuilder builder = withSortKey(query, sortKey, descending);
+
+        if (afterSortKey != null) {
+            appendSortKeyPredicate(builder, query, sortKey, descending ? " < " : " > ", afterSortKey);
+        }
+
+        return builder
+                .limit(limit)
+                .build();
+    }
+
+    /**
+     * Creates query for all rows up to passed sort key (inclusive), without limit.
+     */
+    @NonNull
+    static Query createRangeQuery(@NonNull Query query,
+                                  @NonNull String sortKey,
+                                  boolean descending,
+                                  @Nullable Object toSortKey) {
+        final Query.CompleteBuilder builder = withSortKey(query, sortKey, descending);
+
+        if (toSortKey != null) {
+            appendSortKeyPredicate(builder, query, sortKey, descending ? " >= " : " <= ", toSortKey);
+        }
+
+        return builder.build();
+    }
+
+    @NonNull
+    private static Query.CompleteBuilder withSortKey(@NonNull Query query, @NonNull String sortKey, boolean descending) {
+        final List<String> columns = new ArrayList<String>(query.columns().size() + 1);
+
+        if (query.columns().isEmpty()) {
+            columns.add("*");
+        } else {
+            columns.addAll(query.columns());
+        }
+
+        columns.add(sortKey + " AS " + SORT_KEY_ALIAS);
+
+        return query
+                .toBuilder()
+                .columns(columns.toArray(new String[columns.size()]))
+                .orderBy(descending ? sortKey + " DESC" : sortKey);
+    }
+
+    private static void appendSortKeyPredicate(@NonNull Query.CompleteBuilder builder,
+                                               @NonNull Query query,
+                                               @NonNull String sortKey,
+                                               @NonNull String operator,
+                                               @NonNull Object sortKeyValue) {
+        final String predicate;
+        final List<Object> whereArgs = new ArrayList<Object>(query.whereArgs());
+
+        if (sortKeyValue instanceof String) {
+            predicate = sortKey + operator + "?";
+            whereArgs.add(sortKeyValue);
+        } else {
+            // Numbers are inlined: whereArgs are bound as strings and would be compared as strings
+            predicate = sortKey + operator + sortKeyValue;
+        }
+
+        builder
+                .where(query.where().isEmpty() ? predicate : "(" + query.where() + ") AND " + predicate)
+                .whereArgs(whereArgs);
+    }
+
+    /**
+     * Page of results of {@link PreparedGetPagedListOfObjects}.
+     * <p>
+     * Immutable, thread-safe.
+     *
+     * @param <T> type of items.
+     */
+    public static final class Page<T> {
+
+        @NonNull
+        private final List<T> items;
+
+        @Nullable
+        final Object lastSortKey;
+
+        private final boolean hasMore;
+
+        Page(@NonNull List<T> items, @Nullable Object lastSortKey, boolean hasMore) {
+            this.items = items;
+            this.lastSortKey = lastSortKey;
+            this.hasMore = hasMore;
+        }
+
+        /**
+         * Gets items of the page.
+         *
+         * @return non-null, immutable list of items, can be empty.
+         */
+        @NonNull
+        public List<T> items() {
+            return items;
+        }
+
+        /**
+         * Checks whether there are more pages after this one.
+         *
+         * @return {@code true} if next page is not empty at the moment of load of this page.
+         */
+        public boolean hasMore() {
+            return hasMore;
+        }
+
+        @Override
+        public String toString() {
+            return "Page{" +
+                    "items=" + items +
+                    ", lastSortKey=" + lastSortKey +
+                    ", hasMore=" + hasMore +
+                    '}';
+        }
+    }
+
+    /**
+     * Builder for {@link PreparedGetPagedListOfObjects} Operation.
+     *
+     * @param <T> type of objects.
+     */
+    public static class Builder<T> {
+
+        @NonNull
+        private final StorIOSQLite storIOSQLite;
+
+        @NonNull
+        private final Class<T> type;
+
+        Builder(@NonNull StorIOSQLite storIOSQLite, @NonNull Class<T> type) {
+            this.storIOSQLite = storIOSQLite;
+            this.type = type;
+        }
+
+        /**
+         * Required: Specifies query which will be passed to {@link StorIOSQLite}
+         * to get pages of objects.
+         * <p>
+         * Query should not have order by and limit, they will be specified for each page.
+         *
+         * @param query non-null query.
+         * @return builder.
+         * @see Query
+         */
+        @NonNull
+        public CompleteBuilder<T> withQuery(@NonNull Query query) {
+            checkNotNull(query, "Please specify query");
+            return new CompleteBuilder<T>(storIOSQLite, type, query);
+        }
+    }
+
+    /**
+     * Compile-safe part of {@link Builder}.
+     *
+     * @param <T> type of objects.
+     */
+    public static class CompleteBuilder<T> {
+
+        static final String DEFAULT_SORT_KEY = "rowid";
+
+        static final int DEFAULT_PAGE_SIZE = 50;
+
+        @NonNull
+        private final StorIOSQLite storIOSQLite;
+
+        @NonNull
+        private final Class<T> type;
+
+        @NonNull
+        private final Query query;
+
+        @NonNull
+        private String sortKey = DEFAULT_SORT_KEY;
+
+        private boolean descending;
+
+        private int pageSize = DEFAULT_PAGE_SIZE;
+
+        @Nullable
+        private GetResolver<T> getResolver;
+
+        CompleteBuilder(@NonNull StorIOSQLite storIOSQLite, @NonNull Class<T> type, @NonNull Query query) {
+            this.storIOSQLite = storIOSQLite;
+            this.type = type;
+            this.query = query;
+        }
+
+        /**
+         * Optional: Specifies column that defines order of the results and boundaries of the pages.
+         * <p>
+         * Column should be unique and non-null, ideally indexed, for example primary key.
+         * Default value is {@code rowid}.
+         *
+         * @param sortKey column of the table.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> sortKey(@NonNull String sortKey) {
+            checkNotEmpty(sortKey, "Please specify sortKey");
+            this.sortKey = sortKey;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies whether results should be ordered by sort key descending.
+         * Default value is {@code false}.
+         *
+         * @param descending {@code true} for descending order.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> descending(boolean descending) {
+            this.descending = descending;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies max number of objects in one page.
+         * Default value is {@value #DEFAULT_PAGE_SIZE}.
+         *
+         * @param pageSize positive number of objects.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> pageSize(int pageSize) {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("pageSize must be > 0, but was = " + pageSize);
+            }
+
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Optional: Specifies resolver for Get Operation which can be used
+         * to provide custom behavior of Get Operation.
+         * <p>
+         * {@link SQLiteTypeMapping} can be used to set default GetResolver.
+         * If GetResolver is not set via {@link SQLiteTypeMapping}
+         * or explicitly — exception will be thrown.
+         *
+         * @param getResolver nullable resolver for Get Operation.
+         * @return builder.
+         */
+        @NonNull
+        public CompleteBuilder<T> withGetResolver(@Nullable GetResolver<T> getResolver) {
+            this.getResolver = getResolver;
+            return this;
+        }
+
+        /**
+         * Builds new instance of {@link PreparedGetPagedListOfObjects}.
+         *
+         * @return new instance of {@link PreparedGetPagedListOfObjects}.
+         */
+        @NonNull
+        public PreparedGetPagedListOfObjects<T> prepare() {
+            if (!query.orderBy().isEmpty()) {
+                throw new IllegalStateException("Query of paged Get Operation should not have orderBy, " +
+                        "results are ordered by sortKey, query = " + query);
+            }
+
+            if (!query.limit().isEmpty()) {
+                throw new IllegalStateException("Query of paged Get Operation should not have limit, " +
+                        "please use pageSize, query = " + query);
+            }
+
+            return new PreparedGetPagedListOfObjects<T>(
+                    storIOSQLite,
+                    type,
+                    query,
+                    sortKey,
+                    descending,
+                    pageSize,
+                    getResolver
+            );
+        }
+    }
+
+    private static final class PageItems<T> {
+
+        @NonNull
+        final List<T> items;
+
+        @NonNull
+        final List<Object> sortKeys;
+
+        PageItems(int count) {
+            items = new ArrayList<T>(count);
+            sortKeys = new ArrayList<Object>(count);
+        }
+    }
+
+    /**
+     * Loaded pages of one subscription to {@link #asRxObservable(Observable)}.
+     */
+    private final class LoadedPages {
+
+        @NonNull
+        private List<T> items = Collections.emptyList();
+
+        @Nullable
+        private Page<T> lastPage;
+
+        /**
+         * @return all loaded items or {@code null} if there is nothing to load.
+         */
+        @Nullable
+        List<T> loadNextPage() {
+            final Page<T> page;
+
+            if (lastPage == null) {
+                page = executeAsBlocking();
+            } else if (lastPage.hasMore()) {
+                page = executeAsBlocking(lastPage);
+            } else {
+                return null;
+            }
+
+            final List<T> newItems = new ArrayList<T>(items.size() + page.items().size());
+            newItems.addAll(items);
+            newItems.addAll(page.items());
+
+            items = unmodifiableList(newItems);
+            lastPage = page;
+            return items;
+        }
+
+        /**
+         * @return all items in the loaded range of the sort key.
+         */
+        @NonNull
+        List<T> reload() {
+            if (lastPage == null) {
+                //noinspection ConstantConditions
+                return loadNextPage();
+            }
+
+            if (lastPage.hasMore()) {
+                items = loadRange(lastPage.lastSortKey);
+            } else {
+                // All pages were loaded, so rows added after the last one should be loaded too,
+                // but not more than one page of them
+                final List<T> range = lastPage.lastSortKey != null
+                        ? loadRange(lastPage.lastSortKey)
+                        : Collections.<T>emptyList();
+
+                final Page<T> page = loadPage(lastPage.lastSortKey);
+
+                final List<T> newItems = new ArrayList<T>(range.size() + page.items().size());
+                newItems.addAll(range);
+                newItems.addAll(page.items());
+
+                items = unmodifiableList(newItems);
+                lastPage = page;
+            }
+
+            return items;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
+import static com.pushtorefresh.storio.internal.InternalQueries.unmodifiableNonNullListOfStrings;
+
+/**
+ * Immutable pair of subset of columns and {@link GetResolver} that maps only these columns,
+ * so Get Operation can read objects partially, without large columns that are not needed.
+ * <p>
+ * Annotation processor generates it for each {@code @StorIOSQLiteProjection} of the type,
+ * see {@code PROJECTION} constant of generated resolver.
+ * <p>
+ * Objects read via projection have default values in columns that are not projected,
+ * don't put them back via {@code PutResolver} that writes all columns.
+ *
+ * @param <T> type of objects.
+ */
+public final class Projection<T> {
+
+    @NonNull
+    private final GetResolver<T> getResolver;
+
+    @NonNull
+    private final List<String> columns;
+
+    private Projection(@NonNull GetResolver<T> getResolver, @NonNull List<String> columns) {
+        this.getResolver = getResolver;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates new instance of {@link Projection}.
+     *
+     * @param getResolver resolver that maps only passed columns.
+     * @param columns     non-empty columns of the projection.
+     * @param <T>         type of objects.
+     * @return new immutable instance of {@link Projection}.
+     */
+    @NonNull
+    public static <T> Projection<T> newInstance(@NonNull GetResolver<T> getResolver, @NonNull String... columns) {
+        checkNotNull(getResolver, "Please specify getResolver");
+        checkNotNull(columns, "Please specify columns");
+
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Please specify at least one column of projection");
+        }
+
+        return new Projection<T>(getResolver, unmodifiableNonNullListOfStrings(columns));
+    }
+
+    /**
+     * Gets resolver that maps only {@link #columns()}.
+     *
+     * @return non-null resolver.
+     */
+    @NonNull
+    public GetResolver<T> getResolver() {
+        return getResolver;
+    }
+
+    /**
+     * Gets columns of the projection.
+     *
+     * @return non-null, non-empty, immutable list of columns.
+     */
+    @NonNull
+    public List<String> columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Projection<?> that = (Projection<?>) o;
+
+        if (!getResolver.equals(that.getResolver)) return false;
+        return columns.equals(that.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = getResolver.hashCode();
+        result = 31 * result + columns.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Projection{" +
+                "getResolver=" + getResolver +
+                ", columns=" + columns +
+                '}';
+    }
+}
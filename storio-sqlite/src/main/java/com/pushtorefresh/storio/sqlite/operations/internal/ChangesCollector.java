@@ -0,0 +1,91 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.sqlite.Changes;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Merges multiple {@link Changes} into one: union of affected tables,
+ * union of affected keys if all changes have keys of the same column
+ * and type of operation if all changes were caused by the same type of operation.
+ * <p>
+ * Not thread-safe.
+ */
+public final class ChangesCollector {
+
+    @NonNull
+    private final Set<String> affectedTables = new HashSet<String>();
+
+    @Nullable
+    private Changes.OperationType operationType;
+
+    @Nullable
+    private String keyColumn;
+
+    @Nullable
+    private Set<String> affectedKeys;
+
+    private boolean empty = true;
+
+    /**
+     * Adds changes.
+     *
+     * @param changes changes to merge.
+     */
+    public void add(@NonNull Changes changes) {
+        affectedTables.addAll(changes.affectedTables());
+
+        if (empty) {
+            empty = false;
+            operationType = changes.operationType();
+            keyColumn = changes.keyColumn();
+
+            if (keyColumn != null) {
+                //noinspection ConstantConditions
+                affectedKeys = new HashSet<String>(changes.affectedKeys());
+            }
+
+            return;
+        }
+
+        if (operationType != changes.operationType()) {
+            operationType = null;
+        }
+
+        if (keyColumn != null) {
+            if (keyColumn.equals(changes.keyColumn())) {
+                //noinspection ConstantConditions
+                affectedKeys.addAll(changes.affectedKeys());
+            } else {
+                // Rows of one of changes are unknown or identified by other column
+                keyColumn = null;
+                affectedKeys = null;
+            }
+        }
+    }
+
+    /**
+     * Checks whether any changes were added.
+     *
+     * @return {@code true} if no changes were added.
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Creates {@link Changes} that include all added changes.
+     *
+     * @return merged changes.
+     */
+    @NonNull
+    public Changes build() {
+        return Changes.newInstance(affectedTables, operationType, keyColumn, affectedKeys);
+    }
+}
@@ -0,0 +1,306 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.operations.PreparedOperation;
+import com.pushtorefresh.storio.sqlite.GroupCommit;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import rx.Scheduler;
+import rx.Single;
+import rx.SingleSubscriber;
+import rx.Subscription;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Queue of write operations of {@link StorIOSQLite} that executes operations
+ * submitted within the window of {@link GroupCommit} in one transaction.
+ * <p>
+ * Groups are executed one after another on one worker of the {@link Scheduler},
+ * worker is released as soon as the queue is empty.
+ * <p>
+ * Thread-safe.
+ */
+public final class GroupCommitQueue {
+
+    @NonNull
+    private final StorIOSQLite storIOSQLite;
+
+    @NonNull
+    private final GroupCommit groupCommit;
+
+    @NonNull
+    private final Scheduler scheduler;
+
+    @NonNull
+    private final Object lock = new Object();
+
+    /**
+     * Guarded by {@link #lock}.
+     */
+    @NonNull
+    private final List<Entry<?>> pending = new ArrayList<Entry<?>>();
+
+    /**
+     * Worker that executes groups, {@code null} if queue is empty, guarded by {@link #lock}.
+     */
+    @Nullable
+    private Scheduler.Worker worker;
+
+    /**
+     * Commit that is scheduled and not started yet, {@code null} while group is executed
+     * or queue is empty, guarded by {@link #lock}.
+     */
+    @Nullable
+    private CommitAction scheduledCommit;
+
+    public GroupCommitQueue(
+            @NonNull StorIOSQLite storIOSQLite,
+            @NonNull GroupCommit groupCommit,
+            @NonNull Scheduler scheduler
+    ) {
+        checkNotNull(storIOSQLite, "Please specify storIOSQLite");
+        checkNotNull(groupCommit, "Please specify groupCommit");
+        checkNotNull(scheduler, "Please specify scheduler");
+
+        this.storIOSQLite = storIOSQLite;
+        this.groupCommit = groupCommit;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Creates {@link Single} which will submit operation to the queue when somebody subscribes to it
+     * and send result to observer after commit of the group.
+     *
+     * @param operation write operation.
+     * @param <T>       type of result of the operation.
+     * @return non-null {@link Single} which will submit operation to the queue.
+     */
+    @CheckResult
+    @NonNull
+    public <T> Single<T> submit(@NonNull PreparedOperation<T> operation) {
+        return Single.create(new OnSubscribeSubmit<T>(operation));
+    }
+
+    /**
+     * Gets configuration of the queue.
+     *
+     * @return non-null {@link GroupCommit}.
+     */
+    @NonNull
+    public GroupCommit groupCommit() {
+        return groupCommit;
+    }
+
+    void enqueue(@NonNull Entry<?> entry) {
+        synchronized (lock) {
+            pending.add(entry);
+
+            if (worker == null) {
+                worker = scheduler.createWorker();
+                scheduleCommit(worker);
+            } else if (pending.size() == groupCommit.maxOperations() && scheduledCommit != null) {
+                // Group is full, there is no need to wait for the end of the window.
+                // If group is being executed, next commit will be scheduled after it
+                scheduleCommit(worker);
+            }
+        }
+    }
+
+    /**
+     * Replaces scheduled commit (if any) with the new one.
+     * Must be called under {@link #lock}.
+     */
+    private void scheduleCommit(@NonNull Scheduler.Worker worker) {
+        if (scheduledCommit != null) {
+            scheduledCommit.subscription.unsubscribe();
+        }
+
+        final CommitAction commitAction = new CommitAction(worker);
+        // Assigned before scheduling, so action of scheduler that executes it immediately is not dropped
+        scheduledCommit = commitAction;
+
+        if (groupCommit.window() == 0 || pending.size() >= groupCommit.maxOperations()) {
+            commitAction.subscription = worker.schedule(commitAction);
+        } else {
+            commitAction.subscription = worker.schedule(commitAction, groupCommit.window(), groupCommit.timeUnit());
+        }
+    }
+
+    void commit(@NonNull CommitAction commitAction) {
+        final Scheduler.Worker owner = commitAction.owner;
+        final List<Entry<?>> group;
+
+        synchronized (lock) {
+            if (worker != owner || scheduledCommit != commitAction) {
+                // Action of released worker or replaced commit that has started before it was unsubscribed
+                return;
+            }
+
+            scheduledCommit = null;
+
+            final List<Entry<?>> head = pending.subList(0, Math.min(pending.size(), groupCommit.maxOperations()));
+            group = new ArrayList<Entry<?>>(head);
+            head.clear();
+        }
+
+        try {
+            execute(group);
+        } finally {
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    owner.unsubscribe();
+                    worker = null;
+                } else {
+                    scheduleCommit(owner);
+                }
+            }
+        }
+    }
+
+    private void execute(@NonNull List<Entry<?>> group) {
+        // Subscribers that unsubscribed before commit don't wait for results
+        for (int i = group.size() - 1; i >= 0; i--) {
+            if (group.get(i).subscriber.isUnsubscribed()) {
+                group.remove(i);
+            }
+        }
+
+        if (group.isEmpty()) {
+            return;
+        }
+
+        if (group.size() == 1) {
+            group.get(0).executeAlone();
+            return;
+        }
+
+        final StorIOSQLite.LowLevel lowLevel = storIOSQLite.lowLevel();
+        boolean committed = false;
+
+        try {
+            lowLevel.beginTransaction();
+
+            try {
+                //noinspection ForLoopReplaceableByForEach -> on Android it's faster
+                for (int i = 0; i < group.size(); i++) {
+                    group.get(i).execute();
+                }
+
+                lowLevel.setTransactionSuccessful();
+            } finally {
+                // Changes of all operations are sent as one Changes after commit
+                lowLevel.endTransaction();
+            }
+
+            // Operation that ended its nested transaction unsuccessfully rolls back the whole group
+            // without exception, its operations are executed again in their own transactions too
+            committed = !InternalComponents.of(storIOSQLite).lastTransactionRolledBack();
+        } catch (Exception exception) {
+            // Transaction was rolled back, results of other operations are lost,
+            // so each operation is executed again in its own transaction
+        }
+
+        //noinspection ForLoopReplaceableByForEach -> on Android it's faster
+        for (int i = 0; i < group.size(); i++) {
+            if (committed) {
+                group.get(i).deliverResult();
+            } else {
+                group.get(i).executeAlone();
+            }
+        }
+    }
+
+    /**
+     * Write operation waiting for the commit of its group.
+     */
+    static final class Entry<T> {
+
+        @NonNull
+        final PreparedOperation<T> operation;
+
+        @NonNull
+        final SingleSubscriber<? super T> subscriber;
+
+        @Nullable
+        private T result;
+
+        Entry(@NonNull PreparedOperation<T> operation, @NonNull SingleSubscriber<? super T> subscriber) {
+            this.operation = operation;
+            this.subscriber = subscriber;
+        }
+
+        void execute() {
+            result = operation.executeAsBlocking();
+        }
+
+        void deliverResult() {
+            if (!subscriber.isUnsubscribed()) {
+                subscriber.onSuccess(result);
+            }
+        }
+
+        void executeAlone() {
+            try {
+                execute();
+            } catch (Throwable throwable) {
+                Exceptions.throwIfFatal(throwable);
+
+                if (!subscriber.isUnsubscribed()) {
+                    subscriber.onError(throwable);
+                }
+
+                return;
+            }
+
+            deliverResult();
+        }
+    }
+
+    private final class OnSubscribeSubmit<T> implements Single.OnSubscribe<T> {
+
+        @NonNull
+        private final PreparedOperation<T> operation;
+
+        OnSubscribeSubmit(@NonNull PreparedOperation<T> operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public void call(SingleSubscriber<? super T> subscriber) {
+            enqueue(new Entry<T>(operation, subscriber));
+        }
+    }
+
+    final class CommitAction implements Action0 {
+
+        @NonNull
+        final Scheduler.Worker owner;
+
+        /**
+         * Subscription of scheduled action, guarded by {@link #lock}.
+         */
+        @NonNull
+        Subscription subscription = Subscriptions.unsubscribed();
+
+        CommitAction(@NonNull Scheduler.Worker owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void call() {
+            commit(this);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Limits of host parameters ({@code ?}) in statements.
+ */
+public final class HostParameters {
+
+    /**
+     * Max number of host parameters in one statement,
+     * default value of {@code SQLITE_MAX_VARIABLE_NUMBER} which is used by Android.
+     */
+    public static final int MAX_NUMBER = 999;
+
+    private HostParameters() {
+        throw new IllegalStateException("No instances please.");
+    }
+}
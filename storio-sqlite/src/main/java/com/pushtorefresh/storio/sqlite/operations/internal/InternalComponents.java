@@ -0,0 +1,104 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.sqlite.GroupCommit;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Optional components of {@link StorIOSQLite} implementation that are used by Operations
+ * if implementation provides them via {@link Provider}, they are not part of public API of {@link StorIOSQLite}.
+ * <p>
+ * Default implementation of each component returns {@code null}.
+ */
+public abstract class InternalComponents {
+
+    @NonNull
+    private static final InternalComponents NONE = new InternalComponents() {
+    };
+
+    /**
+     * Gets components of passed {@link StorIOSQLite}.
+     *
+     * @param storIOSQLite instance of {@link StorIOSQLite}.
+     * @return components of the instance if it implements {@link Provider}, components without implementation otherwise.
+     */
+    @NonNull
+    public static InternalComponents of(@NonNull StorIOSQLite storIOSQLite) {
+        return storIOSQLite instanceof Provider
+                ? ((Provider) storIOSQLite).internalComponents()
+                : NONE;
+    }
+
+    /**
+     * Provides queue that executes write operations (Put and Delete) subscribed via
+     * {@link rx.Observable} / {@link rx.Single} or {@link rx.Completable} within short time window
+     * in one transaction, see {@link GroupCommit}.
+     * <p>
+     * Blocking execution of operations is not affected by the queue.
+     *
+     * @return the queue or {@code null} if each write operation is executed separately.
+     */
+    @Nullable
+    public GroupCommitQueue groupCommitQueue() {
+        return null;
+    }
+
+    /**
+     * Provides cache of mapped results of Get Operations (list of objects, object and number of results),
+     * results are invalidated by tables from {@link com.pushtorefresh.storio.sqlite.Changes}, so changes made without
+     * {@link StorIOSQLite.LowLevel#notifyAboutChanges(com.pushtorefresh.storio.sqlite.Changes)}
+     * are not visible through the cache.
+     *
+     * @return the cache or {@code null} if Get Operations should not use it, for example in transaction.
+     */
+    @Nullable
+    public QueryResultCache queryResultCache() {
+        return null;
+    }
+
+    /**
+     * Provides registry that shares observable Get Operations (list of objects, object and number of results)
+     * with equal query and resolver between their subscribers: query is executed once per change
+     * and latest result is replayed to late subscribers.
+     *
+     * @return the registry or {@code null} if each subscriber of observable executes query separately.
+     */
+    @Nullable
+    public ObservableQueryRegistry observableQueryRegistry() {
+        return null;
+    }
+
+    /**
+     * Checks whether transaction that was ended last by current thread via
+     * {@link StorIOSQLite.LowLevel#endTransaction()} was rolled back, or will be rolled back
+     * together with its outer transaction. {@link android.database.sqlite.SQLiteDatabase} silently rolls back
+     * whole transaction if any nested transaction was ended without
+     * {@link StorIOSQLite.LowLevel#setTransactionSuccessful()}.
+     *
+     * @return {@code true} if transaction was rolled back,
+     * {@code false} if it was committed or implementation doesn't track it.
+     */
+    public boolean lastTransactionRolledBack() {
+        return false;
+    }
+
+    /**
+     * FOR INTERNAL USAGE ONLY.
+     * <p>
+     * Implemented by {@link StorIOSQLite} that provides {@link InternalComponents}.
+     */
+    public interface Provider {
+
+        /**
+         * Gets components of this {@link StorIOSQLite}.
+         *
+         * @return non-null components.
+         */
+        @NonNull
+        InternalComponents internalComponents();
+    }
+}
@@ -0,0 +1,102 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import rx.Observable;
+import rx.functions.Action0;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Registry of live observable Get Operations of {@link com.pushtorefresh.storio.sqlite.StorIOSQLite}.
+ * <p>
+ * Observables of equal operations (type of operation, query and resolver) share one subscription
+ * to the changes of tables, so the query is executed once per change for all subscribers.
+ * Latest result is replayed to late subscribers, shared subscription is disposed
+ * when the last subscriber unsubscribes.
+ * <p>
+ * Thread-safe.
+ */
+public final class ObservableQueryRegistry {
+
+    /**
+     * Guarded by {@code this}.
+     */
+    @NonNull
+    private final Map<Object, Observable<?>> observables = new HashMap<Object, Observable<?>>();
+
+    /**
+     * Returns observable shared between all subscribers of observables with equal key.
+     *
+     * @param key        key of the operation, for example list of type of the operation, query and resolver.
+     * @param observable observable of the operation, used only if there is no live observable with equal key.
+     * @param <T>        type of results.
+     * @return shared observable.
+     */
+    @SuppressWarnings("unchecked")
+    @CheckResult
+    @NonNull
+    public <T> Observable<T> share(@NonNull Object key, @NonNull Observable<T> observable) {
+        Observable<T> shared;
+
+        synchronized (this) {
+            shared = (Observable<T>) observables.get(key);
+
+            if (shared == null) {
+                final Unregister unregister = new Unregister(key);
+
+                // Unregisters when refCount() disconnects from the source or source terminates,
+                // next subscriber will create new shared observable without stale result
+                shared = observable
+                        .doOnTerminate(unregister)
+                        .doOnUnsubscribe(unregister)
+                        .replay(1)
+                        .refCount();
+
+                unregister.shared = shared;
+                observables.put(key, shared);
+            }
+        }
+
+        // Slow subscriber should not make replay() buffer all results it did not consume
+        return shared.onBackpressureLatest();
+    }
+
+    /**
+     * Returns number of live shared observables.
+     *
+     * @return number of live shared observables.
+     */
+    public synchronized int size() {
+        return observables.size();
+    }
+
+    synchronized void unregister(@NonNull Object key, @Nullable Observable<?> shared) {
+        if (observables.get(key) == shared) {
+            observables.remove(key);
+        }
+    }
+
+    private final class Unregister implements Action0 {
+
+        @NonNull
+        private final Object key;
+
+        @Nullable
+        volatile Observable<?> shared;
+
+        Unregister(@NonNull Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public void call() {
+            unregister(key, shared);
+        }
+    }
+}
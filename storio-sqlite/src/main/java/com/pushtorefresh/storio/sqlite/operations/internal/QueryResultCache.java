@@ -0,0 +1,258 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Cache of mapped results of Get Operations of {@link com.pushtorefresh.storio.sqlite.StorIOSQLite}
+ * keyed by query and resolver, bounded by total weight of results (number of objects)
+ * with LRU eviction, results are invalidated by tables from {@link com.pushtorefresh.storio.sqlite.Changes}.
+ * <p>
+ * Result of query that was executed concurrently with invalidation of its tables is not cached,
+ * because it could be read before commit of the changes.
+ * <p>
+ * Thread-safe.
+ */
+public final class QueryResultCache {
+
+    /**
+     * Returned by {@link #get(Key)} if there is no cached result, because result itself can be {@code null}.
+     */
+    @NonNull
+    public static final Object NOT_CACHED = new Object();
+
+    @NonNull
+    private static final Object NULL_RESULT = new Object();
+
+    private final int maxWeight;
+
+    /**
+     * Access-ordered: least recently used entries are evicted first, guarded by {@code this}.
+     */
+    @NonNull
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+
+    /**
+     * Generation of last invalidation of each table, guarded by {@code this}.
+     */
+    @NonNull
+    private final Map<String, Long> tableGenerations = new HashMap<String, Long>();
+
+    private long generation;
+
+    private int weight;
+
+    public QueryResultCache(int maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be > 0, but was = " + maxWeight);
+        }
+
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns cached result.
+     *
+     * @param key key of the result.
+     * @return cached result (can be {@code null}) or {@link #NOT_CACHED}.
+     */
+    @Nullable
+    public synchronized Object get(@NonNull Key key) {
+        final Entry entry = entries.get(key);
+
+        if (entry == null) {
+            return NOT_CACHED;
+        }
+
+        return entry.result == NULL_RESULT ? null : entry.result;
+    }
+
+    /**
+     * Returns current generation, should be taken before execution of the query
+     * and passed to {@link #put(Key, Object, int, long)} with its result.
+     *
+     * @return current generation.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches result of the query if its tables were not invalidated after passed generation.
+     *
+     * @param key        key of the result.
+     * @param result     result of the query, should be immutable.
+     * @param weight     weight of the result, for example number of objects.
+     * @param generation generation taken before execution of the query.
+     */
+    public synchronized void put(@NonNull Key key, @Nullable Object result, int weight, long generation) {
+        final int entryWeight = Math.max(weight, 1);
+
+        if (entryWeight > maxWeight) {
+            return;
+        }
+
+        for (String table : key.tables) {
+            final Long tableGeneration = tableGenerations.get(table);
+
+            if (tableGeneration != null && tableGeneration > generation) {
+                // Query could read data before commit of the changes
+                return;
+            }
+        }
+
+        final Entry previous = entries.put(key, new Entry(result != null ? result : NULL_RESULT, entryWeight));
+
+        if (previous != null) {
+            this.weight -= previous.weight;
+        }
+
+        this.weight += entryWeight;
+
+        final Iterator<Entry> iterator = entries.values().iterator();
+
+        while (this.weight > maxWeight && iterator.hasNext()) {
+            this.weight -= iterator.next().weight;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes results of queries that read any of passed tables.
+     *
+     * @param tables changed tables.
+     */
+    public synchronized void invalidate(@NonNull Set<String> tables) {
+        if (tables.isEmpty()) {
+            return;
+        }
+
+        generation++;
+
+        for (String table : tables) {
+            tableGenerations.put(table, generation);
+        }
+
+        final Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            final Map.Entry<Key, Entry> entry = iterator.next();
+
+            for (String table : entry.getKey().tables) {
+                if (tables.contains(table)) {
+                    weight -= entry.getValue().weight;
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns number of cached results.
+     *
+     * @return number of cached results.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns total weight of cached results.
+     *
+     * @return total weight of cached results.
+     */
+    public synchronized int weight() {
+        return weight;
+    }
+
+    /**
+     * Key of the result of Get Operation: type of operation, query and resolver.
+     * <p>
+     * Tables read by the query are not part of equality, they are derived from the query.
+     */
+    public static final class Key {
+
+        @NonNull
+        private final Class<?> operationType;
+
+        @NonNull
+        private final Object query;
+
+        @NonNull
+        private final Object resolver;
+
+        @NonNull
+        private final Set<String> tables;
+
+        public Key(
+                @NonNull Class<?> operationType,
+                @NonNull Object query,
+                @NonNull Object resolver,
+                @NonNull Set<String> tables
+        ) {
+            this.operationType = operationType;
+            this.query = query;
+            this.resolver = resolver;
+            this.tables = tables;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            if (!operationType.equals(key.operationType)) return false;
+            if (!query.equals(key.query)) return false;
+            return resolver.equals(key.resolver);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = operationType.hashCode();
+            result = 31 * result + query.hashCode();
+            result = 31 * result + resolver.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" +
+                    "operationType=" + operationType +
+                    ", query=" + query +
+                    ", resolver=" + resolver +
+                    '}';
+        }
+    }
+
+    private static final class Entry {
+
+        @NonNull
+        final Object result;
+
+        final int weight;
+
+        Entry(@NonNull Object result, int weight) {
+            this.result = result;
+            this.weight = weight;
+        }
+    }
+}
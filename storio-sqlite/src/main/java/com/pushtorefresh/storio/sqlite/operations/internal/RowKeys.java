@@ -0,0 +1,95 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.queries.RawQuery;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * FOR INTERNAL USAGE ONLY.
+ * <p>
+ * Detects queries that select rows by value of one column: {@code WHERE column = ?},
+ * so rows affected by them can be described by {@link com.pushtorefresh.storio.sqlite.Changes}.
+ */
+public final class RowKeys {
+
+    @NonNull
+    private static final Pattern KEY_WHERE_CLAUSE = Pattern.compile("^\\s*(\\w+)\\s*=\\s*\\?\\s*$");
+
+    private RowKeys() {
+        throw new IllegalStateException("No instances please.");
+    }
+
+    /**
+     * Gets column that selects rows of the query.
+     *
+     * @param where     where clause of the query.
+     * @param whereArgs arguments of the where clause.
+     * @return key column or {@code null} if where clause is not {@code column = ?} with one argument.
+     */
+    @Nullable
+    public static String keyColumn(@NonNull String where, @NonNull List<String> whereArgs) {
+        if (whereArgs.size() != 1) {
+            return null;
+        }
+
+        final Matcher matcher = KEY_WHERE_CLAUSE.matcher(where);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Checks whether the column is alias of rowid of the table: {@code rowid}, {@code oid}, {@code _rowid_}
+     * or column declared as {@code INTEGER PRIMARY KEY}, only value of such column is returned by insert as id of new row.
+     *
+     * @param lowLevel low level API of {@link StorIOSQLite}.
+     * @param table    name of the table.
+     * @param column   name of the column.
+     * @return {@code true} if the column is alias of rowid, {@code false} otherwise.
+     */
+    public static boolean isRowIdAlias(@NonNull StorIOSQLite.LowLevel lowLevel, @NonNull String table, @NonNull String column) {
+        final Cursor cursor = lowLevel.rawQuery(RawQuery.builder()
+                .query("PRAGMA table_info(" + table + ")")
+                .build());
+
+        boolean declaredColumn = false;
+        boolean integerPrimaryKey = false;
+        int numberOfPrimaryKeyColumns = 0;
+
+        try {
+            final int nameIndex = cursor.getColumnIndexOrThrow("name");
+            final int typeIndex = cursor.getColumnIndexOrThrow("type");
+            final int pkIndex = cursor.getColumnIndexOrThrow("pk");
+
+            while (cursor.moveToNext()) {
+                final boolean primaryKey = cursor.getInt(pkIndex) > 0;
+
+                if (primaryKey) {
+                    numberOfPrimaryKeyColumns++;
+                }
+
+                if (column.equalsIgnoreCase(cursor.getString(nameIndex))) {
+                    declaredColumn = true;
+                    integerPrimaryKey = primaryKey && "INTEGER".equalsIgnoreCase(cursor.getString(typeIndex));
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+
+        if (!declaredColumn) {
+            // Declared column hides built-in alias with the same name
+            return "rowid".equalsIgnoreCase(column)
+                    || "oid".equalsIgnoreCase(column)
+                    || "_rowid_".equalsIgnoreCase(column);
+        }
+
+        // Column of composite primary key is not an alias
+        return integerPrimaryKey && numberOfPrimaryKeyColumns == 1;
+    }
+}
@@ -2,8 +2,10 @@ package com.pushtorefresh.storio.sqlite.operations.internal;
 
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.pushtorefresh.storio.operations.PreparedOperation;
+import com.pushtorefresh.storio.operations.PreparedWriteOperation;
 import com.pushtorefresh.storio.operations.internal.OnSubscribeExecuteAsBlocking;
 import com.pushtorefresh.storio.operations.internal.OnSubscribeExecuteAsBlockingCompletable;
 import com.pushtorefresh.storio.operations.internal.OnSubscribeExecuteAsBlockingSingle;
@@ -64,14 +66,85 @@ public final class RxJavaUtils {
         return subscribeOn(storIOSQLite, completable);
     }
 
+    @CheckResult
+    @NonNull
+    public static <T> Observable<T> createWriteObservable(
+            @NonNull StorIOSQLite storIOSQLite,
+            @NonNull PreparedOperation<T> operation
+    ) {
+        throwExceptionIfRxJavaIsNotAvailable("asRxObservable()");
+
+        final GroupCommitQueue groupCommitQueue = groupCommitQueueFor(storIOSQLite, operation);
+
+        if (groupCommitQueue != null) {
+            return groupCommitQueue.submit(operation).toObservable();
+        }
+
+        final Observable<T> observable =
+                Observable.create(OnSubscribeExecuteAsBlocking.newInstance(operation));
+
+        return subscribeOn(storIOSQLite.writeScheduler(), observable);
+    }
+
+    @CheckResult
+    @NonNull
+    public static <T> Single<T> createWriteSingle(
+            @NonNull StorIOSQLite storIOSQLite,
+            @NonNull PreparedOperation<T> operation
+    ) {
+        throwExceptionIfRxJavaIsNotAvailable("asRxSingle()");
+
+        final GroupCommitQueue groupCommitQueue = groupCommitQueueFor(storIOSQLite, operation);
+
+        if (groupCommitQueue != null) {
+            return groupCommitQueue.submit(operation);
+        }
+
+        final Single<T> single =
+                Single.create(OnSubscribeExecuteAsBlockingSingle.newInstance(operation));
+
+        return subscribeOn(storIOSQLite.writeScheduler(), single);
+    }
+
+    @CheckResult
+    @NonNull
+    public static <T> Completable createWriteCompletable(
+            @NonNull StorIOSQLite storIOSQLite,
+            @NonNull PreparedOperation<T> operation
+    ) {
+        throwExceptionIfRxJavaIsNotAvailable("asRxCompletable()");
+
+        final GroupCommitQueue groupCommitQueue = groupCommitQueueFor(storIOSQLite, operation);
+
+        if (groupCommitQueue != null) {
+            return Completable.fromSingle(groupCommitQueue.submit(operation));
+        }
+
+        final Completable completable =
+                Completable.create(OnSubscribeExecuteAsBlockingCompletable.newInstance(operation));
+
+        return subscribeOn(storIOSQLite.writeScheduler(), completable);
+    }
+
+    /**
+     * Execute SQL is not grouped: statements like {@code VACUUM} or {@code PRAGMA journal_mode}
+     * can not be executed in transaction.
+     */
+    @Nullable
+    private static GroupCommitQueue groupCommitQueueFor(
+            @NonNull StorIOSQLite storIOSQLite,
+            @NonNull PreparedOperation<?> operation
+    ) {
+        return operation instanceof PreparedWriteOperation ? InternalComponents.of(storIOSQLite).groupCommitQueue() : null;
+    }
+
     @CheckResult
     @NonNull
     public static <T> Observable<T> subscribeOn(
             @NonNull StorIOSQLite storIOSQLite,
             @NonNull Observable<T> observable
     ) {
-        final Scheduler scheduler = storIOSQLite.defaultScheduler();
-        return scheduler != null ? observable.subscribeOn(scheduler) : observable;
+        return subscribeOn(storIOSQLite.defaultScheduler(), observable);
     }
 
     @CheckResult
@@ -80,8 +153,7 @@ public final class RxJavaUtils {
             @NonNull StorIOSQLite storIOSQLite,
             @NonNull Single<T> single
     ) {
-        final Scheduler scheduler = storIOSQLite.defaultScheduler();
-        return scheduler != null ? single.subscribeOn(scheduler) : single;
+        return subscribeOn(storIOSQLite.defaultScheduler(), single);
     }
 
     @CheckResult
@@ -90,7 +162,24 @@ public final class RxJavaUtils {
             @NonNull StorIOSQLite storIOSQLite,
             @NonNull Completable completable
     ) {
-        final Scheduler scheduler = storIOSQLite.defaultScheduler();
+        return subscribeOn(storIOSQLite.defaultScheduler(), completable);
+    }
+
+    @CheckResult
+    @NonNull
+    private static <T> Observable<T> subscribeOn(@Nullable Scheduler scheduler, @NonNull Observable<T> observable) {
+        return scheduler != null ? observable.subscribeOn(scheduler) : observable;
+    }
+
+    @CheckResult
+    @NonNull
+    private static <T> Single<T> subscribeOn(@Nullable Scheduler scheduler, @NonNull Single<T> single) {
+        return scheduler != null ? single.subscribeOn(scheduler) : single;
+    }
+
+    @CheckResult
+    @NonNull
+    private static Completable subscribeOn(@Nullable Scheduler scheduler, @NonNull Completable completable) {
         return scheduler != null ? completable.subscribeOn(scheduler) : completable;
     }
 }
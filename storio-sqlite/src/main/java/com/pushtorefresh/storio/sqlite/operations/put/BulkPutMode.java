@@ -0,0 +1,28 @@
+package com.pushtorefresh.storio.sqlite.operations.put;
+
+/**
+ * Defines how {@link PreparedPutCollectionOfObjects} writes objects in bulk,
+ * without check of existence of each object.
+ * <p>
+ * Applies to objects with {@link DefaultPutResolver},
+ * objects with other resolvers are put via {@link PutResolver#performPut}.
+ */
+public enum BulkPutMode {
+
+    /**
+     * Inserts each object with {@code INSERT INTO table (...) VALUES (...)},
+     * Put Operation fails if any object conflicts with existing row.
+     * <p>
+     * Useful for initial load of data into empty tables.
+     */
+    INSERT,
+
+    /**
+     * Inserts each object with {@code INSERT OR REPLACE INTO table (...) VALUES (...)},
+     * conflicting rows are deleted before insert.
+     * <p>
+     * Notice: replaced row gets new values for all columns,
+     * columns that are absent in object's ContentValues get their default values.
+     */
+    INSERT_OR_REPLACE
+}
@@ -3,12 +3,21 @@ package com.pushtorefresh.storio.sqlite.operations.put;
 import android.content.ContentValues;
 import android.database.Cursor;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
+import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.RowKeys;
 import com.pushtorefresh.storio.sqlite.queries.InsertQuery;
 import com.pushtorefresh.storio.sqlite.queries.Query;
 import com.pushtorefresh.storio.sqlite.queries.UpdateQuery;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static com.pushtorefresh.storio.internal.InternalQueries.nullableArrayOfStringsFromListOfStrings;
 import static com.pushtorefresh.storio.internal.InternalQueries.nullableString;
 
@@ -21,6 +30,18 @@ import static com.pushtorefresh.storio.internal.InternalQueries.nullableString;
  */
 public abstract class DefaultPutResolver<T> extends PutResolver<T> {
 
+    /**
+     * Key column of the last {@link UpdateQuery}.
+     */
+    @Nullable
+    private volatile KeyColumn lastKeyColumn;
+
+    /**
+     * Whether key column is alias of rowid, by {@code "table.column"}.
+     */
+    @NonNull
+    private final Map<String, Boolean> rowIdAliases = new ConcurrentHashMap<String, Boolean>();
+
     /**
      * Converts object of required type to {@link InsertQuery}.
      *
@@ -48,6 +69,19 @@ public abstract class DefaultPutResolver<T> extends PutResolver<T> {
     @NonNull
     protected abstract ContentValues mapToContentValues(@NonNull T object);
 
+    /**
+     * Defines how this resolver decides between insert and update,
+     * override it to change strategy for the type this resolver is used for.
+     * <p>
+     * Default value is {@link UpsertStrategy#QUERY_FIRST}.
+     *
+     * @return non-null strategy of the Put Operation.
+     */
+    @NonNull
+    protected UpsertStrategy upsertStrategy() {
+        return UpsertStrategy.QUERY_FIRST;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -61,27 +95,15 @@ public abstract class DefaultPutResolver<T> extends PutResolver<T> {
         lowLevel.beginTransaction();
 
         try {
-            final Cursor cursor = lowLevel.query(Query.builder()
-                    .table(updateQuery.table())
-                    .where(nullableString(updateQuery.where()))
-                    .whereArgs((Object[]) nullableArrayOfStringsFromListOfStrings(updateQuery.whereArgs()))
-                    .build());
-
-            final PutResult putResult;
-
-            try {
-                final ContentValues contentValues = mapToContentValues(object);
-
-                if (cursor.getCount() == 0) {
-                    final InsertQuery insertQuery = mapToInsertQuery(object);
-                    final long insertedId = lowLevel.insert(insertQuery, contentValues);
-                    putResult = PutResult.newInsertResult(insertedId, insertQuery.table());
-                } else {
-                    final int numberOfRowsUpdated = lowLevel.update(updateQuery, contentValues);
-                    putResult = PutResult.newUpdateResult(numberOfRowsUpdated, updateQuery.table());
-                }
-            } finally {
-                cursor.close();
+            final ContentValues contentValues = mapToContentValues(object);
+
+            // UPDATE can not be performed without values to set
+            PutResult putResult = upsertStrategy() == UpsertStrategy.UPDATE_FIRST && contentValues.size() > 0
+                    ? updateOrInsert(lowLevel, object, updateQuery, contentValues)
+                    : queryThenInsertOrUpdate(lowLevel, object, updateQuery, contentValues);
+
+            if (putResult.wasInserted() || putResult.wasUpdated()) {
+                putResult = putResult.withChanges(mapToChanges(lowLevel, updateQuery, contentValues, putResult));
             }
 
             // everything okay
@@ -93,4 +115,163 @@ public abstract class DefaultPutResolver<T> extends PutResolver<T> {
             lowLevel.endTransaction();
         }
     }
+
+    @NonNull
+    private PutResult queryThenInsertOrUpdate(
+            @NonNull StorIOSQLite.LowLevel lowLevel,
+            @NonNull T object,
+            @NonNull UpdateQuery updateQuery,
+            @NonNull ContentValues contentValues
+    ) {
+        // we only need to know if row exists, so there is no need to read its columns
+        final Cursor cursor = lowLevel.query(Query.builder()
+                .table(updateQuery.table())
+                .columns("1")
+                .where(nullableString(updateQuery.where()))
+                .whereArgs((Object[]) nullableArrayOfStringsFromListOfStrings(updateQuery.whereArgs()))
+                .limit(1)
+                .build());
+
+        try {
+            if (cursor.getCount() == 0) {
+                return insert(lowLevel, object, contentValues);
+            } else {
+                final int numberOfRowsUpdated = lowLevel.update(updateQuery, contentValues);
+                return PutResult.newUpdateResult(numberOfRowsUpdated, updateQuery.table());
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @NonNull
+    private PutResult updateOrInsert(
+            @NonNull StorIOSQLite.LowLevel lowLevel,
+            @NonNull T object,
+            @NonNull UpdateQuery updateQuery,
+            @NonNull ContentValues contentValues
+    ) {
+        final int numberOfRowsUpdated = lowLevel.update(updateQuery, contentValues);
+
+        if (numberOfRowsUpdated > 0) {
+            return PutResult.newUpdateResult(numberOfRowsUpdated, updateQuery.table());
+        } else {
+            return insert(lowLevel, object, contentValues);
+        }
+    }
+
+    @NonNull
+    private PutResult insert(
+            @NonNull StorIOSQLite.LowLevel lowLevel,
+            @NonNull T object,
+            @NonNull ContentValues contentValues
+    ) {
+        final InsertQuery insertQuery = mapToInsertQuery(object);
+        final long insertedId = lowLevel.insert(insertQuery, contentValues);
+        return PutResult.newInsertResult(insertedId, insertQuery.table());
+    }
+
+    /**
+     * Creates {@link Changes} caused by Put Operation of the object.
+     * <p>
+     * If {@link UpdateQuery} of the object selects rows by one column: {@code column = ?},
+     * changes contain value of that column as key of the affected row. Key of inserted row is taken
+     * from {@link ContentValues}, if it's not there {@link PutResult#insertedId()} is used only if
+     * the column is alias of rowid, otherwise keys of affected rows are unknown.
+     *
+     * @param lowLevel      low level API of {@link StorIOSQLite}.
+     * @param updateQuery   update query of the object.
+     * @param contentValues content values of the object.
+     * @param putResult     result of Put Operation of the object.
+     * @return non-null changes.
+     */
+    @NonNull
+    Changes mapToChanges(
+            @NonNull StorIOSQLite.LowLevel lowLevel,
+            @NonNull UpdateQuery updateQuery,
+            @NonNull ContentValues contentValues,
+            @NonNull PutResult putResult
+    ) {
+        final Changes.OperationType operationType = putResult.wasInserted()
+                ? Changes.OperationType.INSERT
+                : Changes.OperationType.UPDATE;
+
+        final String keyColumn = keyColumn(updateQuery);
+
+        if (keyColumn == null || !putResult.affectedTables().equals(Collections.singleton(updateQuery.table()))) {
+            return Changes.newInstance(putResult.affectedTables(), operationType, null, null);
+        }
+
+        final Set<String> keys = new HashSet<String>(2);
+        final String newKey = contentValues.getAsString(keyColumn);
+
+        if (putResult.wasUpdated()) {
+            keys.add(updateQuery.whereArgs().get(0));
+        }
+
+        if (newKey != null) {
+            // Inserted row or new key of updated row
+            keys.add(newKey);
+        } else if (putResult.wasInserted()) {
+            if (!isRowIdAlias(lowLevel, updateQuery.table(), keyColumn)) {
+                // Key is default value of the column
+                return Changes.newInstance(putResult.affectedTables(), operationType, null, null);
+            }
+
+            //noinspection ConstantConditions
+            keys.add(String.valueOf(putResult.insertedId().longValue()));
+        }
+
+        return Changes.newInstance(putResult.affectedTables(), operationType, keyColumn, keys);
+    }
+
+    /**
+     * Gets key column of the update query, where clause of the type is usually the same,
+     * so it's parsed only when it changes.
+     */
+    @Nullable
+    private String keyColumn(@NonNull UpdateQuery updateQuery) {
+        if (updateQuery.whereArgs().size() != 1) {
+            return null;
+        }
+
+        final KeyColumn lastKeyColumn = this.lastKeyColumn;
+
+        if (lastKeyColumn != null && lastKeyColumn.where.equals(updateQuery.where())) {
+            return lastKeyColumn.column;
+        }
+
+        final String column = RowKeys.keyColumn(updateQuery.where(), updateQuery.whereArgs());
+        this.lastKeyColumn = new KeyColumn(updateQuery.where(), column);
+        return column;
+    }
+
+    private boolean isRowIdAlias(@NonNull StorIOSQLite.LowLevel lowLevel, @NonNull String table, @NonNull String column) {
+        final String tableAndColumn = table + '.' + column;
+        Boolean rowIdAlias = rowIdAliases.get(tableAndColumn);
+
+        if (rowIdAlias == null) {
+            rowIdAlias = RowKeys.isRowIdAlias(lowLevel, table, column);
+            rowIdAliases.put(tableAndColumn, rowIdAlias);
+        }
+
+        return rowIdAlias;
+    }
+
+    /**
+     * Where clause with its key column.
+     */
+    private static final class KeyColumn {
+
+        @NonNull
+        final String where;
+
+        @Nullable
+        final String column;
+
+        KeyColumn(@NonNull String where, @Nullable String column) {
+            this.where = where;
+            this.column = column;
+        }
+    }
 }
@@ -4,6 +4,7 @@ import android.content.ContentValues;
 import android.support.annotation.NonNull;
 
 import com.pushtorefresh.storio.operations.PreparedWriteOperation;
+import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 
 import java.util.Arrays;
@@ -22,6 +23,27 @@ public abstract class PreparedPut<Result> implements PreparedWriteOperation<Resu
         this.storIOSQLite = storIOSQLite;
     }
 
+    /**
+     * Creates {@link Changes} caused by Put Operation,
+     * affected rows are known only for results of {@link DefaultPutResolver}.
+     *
+     * @param putResult result of Put Operation.
+     * @return non-null changes.
+     */
+    @NonNull
+    static Changes changesOf(@NonNull PutResult putResult) {
+        if (putResult.changes != null) {
+            return putResult.changes;
+        }
+
+        return Changes.newInstance(
+                putResult.affectedTables(),
+                putResult.wasInserted() ? Changes.OperationType.INSERT : Changes.OperationType.UPDATE,
+                null,
+                null
+        );
+    }
+
     /**
      * Builder for {@link PreparedPut}.
      */
@@ -1,5 +1,7 @@
 package com.pushtorefresh.storio.sqlite.operations.put;
 
+import android.content.ContentValues;
+import android.database.sqlite.SQLiteDatabase;
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -9,16 +11,14 @@ import com.pushtorefresh.storio.StorIOException;
 import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.ChangesCollector;
 import com.pushtorefresh.storio.sqlite.operations.internal.RxJavaUtils;
+import com.pushtorefresh.storio.sqlite.queries.InsertQuery;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import rx.Completable;
 import rx.Observable;
@@ -34,14 +34,23 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
     @Nullable
     private final PutResolver<T> explicitPutResolver;
 
+    @Nullable
+    private final BulkPutMode bulkPutMode;
+
+    private final boolean keepResultsOfObjects;
+
     PreparedPutCollectionOfObjects(@NonNull StorIOSQLite storIOSQLite,
                                    @NonNull Collection<T> objects,
                                    @Nullable PutResolver<T> explicitPutResolver,
-                                   boolean useTransaction) {
+                                   boolean useTransaction,
+                                   @Nullable BulkPutMode bulkPutMode,
+                                   boolean keepResultsOfObjects) {
         super(storIOSQLite);
         this.objects = objects;
         this.useTransaction = useTransaction;
         this.explicitPutResolver = explicitPutResolver;
+        this.bulkPutMode = bulkPutMode;
+        this.keepResultsOfObjects = keepResultsOfObjects;
     }
 
     /**
@@ -90,31 +99,26 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
                 lowLevel.beginTransaction();
             }
 
-            final Map<T, PutResult> results = new HashMap<T, PutResult>(objects.size());
+            final PutResults.Collector<T> results = new PutResults.Collector<T>(objects.size(), keepResultsOfObjects);
+            final ChangesCollector changes = useTransaction ? new ChangesCollector() : null;
             boolean transactionSuccessful = false;
 
             try {
                 if (explicitPutResolver != null) {
                     for (final T object : objects) {
-                        final PutResult putResult = explicitPutResolver.performPut(storIOSQLite, object);
-                        results.put(object, putResult);
-
-                        if (!useTransaction && (putResult.wasInserted() || putResult.wasUpdated())) {
-                            lowLevel.notifyAboutChanges(Changes.newInstance(putResult.affectedTables()));
-                        }
+                        final PutResult putResult = put(lowLevel, explicitPutResolver, object);
+                        results.add(object, putResult);
+                        collectChanges(lowLevel, changes, explicitPutResolver, object, putResult);
                     }
                 } else {
                     for (final SimpleImmutableEntry<T, PutResolver<T>> objectAndPutResolver : objectsAndPutResolvers) {
                         final T object = objectAndPutResolver.getKey();
                         final PutResolver<T> putResolver = objectAndPutResolver.getValue();
 
-                        final PutResult putResult = putResolver.performPut(storIOSQLite, object);
-
-                        results.put(object, putResult);
+                        final PutResult putResult = put(lowLevel, putResolver, object);
 
-                        if (!useTransaction && (putResult.wasInserted() || putResult.wasUpdated())) {
-                            lowLevel.notifyAboutChanges(Changes.newInstance(putResult.affectedTables()));
-                        }
+                        results.add(object, putResult);
+                        collectChanges(lowLevel, changes, putResolver, object, putResult);
                     }
                 }
 
@@ -127,32 +131,76 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
                     lowLevel.endTransaction();
 
                     // if put was in transaction and it was successful -> notify about changes
-                    if (transactionSuccessful) {
-                        final Set<String> affectedTables = new HashSet<String>(1); // in most cases it will be 1 table
-
-                        for (final T object : results.keySet()) {
-                            final PutResult putResult = results.get(object);
-                            if (putResult.wasInserted() || putResult.wasUpdated()) {
-                                affectedTables.addAll(putResult.affectedTables());
-                            }
-                        }
-
-                        // IMPORTANT: Notifying about change should be done after end of transaction
-                        // It'll reduce number of possible deadlock situations
-                        if (!affectedTables.isEmpty()) {
-                            lowLevel.notifyAboutChanges(Changes.newInstance(affectedTables));
-                        }
+                    // IMPORTANT: Notifying about change should be done after end of transaction
+                    // It'll reduce number of possible deadlock situations
+                    //noinspection ConstantConditions
+                    if (transactionSuccessful && !changes.isEmpty()) {
+                        lowLevel.notifyAboutChanges(changes.build());
                     }
                 }
             }
 
-            return PutResults.newInstance(results);
+            return results.build();
 
         } catch (Exception exception) {
             throw new StorIOException("Error has occurred during Put operation. objects = " + objects, exception);
         }
     }
 
+    /**
+     * Notifies about changes caused by the put of the object or collects them to notify after transaction.
+     *
+     * @param changes collector of changes or {@code null} if put is not in transaction.
+     */
+    private void collectChanges(@NonNull StorIOSQLite.LowLevel lowLevel,
+                                @Nullable ChangesCollector changes,
+                                @NonNull PutResolver<T> putResolver,
+                                @NonNull T object,
+                                @NonNull PutResult putResult) {
+        if (!putResult.wasInserted() && !putResult.wasUpdated()) {
+            return;
+        }
+
+        final Changes changesOfObject = bulkPutMode == BulkPutMode.INSERT_OR_REPLACE && putResolver instanceof DefaultPutResolver
+                // Replaced rows are not known, they can have other keys
+                ? Changes.newInstance(putResult.affectedTables())
+                : changesOf(putResult);
+
+        if (changes != null) {
+            changes.add(changesOfObject);
+        } else {
+            lowLevel.notifyAboutChanges(changesOfObject);
+        }
+    }
+
+    @NonNull
+    private PutResult put(@NonNull StorIOSQLite.LowLevel lowLevel, @NonNull PutResolver<T> putResolver, @NonNull T object) {
+        if (bulkPutMode == null || !(putResolver instanceof DefaultPutResolver)) {
+            return putResolver.performPut(storIOSQLite, object);
+        }
+
+        // Bulk put skips check of existence and per-object transaction of DefaultPutResolver,
+        // statements with same table and columns are compiled once by StorIOSQLite
+        final DefaultPutResolver<T> defaultPutResolver = (DefaultPutResolver<T>) putResolver;
+        final ContentValues contentValues = defaultPutResolver.mapToContentValues(object);
+        final InsertQuery insertQuery = defaultPutResolver.mapToInsertQuery(object);
+
+        if (bulkPutMode == BulkPutMode.INSERT_OR_REPLACE) {
+            final long insertedId = lowLevel.insertWithOnConflict(insertQuery, contentValues, SQLiteDatabase.CONFLICT_REPLACE);
+            return PutResult.newInsertResult(insertedId, insertQuery.table());
+        }
+
+        final long insertedId = lowLevel.insert(insertQuery, contentValues);
+        final PutResult putResult = PutResult.newInsertResult(insertedId, insertQuery.table());
+
+        return putResult.withChanges(defaultPutResolver.mapToChanges(
+                lowLevel,
+                defaultPutResolver.mapToUpdateQuery(object),
+                contentValues,
+                putResult
+        ));
+    }
+
     /**
      * Creates {@link Observable} which will perform Put Operation and send result to observer.
      * <p>
@@ -161,7 +209,7 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Put Operation.
@@ -183,7 +231,7 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Put Operation.
@@ -192,14 +240,14 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
     @NonNull
     @Override
     public Observable<PutResults<T>> asRxObservable() {
-        return RxJavaUtils.createObservable(storIOSQLite, this);
+        return RxJavaUtils.createWriteObservable(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Single} which will perform Put Operation lazily when somebody subscribes to it and send result to observer.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Single} which will perform Put Operation.
@@ -209,14 +257,14 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
     @CheckResult
     @Override
     public Single<PutResults<T>> asRxSingle() {
-        return RxJavaUtils.createSingle(storIOSQLite, this);
+        return RxJavaUtils.createWriteSingle(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Completable} which will perform Put Operation lazily when somebody subscribes to it.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Completable} which will perform Put Operation.
@@ -225,7 +273,7 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
     @CheckResult
     @Override
     public Completable asRxCompletable() {
-        return RxJavaUtils.createCompletable(storIOSQLite, this);
+        return RxJavaUtils.createWriteCompletable(storIOSQLite, this);
     }
 
     /**
@@ -245,6 +293,11 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
 
         private boolean useTransaction = true;
 
+        @Nullable
+        private BulkPutMode bulkPutMode;
+
+        private boolean keepResultsOfObjects = true;
+
         Builder(@NonNull StorIOSQLite storIOSQLite, @NonNull Collection<T> objects) {
             this.storIOSQLite = storIOSQLite;
             this.objects = objects;
@@ -280,6 +333,43 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
             return this;
         }
 
+        /**
+         * Optional: Specifies that objects should be written in bulk, without check of existence
+         * of each object, see {@link BulkPutMode}.
+         * <p>
+         * Applies to objects with {@link DefaultPutResolver}, each object is inserted with
+         * one statement compiled once for all objects with same table and columns.
+         * All objects are reported as inserted.
+         * <p>
+         * By default, bulk put is not used and {@link PutResolver} decides between insert and update.
+         *
+         * @param bulkPutMode mode of bulk put or {@code null} to disable it.
+         * @return builder.
+         */
+        @NonNull
+        public Builder<T> bulkPutMode(@Nullable BulkPutMode bulkPutMode) {
+            this.bulkPutMode = bulkPutMode;
+            return this;
+        }
+
+        /**
+         * Optional: Defines whether {@link PutResults} should keep result of each object.
+         * <p>
+         * Results without them take constant memory and provide only {@link PutResults#size()},
+         * {@link PutResults#numberOfInserts()} and {@link PutResults#numberOfUpdates()},
+         * useful for puts of large collections when you don't need per-object results.
+         * <p>
+         * By default, results of objects are kept.
+         *
+         * @param keepResultsOfObjects {@code true} to keep result of each object, {@code false} to not.
+         * @return builder.
+         */
+        @NonNull
+        public Builder<T> keepResultsOfObjects(boolean keepResultsOfObjects) {
+            this.keepResultsOfObjects = keepResultsOfObjects;
+            return this;
+        }
+
         /**
          * Prepares Put Operation
          *
@@ -291,7 +381,9 @@ public class PreparedPutCollectionOfObjects<T> extends PreparedPut<PutResults<T>
                     storIOSQLite,
                     objects,
                     putResolver,
-                    useTransaction
+                    useTransaction,
+                    bulkPutMode,
+                    keepResultsOfObjects
             );
         }
     }
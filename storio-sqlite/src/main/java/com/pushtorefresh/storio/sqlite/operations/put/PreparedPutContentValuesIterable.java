@@ -10,9 +10,7 @@ import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 import com.pushtorefresh.storio.sqlite.operations.internal.RxJavaUtils;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.Collection;
 import java.util.Set;
 
 import rx.Completable;
@@ -31,16 +29,20 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
 
     private final boolean useTransaction;
 
+    private final boolean keepResultsOfObjects;
+
     PreparedPutContentValuesIterable(
             @NonNull StorIOSQLite storIOSQLite,
             @NonNull Iterable<ContentValues> contentValuesIterable,
             @NonNull PutResolver<ContentValues> putResolver,
-            boolean useTransaction) {
+            boolean useTransaction,
+            boolean keepResultsOfObjects) {
 
         super(storIOSQLite);
         this.contentValuesIterable = contentValuesIterable;
         this.putResolver = putResolver;
         this.useTransaction = useTransaction;
+        this.keepResultsOfObjects = keepResultsOfObjects;
     }
 
     /**
@@ -59,7 +61,10 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
         try {
             final StorIOSQLite.LowLevel lowLevel = storIOSQLite.lowLevel();
 
-            final Map<ContentValues, PutResult> putResults = new HashMap<ContentValues, PutResult>();
+            final PutResults.Collector<ContentValues> putResults = new PutResults.Collector<ContentValues>(
+                    contentValuesIterable instanceof Collection ? ((Collection<?>) contentValuesIterable).size() : 10,
+                    keepResultsOfObjects
+            );
 
             if (useTransaction) {
                 lowLevel.beginTransaction();
@@ -70,7 +75,7 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
             try {
                 for (ContentValues contentValues : contentValuesIterable) {
                     final PutResult putResult = putResolver.performPut(storIOSQLite, contentValues);
-                    putResults.put(contentValues, putResult);
+                    putResults.add(contentValues, putResult);
 
                     if (!useTransaction && (putResult.wasInserted() || putResult.wasUpdated())) {
                         lowLevel.notifyAboutChanges(Changes.newInstance(putResult.affectedTables()));
@@ -86,14 +91,7 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
                     lowLevel.endTransaction();
 
                     if (transactionSuccessful) {
-                        final Set<String> affectedTables = new HashSet<String>(1); // in most cases it will be 1 table
-
-                        for (final ContentValues contentValues : putResults.keySet()) {
-                            final PutResult putResult = putResults.get(contentValues);
-                            if (putResult.wasInserted() || putResult.wasUpdated()) {
-                                affectedTables.addAll(putResult.affectedTables());
-                            }
-                        }
+                        final Set<String> affectedTables = putResults.changedTables();
 
                         // IMPORTANT: Notifying about change should be done after end of transaction
                         // It'll reduce number of possible deadlock situations
@@ -104,7 +102,7 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
                 }
             }
 
-            return PutResults.newInstance(putResults);
+            return putResults.build();
 
         } catch (Exception exception) {
             throw new StorIOException("Error has occurred during Put operation. contentValues = " + contentValuesIterable, exception);
@@ -119,7 +117,7 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Put Operation.
@@ -141,7 +139,7 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
      * <p>
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Observable} which will perform Put Operation.
@@ -151,14 +149,14 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
     @CheckResult
     @Override
     public Observable<PutResults<ContentValues>> asRxObservable() {
-        return RxJavaUtils.createObservable(storIOSQLite, this);
+        return RxJavaUtils.createWriteObservable(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Single} which will perform Put Operation lazily when somebody subscribes to it and send result to observer.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Single} which will perform Put Operation.
@@ -168,14 +166,14 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
     @CheckResult
     @Override
     public Single<PutResults<ContentValues>> asRxSingle() {
-        return RxJavaUtils.createSingle(storIOSQLite, this);
+        return RxJavaUtils.createWriteSingle(storIOSQLite, this);
     }
 
     /**
      * Creates {@link Completable} which will perform Put Operation lazily when somebody subscribes to it.
      * <dl>
      * <dt><b>Scheduler:</b></dt>
-     * <dd>Operates on {@link StorIOSQLite#defaultScheduler()} if not {@code null}.</dd>
+     * <dd>Operates on {@link StorIOSQLite#writeScheduler()} if not {@code null}.</dd>
      * </dl>
      *
      * @return non-null {@link Completable} which will perform Put Operation.
@@ -184,7 +182,7 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
     @CheckResult
     @Override
     public Completable asRxCompletable() {
-        return RxJavaUtils.createCompletable(storIOSQLite, this);
+        return RxJavaUtils.createWriteCompletable(storIOSQLite, this);
     }
 
     /**
@@ -239,6 +237,8 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
 
         private boolean useTransaction = true;
 
+        private boolean keepResultsOfObjects = true;
+
         CompleteBuilder(@NonNull StorIOSQLite storIOSQLite, @NonNull Iterable<ContentValues> contentValuesIterable, @NonNull PutResolver<ContentValues> putResolver) {
             this.storIOSQLite = storIOSQLite;
             this.contentValuesIterable = contentValuesIterable;
@@ -259,6 +259,22 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
             return this;
         }
 
+        /**
+         * Optional: Defines whether {@link PutResults} should keep result of each {@link ContentValues}
+         * <p>
+         * Results without them take constant memory and provide only {@link PutResults#size()},
+         * {@link PutResults#numberOfInserts()} and {@link PutResults#numberOfUpdates()}
+         * <p>
+         * By default, results of each {@link ContentValues} are kept
+         *
+         * @return builder
+         */
+        @NonNull
+        public CompleteBuilder keepResultsOfObjects(boolean keepResultsOfObjects) {
+            this.keepResultsOfObjects = keepResultsOfObjects;
+            return this;
+        }
+
         /**
          * Prepares Put Operation
          *
@@ -270,7 +286,8 @@ public class PreparedPutContentValuesIterable extends PreparedPut<PutResults<Con
                     storIOSQLite,
                     contentValuesIterable,
                     putResolver,
-                    useTransaction
+                    useTransaction,
+                    keepResultsOfObjects
             );
         }
     }
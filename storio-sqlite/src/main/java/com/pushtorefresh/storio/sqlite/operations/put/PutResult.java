@@ -3,6 +3,8 @@ package com.pushtorefresh.storio.sqlite.operations.put;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import com.pushtorefresh.storio.sqlite.Changes;
+
 import java.util.Set;
 
 import static com.pushtorefresh.storio.internal.Checks.checkNotEmpty;
@@ -26,7 +28,23 @@ public final class PutResult {
     @NonNull
     private final Set<String> affectedTables;
 
+    /**
+     * Changes with keys of affected rows, known only for results of {@link DefaultPutResolver}.
+     * It's not part of the value of the result, so it's transient.
+     */
+    @Nullable
+    final transient Changes changes;
+
     private PutResult(@Nullable Long insertedId, @Nullable Integer numberOfRowsUpdated, @NonNull Set<String> affectedTables) {
+        this(insertedId, numberOfRowsUpdated, affectedTables, null);
+    }
+
+    private PutResult(
+            @Nullable Long insertedId,
+            @Nullable Integer numberOfRowsUpdated,
+            @NonNull Set<String> affectedTables,
+            @Nullable Changes changes
+    ) {
         if (numberOfRowsUpdated != null && numberOfRowsUpdated < 0) {
             throw new IllegalArgumentException("Number of rows updated must be >= 0");
         }
@@ -44,6 +62,7 @@ public final class PutResult {
         this.insertedId = insertedId;
         this.numberOfRowsUpdated = numberOfRowsUpdated;
         this.affectedTables = unmodifiableSet(affectedTables);
+        this.changes = changes;
     }
 
     /**
@@ -94,6 +113,17 @@ public final class PutResult {
         return new PutResult(null, numberOfRowsUpdated, singleton(affectedTable));
     }
 
+    /**
+     * Creates copy of this result with {@link Changes} caused by Put Operation.
+     *
+     * @param changes changes with keys of affected rows.
+     * @return new {@link PutResult} instance.
+     */
+    @NonNull
+    PutResult withChanges(@NonNull Changes changes) {
+        return new PutResult(insertedId, numberOfRowsUpdated, affectedTables, changes);
+    }
+
     /**
      * Checks whether result of Put Operation was "insert".
      *
@@ -3,29 +3,77 @@ package com.pushtorefresh.storio.sqlite.operations.put;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import com.pushtorefresh.storio.sqlite.Changes;
+
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+
+import static com.pushtorefresh.storio.internal.Checks.checkNotNull;
 
 /**
  * Immutable container for results of Put Operation.
  * <p>
+ * Results are stored by index of the object in the collection
+ * (or in order of iteration of the {@link Map} passed to {@link #newInstance(Map)}),
+ * in parallel primitive arrays, so objects are not hashed unless you call {@link #results()}.
+ * <p>
  * Instances of this class are Immutable
  *
  * @param <T> type of objects that were put.
  */
 public final class PutResults<T> {
 
-    @NonNull
-    private final Map<T, PutResult> results;
+    /**
+     * Value of {@link #numbersOfRowsUpdated} for objects that were inserted.
+     */
+    private static final int INSERTED = -1;
+
+    private final int size;
+
+    // Following arrays are null if results of objects were not kept
+    @Nullable
+    private final Object[] objects;
 
     @Nullable
-    private transient volatile Integer numberOfInsertsCache;
+    private final long[] insertedIds;
+
+    @Nullable
+    private final int[] numbersOfRowsUpdated;
+
+    @Nullable
+    private final Object[] affectedTables;
+
+    // Elements are null for results without changes with keys of affected rows
+    @Nullable
+    private final Changes[] changes;
+
+    private final int numberOfInserts;
+
+    private final int numberOfUpdates;
 
     @Nullable
-    private transient volatile Integer numberOfUpdatesCache;
+    private volatile Map<T, PutResult> resultsCache;
 
-    private PutResults(@NonNull Map<T, PutResult> putResults) {
-        this.results = Collections.unmodifiableMap(putResults);
+    private PutResults(int size,
+                       @Nullable Object[] objects,
+                       @Nullable long[] insertedIds,
+                       @Nullable int[] numbersOfRowsUpdated,
+                       @Nullable Object[] affectedTables,
+                       @Nullable Changes[] changes,
+                       int numberOfInserts,
+                       int numberOfUpdates) {
+        this.size = size;
+        this.objects = objects;
+        this.insertedIds = insertedIds;
+        this.numbersOfRowsUpdated = numbersOfRowsUpdated;
+        this.affectedTables = affectedTables;
+        this.changes = changes;
+        this.numberOfInserts = numberOfInserts;
+        this.numberOfUpdates = numberOfUpdates;
     }
 
     /**
@@ -37,70 +85,182 @@ public final class PutResults<T> {
      */
     @NonNull
     public static <T> PutResults<T> newInstance(@NonNull Map<T, PutResult> putResults) {
-        return new PutResults<T>(putResults);
+        checkNotNull(putResults, "Please specify Put Operation results");
+
+        final Collector<T> collector = new Collector<T>(putResults.size(), true);
+
+        for (Map.Entry<T, PutResult> entry : putResults.entrySet()) {
+            collector.add(entry.getKey(), entry.getValue());
+        }
+
+        final PutResults<T> results = collector.build();
+        results.resultsCache = Collections.unmodifiableMap(putResults);
+        return results;
     }
 
     /**
      * Returns immutable Map of pairs {@code (object, PutResult)}.
+     * <p>
+     * For results of Put Operation for collections Map is created on first call,
+     * equal objects are collapsed into one entry with the result of the last of them,
+     * prefer access by index if you don't need the Map.
      *
      * @return immutable Map of pairs {@code (object, PutResult)}.
+     * @throws IllegalStateException if results of objects were not kept.
      */
+    @SuppressWarnings("unchecked")
     @NonNull
     public Map<T, PutResult> results() {
+        Map<T, PutResult> results = resultsCache;
+
+        if (results == null) {
+            checkHasResultsOfObjects();
+
+            final Map<T, PutResult> map = new HashMap<T, PutResult>(Math.max((int) (size / .75f) + 1, 16));
+
+            for (int i = 0; i < size; i++) {
+                //noinspection ConstantConditions
+                map.put((T) objects[i], resultAt(i));
+            }
+
+            results = Collections.unmodifiableMap(map);
+            resultsCache = results;
+        }
+
         return results;
     }
 
     /**
-     * Returns number of inserts from all {@link #results()}.
+     * Returns number of objects that were put.
      *
-     * @return number of inserts from all {@link #results()}.
+     * @return number of objects that were put.
      */
-    public int numberOfInserts() {
-        final Integer cachedValue = numberOfInsertsCache;
+    public int size() {
+        return size;
+    }
 
-        if (cachedValue != null) {
-            return cachedValue;
-        }
+    /**
+     * Checks whether results of each object were kept,
+     * if not — only {@link #size()}, {@link #numberOfInserts()} and {@link #numberOfUpdates()} are available.
+     *
+     * @return {@code true} if results of each object were kept, {@code false} otherwise.
+     */
+    public boolean hasResultsOfObjects() {
+        return objects != null;
+    }
 
-        int numberOfInserts = 0;
+    /**
+     * Returns object at index.
+     *
+     * @param index index of the object, from {@code 0} to {@link #size()} exclusive.
+     * @return object at index.
+     * @throws IllegalStateException if results of objects were not kept.
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public T objectAt(int index) {
+        checkIndex(index);
+        //noinspection ConstantConditions
+        return (T) objects[index];
+    }
 
-        for (T object : results.keySet()) {
-            if (results.get(object).wasInserted()) {
-                numberOfInserts++;
-            }
-        }
+    /**
+     * Returns {@link PutResult} of object at index.
+     *
+     * @param index index of the object, from {@code 0} to {@link #size()} exclusive.
+     * @return new instance of {@link PutResult}.
+     * @throws IllegalStateException if results of objects were not kept.
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public PutResult resultAt(int index) {
+        checkIndex(index);
 
-        numberOfInsertsCache = numberOfInserts;
+        //noinspection ConstantConditions
+        final Set<String> tables = (Set<String>) affectedTables[index];
 
-        return numberOfInserts;
+        //noinspection ConstantConditions
+        final PutResult putResult = numbersOfRowsUpdated[index] == INSERTED
+                ? PutResult.newInsertResult(insertedIds[index], tables)
+                : PutResult.newUpdateResult(numbersOfRowsUpdated[index], tables);
+
+        //noinspection ConstantConditions
+        return changes[index] != null
+                ? putResult.withChanges(changes[index])
+                : putResult;
     }
 
     /**
-     * Returns number of updates from all {@link #results()}.
+     * Checks whether object at index was inserted.
      *
-     * @return number of updates from all {@link #results()}.
+     * @param index index of the object, from {@code 0} to {@link #size()} exclusive.
+     * @return {@code true} if object was inserted, {@code false} otherwise.
+     * @throws IllegalStateException if results of objects were not kept.
      */
-    public int numberOfUpdates() {
-        final Integer cachedValue = numberOfUpdatesCache;
+    public boolean wasInsertedAt(int index) {
+        checkIndex(index);
+        //noinspection ConstantConditions
+        return numbersOfRowsUpdated[index] == INSERTED;
+    }
 
-        if (cachedValue != null) {
-            return cachedValue;
+    /**
+     * Returns id of inserted row of object at index.
+     *
+     * @param index index of the object, from {@code 0} to {@link #size()} exclusive.
+     * @return id of inserted row.
+     * @throws IllegalStateException if object was not inserted or results of objects were not kept.
+     */
+    public long insertedIdAt(int index) {
+        if (!wasInsertedAt(index)) {
+            throw new IllegalStateException("Object at index " + index + " was not inserted");
         }
 
-        int numberOfUpdates = 0;
+        //noinspection ConstantConditions
+        return insertedIds[index];
+    }
 
-        for (T object : results.keySet()) {
-            final PutResult putResult = results.get(object);
+    /**
+     * Returns number of rows updated by Put Operation of object at index.
+     *
+     * @param index index of the object, from {@code 0} to {@link #size()} exclusive.
+     * @return number of updated rows, {@code 0} if object was inserted.
+     * @throws IllegalStateException if results of objects were not kept.
+     */
+    public int numberOfRowsUpdatedAt(int index) {
+        //noinspection ConstantConditions
+        return wasInsertedAt(index) ? 0 : numbersOfRowsUpdated[index];
+    }
 
-            if (putResult.wasUpdated()) {
-                //noinspection ConstantConditions
-                numberOfUpdates += putResult.numberOfRowsUpdated();
-            }
+    /**
+     * Returns number of inserts from all results.
+     *
+     * @return number of inserts from all results.
+     */
+    public int numberOfInserts() {
+        return numberOfInserts;
+    }
+
+    /**
+     * Returns number of updated rows from all results.
+     *
+     * @return number of updated rows from all results.
+     */
+    public int numberOfUpdates() {
+        return numberOfUpdates;
+    }
+
+    private void checkHasResultsOfObjects() {
+        if (objects == null) {
+            throw new IllegalStateException("Results of objects were not kept, please use keepResultsOfObjects(true)");
         }
+    }
 
-        numberOfUpdatesCache = numberOfUpdates;
+    private void checkIndex(int index) {
+        checkHasResultsOfObjects();
 
-        return numberOfUpdates;
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + size);
+        }
     }
 
     @Override
@@ -110,18 +270,169 @@ public final class PutResults<T> {
 
         PutResults<?> that = (PutResults<?>) o;
 
-        return results.equals(that.results);
+        if (hasResultsOfObjects() != that.hasResultsOfObjects()) return false;
+
+        if (hasResultsOfObjects()) {
+            return results().equals(that.results());
+        } else {
+            return size == that.size
+                    && numberOfInserts == that.numberOfInserts
+                    && numberOfUpdates == that.numberOfUpdates;
+        }
     }
 
     @Override
     public int hashCode() {
-        return results.hashCode();
+        if (hasResultsOfObjects()) {
+            return results().hashCode();
+        } else {
+            int result = size;
+            result = 31 * result + numberOfInserts;
+            result = 31 * result + numberOfUpdates;
+            return result;
+        }
     }
 
     @Override
     public String toString() {
-        return "PutResults{" +
-                "results=" + results +
-                '}';
+        if (hasResultsOfObjects()) {
+            return "PutResults{" +
+                    "results=" + results() +
+                    '}';
+        } else {
+            return "PutResults{" +
+                    "size=" + size +
+                    ", numberOfInserts=" + numberOfInserts +
+                    ", numberOfUpdates=" + numberOfUpdates +
+                    '}';
+        }
+    }
+
+    /**
+     * Collects results of Put Operation for collections by index of object.
+     * <p>
+     * Not thread-safe.
+     *
+     * @param <T> type of objects.
+     */
+    static final class Collector<T> {
+
+        private final boolean keepResultsOfObjects;
+
+        private int size;
+
+        @Nullable
+        private Object[] objects;
+
+        @Nullable
+        private long[] insertedIds;
+
+        @Nullable
+        private int[] numbersOfRowsUpdated;
+
+        @Nullable
+        private Object[] affectedTables;
+
+        @Nullable
+        private Changes[] changes;
+
+        @Nullable
+        private Set<String> lastAffectedTables;
+
+        private int numberOfInserts;
+
+        private int numberOfUpdates;
+
+        @NonNull
+        private final Set<String> changedTables = new HashSet<String>(1); // in most cases it will be 1 table
+
+        Collector(int expectedSize, boolean keepResultsOfObjects) {
+            this.keepResultsOfObjects = keepResultsOfObjects;
+
+            if (keepResultsOfObjects) {
+                final int capacity = Math.max(expectedSize, 1);
+                objects = new Object[capacity];
+                insertedIds = new long[capacity];
+                numbersOfRowsUpdated = new int[capacity];
+                affectedTables = new Object[capacity];
+                changes = new Changes[capacity];
+            }
+        }
+
+        void add(@NonNull T object, @NonNull PutResult putResult) {
+            if (putResult.wasInserted()) {
+                numberOfInserts++;
+            } else if (putResult.wasUpdated()) {
+                //noinspection ConstantConditions
+                numberOfUpdates += putResult.numberOfRowsUpdated();
+            }
+
+            if (putResult.wasInserted() || putResult.wasUpdated()) {
+                changedTables.addAll(putResult.affectedTables());
+            }
+
+            if (keepResultsOfObjects) {
+                //noinspection ConstantConditions
+                if (size == objects.length) {
+                    final int capacity = size + (size >> 1) + 1;
+                    objects = Arrays.copyOf(objects, capacity);
+                    insertedIds = Arrays.copyOf(insertedIds, capacity);
+                    numbersOfRowsUpdated = Arrays.copyOf(numbersOfRowsUpdated, capacity);
+                    affectedTables = Arrays.copyOf(affectedTables, capacity);
+                    changes = Arrays.copyOf(changes, capacity);
+                }
+
+                objects[size] = object;
+
+                if (putResult.wasInserted()) {
+                    //noinspection ConstantConditions
+                    insertedIds[size] = putResult.insertedId();
+                    //noinspection ConstantConditions
+                    numbersOfRowsUpdated[size] = INSERTED;
+                } else {
+                    //noinspection ConstantConditions
+                    numbersOfRowsUpdated[size] = putResult.numberOfRowsUpdated();
+                }
+
+                // Results of objects usually affect same tables, keep only one instance of the set
+                final Set<String> tables = putResult.affectedTables();
+
+                if (!tables.equals(lastAffectedTables)) {
+                    lastAffectedTables = tables;
+                }
+
+                //noinspection ConstantConditions
+                affectedTables[size] = lastAffectedTables;
+
+                //noinspection ConstantConditions
+                changes[size] = putResult.changes;
+            }
+
+            size++;
+        }
+
+        /**
+         * Returns tables that were changed by inserts or updates.
+         *
+         * @return tables changed by put of objects.
+         */
+        @NonNull
+        Set<String> changedTables() {
+            return changedTables;
+        }
+
+        @NonNull
+        PutResults<T> build() {
+            return new PutResults<T>(
+                    size,
+                    objects,
+                    insertedIds,
+                    numbersOfRowsUpdated,
+                    affectedTables,
+                    changes,
+                    numberOfInserts,
+                    numberOfUpdates
+            );
+        }
     }
 }
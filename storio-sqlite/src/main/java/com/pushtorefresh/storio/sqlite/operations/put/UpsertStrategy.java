@@ -0,0 +1,27 @@
+package com.pushtorefresh.storio.sqlite.operations.put;
+
+/**
+ * Defines how {@link DefaultPutResolver} decides between insert and update.
+ */
+public enum UpsertStrategy {
+
+    /**
+     * Checks existence of the row with {@code SELECT 1 ... LIMIT 1}
+     * and then performs either insert or update.
+     * <p>
+     * Executes two statements per object: query and then either insert or update.
+     */
+    QUERY_FIRST,
+
+    /**
+     * Tries to update the row first and performs insert only if no rows were updated.
+     * <p>
+     * Executes one statement per object that already exists in the db: update,
+     * and two statements per new object: update that changes nothing and then insert.
+     * Object without values to update is put like with {@link #QUERY_FIRST}: query and then insert or update.
+     * <p>
+     * Notice: update query should match only the rows of the object,
+     * otherwise result of the update will be treated as put of the object.
+     */
+    UPDATE_FIRST
+}
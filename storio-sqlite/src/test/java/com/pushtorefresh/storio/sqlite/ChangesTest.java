@@ -9,6 +9,8 @@ import java.util.Set;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ChangesTest {
@@ -48,6 +50,40 @@ public class ChangesTest {
         assertThat(changes.affectedTables()).isEqualTo(affectedTables);
     }
 
+    @Test
+    public void newInstanceWithKeysOfRows() {
+        final Changes changes = Changes.newInstance(
+                singleton("test_table"),
+                Changes.OperationType.DELETE,
+                "_id",
+                new HashSet<String>(asList("1", "2"))
+        );
+
+        assertThat(changes.affectedTables()).containsOnly("test_table");
+        assertThat(changes.operationType()).isEqualTo(Changes.OperationType.DELETE);
+        assertThat(changes.keyColumn()).isEqualTo("_id");
+        assertThat(changes.affectedKeys()).containsOnly("1", "2");
+    }
+
+    @Test
+    public void keysOfRowsShouldBeUnknownByDefault() {
+        final Changes changes = Changes.newInstance("test_table");
+
+        assertThat(changes.operationType()).isNull();
+        assertThat(changes.keyColumn()).isNull();
+        assertThat(changes.affectedKeys()).isNull();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keysWithoutKeyColumn() {
+        Changes.newInstance(singleton("test_table"), Changes.OperationType.UPDATE, null, singleton("1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyColumnWithoutKeys() {
+        Changes.newInstance(singleton("test_table"), Changes.OperationType.UPDATE, "_id", null);
+    }
+
     @Test
     public void verifyEqualsAndHashCodeImplementation() {
         EqualsVerifier
@@ -0,0 +1,71 @@
+package com.pushtorefresh.storio.sqlite;
+
+import org.junit.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class GroupCommitTest {
+
+    @Test
+    public void windowShouldKeepParams() {
+        GroupCommit groupCommit = GroupCommit.window(10, MILLISECONDS, 100);
+
+        assertThat(groupCommit.window()).isEqualTo(10);
+        assertThat(groupCommit.timeUnit()).isEqualTo(MILLISECONDS);
+        assertThat(groupCommit.maxOperations()).isEqualTo(100);
+    }
+
+    @Test
+    public void windowShouldAcceptZeroWindow() {
+        assertThat(GroupCommit.window(0, MILLISECONDS, 1).window()).isEqualTo(0);
+    }
+
+    @Test
+    public void windowShouldNotAcceptNegativeWindow() {
+        try {
+            GroupCommit.window(-1, MILLISECONDS, 100);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("window must be >= 0, but was = -1");
+        }
+    }
+
+    @Test
+    public void windowShouldNotAcceptNullTimeUnit() {
+        try {
+            //noinspection ConstantConditions
+            GroupCommit.window(10, null, 100);
+            failBecauseExceptionWasNotThrown(NullPointerException.class);
+        } catch (NullPointerException expected) {
+            assertThat(expected).hasMessage("Please specify timeUnit");
+        }
+    }
+
+    @Test
+    public void windowShouldNotAcceptNonPositiveMaxOperations() {
+        try {
+            GroupCommit.window(10, MILLISECONDS, 0);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("maxOperations must be > 0, but was = 0");
+        }
+    }
+
+    @Test
+    public void verifyEqualsAndHashCodeImplementation() {
+        EqualsVerifier
+                .forClass(GroupCommit.class)
+                .allFieldsShouldBeUsed()
+                .verify();
+    }
+
+    @Test
+    public void toStringShouldContainParams() {
+        assertThat(GroupCommit.window(10, MILLISECONDS, 100).toString())
+                .isEqualTo("GroupCommit{window=10, timeUnit=MILLISECONDS, maxOperations=100}");
+    }
+}
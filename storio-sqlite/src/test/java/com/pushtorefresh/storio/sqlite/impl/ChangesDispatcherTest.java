@@ -0,0 +1,182 @@
+package com.pushtorefresh.storio.sqlite.impl;
+
+import com.pushtorefresh.storio.sqlite.Changes;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class ChangesDispatcherTest {
+
+    @Test
+    public void shouldNotAcceptNullAsTables() {
+        final ChangesDispatcher changesDispatcher = ChangesDispatcher.subscribeTo(PublishSubject.<Changes>create());
+
+        try {
+            //noinspection ConstantConditions
+            changesDispatcher.observeChangesInTables(null);
+            failBecauseExceptionWasNotThrown(NullPointerException.class);
+        } catch (NullPointerException expected) {
+            assertThat(expected).hasMessage("Set of tables can not be null");
+        }
+    }
+
+    @Test
+    public void shouldDispatchOnlyRequiredTable() {
+        final PublishSubject<Changes> rxBus = PublishSubject.create();
+        final ChangesDispatcher changesDispatcher = ChangesDispatcher.subscribeTo(rxBus);
+
+        final TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        changesDispatcher
+                .observeChangesInTables(singleton("table2"))
+                .subscribe(testSubscriber);
+
+        rxBus.onNext(Changes.newInstance("table1"));
+        rxBus.onNext(Changes.newInstance("table2"));
+        rxBus.onNext(Changes.newInstance("table3"));
+
+        // All other tables should not be dispatched
+        testSubscriber.assertValue(Changes.newInstance("table2"));
+
+        testSubscriber.unsubscribe();
+    }
+
+    @Test
+    public void shouldDispatchRequiredTableWhichIsPartOfSomeChanges() {
+        final PublishSubject<Changes> rxBus = PublishSubject.create();
+        final ChangesDispatcher changesDispatcher = ChangesDispatcher.subscribeTo(rxBus);
+
+        final TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        changesDispatcher
+                .observeChangesInTables(singleton("table3"))
+                .subscribe(testSubscriber);
+
+        final Changes changes = Changes.newInstance(new HashSet<String>() {
+            {
+                add("table1");
+                // Notice, that required table
+                // Is just a part of one Changes object
+                add("table2");
+                add("table3");
+            }
+        });
+
+        rxBus.onNext(Changes.newInstance("table1"));
+        rxBus.onNext(changes);
+
+        // All other Changes should not be dispatched
+        testSubscriber.assertValue(changes);
+
+        testSubscriber.unsubscribe();
+    }
+
+    @Test
+    public void shouldDispatchChangesOnlyOnceToSubscriberOfSeveralAffectedTables() {
+        final PublishSubject<Changes> rxBus = PublishSubject.create();
+        final ChangesDispatcher changesDispatcher = ChangesDispatcher.subscribeTo(rxBus);
+
+        final Set<String> tables = new HashSet<String>();
+        tables.add("table1");
+        tables.add("table2");
+
+        final TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        changesDispatcher
+                .observeChangesInTables(tables)
+                .subscribe(testSubscriber);
+
+        final Changes changes = Changes.newInstance(tables);
+        rxBus.onNext(changes);
+
+        testSubscriber.assertValue(changes);
+
+        testSubscriber.unsubscribe();
+    }
+
+    @Test
+    public void shouldNotBeAffectedByModificationOfPassedTables() {
+        final PublishSubject<Changes> rxBus = PublishSubject.create();
+        final ChangesDispatcher changesDispatcher = ChangesDispatcher.subscribeTo(rxBus);
+
+        final Set<String> tables = new HashSet<String>();
+        tables.add("table1");
+
+        final TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        changesDispatcher
+                .observeChangesInTables(tables)
+                .subscribe(testSubscriber);
+
+        tables.add("table2");
+        rxBus.onNext(Changes.newInstance("table2"));
+
+        testSubscriber.assertNoValues();
+
+        testSubscriber.unsubscribe();
+    }
+
+    @Test
+    public void shouldNotDispatchChangesAfterUnsubscribe() {
+        final PublishSubject<Changes> rxBus = PublishSubject.create();
+        final ChangesDispatcher changesDispatcher = ChangesDispatcher.subscribeTo(rxBus);
+
+        final TestSubscriber<Changes> testSubscriber1 = new TestSubscriber<Changes>();
+        final TestSubscriber<Changes> testSubscriber2 = new TestSubscriber<Changes>();
+
+        changesDispatcher.observeChangesInTables(singleton("table1")).subscribe(testSubscriber1);
+        changesDispatcher.observeChangesInTables(singleton("table1")).subscribe(testSubscriber2);
+
+        testSubscriber1.unsubscribe();
+
+        final Changes changes = Changes.newInstance("table1");
+        rxBus.onNext(changes);
+
+        testSubscriber1.assertNoValues();
+        testSubscriber2.assertValue(changes);
+
+        testSubscriber2.unsubscribe();
+    }
+
+    @Test
+    public void failureOfOneSubscriberShouldNotAffectOthers() {
+        final PublishSubject<Changes> rxBus = PublishSubject.create();
+        final ChangesDispatcher changesDispatcher = ChangesDispatcher.subscribeTo(rxBus);
+
+        final RuntimeException failure = new IllegalStateException("test");
+
+        final TestSubscriber<Changes> failingSubscriber = new TestSubscriber<Changes>() {
+            @Override
+            public void onNext(Changes changes) {
+                throw failure;
+            }
+        };
+
+        final TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        changesDispatcher.observeChangesInTables(singleton("table1")).subscribe(failingSubscriber);
+        final Subscription subscription = changesDispatcher
+                .observeChangesInTables(singleton("table1"))
+                .subscribe(testSubscriber);
+
+        final Changes changes1 = Changes.newInstance("table1");
+        final Changes changes2 = Changes.newInstance("table1");
+        rxBus.onNext(changes1);
+        rxBus.onNext(changes2);
+
+        failingSubscriber.assertError(failure);
+        testSubscriber.assertValues(changes1, changes2);
+
+        subscription.unsubscribe();
+    }
+}
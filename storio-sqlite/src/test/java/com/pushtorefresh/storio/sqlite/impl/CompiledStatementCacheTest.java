@@ -0,0 +1,220 @@
+package com.pushtorefresh.storio.sqlite.impl;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.queries.InsertQuery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class CompiledStatementCacheTest {
+
+    @NonNull
+    private SQLiteOpenHelper sqLiteOpenHelper;
+
+    @NonNull
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        sqLiteOpenHelper = new SQLiteOpenHelper(RuntimeEnvironment.application, null, null, 1) {
+            @Override
+            public void onCreate(@NonNull SQLiteDatabase db) {
+                db.execSQL("CREATE TABLE items(_id INTEGER PRIMARY KEY, value TEXT)");
+            }
+
+            @Override
+            public void onUpgrade(@NonNull SQLiteDatabase db, int oldVersion, int newVersion) {
+            }
+        };
+
+        db = sqLiteOpenHelper.getWritableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        sqLiteOpenHelper.close();
+    }
+
+    @Test
+    public void shouldNotAcceptNonPositiveMaxSize() {
+        try {
+            new CompiledStatementCache(0);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("maxSize must be > 0, but was = 0");
+        }
+    }
+
+    @Test
+    public void shouldReuseStatementForSameSql() {
+        CompiledStatementCache cache = new CompiledStatementCache(2);
+
+        String sql = "INSERT INTO items(value) VALUES (?)";
+
+        long firstId = cache.executeInsert(db, sql, new Object[]{"a"});
+        long secondId = cache.executeInsert(db, sql, new Object[]{"b"});
+
+        assertThat(secondId).isGreaterThan(firstId);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedStatement() {
+        CompiledStatementCache cache = new CompiledStatementCache(2);
+
+        String insert = "INSERT INTO items(value) VALUES (?)";
+        String update = "UPDATE items SET value=? WHERE _id=?";
+        String delete = "DELETE FROM items WHERE _id=?";
+
+        long id = cache.executeInsert(db, insert, new Object[]{"a"});
+        assertThat(cache.executeUpdateDelete(db, update, new Object[]{"b", id})).isEqualTo(1);
+        assertThat(cache.executeUpdateDelete(db, delete, new Object[]{id})).isEqualTo(1);
+
+        assertThat(cache.size()).isEqualTo(2);
+
+        // insert statement was evicted -> miss
+        cache.executeInsert(db, insert, new Object[]{"c"});
+        assertThat(cache.missCount()).isEqualTo(4);
+        assertThat(cache.hitCount()).isEqualTo(0);
+
+        // delete statement is still cached -> hit
+        cache.executeUpdateDelete(db, delete, new Object[]{id});
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void invalidateShouldDropAllStatements() {
+        CompiledStatementCache cache = new CompiledStatementCache(2);
+
+        String sql = "INSERT INTO items(value) VALUES (?)";
+
+        cache.executeInsert(db, sql, new Object[]{"a"});
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.invalidate();
+        assertThat(cache.size()).isEqualTo(0);
+
+        cache.executeInsert(db, sql, new Object[]{"b"});
+        assertThat(cache.missCount()).isEqualTo(2);
+        assertThat(cache.hitCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void closeShouldInvalidateCache() throws IOException, NoSuchFieldException, IllegalAccessException {
+        DefaultStorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .build();
+
+        CompiledStatementCache cache = getCompiledStatementCache(storIOSQLite);
+        assertThat(cache).isNotNull();
+
+        cache.executeInsert(db, "INSERT INTO items(value) VALUES (?)", new Object[]{"a"});
+        assertThat(cache.size()).isEqualTo(1);
+
+        storIOSQLite.close();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void insertWithOnConflictShouldReuseCompiledStatement() throws NoSuchFieldException, IllegalAccessException {
+        DefaultStorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .build();
+
+        CompiledStatementCache cache = getCompiledStatementCache(storIOSQLite);
+        InsertQuery insertQuery = InsertQuery.builder().table("items").build();
+
+        ContentValues contentValues = new ContentValues();
+        contentValues.put("_id", 1);
+        contentValues.put("value", "a");
+
+        storIOSQLite.lowLevel().insertWithOnConflict(insertQuery, contentValues, SQLiteDatabase.CONFLICT_REPLACE);
+
+        contentValues.put("value", "b");
+        storIOSQLite.lowLevel().insertWithOnConflict(insertQuery, contentValues, SQLiteDatabase.CONFLICT_REPLACE);
+
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+
+        Cursor cursor = db.rawQuery("SELECT value FROM items", null);
+        assertThat(cursor.getCount()).isEqualTo(1);
+        assertThat(cursor.moveToFirst()).isTrue();
+        assertThat(cursor.getString(0)).isEqualTo("b");
+        cursor.close();
+    }
+
+    @Test
+    public void zeroCacheSizeShouldDisableCache() throws NoSuchFieldException, IllegalAccessException {
+        DefaultStorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .compiledStatementCacheSize(0)
+                .build();
+
+        assertThat(getCompiledStatementCache(storIOSQLite)).isNull();
+        assertThat(storIOSQLite.compiledStatementCacheStats()).isNull();
+    }
+
+    @Test
+    public void compiledStatementCacheStatsShouldBeAvailableViaStorIOSQLite() {
+        DefaultStorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .build();
+
+        InsertQuery insertQuery = InsertQuery.builder().table("items").build();
+
+        ContentValues contentValues = new ContentValues();
+        contentValues.put("value", "a");
+
+        storIOSQLite.lowLevel().insert(insertQuery, contentValues);
+        storIOSQLite.lowLevel().insert(insertQuery, contentValues);
+
+        CompiledStatementCacheStats stats = storIOSQLite.compiledStatementCacheStats();
+
+        assertThat(stats).isEqualTo(new CompiledStatementCacheStats(1, 1, 1));
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void negativeCacheSizeShouldNotBeAccepted() {
+        DefaultStorIOSQLite.CompleteBuilder builder = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper);
+
+        try {
+            builder.compiledStatementCacheSize(-1);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("compiledStatementCacheSize must be >= 0, but was = -1");
+        }
+    }
+
+    private static CompiledStatementCache getCompiledStatementCache(@NonNull DefaultStorIOSQLite storIOSQLite)
+            throws NoSuchFieldException, IllegalAccessException {
+
+        Field field = DefaultStorIOSQLite.class.getDeclaredField("compiledStatementCache");
+        field.setAccessible(true);
+        return (CompiledStatementCache) field.get(storIOSQLite);
+    }
+}
@@ -5,6 +5,7 @@ import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 import android.support.annotation.NonNull;
 
+import com.pushtorefresh.storio.ChangesCoalescing;
 import com.pushtorefresh.storio.TypeMappingFinder;
 import com.pushtorefresh.storio.internal.ChangesBus;
 import com.pushtorefresh.storio.internal.TypeMappingFinderImpl;
@@ -28,13 +29,20 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
+import rx.Completable;
 import rx.Scheduler;
 import rx.observers.TestSubscriber;
+import rx.functions.Action0;
+import rx.schedulers.TestScheduler;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
@@ -393,6 +401,37 @@ public class DefaultStorIOSQLiteTest {
         storIOSQLite.observeChanges();
     }
 
+    @Test
+    public void shouldMergeChangesIfCoalescingIsEnabled() {
+        TestScheduler scheduler = new TestScheduler();
+
+        StorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(mock(SQLiteOpenHelper.class))
+                .changesCoalescing(ChangesCoalescing.untilIdle(scheduler))
+                .build();
+
+        TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        storIOSQLite
+                .observeChanges()
+                .subscribe(testSubscriber);
+
+        storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance("table1"));
+        storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance("table2"));
+        storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance("table1"));
+
+        testSubscriber.assertNoValues();
+
+        scheduler.triggerActions();
+
+        Set<String> expectedTables = new HashSet<String>(2);
+        expectedTables.add("table1");
+        expectedTables.add("table2");
+
+        testSubscriber.assertValue(Changes.newInstance(expectedTables));
+        testSubscriber.unsubscribe();
+    }
+
     @Test
     public void observeChangesInTablesShouldNotAcceptNullAsTables() {
         StorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
@@ -600,4 +639,77 @@ public class DefaultStorIOSQLiteTest {
 
         assertThat(storIOSQLite.defaultScheduler()).isNull();
     }
+
+    @Test
+    public void writeSchedulerReturnsDefaultSchedulerIfNotSpecified() {
+        Scheduler scheduler = mock(Scheduler.class);
+        StorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(mock(SQLiteOpenHelper.class))
+                .defaultScheduler(scheduler)
+                .build();
+
+        assertThat(storIOSQLite.writeScheduler()).isSameAs(scheduler);
+    }
+
+    @Test
+    public void writeSchedulerReturnsSpecifiedScheduler() {
+        Scheduler defaultScheduler = mock(Scheduler.class);
+        Scheduler writeScheduler = mock(Scheduler.class);
+        StorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(mock(SQLiteOpenHelper.class))
+                .writeScheduler(writeScheduler)
+                .defaultScheduler(defaultScheduler)
+                .build();
+
+        assertThat(storIOSQLite.defaultScheduler()).isSameAs(defaultScheduler);
+        assertThat(storIOSQLite.writeScheduler()).isSameAs(writeScheduler);
+    }
+
+    @Test
+    public void writeSchedulerReturnsNullIfSpecifiedSchedulerNull() {
+        StorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(mock(SQLiteOpenHelper.class))
+                .writeScheduler(null)
+                .build();
+
+        assertThat(storIOSQLite.writeScheduler()).isNull();
+        assertThat(storIOSQLite.defaultScheduler()).isSameAs(io());
+    }
+
+    @Test
+    public void singleWriterThreadShouldExecuteWritesSeriallyOnOneThread() {
+        StorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(mock(SQLiteOpenHelper.class))
+                .singleWriterThread()
+                .build();
+
+        final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+        final AtomicInteger concurrentWrites = new AtomicInteger();
+        final AtomicInteger maxConcurrentWrites = new AtomicInteger();
+
+        final List<Completable> writes = new ArrayList<Completable>();
+
+        for (int i = 0; i < 10; i++) {
+            writes.add(Completable
+                    .fromAction(new Action0() {
+                        @Override
+                        public void call() {
+                            final int concurrent = concurrentWrites.incrementAndGet();
+
+                            if (concurrent > maxConcurrentWrites.get()) {
+                                maxConcurrentWrites.set(concurrent);
+                            }
+
+                            threadNames.add(Thread.currentThread().getName());
+                            concurrentWrites.decrementAndGet();
+                        }
+                    })
+                    .subscribeOn(storIOSQLite.writeScheduler()));
+        }
+
+        Completable.merge(writes).await();
+
+        assertThat(threadNames).containsExactly("StorIOSQLite-writer");
+        assertThat(maxConcurrentWrites.get()).isEqualTo(1);
+    }
 }
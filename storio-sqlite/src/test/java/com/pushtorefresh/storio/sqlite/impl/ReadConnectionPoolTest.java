@@ -0,0 +1,184 @@
+package com.pushtorefresh.storio.sqlite.impl;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.queries.InsertQuery;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+import com.pushtorefresh.storio.sqlite.queries.RawQuery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ReadConnectionPoolTest {
+
+    @NonNull
+    private static final Query QUERY_ALL = Query.builder().table("items").build();
+
+    @NonNull
+    private SQLiteOpenHelper sqLiteOpenHelper;
+
+    @Before
+    public void setUp() {
+        RuntimeEnvironment.application.deleteDatabase("read_connection_pool_test.db");
+
+        sqLiteOpenHelper = new SQLiteOpenHelper(RuntimeEnvironment.application, "read_connection_pool_test.db", null, 1) {
+            @Override
+            public void onCreate(@NonNull SQLiteDatabase db) {
+                db.execSQL("CREATE TABLE items(_id INTEGER PRIMARY KEY, value TEXT)");
+            }
+
+            @Override
+            public void onUpgrade(@NonNull SQLiteDatabase db, int oldVersion, int newVersion) {
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        sqLiteOpenHelper.close();
+        RuntimeEnvironment.application.deleteDatabase("read_connection_pool_test.db");
+    }
+
+    @Test
+    public void shouldNotAcceptNonPositiveSize() {
+        try {
+            new ReadConnectionPool(sqLiteOpenHelper, 0);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("size must be > 0, but was = 0");
+        }
+    }
+
+    @Test
+    public void shouldOpenConnectionsLazilyInRoundRobinOrder() {
+        ReadConnectionPool pool = new ReadConnectionPool(sqLiteOpenHelper, 2);
+
+        assertThat(pool.openedConnections()).isEqualTo(0);
+
+        SQLiteDatabase first = pool.readableDatabase();
+        SQLiteDatabase second = pool.readableDatabase();
+        SQLiteDatabase third = pool.readableDatabase();
+
+        assertThat(pool.openedConnections()).isEqualTo(2);
+        assertThat(first).isNotSameAs(second);
+        assertThat(third).isSameAs(first);
+        assertThat(first).isNotSameAs(sqLiteOpenHelper.getWritableDatabase());
+        assertThat(first.isReadOnly()).isTrue();
+
+        pool.close();
+        assertThat(pool.openedConnections()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldReturnWritableDatabaseInTransaction() {
+        ReadConnectionPool pool = new ReadConnectionPool(sqLiteOpenHelper, 2);
+        SQLiteDatabase writableDatabase = sqLiteOpenHelper.getWritableDatabase();
+
+        writableDatabase.beginTransaction();
+
+        try {
+            assertThat(pool.readableDatabase()).isSameAs(writableDatabase);
+        } finally {
+            writableDatabase.endTransaction();
+        }
+
+        assertThat(pool.openedConnections()).isEqualTo(0);
+        pool.close();
+    }
+
+    @Test
+    public void shouldReturnWritableDatabaseForInMemoryDatabase() {
+        SQLiteOpenHelper inMemoryOpenHelper = new SQLiteOpenHelper(RuntimeEnvironment.application, null, null, 1) {
+            @Override
+            public void onCreate(@NonNull SQLiteDatabase db) {
+            }
+
+            @Override
+            public void onUpgrade(@NonNull SQLiteDatabase db, int oldVersion, int newVersion) {
+            }
+        };
+
+        ReadConnectionPool pool = new ReadConnectionPool(inMemoryOpenHelper, 2);
+
+        assertThat(pool.readableDatabase()).isSameAs(inMemoryOpenHelper.getWritableDatabase());
+        assertThat(pool.openedConnections()).isEqualTo(0);
+
+        inMemoryOpenHelper.close();
+    }
+
+    @Test
+    public void queriesShouldSeeCommittedDataAndTransactionShouldSeeItsOwnChanges() throws IOException {
+        StorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .readConnectionPoolSize(2)
+                .build();
+
+        StorIOSQLite.LowLevel lowLevel = storIOSQLite.lowLevel();
+
+        insertItem(lowLevel, "committed");
+
+        lowLevel.beginTransaction();
+
+        try {
+            insertItem(lowLevel, "in transaction");
+
+            // Query of the thread in transaction sees its changes
+            assertThat(count(lowLevel.query(QUERY_ALL))).isEqualTo(2);
+
+            lowLevel.setTransactionSuccessful();
+        } finally {
+            lowLevel.endTransaction();
+        }
+
+        // Query via read connection sees committed changes
+        assertThat(count(lowLevel.query(QUERY_ALL))).isEqualTo(2);
+        assertThat(count(lowLevel.rawQuery(RawQuery.builder().query("SELECT * FROM items").build()))).isEqualTo(2);
+
+        storIOSQLite.close();
+    }
+
+    @Test
+    public void negativeReadConnectionPoolSizeShouldNotBeAccepted() {
+        DefaultStorIOSQLite.CompleteBuilder builder = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper);
+
+        try {
+            builder.readConnectionPoolSize(-1);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("readConnectionPoolSize must be >= 0, but was = -1");
+        }
+    }
+
+    private static void insertItem(@NonNull StorIOSQLite.LowLevel lowLevel, @NonNull String value) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put("value", value);
+        lowLevel.insert(InsertQuery.builder().table("items").build(), contentValues);
+    }
+
+    private static int count(@NonNull Cursor cursor) {
+        try {
+            return cursor.getCount();
+        } finally {
+            cursor.close();
+        }
+    }
+}
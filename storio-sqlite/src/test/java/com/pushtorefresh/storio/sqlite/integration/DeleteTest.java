@@ -1,9 +1,13 @@
 package com.pushtorefresh.storio.sqlite.integration;
 
 import android.database.Cursor;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.operations.delete.DefaultDeleteResolver;
 import com.pushtorefresh.storio.sqlite.operations.delete.DeleteResults;
+import com.pushtorefresh.storio.sqlite.queries.DeleteQuery;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -64,4 +68,79 @@ public class DeleteTest extends BaseTest {
             assertThat(usersAfterDelete.contains(user)).isEqualTo(!shouldBeDeleted);
         }
     }
+
+    @Test
+    public void deleteCollectionInBatches() {
+        final List<User> allUsers = putUsersBlocking(1500);
+
+        final List<User> usersToDelete = new ArrayList<User>();
+
+        for (int i = 0; i < allUsers.size(); i += 3) {  // Delete every third user
+            usersToDelete.add(allUsers.get(i));
+        }
+
+        final DeleteResults<User> deleteResults = storIOSQLite
+                .delete()
+                .objects(usersToDelete)
+                .useBatchDelete(true)
+                .withDeleteResolver(new DefaultDeleteResolver<User>() {
+                    @NonNull
+                    @Override
+                    protected DeleteQuery mapToDeleteQuery(@NonNull User user) {
+                        return DeleteQuery.builder()
+                                .table(UserTableMeta.TABLE)
+                                .where(UserTableMeta.COLUMN_ID + " = ?")
+                                .whereArgs(user.id())
+                                .build();
+                    }
+
+                    @NonNull
+                    @Override
+                    protected String table() {
+                        return UserTableMeta.TABLE;
+                    }
+
+                    @NonNull
+                    @Override
+                    protected String keyColumn() {
+                        return UserTableMeta.COLUMN_ID;
+                    }
+
+                    @Nullable
+                    @Override
+                    protected Object mapToKey(@NonNull User user) {
+                        return user.id();
+                    }
+                })
+                .prepare()
+                .executeAsBlocking();
+
+        final List<User> usersAfterDelete = getAllUsersBlocking();
+
+        assertThat(usersAfterDelete).hasSize(allUsers.size() - usersToDelete.size());
+
+        for (User user : allUsers) {
+            final boolean shouldBeDeleted = usersToDelete.contains(user);
+
+            assertThat(deleteResults.wasDeleted(user)).isEqualTo(shouldBeDeleted);
+            assertThat(usersAfterDelete.contains(user)).isEqualTo(!shouldBeDeleted);
+        }
+    }
+
+    @Test
+    public void deleteCollectionWithoutResultsOfObjects() {
+        final List<User> users = putUsersBlocking(10);
+
+        final DeleteResults<User> deleteResults = storIOSQLite
+                .delete()
+                .objects(users)
+                .keepResultsOfObjects(false)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(deleteResults.hasResultsOfObjects()).isFalse();
+        assertThat(deleteResults.size()).isEqualTo(users.size());
+        assertThat(deleteResults.numberOfRowsDeleted()).isEqualTo(users.size());
+        assertThat(getAllUsersBlocking()).isEmpty();
+    }
 }
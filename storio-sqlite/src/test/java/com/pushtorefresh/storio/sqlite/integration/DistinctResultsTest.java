@@ -0,0 +1,193 @@
+package com.pushtorefresh.storio.sqlite.integration;
+
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.Changes;
+import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.impl.DefaultStorIOSQLite;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+import rx.observers.TestSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class DistinctResultsTest extends BaseTest {
+
+    @NonNull
+    private StorIOSQLite synchronousStorIOSQLite;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        synchronousStorIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .addTypeMapping(User.class, SQLiteTypeMapping.<User>builder()
+                        .putResolver(UserTableMeta.PUT_RESOLVER)
+                        .getResolver(UserTableMeta.GET_RESOLVER)
+                        .deleteResolver(UserTableMeta.DELETE_RESOLVER)
+                        .build())
+                .defaultScheduler(null)
+                .build();
+    }
+
+    private void notifyAboutChangesOfUsers() {
+        synchronousStorIOSQLite
+                .lowLevel()
+                .notifyAboutChanges(Changes.newInstance(UserTableMeta.TABLE));
+    }
+
+    @Test
+    public void listOfObjectsShouldNotBeEmittedIfRowsAreSame() {
+        final User user = insertUser();
+
+        final TestSubscriber<List<User>> testSubscriber = new TestSubscriber<List<User>>();
+
+        synchronousStorIOSQLite
+                .get()
+                .listOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .distinctResults(true)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        testSubscriber.assertValueCount(1);
+
+        notifyAboutChangesOfUsers();
+
+        // Same values of the row
+        synchronousStorIOSQLite
+                .put()
+                .object(user)
+                .prepare()
+                .executeAsBlocking();
+
+        testSubscriber.assertValueCount(1);
+
+        synchronousStorIOSQLite
+                .put()
+                .object(User.newInstance(user.id(), user.email(), "+123"))
+                .prepare()
+                .executeAsBlocking();
+
+        testSubscriber.assertValueCount(2);
+        assertThat(testSubscriber.getOnNextEvents().get(1).get(0).phone()).isEqualTo("+123");
+
+        synchronousStorIOSQLite
+                .delete()
+                .object(user)
+                .prepare()
+                .executeAsBlocking();
+
+        testSubscriber.assertValueCount(3);
+        assertThat(testSubscriber.getOnNextEvents().get(2)).isEmpty();
+        testSubscriber.assertNoErrors();
+    }
+
+    @Test
+    public void listOfObjectsShouldBeEmittedOnEachChangeByDefault() {
+        insertUser();
+
+        final TestSubscriber<List<User>> testSubscriber = new TestSubscriber<List<User>>();
+
+        synchronousStorIOSQLite
+                .get()
+                .listOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        notifyAboutChangesOfUsers();
+
+        testSubscriber.assertValueCount(2);
+    }
+
+    @Test
+    public void objectShouldNotBeEmittedIfRowIsSame() {
+        final User user = insertUser();
+
+        final TestSubscriber<User> testSubscriber = new TestSubscriber<User>();
+
+        synchronousStorIOSQLite
+                .get()
+                .object(User.class)
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .where(UserTableMeta.COLUMN_ID + " = ?")
+                        .whereArgs(user.id())
+                        .build())
+                .distinctResults(true)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        notifyAboutChangesOfUsers();
+
+        // Row of other user is not part of the result
+        insertUser();
+
+        testSubscriber.assertValueCount(1);
+
+        synchronousStorIOSQLite
+                .delete()
+                .object(user)
+                .prepare()
+                .executeAsBlocking();
+
+        testSubscriber.assertValueCount(2);
+        assertThat(testSubscriber.getOnNextEvents().get(1)).isNull();
+    }
+
+    @Test
+    public void numberOfResultsShouldNotBeEmittedIfItIsSame() {
+        insertUser();
+
+        final TestSubscriber<Integer> testSubscriber = new TestSubscriber<Integer>();
+
+        synchronousStorIOSQLite
+                .get()
+                .numberOfResults()
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .distinctResults(true)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        notifyAboutChangesOfUsers();
+
+        testSubscriber.assertValue(1);
+
+        insertUser();
+
+        testSubscriber.assertValues(1, 2);
+    }
+
+    @NonNull
+    private User insertUser() {
+        final User user = TestFactory.newUser();
+
+        final Long id = synchronousStorIOSQLite
+                .put()
+                .object(user)
+                .prepare()
+                .executeAsBlocking()
+                .insertedId();
+
+        return User.newInstance(id, user.email(), user.phone());
+    }
+}
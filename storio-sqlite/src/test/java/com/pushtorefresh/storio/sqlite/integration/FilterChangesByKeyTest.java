@@ -0,0 +1,227 @@
+package com.pushtorefresh.storio.sqlite.integration;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.Changes;
+import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.impl.DefaultStorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.get.GetResolver;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+import com.pushtorefresh.storio.sqlite.queries.RawQuery;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.observers.TestSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class FilterChangesByKeyTest extends BaseTest {
+
+    @NonNull
+    private final AtomicInteger numberOfQueries = new AtomicInteger();
+
+    @NonNull
+    private final GetResolver<User> countingGetResolver = new GetResolver<User>() {
+        @NonNull
+        @Override
+        public User mapFromCursor(@NonNull Cursor cursor) {
+            return UserTableMeta.GET_RESOLVER.mapFromCursor(cursor);
+        }
+
+        @NonNull
+        @Override
+        public Cursor performGet(@NonNull StorIOSQLite storIOSQLite, @NonNull RawQuery rawQuery) {
+            numberOfQueries.incrementAndGet();
+            return UserTableMeta.GET_RESOLVER.performGet(storIOSQLite, rawQuery);
+        }
+
+        @NonNull
+        @Override
+        public Cursor performGet(@NonNull StorIOSQLite storIOSQLite, @NonNull Query query) {
+            numberOfQueries.incrementAndGet();
+            return UserTableMeta.GET_RESOLVER.performGet(storIOSQLite, query);
+        }
+    };
+
+    @NonNull
+    private StorIOSQLite synchronousStorIOSQLite;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        synchronousStorIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .addTypeMapping(User.class, SQLiteTypeMapping.<User>builder()
+                        .putResolver(UserTableMeta.PUT_RESOLVER)
+                        .getResolver(countingGetResolver)
+                        .deleteResolver(UserTableMeta.DELETE_RESOLVER)
+                        .build())
+                .defaultScheduler(null)
+                .build();
+    }
+
+    @Test
+    public void objectShouldNotBeQueriedAfterChangesOfOtherRows() {
+        final User user = insertUser();
+        final User otherUser = insertUser();
+
+        final TestSubscriber<User> testSubscriber = new TestSubscriber<User>();
+
+        synchronousStorIOSQLite
+                .get()
+                .object(User.class)
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .where(UserTableMeta.COLUMN_ID + " = ?")
+                        .whereArgs(user.id())
+                        .build())
+                .filterChangesByKey(UserTableMeta.COLUMN_ID)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        synchronousStorIOSQLite
+                .put()
+                .object(User.newInstance(otherUser.id(), otherUser.email(), "+1"))
+                .prepare()
+                .executeAsBlocking();
+
+        insertUser();
+
+        assertThat(numberOfQueries.get()).isEqualTo(1);
+        testSubscriber.assertValueCount(1);
+
+        synchronousStorIOSQLite
+                .put()
+                .object(User.newInstance(user.id(), user.email(), "+2"))
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfQueries.get()).isEqualTo(2);
+        testSubscriber.assertValueCount(2);
+        assertThat(testSubscriber.getOnNextEvents().get(1).phone()).isEqualTo("+2");
+        testSubscriber.assertNoErrors();
+    }
+
+    @Test
+    public void listShouldNotBeQueriedAfterDeletionOfRowsThatAreNotInIt() {
+        final User user = insertUser();
+        final User otherUser = insertUser();
+
+        final TestSubscriber<List<User>> testSubscriber = new TestSubscriber<List<User>>();
+
+        synchronousStorIOSQLite
+                .get()
+                .listOfObjects(User.class)
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .where(UserTableMeta.COLUMN_ID + " <= ?")
+                        .whereArgs(user.id())
+                        .build())
+                .filterChangesByKey(UserTableMeta.COLUMN_ID)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        synchronousStorIOSQLite
+                .delete()
+                .object(otherUser)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfQueries.get()).isEqualTo(1);
+
+        // Inserted row may become part of the list
+        insertUser();
+
+        assertThat(numberOfQueries.get()).isEqualTo(2);
+
+        synchronousStorIOSQLite
+                .delete()
+                .object(user)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfQueries.get()).isEqualTo(3);
+        testSubscriber.assertValueCount(3);
+        assertThat(testSubscriber.getOnNextEvents().get(0)).hasSize(1);
+        assertThat(testSubscriber.getOnNextEvents().get(2)).isEmpty();
+        testSubscriber.assertNoErrors();
+    }
+
+    @Test
+    public void changesWithoutKeysShouldTriggerQuery() {
+        final User user = insertUser();
+
+        final TestSubscriber<User> testSubscriber = new TestSubscriber<User>();
+
+        synchronousStorIOSQLite
+                .get()
+                .object(User.class)
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .where(UserTableMeta.COLUMN_ID + " = ?")
+                        .whereArgs(user.id())
+                        .build())
+                .filterChangesByKey(UserTableMeta.COLUMN_ID)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        synchronousStorIOSQLite
+                .lowLevel()
+                .notifyAboutChanges(Changes.newInstance(UserTableMeta.TABLE));
+
+        assertThat(numberOfQueries.get()).isEqualTo(2);
+        testSubscriber.assertValueCount(2);
+    }
+
+    @Test
+    public void changesOfOtherRowsShouldTriggerQueryByDefault() {
+        final User user = insertUser();
+
+        synchronousStorIOSQLite
+                .get()
+                .object(User.class)
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .where(UserTableMeta.COLUMN_ID + " = ?")
+                        .whereArgs(user.id())
+                        .build())
+                .prepare()
+                .asRxObservable()
+                .subscribe(new TestSubscriber<User>());
+
+        insertUser();
+
+        assertThat(numberOfQueries.get()).isEqualTo(2);
+    }
+
+    @NonNull
+    private User insertUser() {
+        final User user = TestFactory.newUser();
+
+        synchronousStorIOSQLite
+                .put()
+                .object(user)
+                .prepare()
+                .executeAsBlocking();
+
+        // Id is set by the put resolver
+        return user;
+    }
+}
@@ -0,0 +1,300 @@
+package com.pushtorefresh.storio.sqlite.integration;
+
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.StorIOException;
+import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.Changes;
+import com.pushtorefresh.storio.sqlite.GroupCommit;
+import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.impl.DefaultStorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.put.PutResolver;
+import com.pushtorefresh.storio.sqlite.operations.put.PutResult;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class GroupCommitQueueTest extends BaseTest {
+
+    @NonNull
+    private final TestScheduler writeScheduler = new TestScheduler();
+
+    @NonNull
+    private StorIOSQLite newStorIOSQLite(@NonNull GroupCommit groupCommit) {
+        return DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .addTypeMapping(User.class, SQLiteTypeMapping.<User>builder()
+                        .putResolver(UserTableMeta.PUT_RESOLVER)
+                        .getResolver(UserTableMeta.GET_RESOLVER)
+                        .deleteResolver(UserTableMeta.DELETE_RESOLVER)
+                        .build())
+                .writeScheduler(writeScheduler)
+                .groupCommit(groupCommit)
+                .build();
+    }
+
+    @Test
+    public void writesWithinWindowShouldBeCommittedTogether() {
+        final StorIOSQLite groupCommitStorIOSQLite = newStorIOSQLite(GroupCommit.window(10, MILLISECONDS, 100));
+
+        final TestSubscriber<Changes> changesTestSubscriber = new TestSubscriber<Changes>();
+        groupCommitStorIOSQLite.observeChanges().subscribe(changesTestSubscriber);
+
+        final List<User> users = TestFactory.newUsers(3);
+        final List<TestSubscriber<PutResult>> putTestSubscribers = new ArrayList<TestSubscriber<PutResult>>();
+
+        for (User user : users) {
+            final TestSubscriber<PutResult> putTestSubscriber = new TestSubscriber<PutResult>();
+
+            groupCommitStorIOSQLite
+                    .put()
+                    .object(user)
+                    .prepare()
+                    .asRxSingle()
+                    .subscribe(putTestSubscriber);
+
+            putTestSubscribers.add(putTestSubscriber);
+        }
+
+        writeScheduler.advanceTimeBy(9, MILLISECONDS);
+
+        assertThat(getAllUsersBlocking()).isEmpty();
+        putTestSubscribers.get(0).assertNoValues();
+
+        writeScheduler.advanceTimeBy(1, MILLISECONDS);
+
+        for (TestSubscriber<PutResult> putTestSubscriber : putTestSubscribers) {
+            putTestSubscriber.assertNoErrors();
+            putTestSubscriber.assertCompleted();
+            assertThat(putTestSubscriber.getOnNextEvents().get(0).wasInserted()).isTrue();
+        }
+
+        assertThat(getAllUsersBlocking()).hasSize(3);
+
+        // One Changes for the whole group
+        changesTestSubscriber.assertValue(Changes.newInstance(
+                singleton(UserTableMeta.TABLE),
+                Changes.OperationType.INSERT,
+                UserTableMeta.COLUMN_ID,
+                new HashSet<String>(asList(
+                        String.valueOf(putTestSubscribers.get(0).getOnNextEvents().get(0).insertedId()),
+                        String.valueOf(putTestSubscribers.get(1).getOnNextEvents().get(0).insertedId()),
+                        String.valueOf(putTestSubscribers.get(2).getOnNextEvents().get(0).insertedId())
+                ))
+        ));
+    }
+
+    @Test
+    public void groupShouldBeCommittedWhenMaxOperationsReached() {
+        final StorIOSQLite groupCommitStorIOSQLite = newStorIOSQLite(GroupCommit.window(10, MILLISECONDS, 2));
+
+        final TestSubscriber<Object> firstTestSubscriber = new TestSubscriber<Object>();
+        final TestSubscriber<Object> secondTestSubscriber = new TestSubscriber<Object>();
+        final TestSubscriber<Object> thirdTestSubscriber = new TestSubscriber<Object>();
+
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxCompletable().subscribe(firstTestSubscriber);
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxCompletable().subscribe(secondTestSubscriber);
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxCompletable().subscribe(thirdTestSubscriber);
+
+        // Does not wait for the end of the window
+        writeScheduler.triggerActions();
+
+        firstTestSubscriber.assertCompleted();
+        secondTestSubscriber.assertCompleted();
+        thirdTestSubscriber.assertNotCompleted();
+
+        assertThat(getAllUsersBlocking()).hasSize(2);
+
+        writeScheduler.advanceTimeBy(10, MILLISECONDS);
+
+        thirdTestSubscriber.assertCompleted();
+        assertThat(getAllUsersBlocking()).hasSize(3);
+    }
+
+    @Test
+    public void commitOfFullGroupShouldNotShortenWindowOfNextGroup() {
+        final StorIOSQLite groupCommitStorIOSQLite = newStorIOSQLite(GroupCommit.window(10, MILLISECONDS, 2));
+
+        final TestSubscriber<Object> firstTestSubscriber = new TestSubscriber<Object>();
+        final TestSubscriber<Object> secondTestSubscriber = new TestSubscriber<Object>();
+        final TestSubscriber<Object> thirdTestSubscriber = new TestSubscriber<Object>();
+
+        // Window of the first group ends at 10 ms
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxCompletable().subscribe(firstTestSubscriber);
+        writeScheduler.advanceTimeBy(5, MILLISECONDS);
+
+        // Group is full at 5 ms, third write starts new group with window until 15 ms
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxCompletable().subscribe(secondTestSubscriber);
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxCompletable().subscribe(thirdTestSubscriber);
+        writeScheduler.triggerActions();
+
+        firstTestSubscriber.assertCompleted();
+        secondTestSubscriber.assertCompleted();
+        thirdTestSubscriber.assertNotCompleted();
+
+        // Commit scheduled for the first group should not commit the second one
+        writeScheduler.advanceTimeBy(5, MILLISECONDS);
+        thirdTestSubscriber.assertNotCompleted();
+        assertThat(getAllUsersBlocking()).hasSize(2);
+
+        writeScheduler.advanceTimeBy(5, MILLISECONDS);
+        thirdTestSubscriber.assertCompleted();
+        assertThat(getAllUsersBlocking()).hasSize(3);
+    }
+
+    @Test
+    public void failedWriteShouldNotAffectOtherWritesOfGroup() {
+        final StorIOSQLite groupCommitStorIOSQLite = newStorIOSQLite(GroupCommit.window(10, MILLISECONDS, 100));
+
+        final TestSubscriber<Changes> changesTestSubscriber = new TestSubscriber<Changes>();
+        groupCommitStorIOSQLite.observeChanges().subscribe(changesTestSubscriber);
+
+        final TestSubscriber<PutResult> firstTestSubscriber = new TestSubscriber<PutResult>();
+        final TestSubscriber<PutResult> failedTestSubscriber = new TestSubscriber<PutResult>();
+        final TestSubscriber<PutResult> thirdTestSubscriber = new TestSubscriber<PutResult>();
+
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxSingle().subscribe(firstTestSubscriber);
+
+        groupCommitStorIOSQLite
+                .put()
+                .object(TestFactory.newUser())
+                .withPutResolver(new PutResolver<User>() {
+                    @NonNull
+                    @Override
+                    public PutResult performPut(@NonNull StorIOSQLite storIOSQLite, @NonNull User object) {
+                        throw new IllegalStateException("test exception");
+                    }
+                })
+                .prepare()
+                .asRxSingle()
+                .subscribe(failedTestSubscriber);
+
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxSingle().subscribe(thirdTestSubscriber);
+
+        writeScheduler.advanceTimeBy(10, MILLISECONDS);
+
+        firstTestSubscriber.assertNoErrors();
+        firstTestSubscriber.assertCompleted();
+        thirdTestSubscriber.assertNoErrors();
+        thirdTestSubscriber.assertCompleted();
+
+        failedTestSubscriber.assertNoValues();
+        failedTestSubscriber.assertError(StorIOException.class);
+        assertThat(failedTestSubscriber.getOnErrorEvents().get(0).getCause()).hasMessage("test exception");
+
+        assertThat(getAllUsersBlocking()).hasSize(2);
+
+        // Changes of rolled back group are not sent, each write is committed separately
+        changesTestSubscriber.assertValues(
+                Changes.newInstance(
+                        singleton(UserTableMeta.TABLE),
+                        Changes.OperationType.INSERT,
+                        UserTableMeta.COLUMN_ID,
+                        singleton(String.valueOf(firstTestSubscriber.getOnNextEvents().get(0).insertedId()))
+                ),
+                Changes.newInstance(
+                        singleton(UserTableMeta.TABLE),
+                        Changes.OperationType.INSERT,
+                        UserTableMeta.COLUMN_ID,
+                        singleton(String.valueOf(thirdTestSubscriber.getOnNextEvents().get(0).insertedId()))
+                )
+        );
+    }
+
+    @Test
+    public void groupRolledBackByNestedTransactionShouldBeExecutedAgain() {
+        final StorIOSQLite groupCommitStorIOSQLite = newStorIOSQLite(GroupCommit.window(10, MILLISECONDS, 100));
+
+        final TestSubscriber<PutResult> firstTestSubscriber = new TestSubscriber<PutResult>();
+        final TestSubscriber<PutResult> rollingBackTestSubscriber = new TestSubscriber<PutResult>();
+        final TestSubscriber<PutResult> thirdTestSubscriber = new TestSubscriber<PutResult>();
+
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxSingle().subscribe(firstTestSubscriber);
+
+        groupCommitStorIOSQLite
+                .put()
+                .object(TestFactory.newUser())
+                .withPutResolver(new PutResolver<User>() {
+                    @NonNull
+                    @Override
+                    public PutResult performPut(@NonNull StorIOSQLite storIOSQLite, @NonNull User object) {
+                        // Ends nested transaction without setTransactionSuccessful() and without exception
+                        storIOSQLite.lowLevel().beginTransaction();
+                        storIOSQLite.lowLevel().endTransaction();
+                        return PutResult.newUpdateResult(0, UserTableMeta.TABLE);
+                    }
+                })
+                .prepare()
+                .asRxSingle()
+                .subscribe(rollingBackTestSubscriber);
+
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxSingle().subscribe(thirdTestSubscriber);
+
+        writeScheduler.advanceTimeBy(10, MILLISECONDS);
+
+        firstTestSubscriber.assertNoErrors();
+        firstTestSubscriber.assertCompleted();
+        rollingBackTestSubscriber.assertNoErrors();
+        rollingBackTestSubscriber.assertCompleted();
+        thirdTestSubscriber.assertNoErrors();
+        thirdTestSubscriber.assertCompleted();
+
+        // Writes of other operations are not lost with the rolled back group
+        assertThat(getAllUsersBlocking()).hasSize(2);
+    }
+
+    @Test
+    public void writeShouldNotBeExecutedIfUnsubscribedBeforeCommit() {
+        final StorIOSQLite groupCommitStorIOSQLite = newStorIOSQLite(GroupCommit.window(10, MILLISECONDS, 100));
+
+        final TestSubscriber<PutResult> putTestSubscriber = new TestSubscriber<PutResult>();
+
+        final Subscription subscription = groupCommitStorIOSQLite
+                .put()
+                .object(TestFactory.newUser())
+                .prepare()
+                .asRxSingle()
+                .subscribe(putTestSubscriber);
+
+        groupCommitStorIOSQLite.put().object(TestFactory.newUser()).prepare().asRxCompletable().subscribe();
+
+        subscription.unsubscribe();
+
+        writeScheduler.advanceTimeBy(10, MILLISECONDS);
+
+        putTestSubscriber.assertNoValues();
+        assertThat(getAllUsersBlocking()).hasSize(1);
+    }
+
+    @Test
+    public void blockingWritesShouldNotBeGrouped() {
+        final StorIOSQLite groupCommitStorIOSQLite = newStorIOSQLite(GroupCommit.window(10, MILLISECONDS, 100));
+
+        final PutResult putResult = groupCommitStorIOSQLite
+                .put()
+                .object(TestFactory.newUser())
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(putResult.wasInserted()).isTrue();
+        assertThat(getAllUsersBlocking()).hasSize(1);
+    }
+}
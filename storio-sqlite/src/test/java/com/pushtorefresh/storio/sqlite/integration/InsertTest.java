@@ -2,7 +2,10 @@ package com.pushtorefresh.storio.sqlite.integration;
 
 import android.database.Cursor;
 
+import com.pushtorefresh.storio.StorIOException;
 import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.operations.put.BulkPutMode;
+import com.pushtorefresh.storio.sqlite.operations.put.PutResults;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -11,7 +14,9 @@ import org.robolectric.annotation.Config;
 
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 @RunWith(RobolectricGradleTestRunner.class)
 @Config(constants = BuildConfig.class, sdk = 21)
@@ -95,4 +100,94 @@ public class InsertTest extends BaseTest {
 
         cursor.close();
     }
+
+    @Test
+    public void insertCollectionInBulk() {
+        final List<User> users = TestFactory.newUsers(1500);
+
+        final PutResults<User> putResults = storIOSQLite
+                .put()
+                .objects(users)
+                .bulkPutMode(BulkPutMode.INSERT)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(putResults.numberOfInserts()).isEqualTo(users.size());
+        assertThat(getAllUsersBlocking()).hasSize(users.size());
+    }
+
+    @Test
+    public void insertCollectionInBulkShouldFailOnConflict() {
+        final User user = putUserBlocking();
+
+        try {
+            storIOSQLite
+                    .put()
+                    .objects(asList(TestFactory.newUser(), user))
+                    .bulkPutMode(BulkPutMode.INSERT)
+                    .prepare()
+                    .executeAsBlocking();
+
+            failBecauseExceptionWasNotThrown(StorIOException.class);
+        } catch (StorIOException expected) {
+            // transaction was rolled back, only first user is in db
+            assertThat(getAllUsersBlocking()).containsExactly(user);
+        }
+    }
+
+    @Test
+    public void replaceCollectionInBulk() {
+        final User user = putUserBlocking();
+        final User updatedUser = User.newInstance(user.id(), "updated@example.com", user.phone());
+        final User newUser = TestFactory.newUser();
+
+        final PutResults<User> putResults = storIOSQLite
+                .put()
+                .objects(asList(updatedUser, newUser))
+                .bulkPutMode(BulkPutMode.INSERT_OR_REPLACE)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(putResults.numberOfInserts()).isEqualTo(2);
+
+        final List<User> storedUsers = getAllUsersBlocking();
+        assertThat(storedUsers).hasSize(2);
+        assertThat(storedUsers.get(0)).isEqualTo(updatedUser);
+        assertThat(newUser.equalsExceptId(storedUsers.get(1))).isTrue();
+    }
+
+    @Test
+    public void insertCollectionWithoutResultsOfObjects() {
+        final List<User> users = TestFactory.newUsers(100);
+
+        final PutResults<User> putResults = storIOSQLite
+                .put()
+                .objects(users)
+                .keepResultsOfObjects(false)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(putResults.hasResultsOfObjects()).isFalse();
+        assertThat(putResults.size()).isEqualTo(users.size());
+        assertThat(putResults.numberOfInserts()).isEqualTo(users.size());
+        assertThat(getAllUsersBlocking()).hasSize(users.size());
+    }
+
+    @Test
+    public void insertCollectionShouldKeepResultsInOrderOfObjects() {
+        final List<User> users = TestFactory.newUsers(3);
+
+        final PutResults<User> putResults = storIOSQLite
+                .put()
+                .objects(users)
+                .prepare()
+                .executeAsBlocking();
+
+        final List<User> storedUsers = getAllUsersBlocking();
+
+        for (int i = 0; i < users.size(); i++) {
+            assertThat(putResults.objectAt(i)).isSameAs(users.get(i));
+            assertThat(putResults.insertedIdAt(i)).isEqualTo(storedUsers.get(i).id());
+        }
+    }
 }
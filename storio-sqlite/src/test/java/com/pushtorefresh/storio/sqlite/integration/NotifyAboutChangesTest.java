@@ -20,6 +20,7 @@ import java.util.concurrent.CountDownLatch;
 import rx.observers.TestObserver;
 import rx.observers.TestSubscriber;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -133,6 +134,10 @@ public class NotifyAboutChangesTest extends BaseTest {
         // While we in transaction, no changes should be sent
         assertThat(testSubscriber.getOnNextEvents()).hasSize(0);
 
+        storIOSQLite
+                .lowLevel()
+                .setTransactionSuccessful();
+
         storIOSQLite
                 .lowLevel()
                 .endTransaction();
@@ -142,7 +147,102 @@ public class NotifyAboutChangesTest extends BaseTest {
     }
 
     @Test
-    public void shouldReceiveOneNotificationInTransactionWithMultipleThreads() throws InterruptedException {
+    public void shouldMergeChangesOfNestedTransactionsIntoOneNotification() {
+        final TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        storIOSQLite
+                .observeChangesInTables(new HashSet<String>(asList("table1", "table2", "table3")))
+                .subscribe(testSubscriber);
+
+        storIOSQLite.lowLevel().beginTransaction();
+
+        try {
+            storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance("table1"));
+
+            storIOSQLite.lowLevel().beginTransaction();
+
+            try {
+                storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance("table2"));
+                storIOSQLite.lowLevel().setTransactionSuccessful();
+            } finally {
+                storIOSQLite.lowLevel().endTransaction();
+            }
+
+            // Nested transaction is finished, but outer is still running
+            assertThat(testSubscriber.getOnNextEvents()).hasSize(0);
+
+            storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance("table3"));
+            storIOSQLite.lowLevel().setTransactionSuccessful();
+        } finally {
+            storIOSQLite.lowLevel().endTransaction();
+        }
+
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertReceivedOnNext(singletonList(
+                Changes.newInstance(new HashSet<String>(asList("table1", "table2", "table3")))
+        ));
+    }
+
+    @Test
+    public void shouldNotReceiveNotificationIfTransactionWasRolledBack() {
+        final String table = "test_table";
+
+        final TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        storIOSQLite
+                .observeChangesInTable(table)
+                .subscribe(testSubscriber);
+
+        storIOSQLite.lowLevel().beginTransaction();
+
+        try {
+            storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance(table));
+        } finally {
+            // Not marked as successful -> rollback
+            storIOSQLite.lowLevel().endTransaction();
+        }
+
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertNoValues();
+
+        // Next change outside of transaction should be delivered normally
+        storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance(table));
+        testSubscriber.assertReceivedOnNext(singletonList(Changes.newInstance(table)));
+    }
+
+    @Test
+    public void shouldNotReceiveNotificationIfNestedTransactionFailed() {
+        final String table = "test_table";
+
+        final TestSubscriber<Changes> testSubscriber = new TestSubscriber<Changes>();
+
+        storIOSQLite
+                .observeChangesInTable(table)
+                .subscribe(testSubscriber);
+
+        storIOSQLite.lowLevel().beginTransaction();
+
+        try {
+            storIOSQLite.lowLevel().beginTransaction();
+
+            try {
+                storIOSQLite.lowLevel().notifyAboutChanges(Changes.newInstance(table));
+            } finally {
+                // Not marked as successful -> whole transaction will be rolled back
+                storIOSQLite.lowLevel().endTransaction();
+            }
+
+            storIOSQLite.lowLevel().setTransactionSuccessful();
+        } finally {
+            storIOSQLite.lowLevel().endTransaction();
+        }
+
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertNoValues();
+    }
+
+    @Test
+    public void transactionShouldNotDelayChangesFromOtherThreads() throws InterruptedException {
         final String table = "test_table";
         final int numberOfThreads = 100;
 
@@ -185,14 +285,25 @@ public class NotifyAboutChangesTest extends BaseTest {
 
         assertThat(allThreadsFinishedLock.await(20, SECONDS)).isTrue();
 
-        // While we in transaction, no changes should be sent
-        assertThat(testSubscriber.getOnNextEvents()).hasSize(0);
+        // Other threads are not in transaction, their changes should be sent immediately
+        assertThat(testSubscriber.getOnNextEvents()).hasSize(numberOfThreads);
+
+        storIOSQLite
+                .lowLevel()
+                .notifyAboutChanges(Changes.newInstance(table));
+
+        // But changes of the thread with transaction should wait for it
+        assertThat(testSubscriber.getOnNextEvents()).hasSize(numberOfThreads);
+
+        storIOSQLite
+                .lowLevel()
+                .setTransactionSuccessful();
 
         storIOSQLite
                 .lowLevel()
                 .endTransaction();
 
         testSubscriber.assertNoErrors();
-        testSubscriber.assertReceivedOnNext(singletonList(Changes.newInstance(table)));
+        assertThat(testSubscriber.getOnNextEvents()).hasSize(numberOfThreads + 1);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package com.pushtorefresh.storio.sqlite.integration;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.impl.DefaultStorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.get.GetResolver;
+import com.pushtorefresh.storio.sqlite.operations.internal.InternalComponents;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+import com.pushtorefresh.storio.sqlite.queries.RawQuery;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ObservableQueryRegistryTest extends BaseTest {
+
+    @NonNull
+    private final AtomicInteger numberOfQueries = new AtomicInteger();
+
+    @NonNull
+    private final GetResolver<User> countingGetResolver = new GetResolver<User>() {
+        @NonNull
+        @Override
+        public User mapFromCursor(@NonNull Cursor cursor) {
+            return UserTableMeta.GET_RESOLVER.mapFromCursor(cursor);
+        }
+
+        @NonNull
+        @Override
+        public Cursor performGet(@NonNull StorIOSQLite storIOSQLite, @NonNull RawQuery rawQuery) {
+            numberOfQueries.incrementAndGet();
+            return UserTableMeta.GET_RESOLVER.performGet(storIOSQLite, rawQuery);
+        }
+
+        @NonNull
+        @Override
+        public Cursor performGet(@NonNull StorIOSQLite storIOSQLite, @NonNull Query query) {
+            numberOfQueries.incrementAndGet();
+            return UserTableMeta.GET_RESOLVER.performGet(storIOSQLite, query);
+        }
+    };
+
+    @NonNull
+    private StorIOSQLite sharingStorIOSQLite;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        sharingStorIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .addTypeMapping(User.class, SQLiteTypeMapping.<User>builder()
+                        .putResolver(UserTableMeta.PUT_RESOLVER)
+                        .getResolver(countingGetResolver)
+                        .deleteResolver(UserTableMeta.DELETE_RESOLVER)
+                        .build())
+                // Synchronous execution of queries
+                .defaultScheduler(null)
+                .shareObservableQueries(true)
+                .build();
+    }
+
+    @NonNull
+    private Observable<List<User>> observeAllUsers() {
+        return sharingStorIOSQLite
+                .get()
+                .listOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .prepare()
+                .asRxObservable();
+    }
+
+    @Test
+    public void subscribersOfEqualQueriesShouldShareExecutions() {
+        final TestSubscriber<List<User>> firstTestSubscriber = new TestSubscriber<List<User>>();
+        final TestSubscriber<List<User>> secondTestSubscriber = new TestSubscriber<List<User>>();
+
+        observeAllUsers().subscribe(firstTestSubscriber);
+        observeAllUsers().subscribe(secondTestSubscriber);
+
+        assertThat(numberOfQueries.get()).isEqualTo(1);
+        assertThat(InternalComponents.of(sharingStorIOSQLite).observableQueryRegistry().size()).isEqualTo(1);
+
+        sharingStorIOSQLite
+                .put()
+                .object(TestFactory.newUser())
+                .prepare()
+                .executeAsBlocking();
+
+        // One query per change for both subscribers
+        assertThat(numberOfQueries.get()).isEqualTo(2);
+
+        firstTestSubscriber.assertValueCount(2);
+        secondTestSubscriber.assertValueCount(2);
+        assertThat(secondTestSubscriber.getOnNextEvents().get(1)).hasSize(1);
+        assertThat(firstTestSubscriber.getOnNextEvents().get(1)).isSameAs(secondTestSubscriber.getOnNextEvents().get(1));
+    }
+
+    @Test
+    public void lateSubscriberShouldReceiveLatestResultWithoutQuery() {
+        putUsersBlocking(2);
+
+        final TestSubscriber<List<User>> firstTestSubscriber = new TestSubscriber<List<User>>();
+        observeAllUsers().subscribe(firstTestSubscriber);
+
+        final TestSubscriber<List<User>> lateTestSubscriber = new TestSubscriber<List<User>>();
+        observeAllUsers().subscribe(lateTestSubscriber);
+
+        assertThat(numberOfQueries.get()).isEqualTo(1);
+        lateTestSubscriber.assertValue(firstTestSubscriber.getOnNextEvents().get(0));
+        assertThat(lateTestSubscriber.getOnNextEvents().get(0)).hasSize(2);
+    }
+
+    @Test
+    public void queryShouldBeExecutedAgainAfterLastSubscriberUnsubscribed() {
+        final TestSubscriber<List<User>> testSubscriber = new TestSubscriber<List<User>>();
+        observeAllUsers().subscribe(testSubscriber);
+
+        testSubscriber.unsubscribe();
+        assertThat(InternalComponents.of(sharingStorIOSQLite).observableQueryRegistry().size()).isEqualTo(0);
+
+        final TestSubscriber<List<User>> newTestSubscriber = new TestSubscriber<List<User>>();
+        observeAllUsers().subscribe(newTestSubscriber);
+
+        assertThat(numberOfQueries.get()).isEqualTo(2);
+        newTestSubscriber.assertValueCount(1);
+    }
+
+    @Test
+    public void differentQueriesShouldNotBeShared() {
+        observeAllUsers().subscribe(new TestSubscriber<List<User>>());
+
+        sharingStorIOSQLite
+                .get()
+                .numberOfResults()
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .prepare()
+                .asRxObservable()
+                .subscribe(new TestSubscriber<Integer>());
+
+        assertThat(InternalComponents.of(sharingStorIOSQLite).observableQueryRegistry().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void observableQueriesShouldNotBeSharedByDefault() {
+        final StorIOSQLite storIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .build();
+
+        assertThat(InternalComponents.of(storIOSQLite).observableQueryRegistry()).isNull();
+    }
+}
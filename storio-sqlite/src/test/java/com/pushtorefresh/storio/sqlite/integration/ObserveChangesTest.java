@@ -12,13 +12,17 @@ import org.robolectric.RobolectricGradleTestRunner;
 import org.robolectric.annotation.Config;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 
 import rx.Subscription;
 import rx.functions.Action1;
 
+import static java.util.Collections.singleton;
+
 @RunWith(RobolectricGradleTestRunner.class)
 @Config(constants = BuildConfig.class, sdk = 21)
 public class ObserveChangesTest extends BaseTest {
@@ -43,12 +47,35 @@ public class ObserveChangesTest extends BaseTest {
         }
     }
 
+    @NonNull
+    private static Changes changesOfUsers(@NonNull Changes.OperationType operationType, @NonNull Set<String> ids) {
+        return Changes.newInstance(singleton(UserTableMeta.TABLE), operationType, UserTableMeta.COLUMN_ID, ids);
+    }
+
+    @NonNull
+    private static Set<String> idsOf(@NonNull List<User> users) {
+        final Set<String> ids = new HashSet<String>(users.size());
+
+        for (User user : users) {
+            ids.add(String.valueOf(user.id()));
+        }
+
+        return ids;
+    }
+
     @Test
     public void insertEmission() {
         final List<User> users = TestFactory.newUsers(10);
 
+        final Set<String> insertedIds = new HashSet<String>();
+
+        // Ids are generated by the db
+        for (int id = 1; id <= users.size(); id++) {
+            insertedIds.add(String.valueOf(id));
+        }
+
         final Queue<Changes> expectedChanges = new LinkedList<Changes>();
-        expectedChanges.add(Changes.newInstance(UserTableMeta.TABLE));
+        expectedChanges.add(changesOfUsers(Changes.OperationType.INSERT, insertedIds));
 
         final EmissionChecker emissionChecker = new EmissionChecker(expectedChanges);
         final Subscription subscription = emissionChecker.subscribe();
@@ -73,7 +100,7 @@ public class ObserveChangesTest extends BaseTest {
         }
 
         final Queue<Changes> expectedChanges = new LinkedList<Changes>();
-        expectedChanges.add(Changes.newInstance(UserTableMeta.TABLE));
+        expectedChanges.add(changesOfUsers(Changes.OperationType.UPDATE, idsOf(users)));
 
         final EmissionChecker emissionChecker = new EmissionChecker(expectedChanges);
         final Subscription subscription = emissionChecker.subscribe();
@@ -97,7 +124,7 @@ public class ObserveChangesTest extends BaseTest {
         final List<User> users = putUsersBlocking(10);
 
         final Queue<Changes> expectedChanges = new LinkedList<Changes>();
-        expectedChanges.add(Changes.newInstance(UserTableMeta.TABLE));
+        expectedChanges.add(changesOfUsers(Changes.OperationType.DELETE, idsOf(users)));
 
         final EmissionChecker emissionChecker = new EmissionChecker(expectedChanges);
         final Subscription subscription = emissionChecker.subscribe();
@@ -0,0 +1,201 @@
+package com.pushtorefresh.storio.sqlite.integration;
+
+import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.operations.get.PreparedGetPagedListOfObjects;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.fail;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PagedQueryTest extends BaseTest {
+
+    @Test
+    public void shouldLoadAllPages() {
+        final List<User> users = putUsersBlocking(7);
+
+        final PreparedGetPagedListOfObjects<User> preparedGet = storIOSQLite
+                .get()
+                .pagedListOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .sortKey(UserTableMeta.COLUMN_ID)
+                .pageSize(3)
+                .prepare();
+
+        final PreparedGetPagedListOfObjects.Page<User> page1 = preparedGet.executeAsBlocking();
+        assertThat(page1.items()).isEqualTo(users.subList(0, 3));
+        assertThat(page1.hasMore()).isTrue();
+
+        final PreparedGetPagedListOfObjects.Page<User> page2 = preparedGet.executeAsBlocking(page1);
+        assertThat(page2.items()).isEqualTo(users.subList(3, 6));
+        assertThat(page2.hasMore()).isTrue();
+
+        final PreparedGetPagedListOfObjects.Page<User> page3 = preparedGet.executeAsBlocking(page2);
+        assertThat(page3.items()).isEqualTo(users.subList(6, 7));
+        assertThat(page3.hasMore()).isFalse();
+
+        assertThat(preparedGet.executeAsBlocking(page3).items()).isEmpty();
+    }
+
+    @Test
+    public void shouldLoadPagesInDescendingOrderWithWhere() {
+        final List<User> users = putUsersBlocking(6);
+
+        final PreparedGetPagedListOfObjects<User> preparedGet = storIOSQLite
+                .get()
+                .pagedListOfObjects(User.class)
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .where(UserTableMeta.COLUMN_EMAIL + "!=?")
+                        .whereArgs(users.get(4).email())
+                        .build())
+                .sortKey(UserTableMeta.COLUMN_ID)
+                .descending(true)
+                .pageSize(2)
+                .prepare();
+
+        final List<User> expected = new ArrayList<User>(users);
+        expected.remove(4);
+        Collections.reverse(expected);
+
+        final List<User> actual = new ArrayList<User>();
+
+        PreparedGetPagedListOfObjects.Page<User> page = preparedGet.executeAsBlocking();
+        actual.addAll(page.items());
+
+        while (page.hasMore()) {
+            page = preparedGet.executeAsBlocking(page);
+            actual.addAll(page.items());
+        }
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldUseRowIdAsDefaultSortKey() {
+        final List<User> users = putUsersBlocking(3);
+
+        final PreparedGetPagedListOfObjects.Page<User> page = storIOSQLite
+                .get()
+                .pagedListOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(page.items()).isEqualTo(users);
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @Test
+    public void observableShouldLoadNextPagesAndReloadOnlyLoadedRange() {
+        final List<User> users = putUsersBlocking(6);
+
+        final PublishSubject<Void> loadNextPage = PublishSubject.create();
+        final TestSubscriber<List<User>> testSubscriber = new TestSubscriber<List<User>>();
+
+        storIOSQLite
+                .get()
+                .pagedListOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .sortKey(UserTableMeta.COLUMN_ID)
+                .pageSize(2)
+                .prepare()
+                .asRxObservable(loadNextPage)
+                .subscribe(testSubscriber);
+
+        awaitValueCount(testSubscriber, 1);
+        assertThat(testSubscriber.getOnNextEvents().get(0)).isEqualTo(users.subList(0, 2));
+
+        loadNextPage.onNext(null);
+
+        awaitValueCount(testSubscriber, 2);
+        assertThat(testSubscriber.getOnNextEvents().get(1)).isEqualTo(users.subList(0, 4));
+
+        // Change of not loaded row
+        final User updatedUser = User.newInstance(users.get(5).id(), "updated@example.com");
+        storIOSQLite
+                .put()
+                .object(updatedUser)
+                .prepare()
+                .executeAsBlocking();
+
+        awaitValueCount(testSubscriber, 3);
+        // Only loaded range should be emitted
+        assertThat(testSubscriber.getOnNextEvents().get(2)).isEqualTo(users.subList(0, 4));
+
+        loadNextPage.onNext(null);
+
+        awaitValueCount(testSubscriber, 4);
+
+        final List<User> expected = new ArrayList<User>(users.subList(0, 5));
+        expected.add(updatedUser);
+        assertThat(testSubscriber.getOnNextEvents().get(3)).isEqualTo(expected);
+
+        testSubscriber.assertNoErrors();
+        testSubscriber.unsubscribe();
+    }
+
+    @Test
+    public void observableShouldLoadNewRowsAfterLastPage() {
+        final List<User> users = putUsersBlocking(1);
+
+        final TestSubscriber<List<User>> testSubscriber = new TestSubscriber<List<User>>();
+
+        storIOSQLite
+                .get()
+                .pagedListOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .sortKey(UserTableMeta.COLUMN_ID)
+                .pageSize(2)
+                .prepare()
+                .asRxObservable(PublishSubject.create())
+                .subscribe(testSubscriber);
+
+        awaitValueCount(testSubscriber, 1);
+        assertThat(testSubscriber.getOnNextEvents().get(0)).isEqualTo(users);
+
+        final List<User> newUsers = putUsersBlocking(3);
+
+        awaitValueCount(testSubscriber, 2);
+
+        // All pages were loaded, so one more page of new rows should be loaded
+        final List<User> expected = new ArrayList<User>(users);
+        expected.addAll(newUsers.subList(0, 2));
+        assertThat(testSubscriber.getOnNextEvents().get(1)).isEqualTo(expected);
+
+        testSubscriber.assertNoErrors();
+        testSubscriber.unsubscribe();
+    }
+
+    private static void awaitValueCount(TestSubscriber<?> testSubscriber, int count) {
+        final long deadline = System.currentTimeMillis() + SECONDS.toMillis(15);
+
+        while (testSubscriber.getOnNextEvents().size() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Expected " + count + " values, but received " + testSubscriber.getOnNextEvents());
+            }
+
+            testSubscriber.assertNoErrors();
+
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.pushtorefresh.storio.sqlite.integration;
+
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.Changes;
+import com.pushtorefresh.storio.sqlite.SQLiteTypeMapping;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.impl.DefaultStorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.internal.InternalComponents;
+import com.pushtorefresh.storio.sqlite.queries.RawQuery;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class QueryResultCacheTest extends BaseTest {
+
+    @NonNull
+    private StorIOSQLite cachingStorIOSQLite;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        cachingStorIOSQLite = DefaultStorIOSQLite.builder()
+                .sqliteOpenHelper(sqLiteOpenHelper)
+                .addTypeMapping(User.class, SQLiteTypeMapping.<User>builder()
+                        .putResolver(UserTableMeta.PUT_RESOLVER)
+                        .getResolver(UserTableMeta.GET_RESOLVER)
+                        .deleteResolver(UserTableMeta.DELETE_RESOLVER)
+                        .build())
+                .queryResultCacheSize(100)
+                .build();
+    }
+
+    @NonNull
+    private List<User> getAllUsers() {
+        return cachingStorIOSQLite
+                .get()
+                .listOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .prepare()
+                .executeAsBlocking();
+    }
+
+    @Test
+    public void repeatedQueryShouldReturnCachedResult() {
+        putUsersBlocking(3);
+
+        final List<User> users = getAllUsers();
+
+        assertThat(users).hasSize(3);
+        assertThat(getAllUsers()).isSameAs(users);
+
+        final Integer numberOfResults = cachingStorIOSQLite
+                .get()
+                .numberOfResults()
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfResults).isEqualTo(3);
+    }
+
+    @Test
+    public void changesShouldInvalidateCachedResult() {
+        final User user = TestFactory.newUser();
+
+        assertThat(getAllUsers()).isEmpty();
+
+        cachingStorIOSQLite
+                .put()
+                .object(user)
+                .prepare()
+                .executeAsBlocking();
+
+        final List<User> users = getAllUsers();
+        assertThat(users).hasSize(1);
+
+        cachingStorIOSQLite
+                .delete()
+                .object(users.get(0))
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(getAllUsers()).isEmpty();
+    }
+
+    @Test
+    public void changesOfOtherTablesShouldNotInvalidateCachedResult() {
+        putUsersBlocking(2);
+
+        final List<User> users = getAllUsers();
+
+        cachingStorIOSQLite
+                .lowLevel()
+                .notifyAboutChanges(Changes.newInstance(TweetTableMeta.TABLE));
+
+        assertThat(getAllUsers()).isSameAs(users);
+    }
+
+    @Test
+    public void changesMadeWithoutNotificationShouldNotBeVisible() {
+        final List<User> users = getAllUsers();
+
+        // BaseTest's StorIOSQLite notifies only its own observers
+        putUsersBlocking(1);
+
+        assertThat(getAllUsers()).isSameAs(users);
+    }
+
+    @Test
+    public void rawQueryWithoutObservedTablesShouldNotBeCached() {
+        putUsersBlocking(1);
+
+        final RawQuery rawQuery = RawQuery.builder()
+                .query("SELECT * FROM " + UserTableMeta.TABLE)
+                .build();
+
+        final List<User> users = cachingStorIOSQLite
+                .get()
+                .listOfObjects(User.class)
+                .withQuery(rawQuery)
+                .prepare()
+                .executeAsBlocking();
+
+        final List<User> usersAgain = cachingStorIOSQLite
+                .get()
+                .listOfObjects(User.class)
+                .withQuery(rawQuery)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(usersAgain).isEqualTo(users).isNotSameAs(users);
+    }
+
+    @Test
+    public void queryInTransactionShouldNotUseCache() {
+        final List<User> users = getAllUsers();
+        assertThat(users).isEmpty();
+
+        final StorIOSQLite.LowLevel lowLevel = cachingStorIOSQLite.lowLevel();
+
+        lowLevel.beginTransaction();
+
+        try {
+            cachingStorIOSQLite
+                    .put()
+                    .object(TestFactory.newUser())
+                    .prepare()
+                    .executeAsBlocking();
+
+            assertThat(InternalComponents.of(cachingStorIOSQLite).queryResultCache()).isNull();
+
+            // Sees uncommitted changes of the transaction
+            assertThat(getAllUsers()).hasSize(1);
+        } finally {
+            // Rolled back
+            lowLevel.endTransaction();
+        }
+
+        assertThat(getAllUsers()).isSameAs(users);
+    }
+
+    @Test
+    public void negativeQueryResultCacheSizeShouldNotBeAccepted() {
+        try {
+            DefaultStorIOSQLite.builder()
+                    .sqliteOpenHelper(sqLiteOpenHelper)
+                    .queryResultCacheSize(-1);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("queryResultCacheSize must be >= 0, but was = -1");
+        }
+    }
+}
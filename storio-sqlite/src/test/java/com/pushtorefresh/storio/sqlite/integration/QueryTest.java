@@ -4,6 +4,7 @@ import android.database.Cursor;
 import android.support.annotation.NonNull;
 
 import com.pushtorefresh.storio.sqlite.BuildConfig;
+import com.pushtorefresh.storio.sqlite.operations.get.CursorIterator;
 import com.pushtorefresh.storio.sqlite.operations.get.DefaultGetResolver;
 import com.pushtorefresh.storio.sqlite.operations.get.GetResolver;
 import com.pushtorefresh.storio.sqlite.queries.Query;
@@ -444,6 +445,86 @@ public class QueryTest extends BaseTest {
         assertThat(numberOfResults).isEqualTo(8);
     }
 
+    @Test
+    public void getNumberOfResultsWithWhere() {
+        final List<User> users = putUsersBlocking(5);
+
+        final Integer numberOfResults = storIOSQLite
+                .get()
+                .numberOfResults()
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .where(UserTableMeta.COLUMN_EMAIL + "=?")
+                        .whereArgs(users.get(2).email())
+                        .build())
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfResults).isEqualTo(1);
+    }
+
+    @Test
+    public void getNumberOfResultsWithLimit() {
+        putUsersBlocking(8);
+
+        final Integer numberOfResults = storIOSQLite
+                .get()
+                .numberOfResults()
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .limit(6, 5)
+                        .build())
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfResults).isEqualTo(2);
+    }
+
+    @Test
+    public void getNumberOfResultsWithDistinct() {
+        putUsersBlocking(Arrays.asList(
+                User.newInstance(null, "1@example.com", "phone1"),
+                User.newInstance(null, "2@example.com", "phone1"),
+                User.newInstance(null, "3@example.com", "phone2")
+        ));
+
+        final Integer numberOfResults = storIOSQLite
+                .get()
+                .numberOfResults()
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .distinct(true)
+                        .columns(UserTableMeta.COLUMN_PHONE)
+                        .build())
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfResults).isEqualTo(2);
+    }
+
+    @Test
+    public void getNumberOfResultsWithGroupByAndHaving() {
+        putUsersBlocking(Arrays.asList(
+                User.newInstance(null, "1@example.com", "phone1"),
+                User.newInstance(null, "2@example.com", "phone1"),
+                User.newInstance(null, "3@example.com", "phone2")
+        ));
+
+        final Integer numberOfResults = storIOSQLite
+                .get()
+                .numberOfResults()
+                .withQuery(Query.builder()
+                        .table(UserTableMeta.TABLE)
+                        .columns(UserTableMeta.COLUMN_PHONE)
+                        .groupBy(UserTableMeta.COLUMN_PHONE)
+                        .having("COUNT(*) > 1")
+                        .build())
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfResults).isEqualTo(1);
+    }
+
     @Test
     public void queryOneExistedObject() {
         final List<User> users = putUsersBlocking(3);
@@ -481,4 +562,43 @@ public class QueryTest extends BaseTest {
 
         assertThat(userFromQuery).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void streamOfObjectsShouldIterateAllRows() {
+        final List<User> users = putUsersBlocking(5);
+
+        final CursorIterator<User> iterator = storIOSQLite
+                .get()
+                .streamOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .prepare()
+                .executeAsBlocking();
+
+        final List<User> usersFromStream = new ArrayList<User>();
+
+        while (iterator.hasNext()) {
+            usersFromStream.add(iterator.next());
+        }
+
+        assertThat(usersFromStream).isEqualTo(users);
+        assertThat(iterator.isClosed()).isTrue();
+    }
+
+    @Test
+    public void streamOfObjectsAsRxObservable() {
+        final List<User> users = putUsersBlocking(5);
+
+        final List<User> usersFromStream = storIOSQLite
+                .get()
+                .streamOfObjects(User.class)
+                .withQuery(UserTableMeta.QUERY_ALL)
+                .prepare()
+                .asRxObservable()
+                .take(3)
+                .toList()
+                .toBlocking()
+                .first();
+
+        assertThat(usersFromStream).isEqualTo(users.subList(0, 3));
+    }
+}
@@ -5,6 +5,7 @@ import android.support.annotation.NonNull;
 import com.pushtorefresh.storio.operations.PreparedOperation;
 import com.pushtorefresh.storio.operations.PreparedWriteOperation;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.operations.execute.PreparedExecuteSQL;
 
 import rx.schedulers.TestScheduler;
 
@@ -26,6 +27,7 @@ public class SchedulerChecker {
         this.storIOSQLite = storIOSQLite;
         scheduler = test();
         when(storIOSQLite.defaultScheduler()).thenReturn(scheduler);
+        when(storIOSQLite.writeScheduler()).thenReturn(scheduler);
     }
 
     @NonNull
@@ -51,7 +53,11 @@ public class SchedulerChecker {
     private void check(@NonNull PreparedOperation operation) {
         final PreparedOperation operationSpy = spy(operation);
 
-        verify(storIOSQLite).defaultScheduler();
+        if (operation instanceof PreparedWriteOperation || operation instanceof PreparedExecuteSQL) {
+            verify(storIOSQLite).writeScheduler();
+        } else {
+            verify(storIOSQLite).defaultScheduler();
+        }
 
         operationSpy.asRxObservable().subscribe();
 
@@ -1,15 +1,13 @@
 package com.pushtorefresh.storio.sqlite.operations.delete;
 
-import com.pushtorefresh.storio.test.ToStringChecker;
-
 import org.junit.Test;
 
 import java.util.HashMap;
 import java.util.Map;
 
-import nl.jqno.equalsverifier.EqualsVerifier;
-
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 public class DeleteResultsTest {
 
@@ -41,17 +39,92 @@ public class DeleteResultsTest {
     }
 
     @Test
-    public void verifyEqualsAndHashCodeImplementation() {
-        EqualsVerifier
-                .forClass(DeleteResults.class)
-                .allFieldsShouldBeUsed()
-                .verify();
+    public void resultsShouldBeAccessibleByIndex() {
+        final DeleteResults.Collector<String> collector = new DeleteResults.Collector<String>(3, true);
+        final DeleteResult sharedResult = DeleteResult.newInstance(2, "test_table");
+
+        collector.set(2, "third", DeleteResult.newInstance(0, "test_table"));
+        collector.countDeletedRows(DeleteResult.newInstance(0, "test_table"));
+        collector.set(0, "first", sharedResult);
+        collector.set(1, "second", sharedResult);
+        collector.countDeletedRows(sharedResult);
+
+        final DeleteResults<String> deleteResults = collector.build();
+
+        assertThat(deleteResults.size()).isEqualTo(3);
+        assertThat(deleteResults.hasResultsOfObjects()).isTrue();
+        assertThat(deleteResults.numberOfRowsDeleted()).isEqualTo(2);
+        assertThat(collector.changedTables()).containsOnly("test_table");
+
+        assertThat(deleteResults.objectAt(0)).isEqualTo("first");
+        assertThat(deleteResults.objectAt(2)).isEqualTo("third");
+        assertThat(deleteResults.numberOfRowsDeletedAt(1)).isEqualTo(2);
+        assertThat(deleteResults.resultAt(2)).isEqualTo(DeleteResult.newInstance(0, "test_table"));
+
+        assertThat(deleteResults.wasDeleted("second")).isTrue();
+        assertThat(deleteResults.wasDeleted("third")).isFalse();
     }
 
     @Test
-    public void checkToStringImplementation() {
-        ToStringChecker
-                .forClass(DeleteResults.class)
-                .check();
+    public void resultsWithoutResultsOfObjectsShouldKeepOnlyCounters() {
+        final DeleteResults.Collector<String> collector = new DeleteResults.Collector<String>(2, false);
+
+        collector.set(0, "first", DeleteResult.newInstance(1, "test_table"));
+        collector.countDeletedRows(DeleteResult.newInstance(1, "test_table"));
+
+        final DeleteResults<String> deleteResults = collector.build();
+
+        assertThat(deleteResults.hasResultsOfObjects()).isFalse();
+        assertThat(deleteResults.size()).isEqualTo(2);
+        assertThat(deleteResults.numberOfRowsDeleted()).isEqualTo(1);
+        assertThat(deleteResults.toString()).isEqualTo("DeleteResults{size=2, numberOfRowsDeleted=1}");
+
+        try {
+            deleteResults.wasDeleted("first");
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("Results of objects were not kept, please use keepResultsOfObjects(true)");
+        }
+    }
+
+    @Test
+    public void indexShouldBeChecked() {
+        final DeleteResults<String> deleteResults = DeleteResults.newInstance(
+                singletonMap("first", DeleteResult.newInstance(1, "test_table"))
+        );
+
+        try {
+            deleteResults.objectAt(1);
+            failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+        } catch (IndexOutOfBoundsException expected) {
+            assertThat(expected).hasMessage("index = 1, size = 1");
+        }
+    }
+
+    @Test
+    public void equalsAndHashCodeShouldCompareResults() {
+        final Map<String, DeleteResult> map = new HashMap<String, DeleteResult>();
+        map.put("first", DeleteResult.newInstance(1, "test_table"));
+        map.put("second", DeleteResult.newInstance(0, "test_table"));
+
+        final DeleteResults.Collector<String> collector = new DeleteResults.Collector<String>(2, true);
+        collector.set(0, "second", DeleteResult.newInstance(0, "test_table"));
+        collector.set(1, "first", DeleteResult.newInstance(1, "test_table"));
+
+        final DeleteResults<String> fromMap = DeleteResults.newInstance(map);
+        final DeleteResults<String> fromCollector = collector.build();
+
+        assertThat(fromMap).isEqualTo(fromCollector);
+        assertThat(fromMap.hashCode()).isEqualTo(fromCollector.hashCode());
+        assertThat(fromMap).isNotEqualTo(DeleteResults.newInstance(singletonMap("first", DeleteResult.newInstance(1, "test_table"))));
+    }
+
+    @Test
+    public void toStringShouldContainResults() {
+        final DeleteResults<String> deleteResults = DeleteResults.newInstance(
+                singletonMap("first", DeleteResult.newInstance(1, "test_table"))
+        );
+
+        assertThat(deleteResults.toString()).isEqualTo("DeleteResults{results=" + deleteResults.results() + "}");
     }
 }
@@ -18,6 +18,7 @@ import rx.Observable;
 import rx.Single;
 import rx.functions.Action1;
 
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -31,6 +32,11 @@ import static org.mockito.Mockito.when;
 @SuppressWarnings("unchecked")
 class DeleteStub {
 
+    // Resolvers of stub are not DefaultDeleteResolver, so keys of rows are unknown
+    @NonNull
+    private static final Changes DELETE_CHANGES
+            = Changes.newInstance(singleton(TestItem.TABLE), Changes.OperationType.DELETE, null, null);
+
     @NonNull
     final StorIOSQLite storIOSQLite;
 
@@ -182,7 +188,7 @@ class DeleteStub {
                 .testAction(new Action1<DeleteResults<TestItem>>() {
                     @Override
                     public void call(DeleteResults<TestItem> deleteResults) {
-                        verify(storIOSQLite).defaultScheduler();
+                        verify(storIOSQLite).writeScheduler();
                         verifyBehaviorForMultipleObjects(deleteResults);
                     }
                 })
@@ -196,7 +202,7 @@ class DeleteStub {
                 .testAction(new Action1<DeleteResults<TestItem>>() {
                     @Override
                     public void call(DeleteResults<TestItem> deleteResults) {
-                        verify(storIOSQLite).defaultScheduler();
+                        verify(storIOSQLite).writeScheduler();
                         verifyBehaviorForMultipleObjects(deleteResults);
                     }
                 })
@@ -218,7 +224,7 @@ class DeleteStub {
                 .testAction(new Action1<DeleteResult>() {
                     @Override
                     public void call(DeleteResult deleteResult) {
-                        verify(storIOSQLite).defaultScheduler();
+                        verify(storIOSQLite).writeScheduler();
                         verifyBehaviorForOneObject(deleteResult);
                     }
                 })
@@ -236,7 +242,7 @@ class DeleteStub {
                 .testAction(new Action1<DeleteResult>() {
                     @Override
                     public void call(DeleteResult deleteResult) {
-                        verify(storIOSQLite).defaultScheduler();
+                        verify(storIOSQLite).writeScheduler();
                         verifyBehaviorForOneObject(deleteResult);
                     }
                 })
@@ -251,7 +257,7 @@ class DeleteStub {
 
             // No more than one notification should be thrown
             verify(internal, times(Math.min(1, itemsWillBeDeleted.size())))
-                    .notifyAboutChanges(eq(Changes.newInstance(TestItem.TABLE)));
+                    .notifyAboutChanges(eq(DELETE_CHANGES));
         } else {
             verify(internal, never()).beginTransaction();
             verify(internal, never()).setTransactionSuccessful();
@@ -259,7 +265,7 @@ class DeleteStub {
 
             // Each delete should trigger notification
             verify(internal, times(itemsWillBeDeleted.size()))
-                    .notifyAboutChanges(eq(Changes.newInstance(TestItem.TABLE)));
+                    .notifyAboutChanges(eq(DELETE_CHANGES));
         }
     }
 }
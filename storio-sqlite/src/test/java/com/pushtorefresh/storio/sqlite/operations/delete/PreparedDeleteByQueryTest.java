@@ -88,7 +88,7 @@ public class PreparedDeleteByQueryTest {
         testSubscriber.assertNoErrors();
         testSubscriber.assertValue(stub.expectedDeleteResult);
 
-        verify(stub.storIOSQLite).defaultScheduler();
+        verify(stub.storIOSQLite).writeScheduler();
         stub.verifyBehaviour();
     }
 
@@ -108,7 +108,7 @@ public class PreparedDeleteByQueryTest {
         testSubscriber.assertNoErrors();
         testSubscriber.assertValue(stub.expectedDeleteResult);
 
-        verify(stub.storIOSQLite).defaultScheduler();
+        verify(stub.storIOSQLite).writeScheduler();
         stub.verifyBehaviour();
     }
 
@@ -128,7 +128,7 @@ public class PreparedDeleteByQueryTest {
         testSubscriber.assertNoErrors();
         testSubscriber.assertNoValues();
 
-        verify(stub.storIOSQLite).defaultScheduler();
+        verify(stub.storIOSQLite).writeScheduler();
         stub.verifyBehaviour();
     }
 
@@ -193,7 +193,7 @@ public class PreparedDeleteByQueryTest {
         assertThat(cause).hasMessage("test exception");
 
         verify(deleteResolver).performDelete(same(storIOSQLite), any(DeleteQuery.class));
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verifyNoMoreInteractions(storIOSQLite, internal, deleteResolver);
     }
 
@@ -229,7 +229,7 @@ public class PreparedDeleteByQueryTest {
         assertThat(cause).hasMessage("test exception");
 
         verify(deleteResolver).performDelete(same(storIOSQLite), any(DeleteQuery.class));
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verifyNoMoreInteractions(storIOSQLite, internal, deleteResolver);
     }
 
@@ -264,7 +264,7 @@ public class PreparedDeleteByQueryTest {
         IllegalStateException cause = (IllegalStateException) expected.getCause();
         assertThat(cause).hasMessage("test exception");
 
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verify(deleteResolver).performDelete(same(storIOSQLite), any(DeleteQuery.class));
         verifyNoMoreInteractions(storIOSQLite, internal, deleteResolver);
     }
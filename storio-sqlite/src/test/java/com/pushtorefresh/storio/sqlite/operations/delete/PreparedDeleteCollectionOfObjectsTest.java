@@ -1,6 +1,11 @@
 package com.pushtorefresh.storio.sqlite.operations.delete;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.pushtorefresh.storio.Queries;
 import com.pushtorefresh.storio.StorIOException;
+import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 import com.pushtorefresh.storio.sqlite.operations.SchedulerChecker;
 import com.pushtorefresh.storio.sqlite.queries.DeleteQuery;
@@ -8,7 +13,10 @@ import com.pushtorefresh.storio.sqlite.queries.DeleteQuery;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import rx.Completable;
@@ -17,6 +25,7 @@ import rx.Single;
 import rx.observers.TestSubscriber;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
@@ -25,6 +34,7 @@ import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -411,7 +421,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
 
             verify(storIOSQLite).delete();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).delete(any(DeleteQuery.class));
             verifyNoMoreInteractions(storIOSQLite, internal);
@@ -446,7 +456,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
 
             verify(storIOSQLite).delete();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).delete(any(DeleteQuery.class));
             verifyNoMoreInteractions(storIOSQLite, internal);
@@ -481,7 +491,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
 
             verify(storIOSQLite).delete();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).delete(any(DeleteQuery.class));
             verifyNoMoreInteractions(storIOSQLite, internal);
@@ -548,7 +558,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
 
             verify(storIOSQLite).delete();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).delete(any(DeleteQuery.class));
             verifyNoMoreInteractions(storIOSQLite, internal);
@@ -583,7 +593,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
 
             verify(storIOSQLite).delete();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).delete(any(DeleteQuery.class));
             verifyNoMoreInteractions(storIOSQLite, internal);
@@ -618,7 +628,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
 
             verify(storIOSQLite).delete();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).delete(any(DeleteQuery.class));
             verifyNoMoreInteractions(storIOSQLite, internal);
@@ -699,7 +709,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
             verify(internal).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(deleteResolver).performDelete(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, deleteResolver);
         }
@@ -741,7 +751,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
             verify(internal).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(deleteResolver).performDelete(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, deleteResolver);
         }
@@ -783,7 +793,7 @@ public class PreparedDeleteCollectionOfObjectsTest {
             verify(internal).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(deleteResolver).performDelete(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, deleteResolver);
         }
@@ -833,4 +843,154 @@ public class PreparedDeleteCollectionOfObjectsTest {
             schedulerChecker.checkAsCompletable(operation);
         }
     }
+
+    public static class BatchDelete {
+
+        @NonNull
+        private static DefaultDeleteResolver<TestItem> keyDeleteResolver(@NonNull final List<TestItem> items) {
+            return new DefaultDeleteResolver<TestItem>() {
+                @NonNull
+                @Override
+                protected DeleteQuery mapToDeleteQuery(@NonNull TestItem object) {
+                    return DeleteQuery.builder()
+                            .table(TestItem.TABLE)
+                            .where("_id = ?")
+                            .whereArgs(mapToKey(object))
+                            .build();
+                }
+
+                @NonNull
+                @Override
+                protected String table() {
+                    return TestItem.TABLE;
+                }
+
+                @NonNull
+                @Override
+                protected String keyColumn() {
+                    return "_id";
+                }
+
+                @Nullable
+                @Override
+                protected Object mapToKey(@NonNull TestItem object) {
+                    final int index = items.indexOf(object);
+                    // Every 10th object can not be deleted by key
+                    return index % 10 == 9 ? null : (long) index;
+                }
+            };
+        }
+
+        @Test
+        public void shouldDeleteObjectsInChunksLimitedByNumberOfHostParameters() {
+            final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+            final StorIOSQLite.Internal internal = mock(StorIOSQLite.Internal.class);
+
+            when(storIOSQLite.lowLevel()).thenReturn(internal);
+            when(internal.delete(any(DeleteQuery.class))).thenReturn(1);
+
+            final List<TestItem> items = new ArrayList<TestItem>();
+
+            for (int i = 0; i < 1200; i++) {
+                items.add(TestItem.newInstance());
+            }
+
+            final DeleteResults<TestItem> deleteResults = new PreparedDeleteCollectionOfObjects.Builder<TestItem>(storIOSQLite, items)
+                    .useBatchDelete(true)
+                    .withDeleteResolver(keyDeleteResolver(items))
+                    .prepare()
+                    .executeAsBlocking();
+
+            final ArgumentCaptor<DeleteQuery> deleteQueryCaptor = ArgumentCaptor.forClass(DeleteQuery.class);
+
+            // 120 objects without key one by one + 1080 objects in 2 chunks
+            verify(internal, times(122)).delete(deleteQueryCaptor.capture());
+
+            final List<DeleteQuery> chunkQueries = new ArrayList<DeleteQuery>();
+
+            for (DeleteQuery deleteQuery : deleteQueryCaptor.getAllValues()) {
+                if (deleteQuery.where().startsWith("_id IN (")) {
+                    chunkQueries.add(deleteQuery);
+                }
+            }
+
+            assertThat(chunkQueries).hasSize(2);
+            assertThat(chunkQueries.get(0).whereArgs()).hasSize(999);
+            assertThat(chunkQueries.get(0).whereArgs().get(0)).isEqualTo("0");
+            assertThat(chunkQueries.get(1).whereArgs()).hasSize(81);
+            assertThat(chunkQueries.get(1).where()).isEqualTo("_id IN (" + Queries.placeholders(81) + ")");
+
+            assertThat(deleteResults.results()).hasSize(items.size());
+            assertThat(deleteResults.results().get(items.get(0))).isEqualTo(deleteResults.results().get(items.get(1)));
+
+            // results are kept in order of objects
+            assertThat(deleteResults.size()).isEqualTo(items.size());
+            assertThat(deleteResults.objectAt(9)).isSameAs(items.get(9));
+            assertThat(deleteResults.numberOfRowsDeletedAt(9)).isEqualTo(1);
+            assertThat(deleteResults.objectAt(1199)).isSameAs(items.get(1199));
+            assertThat(deleteResults.numberOfRowsDeleted()).isEqualTo(122);
+
+            verify(internal).beginTransaction();
+            verify(internal).setTransactionSuccessful();
+            verify(internal).endTransaction();
+
+            final ArgumentCaptor<Changes> changesCaptor = ArgumentCaptor.forClass(Changes.class);
+            verify(internal).notifyAboutChanges(changesCaptor.capture());
+
+            // One notification about keys of chunks and keys of objects deleted one by one
+            final Changes changes = changesCaptor.getValue();
+            assertThat(changes.affectedTables()).containsOnly(TestItem.TABLE);
+            assertThat(changes.operationType()).isEqualTo(Changes.OperationType.DELETE);
+            assertThat(changes.keyColumn()).isEqualTo("_id");
+            assertThat(changes.affectedKeys()).hasSize(1081).contains("0", "1198", "null");
+        }
+
+        @Test
+        public void shouldDeleteObjectsOneByOneIfDeleteResolverDoesNotSupportKeys() {
+            final DeleteStub deleteStub
+                    = DeleteStub.newStubForMultipleObjectsWithoutTypeMappingWithTransaction();
+
+            final DeleteResults<TestItem> deleteResults = deleteStub.storIOSQLite
+                    .delete()
+                    .objects(deleteStub.itemsRequestedForDelete)
+                    .useBatchDelete(true)
+                    .withDeleteResolver(deleteStub.deleteResolver)
+                    .prepare()
+                    .executeAsBlocking();
+
+            deleteStub.verifyBehaviorForMultipleObjects(deleteResults);
+        }
+
+        @Test
+        public void shouldNotifyAboutEachChunkWithoutTransaction() {
+            final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+            final StorIOSQLite.Internal internal = mock(StorIOSQLite.Internal.class);
+
+            when(storIOSQLite.lowLevel()).thenReturn(internal);
+            when(internal.delete(any(DeleteQuery.class))).thenReturn(3);
+
+            final List<TestItem> items = asList(TestItem.newInstance(), TestItem.newInstance(), TestItem.newInstance());
+
+            new PreparedDeleteCollectionOfObjects.Builder<TestItem>(storIOSQLite, items)
+                    .useTransaction(false)
+                    .useBatchDelete(true)
+                    .withDeleteResolver(keyDeleteResolver(items))
+                    .prepare()
+                    .executeAsBlocking();
+
+            verify(internal).delete(DeleteQuery.builder()
+                    .table(TestItem.TABLE)
+                    .where("_id IN (?,?,?)")
+                    .whereArgs(0L, 1L, 2L)
+                    .build());
+
+            verify(internal, never()).beginTransaction();
+            verify(internal).notifyAboutChanges(Changes.newInstance(
+                    singleton(TestItem.TABLE),
+                    Changes.OperationType.DELETE,
+                    "_id",
+                    new HashSet<String>(asList("0", "1", "2"))
+            ));
+        }
+    }
 }
@@ -36,7 +36,7 @@ public class PreparedExecuteSQLTest {
                 .prepare()
                 .executeAsBlocking();
 
-        verify(stub.storIOSQLite, never()).defaultScheduler();
+        verify(stub.storIOSQLite, never()).writeScheduler();
         stub.verifyBehavior();
     }
 
@@ -50,7 +50,7 @@ public class PreparedExecuteSQLTest {
                 .prepare()
                 .executeAsBlocking();
 
-        verify(stub.storIOSQLite, never()).defaultScheduler();
+        verify(stub.storIOSQLite, never()).writeScheduler();
         stub.verifyBehavior();
     }
 
@@ -64,7 +64,7 @@ public class PreparedExecuteSQLTest {
                 .prepare()
                 .asRxObservable();
 
-        verify(stub.storIOSQLite).defaultScheduler();
+        verify(stub.storIOSQLite).writeScheduler();
         stub.verifyBehavior(observable);
     }
 
@@ -78,7 +78,7 @@ public class PreparedExecuteSQLTest {
                 .prepare()
                 .asRxSingle();
 
-        verify(stub.storIOSQLite).defaultScheduler();
+        verify(stub.storIOSQLite).writeScheduler();
         stub.verifyBehavior(single);
     }
 
@@ -92,7 +92,7 @@ public class PreparedExecuteSQLTest {
                 .prepare()
                 .asRxSingle();
 
-        verify(stub.storIOSQLite).defaultScheduler();
+        verify(stub.storIOSQLite).writeScheduler();
         stub.verifyBehavior(single);
     }
 
@@ -106,7 +106,7 @@ public class PreparedExecuteSQLTest {
                 .prepare()
                 .asRxObservable();
 
-        verify(stub.storIOSQLite).defaultScheduler();
+        verify(stub.storIOSQLite).writeScheduler();
         stub.verifyBehavior(observable);
     }
 
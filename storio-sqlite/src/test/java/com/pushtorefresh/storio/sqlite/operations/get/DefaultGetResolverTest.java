@@ -90,6 +90,38 @@ public class DefaultGetResolverTest {
         assertThat(actualCursor).isSameAs(expectedCursor);
     }
 
+    @Test
+    public void columnIndicesShouldBeResolvedOncePerCursor() {
+        final String[] columns = {"column1", "column2"};
+
+        final Cursor cursor = mock(Cursor.class);
+        when(cursor.getColumnIndex("column1")).thenReturn(3);
+        when(cursor.getColumnIndex("column2")).thenReturn(5);
+
+        final DefaultGetResolver<TestItem> defaultGetResolver = new DefaultGetResolver<TestItem>() {
+            @NonNull
+            @Override
+            public TestItem mapFromCursor(@NonNull Cursor cursor) {
+                return mock(TestItem.class);
+            }
+        };
+
+        assertThat(defaultGetResolver.columnIndices(cursor, columns)).containsExactly(3, 5);
+        assertThat(defaultGetResolver.columnIndices(cursor, columns)).containsExactly(3, 5);
+
+        verify(cursor, times(1)).getColumnIndex("column1");
+        verify(cursor, times(1)).getColumnIndex("column2");
+
+        // another cursor can have different order of the columns
+        final Cursor anotherCursor = mock(Cursor.class);
+        when(anotherCursor.getColumnIndex("column1")).thenReturn(1);
+        when(anotherCursor.getColumnIndex("column2")).thenReturn(0);
+
+        assertThat(defaultGetResolver.columnIndices(anotherCursor, columns)).containsExactly(1, 0);
+        verify(anotherCursor, times(1)).getColumnIndex("column1");
+        verify(anotherCursor, times(1)).getColumnIndex("column2");
+    }
+
     private static class TestItem {
 
     }
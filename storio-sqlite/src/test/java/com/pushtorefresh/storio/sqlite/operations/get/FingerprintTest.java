@@ -0,0 +1,83 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FingerprintTest {
+
+    @NonNull
+    private static Cursor rowWithString(@NonNull String string) {
+        final Cursor cursor = mock(Cursor.class);
+
+        when(cursor.getColumnCount()).thenReturn(1);
+        when(cursor.getType(0)).thenReturn(Cursor.FIELD_TYPE_STRING);
+        when(cursor.getString(0)).thenReturn(string);
+
+        return cursor;
+    }
+
+    @NonNull
+    private static Cursor rowWithLong(long value) {
+        final Cursor cursor = mock(Cursor.class);
+
+        when(cursor.getColumnCount()).thenReturn(1);
+        when(cursor.getType(0)).thenReturn(Cursor.FIELD_TYPE_INTEGER);
+        when(cursor.getLong(0)).thenReturn(value);
+
+        return cursor;
+    }
+
+    private static long fingerprintOf(@NonNull Cursor... rows) {
+        final Fingerprint fingerprint = new Fingerprint();
+        fingerprint.addCount(rows.length);
+
+        for (Cursor row : rows) {
+            fingerprint.addRow(row);
+        }
+
+        return fingerprint.value();
+    }
+
+    @Test
+    public void sameRowsShouldHaveSameFingerprint() {
+        assertThat(fingerprintOf(rowWithString("a"), rowWithLong(1)))
+                .isEqualTo(fingerprintOf(rowWithString("a"), rowWithLong(1)));
+    }
+
+    @Test
+    public void differentValuesShouldHaveDifferentFingerprints() {
+        assertThat(fingerprintOf(rowWithLong(1))).isNotEqualTo(fingerprintOf(rowWithLong(2)));
+
+        // Equal String.hashCode()
+        assertThat(fingerprintOf(rowWithString("Aa"))).isNotEqualTo(fingerprintOf(rowWithString("BB")));
+    }
+
+    @Test
+    public void orderOfRowsShouldAffectFingerprint() {
+        assertThat(fingerprintOf(rowWithLong(1), rowWithLong(2)))
+                .isNotEqualTo(fingerprintOf(rowWithLong(2), rowWithLong(1)));
+    }
+
+    @Test
+    public void nullShouldDifferFromZeroAndEmptyString() {
+        final Cursor nullRow = mock(Cursor.class);
+        when(nullRow.getColumnCount()).thenReturn(1);
+        when(nullRow.getType(0)).thenReturn(Cursor.FIELD_TYPE_NULL);
+
+        assertThat(fingerprintOf(nullRow))
+                .isNotEqualTo(fingerprintOf(rowWithLong(0)))
+                .isNotEqualTo(fingerprintOf(rowWithString("")));
+    }
+
+    @Test
+    public void numberOfRowsShouldAffectFingerprint() {
+        assertThat(fingerprintOf()).isNotEqualTo(new Fingerprint().value());
+        assertThat(fingerprintOf(rowWithLong(1))).isNotEqualTo(fingerprintOf(rowWithLong(1), rowWithLong(1)));
+    }
+}
@@ -37,6 +37,12 @@ class GetObjectStub {
     @NonNull
     final Query query;
 
+    /**
+     * Get Operation should add {@code LIMIT 1} to the query.
+     */
+    @NonNull
+    private final Query limitedQuery;
+
     @NonNull
     final RawQuery rawQuery;
 
@@ -68,6 +74,10 @@ class GetObjectStub {
                 .table("test_table")
                 .build();
 
+        limitedQuery = query.toBuilder()
+                .limit(1)
+                .build();
+
         rawQuery = RawQuery
                 .builder()
                 .query("select * from who_cares")
@@ -103,7 +113,7 @@ class GetObjectStub {
         when(storIOSQLite.observeChangesInTables(rawQuery.observesTables()))
                 .thenReturn(Observable.<Changes>empty());
 
-        when(getResolver.performGet(storIOSQLite, query))
+        when(getResolver.performGet(storIOSQLite, limitedQuery))
                 .thenReturn(cursor);
 
         when(getResolver.performGet(storIOSQLite, rawQuery))
@@ -136,7 +146,7 @@ class GetObjectStub {
         verify(storIOSQLite).get();
 
         // should be called only once
-        verify(getResolver).performGet(storIOSQLite, query);
+        verify(getResolver).performGet(storIOSQLite, limitedQuery);
 
         // should be called only once
         verify(getResolver).mapFromCursor(cursor);
@@ -48,7 +48,7 @@ class GetObjectsStub {
     final GetResolver<TestItem> getResolver;
 
     @NonNull
-    private final Cursor cursor;
+    final Cursor cursor;
 
     @NonNull
     final List<TestItem> items;
@@ -662,5 +662,94 @@ public class PreparedGetListOfObjectsTest {
 
             schedulerChecker.checkAsSingle(operation);
         }
+
+        @Test
+        public void firstOrNullShouldLimitQueryToOneRow() {
+            final GetObjectsStub getStub = GetObjectsStub.newInstanceWithoutTypeMapping();
+
+            final PreparedGetObject<TestItem> operation = getStub.storIOSQLite
+                    .get()
+                    .listOfObjects(TestItem.class)
+                    .withQuery(getStub.query)
+                    .withGetResolver(getStub.getResolver)
+                    .prepare()
+                    .firstOrNull();
+
+            assertThat(operation.query).isEqualTo(getStub.query.toBuilder().limit(1).build());
+            assertThat(operation.rawQuery).isNull();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void withProjectionShouldReplaceColumnsOfQueryAndGetResolver() {
+            final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+            final GetResolver<TestItem> getResolver = mock(GetResolver.class);
+            final Cursor cursor = mock(Cursor.class);
+
+            final Query query = Query.builder()
+                    .table("test_table")
+                    .columns("id", "title", "content")
+                    .where("id > ?")
+                    .whereArgs(1)
+                    .build();
+
+            final Query projectedQuery = query.toBuilder().columns("id", "title").build();
+
+            when(getResolver.performGet(storIOSQLite, projectedQuery)).thenReturn(cursor);
+            when(cursor.getCount()).thenReturn(0);
+
+            final PreparedGetListOfObjects<TestItem> operation = new PreparedGetListOfObjects.Builder<TestItem>(storIOSQLite, TestItem.class)
+                    .withQuery(query)
+                    .withProjection(Projection.newInstance(getResolver, "id", "title"))
+                    .prepare();
+
+            assertThat(operation.query).isEqualTo(projectedQuery);
+            assertThat(operation.executeAsBlocking()).isEmpty();
+
+            verify(getResolver).performGet(storIOSQLite, projectedQuery);
+            verify(cursor).close();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void withGetResolverNullShouldKeepResolverOfProjection() {
+            final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+            final GetResolver<TestItem> getResolver = mock(GetResolver.class);
+            final Cursor cursor = mock(Cursor.class);
+
+            final Query projectedQuery = Query.builder()
+                    .table("test_table")
+                    .columns("id", "title")
+                    .build();
+
+            when(getResolver.performGet(storIOSQLite, projectedQuery)).thenReturn(cursor);
+            when(cursor.getCount()).thenReturn(0);
+
+            final PreparedGetListOfObjects<TestItem> operation = new PreparedGetListOfObjects.Builder<TestItem>(storIOSQLite, TestItem.class)
+                    .withQuery(Query.builder().table("test_table").build())
+                    .withProjection(Projection.newInstance(getResolver, "id", "title"))
+                    .withGetResolver(null)
+                    .prepare();
+
+            assertThat(operation.executeAsBlocking()).isEmpty();
+
+            verify(getResolver).performGet(storIOSQLite, projectedQuery);
+            verify(storIOSQLite, never()).lowLevel();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        public void withProjectionShouldNotAcceptRawQuery() {
+            final PreparedGetListOfObjects.CompleteBuilder<TestItem> completeBuilder = new PreparedGetListOfObjects.Builder<TestItem>(mock(StorIOSQLite.class), TestItem.class)
+                    .withQuery(RawQuery.builder().query("SELECT * FROM test_table").build());
+
+            try {
+                completeBuilder.withProjection(Projection.newInstance(mock(GetResolver.class), "id"));
+                failBecauseExceptionWasNotThrown(IllegalStateException.class);
+            } catch (IllegalStateException expected) {
+                assertThat(expected).hasMessage("Projection can not be applied to RawQuery, " +
+                        "please select needed columns in the RawQuery and use withGetResolver()");
+            }
+        }
     }
 }
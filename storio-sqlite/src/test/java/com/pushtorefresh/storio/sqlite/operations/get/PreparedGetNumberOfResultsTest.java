@@ -7,6 +7,7 @@ import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 import com.pushtorefresh.storio.sqlite.operations.SchedulerChecker;
 import com.pushtorefresh.storio.sqlite.queries.Query;
+import com.pushtorefresh.storio.sqlite.queries.RawQuery;
 
 import org.junit.Test;
 
@@ -21,6 +22,8 @@ import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PreparedGetNumberOfResultsTest {
@@ -259,6 +262,71 @@ public class PreparedGetNumberOfResultsTest {
         assertThat(standardGetResolver.mapFromCursor(cursor)).isEqualTo(12314);
     }
 
+    @Test
+    public void shouldExecuteQueryAsCountWithStandardGetResolver() {
+        final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+        final StorIOSQLite.LowLevel lowLevel = mock(StorIOSQLite.LowLevel.class);
+        when(storIOSQLite.lowLevel()).thenReturn(lowLevel);
+
+        final Query query = Query.builder()
+                .table("test_table")
+                .where("a = ?")
+                .whereArgs("b")
+                .build();
+
+        final Cursor cursor = mock(Cursor.class);
+        when(lowLevel.rawQuery(any(RawQuery.class))).thenReturn(cursor);
+        when(cursor.moveToFirst()).thenReturn(true);
+        when(cursor.getInt(0)).thenReturn(42);
+
+        final Integer numberOfResults = new PreparedGetNumberOfResults.CompleteBuilder(storIOSQLite, query)
+                .prepare()
+                .executeAsBlocking();
+
+        assertThat(numberOfResults).isEqualTo(42);
+
+        verify(lowLevel).rawQuery(RawQuery.builder()
+                .query("SELECT COUNT(*) FROM test_table WHERE a = ?")
+                .args("b")
+                .build());
+        verify(lowLevel, never()).query(any(Query.class));
+        verify(cursor, never()).getCount();
+        verify(cursor).close();
+    }
+
+    @Test
+    public void createCountQueryShouldUseSubqueryIfQueryChangesNumberOfResults() {
+        final Query query = Query.builder()
+                .table("test_table")
+                .distinct(true)
+                .columns("a", "b")
+                .where("c = ?")
+                .whereArgs("d")
+                .groupBy("a")
+                .having("COUNT(*) > 1")
+                .orderBy("b")
+                .limit(10)
+                .build();
+
+        assertThat(PreparedGetNumberOfResults.createCountQuery(query)).isEqualTo(RawQuery.builder()
+                .query("SELECT COUNT(*) FROM (SELECT DISTINCT a,b FROM test_table WHERE c = ? " +
+                        "GROUP BY a HAVING COUNT(*) > 1 LIMIT 10)")
+                .args("d")
+                .build());
+    }
+
+    @Test
+    public void createCountQueryShouldSelectAllColumnsInSubqueryIfNoColumnsSpecified() {
+        final Query query = Query.builder()
+                .table("test_table")
+                .limit(5, 10)
+                .build();
+
+        assertThat(PreparedGetNumberOfResults.createCountQuery(query)).isEqualTo(RawQuery.builder()
+                .query("SELECT COUNT(*) FROM (SELECT * FROM test_table LIMIT 5, 10)")
+                .build());
+    }
+
     @Test
     public void getNumberOfResultsObservableExecutesOnSpecifiedScheduler() {
         final GetNumberOfResultsStub getStub = GetNumberOfResultsStub.newInstance();
@@ -280,7 +280,7 @@ public class PreparedGetObjectTest {
             assertThat(error)
                     .isInstanceOf(StorIOException.class)
                     .hasCauseInstanceOf(IllegalStateException.class)
-                    .hasMessage("Error has occurred during Get operation. query = Query{distinct=false, table='test_table', columns=[], where='', whereArgs=[], groupBy='', having='', orderBy='', limit=''}");
+                    .hasMessage("Error has occurred during Get operation. query = Query{distinct=false, table='test_table', columns=[], where='', whereArgs=[], groupBy='', having='', orderBy='', limit='1'}");
 
             assertThat(error.getCause())
                     .hasMessage("This type does not have type mapping: "
@@ -322,7 +322,7 @@ public class PreparedGetObjectTest {
             assertThat(error)
                     .isInstanceOf(StorIOException.class)
                     .hasCauseInstanceOf(IllegalStateException.class)
-                    .hasMessage("Error has occurred during Get operation. query = Query{distinct=false, table='test_table', columns=[], where='', whereArgs=[], groupBy='', having='', orderBy='', limit=''}");
+                    .hasMessage("Error has occurred during Get operation. query = Query{distinct=false, table='test_table', columns=[], where='', whereArgs=[], groupBy='', having='', orderBy='', limit='1'}");
 
             assertThat(error.getCause())
                     .hasMessage("This type does not have type mapping: "
@@ -702,5 +702,66 @@ public class PreparedGetObjectTest {
 
             schedulerChecker.checkAsSingle(operation);
         }
+
+        @Test
+        public void shouldLimitQueryToOneRow() {
+            final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+
+            final PreparedGetObject<TestItem> operation = new PreparedGetObject.CompleteBuilder<TestItem>(
+                    storIOSQLite,
+                    TestItem.class,
+                    Query.builder().table("test_table").build())
+                    .prepare();
+
+            assertThat(operation.query).isEqualTo(Query.builder()
+                    .table("test_table")
+                    .limit(1)
+                    .build());
+        }
+
+        @Test
+        public void shouldNotChangeExplicitLimitOfQuery() {
+            final Query query = Query.builder()
+                    .table("test_table")
+                    .limit(5, 10)
+                    .build();
+
+            assertThat(PreparedGetObject.limitToOneRow(query)).isSameAs(query);
+        }
+
+        @Test
+        public void shouldNotLimitRawQueryByDefault() {
+            final GetObjectStub getStub = GetObjectStub.newInstanceWithoutTypeMapping();
+
+            final PreparedGetObject<TestItem> operation = getStub.storIOSQLite
+                    .get()
+                    .object(TestItem.class)
+                    .withQuery(getStub.rawQuery)
+                    .prepare();
+
+            assertThat(operation.rawQuery).isSameAs(getStub.rawQuery);
+        }
+
+        @Test
+        public void shouldLimitRawQueryIfRequested() {
+            final RawQuery rawQuery = RawQuery.builder()
+                    .query("SELECT * FROM test_table WHERE a = ? ; ")
+                    .args("b")
+                    .observesTables("test_table")
+                    .build();
+
+            final PreparedGetObject<TestItem> operation = new PreparedGetObject.CompleteBuilder<TestItem>(
+                    mock(StorIOSQLite.class),
+                    TestItem.class,
+                    rawQuery)
+                    .limitRawQuery(true)
+                    .prepare();
+
+            assertThat(operation.rawQuery).isEqualTo(RawQuery.builder()
+                    .query("SELECT * FROM test_table WHERE a = ? LIMIT 1")
+                    .args("b")
+                    .observesTables("test_table")
+                    .build());
+        }
     }
 }
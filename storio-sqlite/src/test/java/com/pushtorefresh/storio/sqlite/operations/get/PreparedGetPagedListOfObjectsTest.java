@@ -0,0 +1,135 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+import com.pushtorefresh.storio.sqlite.queries.Query;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Mockito.mock;
+
+public class PreparedGetPagedListOfObjectsTest {
+
+    @Test
+    public void createPageQueryForFirstPage() {
+        final Query query = Query.builder()
+                .table("test_table")
+                .build();
+
+        assertThat(PreparedGetPagedListOfObjects.createPageQuery(query, "_id", false, 11, null))
+                .isEqualTo(Query.builder()
+                        .table("test_table")
+                        .columns("*", "_id AS storio_sort_key")
+                        .orderBy("_id")
+                        .limit(11)
+                        .build());
+    }
+
+    @Test
+    public void createPageQueryShouldInlineNumericSortKey() {
+        final Query query = Query.builder()
+                .table("test_table")
+                .columns("_id", "title")
+                .where("author = ?")
+                .whereArgs("someone")
+                .build();
+
+        assertThat(PreparedGetPagedListOfObjects.createPageQuery(query, "_id", true, 11, 42L))
+                .isEqualTo(Query.builder()
+                        .table("test_table")
+                        .columns("_id", "title", "_id AS storio_sort_key")
+                        .where("(author = ?) AND _id < 42")
+                        .whereArgs("someone")
+                        .orderBy("_id DESC")
+                        .limit(11)
+                        .build());
+    }
+
+    @Test
+    public void createPageQueryShouldBindStringSortKey() {
+        final Query query = Query.builder()
+                .table("test_table")
+                .build();
+
+        assertThat(PreparedGetPagedListOfObjects.createPageQuery(query, "title", false, 5, "abc"))
+                .isEqualTo(Query.builder()
+                        .table("test_table")
+                        .columns("*", "title AS storio_sort_key")
+                        .where("title > ?")
+                        .whereArgs("abc")
+                        .orderBy("title")
+                        .limit(5)
+                        .build());
+    }
+
+    @Test
+    public void createRangeQueryShouldIncludeLastSortKeyAndHaveNoLimit() {
+        final Query query = Query.builder()
+                .table("test_table")
+                .where("author = ?")
+                .whereArgs("someone")
+                .build();
+
+        assertThat(PreparedGetPagedListOfObjects.createRangeQuery(query, "_id", false, 42L))
+                .isEqualTo(Query.builder()
+                        .table("test_table")
+                        .columns("*", "_id AS storio_sort_key")
+                        .where("(author = ?) AND _id <= 42")
+                        .whereArgs("someone")
+                        .orderBy("_id")
+                        .build());
+    }
+
+    @Test
+    public void shouldNotAcceptNonPositivePageSize() {
+        final PreparedGetPagedListOfObjects.CompleteBuilder<TestItem> builder = new PreparedGet.Builder(mock(StorIOSQLite.class))
+                .pagedListOfObjects(TestItem.class)
+                .withQuery(Query.builder().table("test_table").build());
+
+        try {
+            builder.pageSize(0);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("pageSize must be > 0, but was = 0");
+        }
+    }
+
+    @Test
+    public void shouldNotAcceptQueryWithOrderBy() {
+        final Query query = Query.builder()
+                .table("test_table")
+                .orderBy("title")
+                .build();
+
+        try {
+            new PreparedGet.Builder(mock(StorIOSQLite.class))
+                    .pagedListOfObjects(TestItem.class)
+                    .withQuery(query)
+                    .prepare();
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("Query of paged Get Operation should not have orderBy, " +
+                    "results are ordered by sortKey, query = " + query);
+        }
+    }
+
+    @Test
+    public void shouldNotAcceptQueryWithLimit() {
+        final Query query = Query.builder()
+                .table("test_table")
+                .limit(10)
+                .build();
+
+        try {
+            new PreparedGet.Builder(mock(StorIOSQLite.class))
+                    .pagedListOfObjects(TestItem.class)
+                    .withQuery(query)
+                    .prepare();
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("Query of paged Get Operation should not have limit, " +
+                    "please use pageSize, query = " + query);
+        }
+    }
+}
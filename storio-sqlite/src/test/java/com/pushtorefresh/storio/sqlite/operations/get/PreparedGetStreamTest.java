@@ -0,0 +1,284 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import com.pushtorefresh.storio.StorIOException;
+import com.pushtorefresh.storio.sqlite.StorIOSQLite;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PreparedGetStreamTest {
+
+    @Test
+    public void shouldMapRowsLazily() {
+        final GetObjectsStub getStub = GetObjectsStub.newInstanceWithoutTypeMapping();
+
+        final CursorIterator<TestItem> iterator = getStub.storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(getStub.query)
+                .withGetResolver(getStub.getResolver)
+                .prepare()
+                .executeAsBlocking();
+
+        verify(getStub.getResolver).performGet(getStub.storIOSQLite, getStub.query);
+        verify(getStub.getResolver, never()).mapFromCursor(getStub.cursor);
+
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(iterator.next()).isEqualTo(getStub.items.get(0));
+        verify(getStub.getResolver, times(1)).mapFromCursor(getStub.cursor);
+
+        // Streaming should not count all rows
+        verify(getStub.cursor, never()).getCount();
+        verify(getStub.cursor, never()).close();
+    }
+
+    @Test
+    public void shouldCloseCursorAfterLastRow() {
+        final GetObjectsStub getStub = GetObjectsStub.newInstanceWithTypeMapping();
+
+        final CursorIterator<TestItem> iterator = getStub.storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(getStub.rawQuery)
+                .prepare()
+                .executeAsBlocking();
+
+        final List<TestItem> items = new ArrayList<TestItem>();
+
+        while (iterator.hasNext()) {
+            items.add(iterator.next());
+        }
+
+        assertThat(items).isEqualTo(getStub.items);
+        assertThat(iterator.isClosed()).isTrue();
+        verify(getStub.cursor, times(1)).close();
+
+        try {
+            iterator.next();
+            failBecauseExceptionWasNotThrown(NoSuchElementException.class);
+        } catch (NoSuchElementException expected) {
+            // it's okay
+        }
+    }
+
+    @Test
+    public void closeShouldCloseCursorOnlyOnce() {
+        final GetObjectsStub getStub = GetObjectsStub.newInstanceWithoutTypeMapping();
+
+        final CursorIterator<TestItem> iterator = getStub.storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(getStub.query)
+                .withGetResolver(getStub.getResolver)
+                .prepare()
+                .executeAsBlocking();
+
+        iterator.close();
+        iterator.close();
+
+        assertThat(iterator.hasNext()).isFalse();
+        verify(getStub.cursor, times(1)).close();
+        verify(getStub.cursor, never()).moveToNext();
+    }
+
+    @Test
+    public void shouldCloseCursorIfMappingFailed() {
+        final GetObjectsStub getStub = GetObjectsStub.newInstanceWithoutTypeMapping();
+
+        final IllegalStateException mappingError = new IllegalStateException("test");
+        when(getStub.getResolver.mapFromCursor(getStub.cursor)).thenThrow(mappingError);
+
+        final CursorIterator<TestItem> iterator = getStub.storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(getStub.query)
+                .withGetResolver(getStub.getResolver)
+                .prepare()
+                .executeAsBlocking();
+
+        try {
+            iterator.next();
+            failBecauseExceptionWasNotThrown(StorIOException.class);
+        } catch (StorIOException expected) {
+            assertThat(expected.getCause()).isSameAs(mappingError);
+        }
+
+        verify(getStub.cursor, times(1)).close();
+    }
+
+    @Test
+    public void shouldThrowIfNoTypeMappingBlocking() {
+        final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+        final StorIOSQLite.Internal internal = mock(StorIOSQLite.Internal.class);
+
+        when(storIOSQLite.lowLevel()).thenReturn(internal);
+        when(storIOSQLite.get()).thenReturn(new PreparedGet.Builder(storIOSQLite));
+
+        final PreparedGetStream<TestItem> preparedGet = storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(GetObjectsStub.newInstanceWithoutTypeMapping().query)
+                .prepare();
+
+        try {
+            preparedGet.executeAsBlocking();
+            failBecauseExceptionWasNotThrown(StorIOException.class);
+        } catch (StorIOException expected) {
+            assertThat(expected.getCause()).isInstanceOf(IllegalStateException.class);
+            assertThat(expected.getCause()).hasMessageStartingWith("This type does not have type mapping");
+        }
+    }
+
+    @Test
+    public void observableShouldRespectBackpressure() {
+        final GetObjectsStub getStub = GetObjectsStub.newInstanceWithoutTypeMapping();
+
+        final TestSubscriber<TestItem> testSubscriber = new TestSubscriber<TestItem>(0);
+
+        getStub.storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(getStub.query)
+                .withGetResolver(getStub.getResolver)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        testSubscriber.assertNoValues();
+        verify(getStub.getResolver, never()).mapFromCursor(getStub.cursor);
+
+        testSubscriber.requestMore(1);
+        testSubscriber.assertValue(getStub.items.get(0));
+        verify(getStub.getResolver, times(1)).mapFromCursor(getStub.cursor);
+
+        testSubscriber.requestMore(Long.MAX_VALUE);
+        testSubscriber.assertValues(getStub.items.toArray(new TestItem[getStub.items.size()]));
+        testSubscriber.assertCompleted();
+
+        verify(getStub.cursor, times(1)).close();
+    }
+
+    @Test
+    public void observableShouldCompleteWhenExactlyAllRowsWereRequested() {
+        final GetObjectsStub getStub = GetObjectsStub.newInstanceWithoutTypeMapping();
+
+        final TestSubscriber<TestItem> testSubscriber = new TestSubscriber<TestItem>(0);
+
+        getStub.storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(getStub.query)
+                .withGetResolver(getStub.getResolver)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        testSubscriber.requestMore(getStub.items.size());
+
+        testSubscriber.assertValues(getStub.items.toArray(new TestItem[getStub.items.size()]));
+        testSubscriber.assertCompleted();
+
+        verify(getStub.cursor, times(1)).close();
+    }
+
+    @Test
+    public void observableShouldCloseCursorOnUnsubscribe() {
+        final GetObjectsStub getStub = GetObjectsStub.newInstanceWithoutTypeMapping();
+
+        final TestSubscriber<TestItem> testSubscriber = new TestSubscriber<TestItem>(1);
+
+        getStub.storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(getStub.query)
+                .withGetResolver(getStub.getResolver)
+                .prepare()
+                .asRxObservable()
+                .subscribe(testSubscriber);
+
+        testSubscriber.assertValue(getStub.items.get(0));
+        verify(getStub.cursor, never()).close();
+
+        testSubscriber.unsubscribe();
+
+        verify(getStub.cursor, times(1)).close();
+        testSubscriber.assertNotCompleted();
+    }
+
+    @Test
+    public void observableShouldNotCloseCursorWhileRowIsMappedOnAnotherThread() throws InterruptedException {
+        final GetObjectsStub getStub = GetObjectsStub.newInstanceWithoutTypeMapping();
+
+        final CountDownLatch mappingStarted = new CountDownLatch(1);
+        final CountDownLatch unsubscribed = new CountDownLatch(1);
+        final CountDownLatch cursorClosed = new CountDownLatch(1);
+        final AtomicReference<Thread> mappingThread = new AtomicReference<Thread>();
+        final AtomicReference<Thread> closingThread = new AtomicReference<Thread>();
+
+        when(getStub.getResolver.mapFromCursor(getStub.cursor)).thenAnswer(new Answer<TestItem>() {
+            @Override
+            public TestItem answer(InvocationOnMock invocation) throws Throwable {
+                mappingThread.set(Thread.currentThread());
+                mappingStarted.countDown();
+                // Subscriber unsubscribes from another thread while row is mapped
+                unsubscribed.await(10, SECONDS);
+                return new TestItem();
+            }
+        });
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                closingThread.set(Thread.currentThread());
+                cursorClosed.countDown();
+                return null;
+            }
+        }).when(getStub.cursor).close();
+
+        final TestSubscriber<TestItem> testSubscriber = new TestSubscriber<TestItem>();
+
+        getStub.storIOSQLite
+                .get()
+                .streamOfObjects(TestItem.class)
+                .withQuery(getStub.query)
+                .withGetResolver(getStub.getResolver)
+                .prepare()
+                .asRxObservable()
+                .subscribeOn(Schedulers.newThread())
+                .subscribe(testSubscriber);
+
+        assertThat(mappingStarted.await(10, SECONDS)).isTrue();
+
+        testSubscriber.unsubscribe();
+        verify(getStub.cursor, never()).close();
+
+        unsubscribed.countDown();
+
+        assertThat(cursorClosed.await(10, SECONDS)).isTrue();
+        assertThat(closingThread.get()).isSameAs(mappingThread.get());
+        verify(getStub.cursor, times(1)).close();
+
+        // Only the row that was mapped during unsubscribe
+        verify(getStub.getResolver, times(1)).mapFromCursor(getStub.cursor);
+    }
+}
@@ -0,0 +1,59 @@
+package com.pushtorefresh.storio.sqlite.operations.get;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Mockito.mock;
+
+public class ProjectionTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldHoldResolverAndImmutableColumns() {
+        final GetResolver<TestItem> getResolver = mock(GetResolver.class);
+        final String[] columns = {"id", "title"};
+
+        final Projection<TestItem> projection = Projection.newInstance(getResolver, columns);
+        columns[0] = "changed";
+
+        assertThat(projection.getResolver()).isSameAs(getResolver);
+        assertThat(projection.columns()).isEqualTo(asList("id", "title"));
+
+        final List<String> projectionColumns = projection.columns();
+
+        try {
+            projectionColumns.add("content");
+            failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+        } catch (UnsupportedOperationException expected) {
+            // it's immutable
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldNotAcceptEmptyColumns() {
+        try {
+            Projection.newInstance(mock(GetResolver.class));
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("Please specify at least one column of projection");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void equalsAndHashCode() {
+        final GetResolver<TestItem> getResolver = mock(GetResolver.class);
+
+        final Projection<TestItem> first = Projection.newInstance(getResolver, "id", "title");
+        final Projection<TestItem> second = Projection.newInstance(getResolver, "id", "title");
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        assertThat(first).isNotEqualTo(Projection.newInstance(getResolver, "id"));
+    }
+}
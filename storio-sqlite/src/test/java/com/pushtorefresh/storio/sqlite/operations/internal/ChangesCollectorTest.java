@@ -0,0 +1,83 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.support.annotation.NonNull;
+
+import com.pushtorefresh.storio.sqlite.Changes;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangesCollectorTest {
+
+    @NonNull
+    private static Changes changesOfRows(@NonNull String table,
+                                         @NonNull Changes.OperationType operationType,
+                                         @NonNull String keyColumn,
+                                         @NonNull String... keys) {
+        return Changes.newInstance(singleton(table), operationType, keyColumn, new HashSet<String>(asList(keys)));
+    }
+
+    @Test
+    public void shouldBeEmptyWithoutChanges() {
+        assertThat(new ChangesCollector().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void shouldMergeKeysOfSameColumn() {
+        final ChangesCollector changesCollector = new ChangesCollector();
+
+        changesCollector.add(changesOfRows("table_1", Changes.OperationType.DELETE, "_id", "1", "2"));
+        changesCollector.add(changesOfRows("table_2", Changes.OperationType.DELETE, "_id", "3"));
+
+        assertThat(changesCollector.isEmpty()).isFalse();
+        assertThat(changesCollector.build()).isEqualTo(Changes.newInstance(
+                new HashSet<String>(asList("table_1", "table_2")),
+                Changes.OperationType.DELETE,
+                "_id",
+                new HashSet<String>(asList("1", "2", "3"))
+        ));
+    }
+
+    @Test
+    public void operationTypeShouldBeUnknownForDifferentOperations() {
+        final ChangesCollector changesCollector = new ChangesCollector();
+
+        changesCollector.add(changesOfRows("table", Changes.OperationType.INSERT, "_id", "1"));
+        changesCollector.add(changesOfRows("table", Changes.OperationType.UPDATE, "_id", "2"));
+
+        final Changes changes = changesCollector.build();
+
+        assertThat(changes.operationType()).isNull();
+        assertThat(changes.affectedKeys()).containsOnly("1", "2");
+    }
+
+    @Test
+    public void keysShouldBeUnknownIfOneOfChangesHasNoKeys() {
+        final ChangesCollector changesCollector = new ChangesCollector();
+
+        changesCollector.add(changesOfRows("table", Changes.OperationType.INSERT, "_id", "1"));
+        changesCollector.add(Changes.newInstance("table"));
+        changesCollector.add(changesOfRows("table", Changes.OperationType.INSERT, "_id", "2"));
+
+        assertThat(changesCollector.build()).isEqualTo(Changes.newInstance("table"));
+    }
+
+    @Test
+    public void keysShouldBeUnknownForDifferentKeyColumns() {
+        final ChangesCollector changesCollector = new ChangesCollector();
+
+        changesCollector.add(changesOfRows("table", Changes.OperationType.UPDATE, "_id", "1"));
+        changesCollector.add(changesOfRows("table", Changes.OperationType.UPDATE, "email", "1"));
+
+        final Changes changes = changesCollector.build();
+
+        assertThat(changes.operationType()).isEqualTo(Changes.OperationType.UPDATE);
+        assertThat(changes.keyColumn()).isNull();
+        assertThat(changes.affectedKeys()).isNull();
+    }
+}
@@ -0,0 +1,113 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.functions.Action0;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObservableQueryRegistryTest {
+
+    @NonNull
+    private final ObservableQueryRegistry registry = new ObservableQueryRegistry();
+
+    @NonNull
+    private final PublishSubject<String> source = PublishSubject.create();
+
+    @NonNull
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    @NonNull
+    private Observable<String> countingSource() {
+        return source.doOnSubscribe(new Action0() {
+            @Override
+            public void call() {
+                subscriptions.incrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    public void equalKeysShouldShareOneSubscription() {
+        final TestSubscriber<String> firstTestSubscriber = new TestSubscriber<String>();
+        final TestSubscriber<String> secondTestSubscriber = new TestSubscriber<String>();
+
+        registry.share("key", countingSource()).subscribe(firstTestSubscriber);
+        registry.share("key", countingSource()).subscribe(secondTestSubscriber);
+
+        source.onNext("result");
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(registry.size()).isEqualTo(1);
+        firstTestSubscriber.assertValue("result");
+        secondTestSubscriber.assertValue("result");
+    }
+
+    @Test
+    public void differentKeysShouldNotShareSubscription() {
+        registry.share("key", countingSource()).subscribe(new TestSubscriber<String>());
+        registry.share("other key", countingSource()).subscribe(new TestSubscriber<String>());
+
+        assertThat(subscriptions.get()).isEqualTo(2);
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void lateSubscriberShouldReceiveLatestResult() {
+        registry.share("key", countingSource()).subscribe(new TestSubscriber<String>());
+
+        source.onNext("first");
+        source.onNext("second");
+
+        final TestSubscriber<String> lateTestSubscriber = new TestSubscriber<String>();
+        registry.share("key", countingSource()).subscribe(lateTestSubscriber);
+
+        lateTestSubscriber.assertValue("second");
+        assertThat(subscriptions.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void sharedSubscriptionShouldBeDisposedWhenLastSubscriberUnsubscribes() {
+        final TestSubscriber<String> firstTestSubscriber = new TestSubscriber<String>();
+        final TestSubscriber<String> secondTestSubscriber = new TestSubscriber<String>();
+
+        registry.share("key", countingSource()).subscribe(firstTestSubscriber);
+        registry.share("key", countingSource()).subscribe(secondTestSubscriber);
+
+        source.onNext("result");
+
+        firstTestSubscriber.unsubscribe();
+        assertThat(source.hasObservers()).isTrue();
+        assertThat(registry.size()).isEqualTo(1);
+
+        secondTestSubscriber.unsubscribe();
+        assertThat(source.hasObservers()).isFalse();
+        assertThat(registry.size()).isEqualTo(0);
+
+        // New subscriber does not receive stale result
+        final TestSubscriber<String> newTestSubscriber = new TestSubscriber<String>();
+        registry.share("key", countingSource()).subscribe(newTestSubscriber);
+
+        newTestSubscriber.assertNoValues();
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void terminatedObservableShouldBeUnregistered() {
+        final TestSubscriber<String> testSubscriber = new TestSubscriber<String>();
+
+        registry.share("key", countingSource()).subscribe(testSubscriber);
+
+        source.onError(new IllegalStateException("test exception"));
+
+        testSubscriber.assertError(IllegalStateException.class);
+        assertThat(registry.size()).isEqualTo(0);
+    }
+}
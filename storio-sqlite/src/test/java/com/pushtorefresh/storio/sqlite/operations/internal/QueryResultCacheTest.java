@@ -0,0 +1,171 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class QueryResultCacheTest {
+
+    @NonNull
+    private final Object resolver = new Object();
+
+    @NonNull
+    private QueryResultCache.Key key(@NonNull String query, @NonNull String table) {
+        return new QueryResultCache.Key(QueryResultCacheTest.class, query, resolver, singleton(table));
+    }
+
+    @Test
+    public void shouldNotAcceptNonPositiveMaxWeight() {
+        try {
+            new QueryResultCache(0);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected).hasMessage("maxWeight must be > 0, but was = 0");
+        }
+    }
+
+    @Test
+    public void getShouldReturnNotCachedIfThereIsNoResult() {
+        QueryResultCache cache = new QueryResultCache(10);
+
+        assertThat(cache.get(key("query", "table"))).isSameAs(QueryResultCache.NOT_CACHED);
+    }
+
+    @Test
+    public void getShouldReturnCachedResult() {
+        QueryResultCache cache = new QueryResultCache(10);
+        Object result = new Object();
+
+        cache.put(key("query", "table"), result, 1, cache.generation());
+
+        // Equal key
+        assertThat(cache.get(key("query", "table"))).isSameAs(result);
+        assertThat(cache.get(key("other query", "table"))).isSameAs(QueryResultCache.NOT_CACHED);
+    }
+
+    @Test
+    public void getShouldReturnCachedNullResult() {
+        QueryResultCache cache = new QueryResultCache(10);
+
+        cache.put(key("query", "table"), null, 1, cache.generation());
+
+        assertThat(cache.get(key("query", "table"))).isNull();
+    }
+
+    @Test
+    public void keysWithDifferentResolversShouldNotBeEqual() {
+        QueryResultCache.Key key1 = new QueryResultCache.Key(Object.class, "query", new Object(), singleton("table"));
+        QueryResultCache.Key key2 = new QueryResultCache.Key(Object.class, "query", new Object(), singleton("table"));
+
+        assertThat(key1).isNotEqualTo(key2);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedResultsWhenMaxWeightExceeded() {
+        QueryResultCache cache = new QueryResultCache(5);
+
+        cache.put(key("query1", "table"), "result1", 2, cache.generation());
+        cache.put(key("query2", "table"), "result2", 2, cache.generation());
+
+        // Makes query1 recently used
+        assertThat(cache.get(key("query1", "table"))).isEqualTo("result1");
+
+        cache.put(key("query3", "table"), "result3", 2, cache.generation());
+
+        assertThat(cache.get(key("query1", "table"))).isEqualTo("result1");
+        assertThat(cache.get(key("query2", "table"))).isSameAs(QueryResultCache.NOT_CACHED);
+        assertThat(cache.get(key("query3", "table"))).isEqualTo("result3");
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.weight()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldNotCacheResultHeavierThanMaxWeight() {
+        QueryResultCache cache = new QueryResultCache(5);
+
+        cache.put(key("query1", "table"), "result1", 1, cache.generation());
+        cache.put(key("query2", "table"), "result2", 6, cache.generation());
+
+        assertThat(cache.get(key("query1", "table"))).isEqualTo("result1");
+        assertThat(cache.get(key("query2", "table"))).isSameAs(QueryResultCache.NOT_CACHED);
+    }
+
+    @Test
+    public void replacedResultShouldNotBeCountedTwice() {
+        QueryResultCache cache = new QueryResultCache(5);
+
+        cache.put(key("query", "table"), "result1", 3, cache.generation());
+        cache.put(key("query", "table"), "result2", 3, cache.generation());
+
+        assertThat(cache.get(key("query", "table"))).isEqualTo("result2");
+        assertThat(cache.weight()).isEqualTo(3);
+    }
+
+    @Test
+    public void invalidateShouldRemoveOnlyResultsOfChangedTables() {
+        QueryResultCache cache = new QueryResultCache(10);
+
+        QueryResultCache.Key joinKey = new QueryResultCache.Key(Object.class, "join", resolver, new HashSet<String>(asList("table1", "table2")));
+
+        cache.put(key("query1", "table1"), "result1", 1, cache.generation());
+        cache.put(key("query2", "table2"), "result2", 1, cache.generation());
+        cache.put(joinKey, "join result", 1, cache.generation());
+
+        cache.invalidate(singleton("table2"));
+
+        assertThat(cache.get(key("query1", "table1"))).isEqualTo("result1");
+        assertThat(cache.get(key("query2", "table2"))).isSameAs(QueryResultCache.NOT_CACHED);
+        assertThat(cache.get(joinKey)).isSameAs(QueryResultCache.NOT_CACHED);
+        assertThat(cache.weight()).isEqualTo(1);
+    }
+
+    @Test
+    public void resultOfQueryStartedBeforeInvalidationShouldNotBeCached() {
+        QueryResultCache cache = new QueryResultCache(10);
+
+        long generation = cache.generation();
+
+        // Changes were committed while query was executed
+        cache.invalidate(singleton("table1"));
+
+        cache.put(key("query1", "table1"), "stale result", 1, generation);
+        cache.put(key("query2", "table2"), "result2", 1, generation);
+
+        assertThat(cache.get(key("query1", "table1"))).isSameAs(QueryResultCache.NOT_CACHED);
+        assertThat(cache.get(key("query2", "table2"))).isEqualTo("result2");
+
+        // Query started after invalidation
+        cache.put(key("query1", "table1"), "result1", 1, cache.generation());
+        assertThat(cache.get(key("query1", "table1"))).isEqualTo("result1");
+    }
+
+    @Test
+    public void invalidateWithoutTablesShouldNotChangeGeneration() {
+        QueryResultCache cache = new QueryResultCache(10);
+        long generation = cache.generation();
+
+        cache.invalidate(Collections.<String>emptySet());
+
+        assertThat(cache.generation()).isEqualTo(generation);
+    }
+
+    @Test
+    public void clearShouldRemoveAllResults() {
+        QueryResultCache cache = new QueryResultCache(10);
+
+        cache.put(key("query1", "table1"), "result1", 3, cache.generation());
+        cache.clear();
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.weight()).isEqualTo(0);
+        assertThat(cache.get(key("query1", "table1"))).isSameAs(QueryResultCache.NOT_CACHED);
+    }
+}
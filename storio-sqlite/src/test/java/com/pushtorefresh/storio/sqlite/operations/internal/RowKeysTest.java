@@ -0,0 +1,26 @@
+package com.pushtorefresh.storio.sqlite.operations.internal;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RowKeysTest {
+
+    @Test
+    public void shouldDetectKeyColumn() {
+        assertThat(RowKeys.keyColumn("_id = ?", singletonList("1"))).isEqualTo("_id");
+        assertThat(RowKeys.keyColumn(" email=? ", singletonList("user@example.com"))).isEqualTo("email");
+    }
+
+    @Test
+    public void shouldNotDetectKeyColumnOfOtherConditions() {
+        assertThat(RowKeys.keyColumn("", Collections.<String>emptyList())).isNull();
+        assertThat(RowKeys.keyColumn("_id > ?", singletonList("1"))).isNull();
+        assertThat(RowKeys.keyColumn("_id = ? OR _id = ?", asList("1", "2"))).isNull();
+        assertThat(RowKeys.keyColumn("_id = 1", Collections.<String>emptyList())).isNull();
+    }
+}
@@ -5,9 +5,11 @@ import android.database.Cursor;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 import com.pushtorefresh.storio.sqlite.queries.InsertQuery;
 import com.pushtorefresh.storio.sqlite.queries.Query;
+import com.pushtorefresh.storio.sqlite.queries.RawQuery;
 import com.pushtorefresh.storio.sqlite.queries.UpdateQuery;
 
 import org.junit.Test;
@@ -17,11 +19,13 @@ import java.util.Map;
 
 import rx.functions.Func1;
 
+import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,8 +48,10 @@ public class DefaultPutResolverTest {
 
         final Query expectedQuery = Query.builder()
                 .table(TestItem.TABLE)
+                .columns("1")
                 .where(TestItem.COLUMN_ID + " = ?")
                 .whereArgs(testItem.getId())
+                .limit(1)
                 .build();
 
         final Cursor cursor = mock(Cursor.class);
@@ -59,6 +65,11 @@ public class DefaultPutResolverTest {
         when(internal.insert(any(InsertQuery.class), any(ContentValues.class)))
                 .thenReturn(expectedInsertedId);
 
+        final Cursor tableInfoCursor = tableInfoCursor(TestItem.COLUMN_ID, "INTEGER", 1);
+
+        when(internal.rawQuery(any(RawQuery.class)))
+                .thenReturn(tableInfoCursor);
+
         final InsertQuery expectedInsertQuery = InsertQuery.builder()
                 .table(TestItem.TABLE)
                 .nullColumnHack(null)
@@ -121,6 +132,15 @@ public class DefaultPutResolverTest {
 
         assertThat(putResult.insertedId()).isEqualTo(expectedInsertedId);
         assertThat(putResult.numberOfRowsUpdated()).isNull();
+
+        // id column is alias of rowid, so inserted id is the key of the row
+        assertThat(putResult.changes).isEqualTo(Changes.newInstance(
+                singleton(TestItem.TABLE),
+                Changes.OperationType.INSERT,
+                TestItem.COLUMN_ID,
+                singleton(String.valueOf(expectedInsertedId))
+        ));
+        verify(tableInfoCursor, times(1)).close();
     }
 
     /**
@@ -137,8 +157,10 @@ public class DefaultPutResolverTest {
 
         final Query expectedQuery = Query.builder()
                 .table(TestItem.TABLE)
+                .columns("1")
                 .where(TestItem.COLUMN_ID + " = ?")
                 .whereArgs(testItem.getId())
+                .limit(1)
                 .build();
 
         final Cursor cursor = mock(Cursor.class);
@@ -220,6 +242,234 @@ public class DefaultPutResolverTest {
         assertThat(putResult.insertedId()).isNull();
     }
 
+    /**
+     * Verifies behavior of {@link DefaultPutResolver} with {@link UpsertStrategy#UPDATE_FIRST} for "update"
+     */
+    @Test
+    public void updateFirstShouldNotQueryIfRowWasUpdated() {
+        final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+        final StorIOSQLite.LowLevel lowLevel = mock(StorIOSQLite.LowLevel.class);
+        final TestItem testItem = new TestItem(42L);
+
+        when(storIOSQLite.lowLevel())
+                .thenReturn(lowLevel);
+
+        when(lowLevel.update(any(UpdateQuery.class), any(ContentValues.class)))
+                .thenReturn(1);
+
+        final PutResolver<TestItem> putResolver = new UpdateFirstPutResolver() {
+            @NonNull
+            @Override
+            protected InsertQuery mapToInsertQuery(@NonNull TestItem object) {
+                fail("Should not be called");
+                return null;
+            }
+        };
+
+        final PutResult putResult = putResolver.performPut(storIOSQLite, testItem);
+
+        verify(lowLevel, times(1)).beginTransaction();
+        verify(lowLevel, times(1)).setTransactionSuccessful();
+        verify(lowLevel, times(1)).endTransaction();
+
+        // existence of the row should not be checked with query
+        verify(lowLevel, never()).query(any(Query.class));
+
+        verify(lowLevel, times(1)).update(
+                eq(UpdateFirstPutResolver.updateQuery(testItem)),
+                eq(TestItem.MAP_TO_CONTENT_VALUES.call(testItem))
+        );
+        verify(lowLevel, never()).insert(any(InsertQuery.class), any(ContentValues.class));
+
+        assertThat(putResult.wasUpdated()).isTrue();
+        assertThat(putResult.numberOfRowsUpdated()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies behavior of {@link DefaultPutResolver} with {@link UpsertStrategy#UPDATE_FIRST} for "insert"
+     */
+    @Test
+    public void updateFirstShouldInsertIfNoRowsWereUpdated() {
+        final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+        final StorIOSQLite.LowLevel lowLevel = mock(StorIOSQLite.LowLevel.class);
+        final TestItem testItem = new TestItem(null);
+
+        when(storIOSQLite.lowLevel())
+                .thenReturn(lowLevel);
+
+        when(lowLevel.update(any(UpdateQuery.class), any(ContentValues.class)))
+                .thenReturn(0);
+
+        when(lowLevel.insert(any(InsertQuery.class), any(ContentValues.class)))
+                .thenReturn(24L);
+
+        final Cursor tableInfoCursor = tableInfoCursor(TestItem.COLUMN_ID, "INTEGER", 1);
+
+        when(lowLevel.rawQuery(any(RawQuery.class)))
+                .thenReturn(tableInfoCursor);
+
+        final PutResult putResult = new UpdateFirstPutResolver().performPut(storIOSQLite, testItem);
+
+        verify(lowLevel, never()).query(any(Query.class));
+
+        verify(lowLevel, times(1)).update(
+                eq(UpdateFirstPutResolver.updateQuery(testItem)),
+                eq(TestItem.MAP_TO_CONTENT_VALUES.call(testItem))
+        );
+        verify(lowLevel, times(1)).insert(
+                eq(UpdateFirstPutResolver.INSERT_QUERY),
+                eq(TestItem.MAP_TO_CONTENT_VALUES.call(testItem))
+        );
+
+        verify(lowLevel, times(1)).setTransactionSuccessful();
+        verify(lowLevel, times(1)).endTransaction();
+
+        assertThat(putResult.wasInserted()).isTrue();
+        assertThat(putResult.insertedId()).isEqualTo(24L);
+        assertThat(putResult.changes.affectedKeys()).containsOnly("24");
+    }
+
+    @Test
+    public void insertShouldNotReportInsertedIdAsKeyIfKeyColumnIsNotAliasOfRowId() {
+        final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+        final StorIOSQLite.LowLevel lowLevel = mock(StorIOSQLite.LowLevel.class);
+        final TestItem testItem = new TestItem(null);
+
+        when(storIOSQLite.lowLevel())
+                .thenReturn(lowLevel);
+
+        when(lowLevel.insert(any(InsertQuery.class), any(ContentValues.class)))
+                .thenReturn(24L);
+
+        // Primary key of TEXT type is not an alias of rowid
+        final Cursor tableInfoCursor = tableInfoCursor(TestItem.COLUMN_ID, "TEXT", 1);
+
+        when(lowLevel.rawQuery(any(RawQuery.class)))
+                .thenReturn(tableInfoCursor);
+
+        final PutResult putResult = new UpdateFirstPutResolver().performPut(storIOSQLite, testItem);
+
+        assertThat(putResult.wasInserted()).isTrue();
+        assertThat(putResult.changes).isEqualTo(Changes.newInstance(
+                singleton(TestItem.TABLE),
+                Changes.OperationType.INSERT,
+                null,
+                null
+        ));
+    }
+
+    @Test
+    public void updateShouldReportKeyFromWhereArgs() {
+        final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+        final StorIOSQLite.LowLevel lowLevel = mock(StorIOSQLite.LowLevel.class);
+        final TestItem testItem = new TestItem(42L);
+
+        when(storIOSQLite.lowLevel())
+                .thenReturn(lowLevel);
+
+        when(lowLevel.update(any(UpdateQuery.class), any(ContentValues.class)))
+                .thenReturn(1);
+
+        final PutResult putResult = new UpdateFirstPutResolver().performPut(storIOSQLite, testItem);
+
+        assertThat(putResult.wasUpdated()).isTrue();
+        assertThat(putResult.changes).isEqualTo(Changes.newInstance(
+                singleton(TestItem.TABLE),
+                Changes.OperationType.UPDATE,
+                TestItem.COLUMN_ID,
+                singleton("42")
+        ));
+
+        // Key is known without schema of the table
+        verify(lowLevel, never()).rawQuery(any(RawQuery.class));
+    }
+
+    @Test
+    public void defaultUpsertStrategyIsQueryFirst() {
+        final DefaultPutResolver<TestItem> putResolver = new DefaultPutResolver<TestItem>() {
+            @NonNull
+            @Override
+            protected InsertQuery mapToInsertQuery(@NonNull TestItem object) {
+                return UpdateFirstPutResolver.INSERT_QUERY;
+            }
+
+            @NonNull
+            @Override
+            protected UpdateQuery mapToUpdateQuery(@NonNull TestItem object) {
+                return UpdateFirstPutResolver.updateQuery(object);
+            }
+
+            @NonNull
+            @Override
+            protected ContentValues mapToContentValues(@NonNull TestItem object) {
+                return TestItem.MAP_TO_CONTENT_VALUES.call(object);
+            }
+        };
+
+        assertThat(putResolver.upsertStrategy()).isEqualTo(UpsertStrategy.QUERY_FIRST);
+    }
+
+    /**
+     * Mocks result of "PRAGMA table_info" for the table with one column.
+     */
+    @NonNull
+    private static Cursor tableInfoCursor(@NonNull String column, @NonNull String type, int pk) {
+        final Cursor cursor = mock(Cursor.class);
+
+        when(cursor.moveToNext())
+                .thenReturn(true, false);
+
+        when(cursor.getColumnIndexOrThrow("name")).thenReturn(0);
+        when(cursor.getColumnIndexOrThrow("type")).thenReturn(1);
+        when(cursor.getColumnIndexOrThrow("pk")).thenReturn(2);
+
+        when(cursor.getString(0)).thenReturn(column);
+        when(cursor.getString(1)).thenReturn(type);
+        when(cursor.getInt(2)).thenReturn(pk);
+
+        return cursor;
+    }
+
+    private static class UpdateFirstPutResolver extends DefaultPutResolver<TestItem> {
+
+        static final InsertQuery INSERT_QUERY = InsertQuery.builder()
+                .table(TestItem.TABLE)
+                .build();
+
+        @NonNull
+        static UpdateQuery updateQuery(@NonNull TestItem object) {
+            return UpdateQuery.builder()
+                    .table(TestItem.TABLE)
+                    .where(TestItem.COLUMN_ID + " = ?")
+                    .whereArgs(object.getId())
+                    .build();
+        }
+
+        @NonNull
+        @Override
+        protected UpsertStrategy upsertStrategy() {
+            return UpsertStrategy.UPDATE_FIRST;
+        }
+
+        @NonNull
+        @Override
+        protected InsertQuery mapToInsertQuery(@NonNull TestItem object) {
+            return INSERT_QUERY;
+        }
+
+        @NonNull
+        @Override
+        protected UpdateQuery mapToUpdateQuery(@NonNull TestItem object) {
+            return updateQuery(object);
+        }
+
+        @NonNull
+        @Override
+        protected ContentValues mapToContentValues(@NonNull TestItem object) {
+            return TestItem.MAP_TO_CONTENT_VALUES.call(object);
+        }
+    }
+
     private static class TestItem {
 
         final static String TABLE = "someTable";
@@ -245,6 +495,9 @@ public class DefaultPutResolverTest {
                     when(contentValues.get(COLUMN_ID))
                             .thenReturn(testItem.id);
 
+                    when(contentValues.size())
+                            .thenReturn(1);
+
                     map.put(testItem, contentValues); // storing pair of mapping
 
                     return contentValues;
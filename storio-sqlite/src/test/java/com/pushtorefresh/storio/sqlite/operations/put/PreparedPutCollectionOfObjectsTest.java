@@ -1,8 +1,11 @@
 package com.pushtorefresh.storio.sqlite.operations.put;
 
 import android.content.ContentValues;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
 
 import com.pushtorefresh.storio.StorIOException;
+import com.pushtorefresh.storio.sqlite.Changes;
 import com.pushtorefresh.storio.sqlite.StorIOSQLite;
 import com.pushtorefresh.storio.sqlite.operations.SchedulerChecker;
 import com.pushtorefresh.storio.sqlite.queries.InsertQuery;
@@ -20,14 +23,18 @@ import rx.Single;
 import rx.observers.TestSubscriber;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -353,7 +360,7 @@ public class PreparedPutCollectionOfObjectsTest {
 
             verify(storIOSQLite).put();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).insert(any(InsertQuery.class), any(ContentValues.class));
             verify(internal, never()).update(any(UpdateQuery.class), any(ContentValues.class));
@@ -389,7 +396,7 @@ public class PreparedPutCollectionOfObjectsTest {
 
             verify(storIOSQLite).put();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).insert(any(InsertQuery.class), any(ContentValues.class));
             verify(internal, never()).update(any(UpdateQuery.class), any(ContentValues.class));
@@ -425,7 +432,7 @@ public class PreparedPutCollectionOfObjectsTest {
 
             verify(storIOSQLite).put();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).insert(any(InsertQuery.class), any(ContentValues.class));
             verify(internal, never()).update(any(UpdateQuery.class), any(ContentValues.class));
@@ -494,7 +501,7 @@ public class PreparedPutCollectionOfObjectsTest {
 
             verify(storIOSQLite).put();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).insert(any(InsertQuery.class), any(ContentValues.class));
             verify(internal, never()).update(any(UpdateQuery.class), any(ContentValues.class));
@@ -530,7 +537,7 @@ public class PreparedPutCollectionOfObjectsTest {
 
             verify(storIOSQLite).put();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).insert(any(InsertQuery.class), any(ContentValues.class));
             verify(internal, never()).update(any(UpdateQuery.class), any(ContentValues.class));
@@ -566,7 +573,7 @@ public class PreparedPutCollectionOfObjectsTest {
 
             verify(storIOSQLite).put();
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(internal).typeMapping(TestItem.class);
             verify(internal, never()).insert(any(InsertQuery.class), any(ContentValues.class));
             verify(internal, never()).update(any(UpdateQuery.class), any(ContentValues.class));
@@ -651,7 +658,7 @@ public class PreparedPutCollectionOfObjectsTest {
             verify(internal).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(putResolver).performPut(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
         }
@@ -694,7 +701,7 @@ public class PreparedPutCollectionOfObjectsTest {
             verify(internal).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(putResolver).performPut(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
         }
@@ -737,7 +744,7 @@ public class PreparedPutCollectionOfObjectsTest {
             verify(internal).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(putResolver).performPut(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
         }
@@ -820,7 +827,7 @@ public class PreparedPutCollectionOfObjectsTest {
             verify(internal, never()).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(putResolver).performPut(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
         }
@@ -865,7 +872,7 @@ public class PreparedPutCollectionOfObjectsTest {
             verify(internal, never()).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(putResolver).performPut(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
         }
@@ -910,7 +917,7 @@ public class PreparedPutCollectionOfObjectsTest {
             verify(internal, never()).endTransaction();
 
             verify(storIOSQLite).lowLevel();
-            verify(storIOSQLite).defaultScheduler();
+            verify(storIOSQLite).writeScheduler();
             verify(putResolver).performPut(same(storIOSQLite), anyObject());
             verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
         }
@@ -957,4 +964,113 @@ public class PreparedPutCollectionOfObjectsTest {
             schedulerChecker.checkAsCompletable(operation);
         }
     }
+
+    public static class BulkPut {
+
+        @NonNull
+        private static DefaultPutResolver<TestItem> defaultPutResolver(@NonNull final ContentValues contentValues) {
+            return new DefaultPutResolver<TestItem>() {
+                @NonNull
+                @Override
+                protected InsertQuery mapToInsertQuery(@NonNull TestItem object) {
+                    return InsertQuery.builder()
+                            .table(TestItem.TABLE)
+                            .build();
+                }
+
+                @NonNull
+                @Override
+                protected UpdateQuery mapToUpdateQuery(@NonNull TestItem object) {
+                    return UpdateQuery.builder()
+                            .table(TestItem.TABLE)
+                            .build();
+                }
+
+                @NonNull
+                @Override
+                protected ContentValues mapToContentValues(@NonNull TestItem object) {
+                    return contentValues;
+                }
+            };
+        }
+
+        @Test
+        public void shouldInsertObjectsWithoutQueryInBulkInsertMode() {
+            final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+            final StorIOSQLite.Internal internal = mock(StorIOSQLite.Internal.class);
+            final ContentValues contentValues = mock(ContentValues.class);
+
+            when(storIOSQLite.lowLevel()).thenReturn(internal);
+            when(internal.insert(any(InsertQuery.class), same(contentValues))).thenReturn(1L, 2L);
+
+            final List<TestItem> items = asList(TestItem.newInstance(), TestItem.newInstance());
+
+            final PutResults<TestItem> putResults = new PreparedPutCollectionOfObjects.Builder<TestItem>(storIOSQLite, items)
+                    .withPutResolver(defaultPutResolver(contentValues))
+                    .bulkPutMode(BulkPutMode.INSERT)
+                    .prepare()
+                    .executeAsBlocking();
+
+            assertThat(putResults.numberOfInserts()).isEqualTo(2);
+            assertThat(putResults.results().get(items.get(0)).insertedId()).isEqualTo(1L);
+            assertThat(putResults.results().get(items.get(1)).insertedId()).isEqualTo(2L);
+
+            verify(internal).beginTransaction();
+            verify(internal, times(2)).insert(any(InsertQuery.class), same(contentValues));
+            verify(internal).setTransactionSuccessful();
+            verify(internal).endTransaction();
+            // Update query of the resolver does not select rows by key
+            verify(internal).notifyAboutChanges(
+                    Changes.newInstance(singleton(TestItem.TABLE), Changes.OperationType.INSERT, null, null)
+            );
+            verifyNoMoreInteractions(internal);
+        }
+
+        @Test
+        public void shouldInsertObjectsWithReplaceInBulkInsertOrReplaceMode() {
+            final StorIOSQLite storIOSQLite = mock(StorIOSQLite.class);
+            final StorIOSQLite.Internal internal = mock(StorIOSQLite.Internal.class);
+            final ContentValues contentValues = mock(ContentValues.class);
+
+            when(storIOSQLite.lowLevel()).thenReturn(internal);
+            when(internal.insertWithOnConflict(any(InsertQuery.class), same(contentValues), anyInt())).thenReturn(1L);
+
+            final List<TestItem> items = singletonList(TestItem.newInstance());
+
+            final PutResults<TestItem> putResults = new PreparedPutCollectionOfObjects.Builder<TestItem>(storIOSQLite, items)
+                    .withPutResolver(defaultPutResolver(contentValues))
+                    .bulkPutMode(BulkPutMode.INSERT_OR_REPLACE)
+                    .useTransaction(false)
+                    .prepare()
+                    .executeAsBlocking();
+
+            assertThat(putResults.numberOfInserts()).isEqualTo(1);
+
+            verify(internal).insertWithOnConflict(
+                    any(InsertQuery.class),
+                    same(contentValues),
+                    eq(SQLiteDatabase.CONFLICT_REPLACE)
+            );
+            // Replaced rows are unknown
+            verify(internal).notifyAboutChanges(Changes.newInstance(TestItem.TABLE));
+            verifyNoMoreInteractions(internal);
+        }
+
+        @Test
+        public void shouldUsePutResolverIfItIsNotDefaultPutResolverInBulkMode() {
+            final PutObjectsStub putStub
+                    = PutObjectsStub.newPutStubForMultipleObjectsWithoutTypeMappingWithTransaction();
+
+            final PutResults<TestItem> putResults = putStub.storIOSQLite
+                    .put()
+                    .objects(putStub.items)
+                    .useTransaction(true)
+                    .bulkPutMode(BulkPutMode.INSERT)
+                    .withPutResolver(putStub.putResolver)
+                    .prepare()
+                    .executeAsBlocking();
+
+            putStub.verifyBehaviorForMultipleObjects(putResults);
+        }
+    }
 }
@@ -225,7 +225,7 @@ public class PreparedPutContentValuesIterableTest {
         verify(internal).endTransaction();
 
         verify(storIOSQLite).lowLevel();
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verify(putResolver).performPut(same(storIOSQLite), any(ContentValues.class));
         verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
     }
@@ -269,7 +269,7 @@ public class PreparedPutContentValuesIterableTest {
         verify(internal).endTransaction();
 
         verify(storIOSQLite).lowLevel();
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verify(putResolver).performPut(same(storIOSQLite), any(ContentValues.class));
         verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
     }
@@ -313,7 +313,7 @@ public class PreparedPutContentValuesIterableTest {
         verify(internal).endTransaction();
 
         verify(storIOSQLite).lowLevel();
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verify(putResolver).performPut(same(storIOSQLite), any(ContentValues.class));
         verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
     }
@@ -388,7 +388,7 @@ public class PreparedPutContentValuesIterableTest {
         verify(internal, never()).endTransaction();
 
         verify(storIOSQLite).lowLevel();
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verify(putResolver).performPut(same(storIOSQLite), any(ContentValues.class));
         verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
     }
@@ -429,7 +429,7 @@ public class PreparedPutContentValuesIterableTest {
         verify(internal, never()).endTransaction();
 
         verify(storIOSQLite).lowLevel();
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verify(putResolver).performPut(same(storIOSQLite), any(ContentValues.class));
         verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
     }
@@ -470,7 +470,7 @@ public class PreparedPutContentValuesIterableTest {
         verify(internal, never()).endTransaction();
 
         verify(storIOSQLite).lowLevel();
-        verify(storIOSQLite).defaultScheduler();
+        verify(storIOSQLite).writeScheduler();
         verify(putResolver).performPut(same(storIOSQLite), any(ContentValues.class));
         verifyNoMoreInteractions(storIOSQLite, internal, putResolver);
     }
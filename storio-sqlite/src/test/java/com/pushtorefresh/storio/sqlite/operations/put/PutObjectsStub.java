@@ -20,6 +20,7 @@ import rx.Observable;
 import rx.Single;
 import rx.functions.Action1;
 
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
@@ -33,6 +34,11 @@ import static org.mockito.Mockito.when;
 // stub class to avoid violation of DRY in tests
 class PutObjectsStub {
 
+    // Resolvers of stub are not DefaultPutResolver, so keys of rows are unknown
+    @NonNull
+    private static final Changes INSERT_CHANGES
+            = Changes.newInstance(singleton(TestItem.TABLE), Changes.OperationType.INSERT, null, null);
+
     @NonNull
     final StorIOSQLite storIOSQLite;
 
@@ -169,7 +175,7 @@ class PutObjectsStub {
                 .testAction(new Action1<PutResults<TestItem>>() {
                     @Override
                     public void call(PutResults<TestItem> testItemPutResults) {
-                        verify(storIOSQLite).defaultScheduler();
+                        verify(storIOSQLite).writeScheduler();
                         verifyBehaviorForMultipleObjects(testItemPutResults);
                     }
                 })
@@ -183,7 +189,7 @@ class PutObjectsStub {
                 .testAction(new Action1<PutResults<TestItem>>() {
                     @Override
                     public void call(PutResults<TestItem> testItemPutResults) {
-                        verify(storIOSQLite).defaultScheduler();
+                        verify(storIOSQLite).writeScheduler();
                         verifyBehaviorForMultipleObjects(testItemPutResults);
                     }
                 })
@@ -205,7 +211,7 @@ class PutObjectsStub {
                 .testAction(new Action1<PutResult>() {
                     @Override
                     public void call(PutResult putResult) {
-                        verify(storIOSQLite).defaultScheduler();
+                        verify(storIOSQLite).writeScheduler();
                         verifyBehaviorForOneObject(putResult);
                     }
                 })
@@ -219,7 +225,7 @@ class PutObjectsStub {
                 .testAction(new Action1<PutResult>() {
                     @Override
                     public void call(PutResult putResult) {
-                        verify(storIOSQLite).defaultScheduler();
+                        verify(storIOSQLite).writeScheduler();
                         verifyBehaviorForOneObject(putResult);
                     }
                 })
@@ -238,7 +244,7 @@ class PutObjectsStub {
 
             // if put() operation used transaction, only one notification should be thrown
             verify(internal, times(1))
-                    .notifyAboutChanges(eq(Changes.newInstance(TestItem.TABLE)));
+                    .notifyAboutChanges(eq(INSERT_CHANGES));
         } else {
             verify(internal, times(0)).beginTransaction();
             verify(internal, times(0)).setTransactionSuccessful();
@@ -247,7 +253,7 @@ class PutObjectsStub {
             // if put() operation didn't use transaction,
             // number of notifications should be equal to number of objects
             verify(internal, times(items.size()))
-                    .notifyAboutChanges(eq(Changes.newInstance(TestItem.TABLE)));
+                    .notifyAboutChanges(eq(INSERT_CHANGES));
         }
     }
 }
@@ -1,16 +1,16 @@
 package com.pushtorefresh.storio.sqlite.operations.put;
 
-import com.pushtorefresh.storio.test.ToStringChecker;
+import com.pushtorefresh.storio.sqlite.Changes;
 
 import org.junit.Test;
 
 import java.util.HashMap;
 import java.util.Map;
 
-import nl.jqno.equalsverifier.EqualsVerifier;
-
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 public class PutResultsTest {
 
@@ -24,10 +24,6 @@ public class PutResultsTest {
         final PutResults<String> putResults = PutResults.newInstance(putResultMap);
 
         assertThat(putResults.numberOfInserts()).isEqualTo(0);
-
-        // We cache this value, so let's test that cache works too
-        // (coverage tool will report it as untested branch if we won't check this)
-        assertThat(putResults.numberOfInserts()).isEqualTo(0);
     }
 
     @Test
@@ -40,10 +36,6 @@ public class PutResultsTest {
         final PutResults<String> putResults = PutResults.newInstance(putResultMap);
 
         assertThat(putResults.numberOfUpdates()).isEqualTo(0);
-
-        // We cache this value, so let's test that cache works too
-        // (coverage tool will report it as untested branch if we won't check this)
-        assertThat(putResults.numberOfUpdates()).isEqualTo(0);
     }
 
     @Test
@@ -65,17 +57,133 @@ public class PutResultsTest {
     }
 
     @Test
-    public void verifyEqualsAndHashCodeImplementation() {
-        EqualsVerifier
-                .forClass(PutResults.class)
-                .allFieldsShouldBeUsed()
-                .verify();
+    public void resultsShouldBeAccessibleByIndex() {
+        final PutResults.Collector<String> collector = new PutResults.Collector<String>(1, true);
+
+        collector.add("insert", PutResult.newInsertResult(42L, "table"));
+        collector.add("update", PutResult.newUpdateResult(3, "table"));
+        collector.add("insert", PutResult.newInsertResult(43L, "table")); // duplicate object
+
+        final PutResults<String> putResults = collector.build();
+
+        assertThat(putResults.size()).isEqualTo(3);
+        assertThat(putResults.hasResultsOfObjects()).isTrue();
+        assertThat(putResults.numberOfInserts()).isEqualTo(2);
+        assertThat(putResults.numberOfUpdates()).isEqualTo(3);
+
+        assertThat(putResults.objectAt(1)).isEqualTo("update");
+        assertThat(putResults.wasInsertedAt(0)).isTrue();
+        assertThat(putResults.insertedIdAt(0)).isEqualTo(42L);
+        assertThat(putResults.insertedIdAt(2)).isEqualTo(43L);
+        assertThat(putResults.wasInsertedAt(1)).isFalse();
+        assertThat(putResults.numberOfRowsUpdatedAt(1)).isEqualTo(3);
+        assertThat(putResults.numberOfRowsUpdatedAt(0)).isEqualTo(0);
+        assertThat(putResults.resultAt(1)).isEqualTo(PutResult.newUpdateResult(3, "table"));
+
+        // Map collapses duplicates, last result wins
+        final Map<String, PutResult> expectedMap = new HashMap<String, PutResult>();
+        expectedMap.put("insert", PutResult.newInsertResult(43L, "table"));
+        expectedMap.put("update", PutResult.newUpdateResult(3, "table"));
+
+        assertThat(putResults.results()).isEqualTo(expectedMap);
+    }
+
+    @Test
+    public void resultAtShouldKeepChanges() {
+        final Changes changes = Changes.newInstance(
+                singleton("table"),
+                Changes.OperationType.INSERT,
+                "_id",
+                singleton("42")
+        );
+
+        final PutResults.Collector<String> collector = new PutResults.Collector<String>(1, true);
+
+        collector.add("with changes", PutResult.newInsertResult(42L, "table").withChanges(changes));
+        collector.add("without changes", PutResult.newUpdateResult(1, "table"));
+
+        final PutResults<String> putResults = collector.build();
+
+        assertThat(putResults.resultAt(0).changes).isSameAs(changes);
+        assertThat(putResults.resultAt(1).changes).isNull();
+    }
+
+    @Test
+    public void insertedIdAtShouldThrowIfObjectWasNotInserted() {
+        final PutResults<String> putResults = PutResults.newInstance(singletonMap(
+                "key",
+                PutResult.newUpdateResult(1, "table")
+        ));
+
+        try {
+            putResults.insertedIdAt(0);
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("Object at index 0 was not inserted");
+        }
+    }
+
+    @Test
+    public void resultsWithoutResultsOfObjectsShouldKeepOnlyCounters() {
+        final PutResults.Collector<String> collector = new PutResults.Collector<String>(2, false);
+
+        collector.add("insert", PutResult.newInsertResult(1L, "table"));
+        collector.add("update", PutResult.newUpdateResult(2, "table"));
+
+        final PutResults<String> putResults = collector.build();
+
+        assertThat(putResults.hasResultsOfObjects()).isFalse();
+        assertThat(putResults.size()).isEqualTo(2);
+        assertThat(putResults.numberOfInserts()).isEqualTo(1);
+        assertThat(putResults.numberOfUpdates()).isEqualTo(2);
+        assertThat(putResults.toString()).isEqualTo("PutResults{size=2, numberOfInserts=1, numberOfUpdates=2}");
+
+        try {
+            putResults.results();
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("Results of objects were not kept, please use keepResultsOfObjects(true)");
+        }
+
+        try {
+            putResults.objectAt(0);
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("Results of objects were not kept, please use keepResultsOfObjects(true)");
+        }
     }
 
     @Test
-    public void checkToStringImplementation() {
-        ToStringChecker
-                .forClass(PutResults.class)
-                .check();
+    public void equalsAndHashCodeShouldCompareResults() {
+        final Map<String, PutResult> map = new HashMap<String, PutResult>();
+        map.put("insert", PutResult.newInsertResult(1L, "table"));
+        map.put("update", PutResult.newUpdateResult(2, "table"));
+
+        final PutResults.Collector<String> collector = new PutResults.Collector<String>(2, true);
+        collector.add("update", PutResult.newUpdateResult(2, "table"));
+        collector.add("insert", PutResult.newInsertResult(1L, "table"));
+
+        final PutResults<String> fromMap = PutResults.newInstance(map);
+        final PutResults<String> fromCollector = collector.build();
+
+        assertThat(fromMap).isEqualTo(fromCollector);
+        assertThat(fromMap.hashCode()).isEqualTo(fromCollector.hashCode());
+        assertThat(fromMap).isNotEqualTo(PutResults.newInstance(singletonMap("insert", PutResult.newInsertResult(1L, "table"))));
+
+        final PutResults.Collector<String> withoutResultsOfObjects = new PutResults.Collector<String>(2, false);
+        withoutResultsOfObjects.add("update", PutResult.newUpdateResult(2, "table"));
+        withoutResultsOfObjects.add("insert", PutResult.newInsertResult(1L, "table"));
+
+        assertThat(fromMap).isNotEqualTo(withoutResultsOfObjects.build());
+    }
+
+    @Test
+    public void toStringShouldContainResults() {
+        final PutResults<String> putResults = PutResults.newInstance(singletonMap(
+                "key",
+                PutResult.newInsertResult(1L, "table")
+        ));
+
+        assertThat(putResults.toString()).isEqualTo("PutResults{results=" + putResults.results() + "}");
     }
 }
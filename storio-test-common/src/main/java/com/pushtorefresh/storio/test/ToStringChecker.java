@@ -142,6 +142,8 @@ public class ToStringChecker<T> {
             return singleton("set_item");
         } else if (type.equals(Uri.class)) {
             return mock(Uri.class);
+        } else if (type.isEnum()) {
+            return type.getEnumConstants()[0];
         } else {
             throw new IllegalStateException("Can not set sample value to the field of type " + type);
         }